@@ -0,0 +1,56 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.benchmark
+
+import org.openjdk.jmh.profile.GCProfiler
+import org.openjdk.jmh.results.format.ResultFormatType
+import org.openjdk.jmh.runner.Runner
+import org.openjdk.jmh.runner.options.OptionsBuilder
+import java.io.File
+import kotlin.test.Test
+import kotlin.test.assertTrue
+
+/**
+ * Entry point of the `benchmark` Gradle task.
+ *
+ * Benchmarks are executed in the same JVM, because some of them rely on the IntelliJ Platform test application,
+ * which is configured only for the JVM started by the IntelliJ Platform test task.
+ * Results are written in JSON format, so results of different commits can be compared with any JMH visualizer.
+ * GC profiler is always enabled, so allocated memory per operation is reported as well.
+ */
+class BenchmarkRunner {
+
+    @Test
+    fun runBenchmarks() {
+        val results = File(System.getProperty("jmh.results", "build/reports/jmh/results.json"))
+        results.parentFile.mkdirs()
+
+        val options = OptionsBuilder()
+            .include(System.getProperty("jmh.includes", ".*"))
+            .forks(0)
+            .shouldFailOnError(true)
+            .addProfiler(GCProfiler::class.java)
+            .resultFormat(ResultFormatType.JSON)
+            .result(results.absolutePath)
+            .build()
+
+        val runResults = Runner(options).run()
+
+        assertTrue(runResults.isNotEmpty(), "No benchmarks matched: ${options.includes}")
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.intellij.idea.plugin.hybris.benchmark;
+
+import com.intellij.lexer.Lexer;
+import org.jetbrains.annotations.NotNull;
+
+public final class LexerBenchmarks {
+
+    private LexerBenchmarks() {
+    }
+
+    /**
+     * Tokenizes the whole text, returned count of tokens has to be consumed by the benchmark to prevent dead code elimination.
+     */
+    public static int countTokens(@NotNull final Lexer lexer, @NotNull final CharSequence text) {
+        lexer.start(text);
+
+        int tokens = 0;
+        while (lexer.getTokenType() != null) {
+            tokens++;
+            lexer.advance();
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.intellij.idea.plugin.hybris.flexibleSearch;
+
+import com.intellij.idea.plugin.hybris.benchmark.LexerBenchmarks;
+import com.intellij.lexer.Lexer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FlexibleSearchLexerBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int queries;
+
+    private CharSequence text;
+    private Lexer lexer;
+
+    @Setup
+    public void setUp() {
+        text = generate(queries);
+        lexer = new FlexibleSearchLexer();
+    }
+
+    @Benchmark
+    public int tokenize() {
+        return LexerBenchmarks.countTokens(lexer, text);
+    }
+
+    private static CharSequence generate(final int queries) {
+        final StringBuilder buf = new StringBuilder(queries * 400);
+
+        for (int query = 0; query < queries; query++) {
+            buf.append("-- query ").append(query).append('\n');
+            switch (query % 3) {
+                case 0 -> buf
+                    .append("SELECT {p.pk}, {p.code}, {p.name[en]} AS name, COUNT(*) FROM {Product AS p JOIN CatalogVersion AS cv ON {p.catalogVersion} = {cv.pk}}\n")
+                    .append("WHERE {p.code} LIKE ?code").append(query).append(" AND {cv.version} = 'Online' AND {p.modifiedtime} >= ?since\n")
+                    .append("GROUP BY {p.pk}, {p.code}, {p.name[en]}\n");
+                case 1 -> buf
+                    .append("SELECT {o.pk} FROM {Order AS o} WHERE {o.user} IN ({{\n")
+                    .append("    SELECT {u.pk} FROM {Customer AS u} WHERE {u.uid} = '").append(query).append("@example.com'\n")
+                    .append("}}) /* nested query */ AND {o.date} BETWEEN ?from AND ?to\n");
+                default -> buf
+                    .append("SELECT DISTINCT {c.code} FROM {Category! AS c LEFT JOIN CategoryProductRelation AS rel ON {rel.source} = {c.pk}}\n")
+                    .append("WHERE {rel.target} IS NULL OR {c.code} IN (?codes)\n")
+                    .append("ORDER BY {c.code} DESC\n");
+            }
+            buf.append('\n');
+        }
+        return buf;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.intellij.idea.plugin.hybris.impex;
+
+import com.intellij.idea.plugin.hybris.benchmark.LexerBenchmarks;
+import com.intellij.lexer.Lexer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ImpexLexerBenchmark {
+
+    private static final int LINES_PER_HEADER = 500;
+
+    @Param({"1000", "10000", "100000"})
+    public int lines;
+
+    private CharSequence text;
+    private Lexer lexer;
+
+    @Setup
+    public void setUp() {
+        text = generate(lines);
+        lexer = new ImpexLexerAdapter();
+    }
+
+    @Benchmark
+    public int tokenize() {
+        return LexerBenchmarks.countTokens(lexer, text);
+    }
+
+    private static CharSequence generate(final int lines) {
+        final StringBuilder buf = new StringBuilder(lines * 80);
+        buf.append("$productCatalog=electronicsProductCatalog\n");
+        buf.append("$catalogVersion=catalogversion(catalog(id[default=$productCatalog]),version[default='Staged'])[unique=true,default=$productCatalog:Staged]\n");
+        buf.append("$supercategories=supercategories(code, $catalogVersion)\n\n");
+
+        for (int line = 0; line < lines; line++) {
+            if (line % LINES_PER_HEADER == 0) {
+                buf.append("\n# block ").append(line / LINES_PER_HEADER).append('\n');
+                buf.append("#% impex.setLocale(Locale.ENGLISH);\n");
+                buf.append("INSERT_UPDATE Product;code[unique=true];name[lang=en];description[lang=en];$catalogVersion;")
+                    .append("approvalStatus(code)[default='approved'];price[translator=de.hybris.platform.impex.jalo.translators.PriceTranslator];$supercategories\n");
+            }
+            buf.append(";product-").append(line)
+                .append(";\"Product ").append(line).append('"')
+                .append(";\"Description of the product ").append(line).append("; contains \"\"quoted\"\" separator\"")
+                .append(";;approved;").append(line % 1000).append(".99 EUR")
+                .append(";category-").append(line % 17).append(",category-").append(line % 31)
+                .append('\n');
+        }
+        return buf;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.impex.inspection.analyzer;
+
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.idea.plugin.hybris.HybrisLightFixture;
+import com.intellij.idea.plugin.hybris.codeInspection.rule.impex.ImpexNoUniqueValueInspection;
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.psi.PsiFile;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uniqueness analysis of the generated ImpEx file, as performed by the {@link ImpexNoUniqueValueInspection}.
+ * <p>
+ * Value lines are split into blocks with the same header, as in the real data, and keys are distributed
+ * in a way that about half of the lines modify already declared unique values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ImpexModificationValueAnalyzerBenchmark {
+
+    private static final int ROWS_PER_BLOCK = 1000;
+    private static final String HEADER = "INSERT_UPDATE Product; code[unique = true]; catalogVersion(catalog(id), version)[unique = true]; name; description; ean; manufacturerName; unit(code); approvalStatus(code)";
+    private static final int COLUMNS = 6;
+
+    @Param({"1000", "10000", "50000"})
+    public int rows;
+
+    private final HybrisLightFixture fixture = new HybrisLightFixture(getClass().getSimpleName());
+    private PsiFile file;
+    // keeps the parsed tree reachable, so the file is not re-parsed during the measurement
+    private ASTNode tree;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture.setUp();
+        file = fixture.addFile("resources/impex/products.impex", generateImpex());
+        tree = ReadAction.compute(() -> file.getNode());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.tearDown();
+    }
+
+    @Benchmark
+    public int analyze() {
+        return ReadAction.compute(() -> {
+            final ProblemsHolder holder = new ProblemsHolder(InspectionManager.getInstance(fixture.getProject()), file, false);
+            file.accept(new ImpexNoUniqueValueInspection().buildVisitor(holder, false));
+            return holder.getResultCount();
+        });
+    }
+
+    private String generateImpex() {
+        final Random random = new Random(7);
+        final int distinctKeys = Math.max(1, rows / 2);
+        final StringBuilder impex = new StringBuilder();
+
+        for (int row = 0; row < rows; row++) {
+            if (row % ROWS_PER_BLOCK == 0) {
+                impex.append('\n').append(HEADER).append('\n');
+            }
+
+            impex.append("; product-").append(random.nextInt(distinctKeys)).append("; Default:Staged");
+            for (int column = 0; column < COLUMNS; column++) {
+                impex.append("; ");
+                // empty ImpEx values are not taken into account by the analyzer
+                if (random.nextInt(4) != 0) impex.append("value-").append(row).append('-').append(column);
+            }
+            impex.append('\n');
+        }
+
+        return impex.toString();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.intellij.idea.plugin.hybris.polyglotQuery;
+
+import com.intellij.idea.plugin.hybris.benchmark.LexerBenchmarks;
+import com.intellij.lexer.Lexer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PolyglotQueryLexerBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int queries;
+
+    private CharSequence text;
+    private Lexer lexer;
+
+    @Setup
+    public void setUp() {
+        text = generate(queries);
+        lexer = new PolyglotQueryLexer();
+    }
+
+    @Benchmark
+    public int tokenize() {
+        return LexerBenchmarks.countTokens(lexer, text);
+    }
+
+    private static CharSequence generate(final int queries) {
+        final StringBuilder buf = new StringBuilder(queries * 200);
+
+        for (int query = 0; query < queries; query++) {
+            buf.append("-- query ").append(query).append('\n')
+                .append("GET {Product} WHERE {code} = ?code").append(query)
+                .append(" AND ({name[en]} IS NOT NULL OR {ean} <> ?ean) AND {catalogVersion} = ?catalogVersion\n")
+                .append("/* sorted by localized name */ ORDER BY {name[en]} ASC, {code} DESC\n\n");
+        }
+        return buf;
+    }
+}
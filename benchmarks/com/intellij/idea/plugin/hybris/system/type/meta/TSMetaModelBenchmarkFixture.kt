@@ -0,0 +1,124 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.system.type.meta
+
+import com.intellij.idea.plugin.hybris.HybrisLightFixture
+import kotlinx.coroutines.runBlocking
+
+/**
+ * Light project with synthetic items.xml corpus of the given size, split between [extensions] extensions.
+ *
+ * Each extension declares its own hierarchy of the Item types attached to the hierarchy of the previous extension,
+ * together with enum, collection, map and relation types, and re-declares some Item types of the previous extension,
+ * so merge of the same type declared in different extensions is exercised as well.
+ */
+class TSMetaModelBenchmarkFixture(private val itemTypes: Int, private val extensions: Int) {
+
+    private val fixture = HybrisLightFixture(javaClass.simpleName)
+    private lateinit var localMetaModels: List<TSMetaModel>
+
+    fun setUp() {
+        fixture.setUp()
+
+        val typesPerExtension = maxOf(1, itemTypes / extensions)
+        val files = (0 until extensions).map { fixture.addFile("ext$it/resources/ext$it-items.xml", generateItemsXml(it, typesPerExtension)) }
+
+        localMetaModels = runBlocking {
+            files.mapNotNull { TSMetaModelProcessor.getInstance(fixture.project).process(this, it) }
+        }
+
+        check(localMetaModels.size == extensions) { "Only ${localMetaModels.size} of $extensions items.xml files were processed" }
+    }
+
+    fun merge(): TSGlobalMetaModel = runBlocking {
+        TSGlobalMetaModel().also { TSMetaModelMerger.merge(it, localMetaModels) }
+    }
+
+    fun tearDown() = fixture.tearDown()
+
+    private fun generateItemsXml(extension: Int, typesPerExtension: Int) = buildString {
+        val prefix = "Ext$extension"
+
+        appendLine("""<?xml version="1.0" encoding="ISO-8859-1"?>""")
+        appendLine("""<items xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance" xsi:noNamespaceSchemaLocation="items.xsd">""")
+
+        appendLine("""  <collectiontypes>""")
+        appendLine("""    <collectiontype code="${prefix}Type0Collection" elementtype="${prefix}Type0" autocreate="true" generate="false"/>""")
+        appendLine("""  </collectiontypes>""")
+
+        appendLine("""  <enumtypes>""")
+        appendLine("""    <enumtype code="${prefix}Status" autocreate="true" generate="true" dynamic="true">""")
+        listOf("ACTIVE", "INACTIVE", "ARCHIVED").forEach { appendLine("""      <value code="$it"/>""") }
+        appendLine("""    </enumtype>""")
+        appendLine("""  </enumtypes>""")
+
+        appendLine("""  <maptypes>""")
+        appendLine("""    <maptype code="${prefix}StatusMap" argumenttype="Language" returntype="${prefix}Status" autocreate="true" generate="false"/>""")
+        appendLine("""  </maptypes>""")
+
+        appendLine("""  <relations>""")
+        appendLine("""    <relation code="${prefix}Type0ChildrenRelation" localized="false">""")
+        appendLine("""      <deployment table="${prefix.lowercase()}type0children" typecode="${20_000 + extension}"/>""")
+        appendLine("""      <sourceElement type="${prefix}Type0" qualifier="parents" cardinality="many"/>""")
+        appendLine("""      <targetElement type="${prefix}Type${minOf(1, typesPerExtension - 1)}" qualifier="children" cardinality="many" collectiontype="list" ordered="true"/>""")
+        appendLine("""    </relation>""")
+        appendLine("""  </relations>""")
+
+        appendLine("""  <itemtypes>""")
+        for (type in 0 until typesPerExtension) {
+            val extends = when {
+                type > 0 -> "${prefix}Type${(type - 1) / 3}"
+                extension > 0 -> "Ext${extension - 1}Type0"
+                else -> "GenericItem"
+            }
+            appendLine("""    <itemtype code="${prefix}Type$type" extends="$extends" autocreate="true" generate="true">""")
+            if (type % 5 == 0) {
+                appendLine("""      <deployment table="${prefix.lowercase()}type$type" typecode="${30_000 + extension * typesPerExtension + type}"/>""")
+            }
+            appendLine("""      <attributes>""")
+            appendAttribute("code$type", "java.lang.String", """<modifiers unique="true" optional="false"/>""")
+            appendAttribute("name$type", "localized:java.lang.String")
+            appendAttribute("status$type", "${prefix}Status")
+            appendAttribute("statuses$type", "${prefix}StatusMap")
+            appendAttribute("related$type", "${prefix}Type0Collection")
+            appendLine("""      </attributes>""")
+            appendLine("""      <indexes>""")
+            appendLine("""        <index name="${prefix}Type${type}CodeIdx" unique="true"><key attribute="code$type"/></index>""")
+            appendLine("""      </indexes>""")
+            appendLine("""    </itemtype>""")
+        }
+        if (extension > 0) {
+            for (type in 0 until minOf(10, typesPerExtension)) {
+                appendLine("""    <itemtype code="Ext${extension - 1}Type$type" autocreate="false" generate="false">""")
+                appendLine("""      <attributes>""")
+                appendAttribute("${prefix.lowercase()}Flag", "java.lang.Boolean")
+                appendLine("""      </attributes>""")
+                appendLine("""    </itemtype>""")
+            }
+        }
+        appendLine("""  </itemtypes>""")
+
+        appendLine("""</items>""")
+    }
+
+    private fun StringBuilder.appendAttribute(qualifier: String, type: String, modifiers: String = "") {
+        appendLine("""        <attribute qualifier="$qualifier" type="$type">""")
+        appendLine("""          <persistence type="property"/>$modifiers""")
+        appendLine("""        </attribute>""")
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.system.type.meta.impl;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retained size of the inherited attributes of the Item types on the synthetic Type System with deep hierarchies.
+ * <p>
+ * {@code copied} creates a copy of own and inherited attributes per Item type, as it was done before the layered views,
+ * {@code layered} creates {@link CaseInsensitiveLayeredMap} views. Each view is accessed in the same way as by the snapshot and completion.
+ * Views are retained by the Item types, so <code>gc.alloc.rate.norm</code> of the GC profiler, which is enabled by the benchmark runner,
+ * is the size retained by the views of all Item types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LayeredViewsBenchmark {
+
+    @Param({"10"})
+    public int depth;
+
+    @Param({"200"})
+    public int typesPerLevel;
+
+    @Param({"30"})
+    public int attributesPerType;
+
+    private final List<Type> types = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Type> previousLevel = List.of(new Type("GenericItem", null));
+        types.addAll(previousLevel);
+
+        for (int level = 0; level < depth; level++) {
+            final List<Type> currentLevel = new ArrayList<>();
+
+            for (int index = 0; index < typesPerLevel; index++) {
+                final Type type = new Type("Type_" + level + "_" + index, previousLevel.get(index % previousLevel.size()));
+
+                for (int attribute = 0; attribute < attributesPerType; attribute++) {
+                    type.attributes.put("attr_" + level + "_" + attribute, type.name + ".attr_" + level + "_" + attribute);
+                }
+                currentLevel.add(type);
+            }
+
+            types.addAll(currentLevel);
+            previousLevel = currentLevel;
+        }
+
+        types.forEach(Type::postMerge);
+    }
+
+    @Benchmark
+    public List<Map<String, String>> copied(final Blackhole blackhole) {
+        final List<Map<String, String>> views = new ArrayList<>(types.size());
+
+        for (final Type type : types) {
+            final CaseInsensitive.CaseInsensitiveConcurrentHashMap<String, String> view = new CaseInsensitive.CaseInsensitiveConcurrentHashMap<>();
+            view.putAll(type.attributes);
+            type.allExtends.forEach(parent -> view.putAll(parent.attributes));
+
+            access(view, blackhole);
+            views.add(view);
+        }
+
+        return views;
+    }
+
+    @Benchmark
+    public List<Map<String, String>> layered(final Blackhole blackhole) {
+        final List<Map<String, String>> views = new ArrayList<>(types.size());
+
+        for (final Type type : types) {
+            final Map<String, String> view = new CaseInsensitiveLayeredMap<Type, String>(type.attributes, type.allExtends, parent -> parent.attributes);
+
+            access(view, blackhole);
+            views.add(view);
+        }
+
+        return views;
+    }
+
+    private static void access(final Map<String, String> view, final Blackhole blackhole) {
+        blackhole.consume(view.get("ATTR_0_0"));
+        view.values().forEach(blackhole::consume);
+    }
+
+    private static final class Type {
+
+        private final String name;
+        private final Type parent;
+        private final CaseInsensitive.CaseInsensitiveConcurrentHashMap<String, String> attributes = new CaseInsensitive.CaseInsensitiveConcurrentHashMap<>();
+        private final LinkedHashSet<Type> allExtends = new LinkedHashSet<>();
+
+        private Type(final String name, final Type parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        private void postMerge() {
+            for (Type current = parent; current != null; current = current.parent) {
+                allExtends.add(current);
+            }
+        }
+    }
+}
@@ -19,6 +19,7 @@ import org.gradle.internal.os.OperatingSystem
 import org.jetbrains.changelog.Changelog
 import org.jetbrains.changelog.markdownToHTML
 import org.jetbrains.intellij.platform.gradle.IntelliJPlatformType
+import org.jetbrains.intellij.platform.gradle.TestFrameworkType
 import org.jetbrains.intellij.platform.gradle.models.ProductRelease
 import org.jetbrains.intellij.platform.gradle.tasks.RunIdeTask
 import org.openapitools.generator.gradle.plugin.tasks.GenerateTask
@@ -66,12 +67,20 @@ sourceSets {
     test {
         java.srcDirs("tests")
     }
+    // JMH benchmarks, see `benchmark` task
+    create("jmh") {
+        java.srcDirs("benchmarks")
+        // fixtures of the tests are re-used by the benchmarks
+        compileClasspath += test.get().output + test.get().compileClasspath
+        runtimeClasspath += test.get().output + test.get().runtimeClasspath
+    }
 }
 
 idea {
     module {
         generatedSourceDirs.add(file("gen"))
         generatedSourceDirs.add(file("ccv2"))
+        testSources.from(file("benchmarks"))
     }
 }
 
@@ -270,6 +279,39 @@ intellijPlatformTesting {
             }
         }
     }
+
+    // Runs JMH benchmarks within the IntelliJ Platform test environment and writes results in JSON format,
+    // so results of different commits can be compared, e.g.:
+    // ./gradlew benchmark -Pjmh.includes=Lexer -Pjmh.results=build/reports/jmh/$(git rev-parse --short HEAD).json
+    testIde {
+        val benchmark by registering {
+            type = IntelliJPlatformType.IntellijIdeaUltimate
+            version = properties("intellij.version")
+            useInstaller = false
+
+            task {
+                group = "verification"
+                description = "Runs JMH benchmarks and writes JSON results"
+
+                val jmhSourceSet = sourceSets["jmh"]
+                val results = properties("jmh.results")
+                    .map { file(it) }
+                    .orElse(layout.buildDirectory.file("reports/jmh/results.json").map { it.asFile })
+
+                testClassesDirs = jmhSourceSet.output.classesDirs
+                classpath += jmhSourceSet.runtimeClasspath
+                maxHeapSize = properties("intellij.maxHeapSize").get()
+
+                useJUnitPlatform()
+                systemProperty("jmh.includes", properties("jmh.includes").getOrElse(".*"))
+                systemProperty("jmh.results", results.get().absolutePath)
+
+                outputs.file(results)
+                outputs.upToDateWhen { false }
+                testLogging.showStandardStreams = true
+            }
+        }
+    }
 }
 
 // does not work well, especially in the case of Maps
@@ -295,12 +337,17 @@ dependencies {
         exclude("org.apache.httpcomponents", "httpmime")
     }
     testImplementation(kotlin("test"))
+    testRuntimeOnly(libs.junit4)
+
+    "jmhImplementation"(libs.jmh.core)
+    "jmhAnnotationProcessor"(libs.jmh.generator.annprocess)
 
     intellijPlatform {
         intellijIdeaUltimate(properties("intellij.version"), useInstaller = false)
 
         instrumentationTools()
         pluginVerifier()
+        testFramework(TestFrameworkType.Platform)
 
         // printBundledPlugins for bundled plugins
         bundledPlugins(
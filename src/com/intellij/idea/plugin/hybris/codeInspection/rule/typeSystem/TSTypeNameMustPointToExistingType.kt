@@ -68,9 +68,7 @@ class TSTypeNameMustPointToExistingType : AbstractTSInspection() {
         if ("java.math.BigDecimal" == typeCode) return
         if ("java.util.Date" == typeCode) return
 
-        val meta = TSMetaModelAccess.getInstance(project).findMetaClassifierByName(typeCode)
-
-        if (meta == null) {
+        if (!TSMetaModelAccess.getInstance(project).isDeclared(typeCode)) {
             holder.createProblem(
                 dom,
                 severity,
@@ -0,0 +1,44 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.debugger.ui.tree.render
+
+import com.intellij.debugger.DebuggerContext
+import com.intellij.debugger.engine.evaluation.EvaluationContextImpl
+import com.intellij.debugger.ui.impl.watch.ValueDescriptorImpl
+import com.intellij.openapi.project.Project
+import com.intellij.psi.JavaPsiFacade
+import com.intellij.psi.PsiExpression
+import com.sun.jdi.Value
+
+/**
+ * Descriptor of the [y] Model attribute, which value has been already evaluated by the [ModelChildrenRenderer].
+ *
+ * Similar to the field descriptor, evaluation expression refers to the parent Model via `this`.
+ */
+class ModelAttributeValueDescriptor(
+    project: Project,
+    private val name: String,
+    private val expressionText: String,
+    private val attributeValue: Value?
+) : ValueDescriptorImpl(project) {
+
+    override fun getName() = name
+    override fun calcValue(evaluationContext: EvaluationContextImpl?) = attributeValue
+    override fun getDescriptorEvaluation(context: DebuggerContext): PsiExpression = JavaPsiFacade.getElementFactory(project)
+        .createExpressionFromText(expressionText, null)
+}
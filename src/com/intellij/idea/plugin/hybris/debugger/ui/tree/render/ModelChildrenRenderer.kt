@@ -0,0 +1,195 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.debugger.ui.tree.render
+
+import com.intellij.debugger.engine.DebugProcess
+import com.intellij.debugger.engine.DebugProcessImpl
+import com.intellij.debugger.engine.DebuggerUtils
+import com.intellij.debugger.engine.SuspendContext
+import com.intellij.debugger.engine.evaluation.CodeFragmentKind
+import com.intellij.debugger.engine.evaluation.EvaluateException
+import com.intellij.debugger.engine.evaluation.EvaluationContext
+import com.intellij.debugger.engine.evaluation.EvaluationContextImpl
+import com.intellij.debugger.engine.evaluation.TextWithImportsImpl
+import com.intellij.debugger.engine.evaluation.expression.EvaluatorBuilderImpl
+import com.intellij.debugger.engine.evaluation.expression.ExpressionEvaluator
+import com.intellij.debugger.impl.DebuggerUtilsEx
+import com.intellij.debugger.ui.impl.watch.UserExpressionData
+import com.intellij.debugger.ui.impl.watch.ValueDescriptorImpl
+import com.intellij.debugger.ui.tree.render.ChildrenBuilder
+import com.intellij.debugger.ui.tree.render.ChildrenRenderer
+import com.intellij.debugger.ui.tree.render.EnumerationChildrenRenderer
+import com.intellij.debugger.ui.tree.render.OnDemandRenderer
+import com.intellij.idea.plugin.hybris.settings.components.ApplicationSettingsComponent
+import com.intellij.openapi.application.ReadAction
+import com.intellij.openapi.diagnostic.Logger
+import com.intellij.psi.search.GlobalSearchScope
+import com.sun.jdi.ArrayReference
+import com.sun.jdi.ObjectCollectedException
+import com.sun.jdi.ObjectReference
+import com.sun.jdi.VMDisconnectedException
+import com.sun.jdi.Value
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Children renderer of the [y] Model, which evaluates all not on-demand attributes via a single invocation in the debuggee.
+ *
+ * Values of such attributes are collected into an array by a compiled code fragment, so expanding of the Model node
+ * does not suspend the remote VM for a separate `getProperty` invocation per attribute.
+ * Relations, collections, maps and dynamic attributes remain on-demand and are evaluated only when expanded.
+ * Evaluated values are cached per suspend context and Model instance.
+ * Types, for which the code fragment cannot be compiled or evaluated, are remembered per debug process and not tried again.
+ *
+ * If batched evaluation is not possible, attributes are evaluated one by one, in the same way as by the [EnumerationChildrenRenderer].
+ */
+class ModelChildrenRenderer : EnumerationChildrenRenderer() {
+
+    @Volatile
+    private var cache: SuspendContextCache? = null
+
+    @Volatile
+    private var failedTypes: FailedTypes? = null
+
+    override fun buildChildren(value: Value?, builder: ChildrenBuilder, evaluationContext: EvaluationContext) {
+        val parentDescriptor = builder.parentDescriptor as? ValueDescriptorImpl
+        val eagerChildren = children.filterNot { it.myOnDemand }
+        val values = (value as? ObjectReference)
+            ?.takeIf { parentDescriptor != null && eagerChildren.isNotEmpty() }
+            ?.takeIf { ApplicationSettingsComponent.getInstance().state.debuggerBatchedModelEvaluation }
+            ?.let { getValues(it, eagerChildren, evaluationContext) }
+            ?: return super.buildChildren(value, builder, evaluationContext)
+
+        val project = parentDescriptor!!.project
+        val className = value.referenceType().name()
+        var eagerIndex = 0
+
+        val nodes = children.mapIndexed { index, childInfo ->
+            val descriptor = if (childInfo.myOnDemand) {
+                UserExpressionData(parentDescriptor, className, childInfo.myName, childInfo.myExpression)
+                    .also { it.setEnumerationIndex(index) }
+                    .createDescriptor(project)
+                    .also { it.putUserData(OnDemandRenderer.ON_DEMAND_CALCULATED, false) }
+            } else {
+                val fieldName = getFieldName(childInfo)
+                ModelAttributeValueDescriptor(project, childInfo.myName, "this.getProperty($className.$fieldName)", values[eagerIndex++])
+            }
+            builder.nodeManager.createNode(descriptor, evaluationContext)
+        }
+
+        builder.addChildren(nodes, !isAppendDefaultChildren)
+
+        if (isAppendDefaultChildren) DebugProcessImpl.getDefaultRenderer(value).buildChildren(value, builder, evaluationContext)
+    }
+
+    private fun getValues(model: ObjectReference, eagerChildren: List<ChildInfo>, evaluationContext: EvaluationContext): List<Value?>? {
+        val suspendContext = evaluationContext.suspendContext
+        val suspendContextCache = cache
+            ?.takeIf { it.suspendContext === suspendContext }
+            ?: SuspendContextCache(suspendContext).also { cache = it }
+        val key = model to eagerChildren
+
+        suspendContextCache.values[key]
+            ?.let { return it }
+
+        val debugProcess = evaluationContext.debugProcess
+        val debugProcessFailedTypes = failedTypes
+            ?.takeIf { it.debugProcess === debugProcess }
+            ?: FailedTypes(debugProcess).also { failedTypes = it }
+
+        val values = try {
+            val className = model.referenceType().name()
+            if (debugProcessFailedTypes.typeNames.contains(className)) return null
+
+            try {
+                evaluate(model, eagerChildren, evaluationContext)
+            } catch (e: EvaluateException) {
+                LOG.debug("Unable to evaluate attributes of the $className in a single invocation", e)
+                debugProcessFailedTypes.typeNames.add(className)
+                null
+            }
+        } catch (e: ObjectCollectedException) {
+            LOG.debug("Model has been collected during evaluation of its attributes", e)
+            null
+        } catch (e: VMDisconnectedException) {
+            LOG.debug("VM has been disconnected during evaluation of the Model attributes", e)
+            null
+        }
+            ?: return null
+
+        suspendContextCache.values[key] = values
+        return values
+    }
+
+    private fun evaluate(model: ObjectReference, eagerChildren: List<ChildInfo>, evaluationContext: EvaluationContext): List<Value?>? {
+        if (evaluationContext !is EvaluationContextImpl) return null
+
+        val className = model.referenceType().name()
+        val fieldNames = eagerChildren.map { getFieldName(it) ?: return null }
+        // lambda makes the code fragment to be compiled and executed in the debuggee at once, instead of interpreting each invocation
+        val expression = TextWithImportsImpl(
+            CodeFragmentKind.EXPRESSION,
+            fieldNames.joinToString(
+                prefix = "((java.util.function.Function<$className, Object[]>) model -> new Object[]{",
+                separator = ", ",
+                postfix = "}).apply(this)"
+            ) { "model.getProperty($className.$it)" }
+        )
+        val project = evaluationContext.project
+        val evaluator = ReadAction.compute<ExpressionEvaluator, EvaluateException> {
+            val psiClass = DebuggerUtils.findClass(className, project, GlobalSearchScope.allScope(project))
+            EvaluatorBuilderImpl.build(expression, psiClass, null, project)
+        }
+
+        val array = evaluator.evaluate(evaluationContext.createEvaluationContext(model)) as? ArrayReference
+            ?: return null
+        if (array.length() != eagerChildren.size) return null
+
+        DebuggerUtilsEx.keep(array, evaluationContext)
+
+        return array.values
+    }
+
+    private fun getFieldName(childInfo: ChildInfo) = PROPERTY_EXPRESSION.matchEntire(childInfo.myExpression.text.trim())
+        ?.groupValues
+        ?.get(1)
+
+    private class SuspendContextCache(val suspendContext: SuspendContext?) {
+        val values = ConcurrentHashMap<Pair<ObjectReference, List<ChildInfo>>, List<Value?>>()
+    }
+
+    private class FailedTypes(val debugProcess: DebugProcess) {
+        val typeNames: MutableSet<String> = ConcurrentHashMap.newKeySet()
+    }
+
+    companion object {
+        private val LOG = Logger.getInstance(ModelChildrenRenderer::class.java)
+        private val PROPERTY_EXPRESSION = Regex("getProperty\\((\\w+)\\)")
+
+        /**
+         * Persisted renderers are restored as plain [EnumerationChildrenRenderer], so their children have to be re-wrapped.
+         */
+        fun of(childrenRenderer: ChildrenRenderer): ChildrenRenderer {
+            if (childrenRenderer !is EnumerationChildrenRenderer || childrenRenderer is ModelChildrenRenderer) return childrenRenderer
+
+            return ModelChildrenRenderer().also {
+                it.children = childrenRenderer.children
+                it.isAppendDefaultChildren = childrenRenderer.isAppendDefaultChildren
+            }
+        }
+    }
+}
@@ -19,7 +19,6 @@ package com.intellij.idea.plugin.hybris.debugger.ui.tree.render
 
 import com.intellij.debugger.ui.tree.render.ChildrenRenderer
 import com.intellij.debugger.ui.tree.render.CompoundRendererProvider
-import com.intellij.debugger.ui.tree.render.EnumerationChildrenRenderer
 import com.intellij.debugger.ui.tree.render.NodeRendererImpl
 import com.intellij.idea.plugin.hybris.common.HybrisConstants
 import com.intellij.idea.plugin.hybris.debugger.engine.ModelFullValueEvaluatorProvider
@@ -46,7 +45,7 @@ open class ModelRenderer(
     }
 
     override fun getChildrenRenderer(): ChildrenRenderer {
-        val childrenRenderer = EnumerationChildrenRenderer()
+        val childrenRenderer = ModelChildrenRenderer()
         childrenRenderer.isAppendDefaultChildren = true
         ModelEnumerationChildrenRendererInfoProvider.refreshInfos(childrenRenderer, project, className)
         return childrenRenderer
@@ -23,15 +23,25 @@ import com.intellij.diagram.DiagramBuilder
 import com.intellij.idea.plugin.hybris.actions.ActionUtils
 import com.intellij.idea.plugin.hybris.common.utils.HybrisIcons
 import com.intellij.idea.plugin.hybris.diagram.typeSystem.node.graph.*
+import com.intellij.idea.plugin.hybris.settings.components.DeveloperSettingsComponent
+import com.intellij.idea.plugin.hybris.system.type.meta.TSMetaModelAccess
+import com.intellij.idea.plugin.hybris.system.type.meta.model.TSGlobalMetaAtomic
 import com.intellij.idea.plugin.hybris.system.type.meta.model.TSMetaRelation
+import com.intellij.idea.plugin.hybris.system.type.model.*
+import com.intellij.openapi.actionSystem.CommonDataKeys
 import com.intellij.openapi.actionSystem.DataContext
+import com.intellij.openapi.progress.ProcessCanceledException
+import com.intellij.psi.util.PsiTreeUtil
+import com.intellij.psi.xml.XmlTag
 import com.intellij.ui.SimpleColoredText
 import com.intellij.ui.SimpleTextAttributes
+import com.intellij.util.xml.DomManager
+import com.intellij.util.xml.DomUtil
 
 class TSDiagramElementManager : AbstractDiagramElementManager<TSGraphNode>() {
 
-    override fun findInDataContext(dataContext: DataContext) = if (ActionUtils.isHybrisContext(dataContext))
-        TSGraphNodeRoot()
+    override fun findInDataContext(dataContext: DataContext): TSGraphNode? = if (ActionUtils.isHybrisContext(dataContext))
+        findFocusedNode(dataContext) ?: TSGraphNodeRoot()
     else null
 
     override fun isAcceptableAsNode(item: Any?) = item is TSGraphNode
@@ -93,4 +103,44 @@ class TSDiagramElementManager : AbstractDiagramElementManager<TSGraphNode>() {
         else -> null
     }
 
+    /**
+     * Type declaration under the caret becomes the focused node, but only if diagram is limited to the neighbourhood.
+     * Node is built without fields, as it is used only to identify the type.
+     */
+    private fun findFocusedNode(dataContext: DataContext): TSGraphNode? {
+        val project = CommonDataKeys.PROJECT.getData(dataContext) ?: return null
+        val settings = DeveloperSettingsComponent.getInstance(project).state.typeSystemDiagramSettings
+        if (!settings.showOnlyNeighbourhood) return null
+
+        val element = CommonDataKeys.PSI_ELEMENT.getData(dataContext)
+            ?: CommonDataKeys.CARET.getData(dataContext)
+                ?.let { caret -> CommonDataKeys.PSI_FILE.getData(dataContext)?.findElementAt(caret.offset) }
+            ?: return null
+        val tag = element as? XmlTag
+            ?: PsiTreeUtil.getParentOfType(element, XmlTag::class.java)
+            ?: return null
+        val dom = DomManager.getDomManager(project).getDomElement(tag) ?: return null
+        val name = DomUtil.getParentOfType(dom, ItemType::class.java, false)?.code?.stringValue
+            ?: DomUtil.getParentOfType(dom, EnumType::class.java, false)?.code?.stringValue
+            ?: DomUtil.getParentOfType(dom, Relation::class.java, false)?.code?.stringValue
+            ?: DomUtil.getParentOfType(dom, CollectionType::class.java, false)?.code?.stringValue
+            ?: DomUtil.getParentOfType(dom, MapType::class.java, false)?.code?.stringValue
+            ?: return null
+
+        val metaModelAccess = TSMetaModelAccess.getInstance(project)
+            .takeIf { it.isInitialized() }
+            ?: return null
+
+        // Meta Model throws ProcessCanceledException while it is being re-merged or in the dumb mode, diagram falls back to the root node instead
+        val metaClassifier = try {
+            metaModelAccess.findMetaClassifierByName(name)
+        } catch (e: ProcessCanceledException) {
+            null
+        }
+
+        return metaClassifier
+            ?.takeIf { it !is TSGlobalMetaAtomic }
+            ?.let { TSGraphFactory.buildNode(it, transitiveNode = false, withFields = false) }
+    }
+
 }
@@ -24,6 +24,7 @@ import com.intellij.idea.plugin.hybris.common.utils.HybrisIcons
 import com.intellij.idea.plugin.hybris.diagram.typeSystem.node.TSDiagramColorManager
 import com.intellij.idea.plugin.hybris.diagram.typeSystem.node.TSDiagramDataModel
 import com.intellij.idea.plugin.hybris.diagram.typeSystem.node.graph.TSGraphNode
+import com.intellij.idea.plugin.hybris.diagram.typeSystem.node.graph.TSGraphNodeClassifier
 import com.intellij.openapi.project.Project
 import com.intellij.openapi.vfs.VirtualFile
 import org.intellij.lang.annotations.Pattern
@@ -43,7 +44,7 @@ class TSDiagramProvider : BaseDiagramProvider<TSGraphNode>() {
         node: TSGraphNode?,
         virtualFile: VirtualFile?,
         model: DiagramPresentationModel
-    ) = TSDiagramDataModel(project, this)
+    ) = TSDiagramDataModel(project, this, (node as? TSGraphNodeClassifier)?.name)
 
     override fun createNodeContentManager() = TSDiagramNodeContentManager()
     override fun createVisibilityManager() = TSDiagramVisibilityManager()
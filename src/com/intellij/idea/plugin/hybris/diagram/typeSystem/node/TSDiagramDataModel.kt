@@ -29,8 +29,14 @@ import java.io.Serial
 
 /**
  * We need to override addElement method to ensure that Node will be re-added when Type System Diagram generated from the DiagramState (2nd+ generation)
+ *
+ * [focusedTypeName] is set when diagram is opened for a specific type, it is used to limit diagram to the type's neighbourhood.
  */
-class TSDiagramDataModel(val myProject: Project, provider: TSDiagramProvider) : DiagramDataModel<TSGraphNode>(myProject, provider) {
+class TSDiagramDataModel(
+    val myProject: Project,
+    provider: TSDiagramProvider,
+    val focusedTypeName: String? = null
+) : DiagramDataModel<TSGraphNode>(myProject, provider) {
 
     private val edges: MutableCollection<TSDiagramEdge> = mutableSetOf()
     private val nodesMap: MutableMap<String, TSDiagramNode> = mutableMapOf()
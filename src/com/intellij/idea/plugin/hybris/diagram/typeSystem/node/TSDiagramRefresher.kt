@@ -40,18 +40,33 @@ object TSDiagramRefresher {
         refreshEdges(model, nodesMap, edges)
     }
 
+    /**
+     * Nodes of the previous refresh are reused as long as their meta classifier is not changed.
+     * Fields of the collapsed nodes are not built, unless they are required to collect dependencies.
+     */
     private fun refreshNodes(model: TSDiagramDataModel, nodesMap: MutableMap<String, TSDiagramNode>, settings: TypeSystemDiagramSettings) {
+        val previousNodes = HashMap(nodesMap)
         nodesMap.clear()
 
-        collectNodesItems(model, nodesMap, settings)
+        collectNodesItems(model, nodesMap, previousNodes, settings)
         collectNodesDependencies(model, nodesMap, settings)
-        collectNodesExtends(model, nodesMap, settings)
+        collectNodesExtends(model, nodesMap, previousNodes, settings)
 
         updatedCollapsedNodes(model, nodesMap, settings)
     }
 
-    private fun collectNodesItems(model: TSDiagramDataModel, nodesMap: MutableMap<String, TSDiagramNode>, settings: TypeSystemDiagramSettings) {
-        TSMetaModelAccess.getInstance(model.project).getAll()
+    private fun collectNodesItems(
+        model: TSDiagramDataModel,
+        nodesMap: MutableMap<String, TSDiagramNode>,
+        previousNodes: Map<String, TSDiagramNode>,
+        settings: TypeSystemDiagramSettings
+    ) {
+        val focusedTypeName = model.focusedTypeName
+            ?.takeIf { settings.showOnlyNeighbourhood }
+        val metas = if (focusedTypeName != null) collectNeighbourhood(model, focusedTypeName, settings.neighbourhoodDepth)
+        else TSMetaModelAccess.getInstance(model.project).getAll()
+
+        metas
             .asSequence()
             .filter { it.name != null }
             .filterNot { model.removedNodes.contains(it.name) }
@@ -67,15 +82,70 @@ object TSDiagramRefresher {
                     else -> false
                 }
             }
-            .mapNotNull { TSGraphFactory.buildNode(it) }
-            .filter { model.scopeManager?.contains(it) ?: true }
-            .map { TSDiagramNode(it, model.provider) }
+            .mapNotNull { getOrBuildNode(model, previousNodes, it, false, settings) }
+            .filter { it.graphNode.name.equals(focusedTypeName, true) || model.scopeManager?.contains(it.graphNode) ?: true }
             .toList()
             .forEach {
                 nodesMap[it.graphNode.name] = it
             }
     }
 
+    /**
+     * Breadth-first traversal over the types referenced by the focused type, limited by the [depth].
+     */
+    private fun collectNeighbourhood(model: TSDiagramDataModel, focusedTypeName: String, depth: Int): Collection<TSGlobalMetaClassifier<*>> {
+        val metaModelAccess = TSMetaModelAccess.getInstance(model.project)
+        val neighbourhood = LinkedHashMap<String, TSGlobalMetaClassifier<*>>()
+        var layer = listOfNotNull(metaModelAccess.findMetaClassifierByName(focusedTypeName))
+
+        for (hop in 0..depth) {
+            layer = layer.filter { meta -> meta.name?.let { neighbourhood.putIfAbsent(it.lowercase(), meta) == null } ?: false }
+            if (hop == depth) break
+
+            layer = layer
+                .flatMap { getReferencedTypeNames(it) }
+                .distinct()
+                .mapNotNull { metaModelAccess.findMetaClassifierByName(it) }
+        }
+
+        return neighbourhood.values
+    }
+
+    private fun getReferencedTypeNames(meta: TSGlobalMetaClassifier<*>): Collection<String> = when (meta) {
+        is TSGlobalMetaItem -> listOf(meta.extendedMetaItemName ?: HybrisConstants.TS_TYPE_GENERIC_ITEM) +
+            meta.attributes.values.mapNotNull { it.type } +
+            meta.relationEnds.map { it.type }
+
+        is TSGlobalMetaRelation -> listOf(meta.source.type, meta.target.type)
+        is TSGlobalMetaCollection -> listOf(meta.elementType)
+        is TSGlobalMetaMap -> listOfNotNull(meta.argumentType, meta.returnType)
+        else -> emptyList()
+    }
+
+    private fun getOrBuildNode(
+        model: TSDiagramDataModel,
+        previousNodes: Map<String, TSDiagramNode>,
+        meta: TSGlobalMetaClassifier<*>,
+        transitiveNode: Boolean,
+        settings: TypeSystemDiagramSettings
+    ): TSDiagramNode? {
+        val name = meta.name ?: return null
+        val previousNode = previousNodes[name]
+        val previousGraphNode = previousNode?.graphNode as? TSGraphNodeClassifier
+
+        if (previousGraphNode != null && previousGraphNode.meta === meta && previousGraphNode.transitiveNode == transitiveNode) {
+            if (model.isShowDependencies) TSGraphFactory.materializeFields(previousGraphNode)
+            return previousNode
+        }
+
+        val withFields = model.isShowDependencies || !isCollapsed(model, name, settings)
+        return TSGraphFactory.buildNode(meta, transitiveNode, withFields)
+            ?.let { TSDiagramNode(it, model.provider) }
+    }
+
+    private fun isCollapsed(model: TSDiagramDataModel, name: String, settings: TypeSystemDiagramSettings) = model.collapsedNodes.contains(name)
+        || (settings.nodesCollapsedByDefault && (model.modificationCount == 0L || !model.everShownNodes.contains(name)))
+
     /**
      * Additional dependency nodes will be shown only if the User selected "Show Dependencies".
      * Each Node field will be traversed and corresponding new Node (`transitiveNode` = true) will be created.
@@ -121,7 +191,12 @@ object TSDiagramRefresher {
      *
      * Also, it is possible to specify STOP Types for extent names to limit down amount of created "shared" Edges
      */
-    private fun collectNodesExtends(model: TSDiagramDataModel, nodesMap: MutableMap<String, TSDiagramNode>, settings: TypeSystemDiagramSettings) {
+    private fun collectNodesExtends(
+        model: TSDiagramDataModel,
+        nodesMap: MutableMap<String, TSDiagramNode>,
+        previousNodes: Map<String, TSDiagramNode>,
+        settings: TypeSystemDiagramSettings
+    ) {
         nodesMap.values
             .flatMap { sourceNode ->
                 val graphNode = sourceNode.graphNode as? TSGraphNodeClassifier ?: return@flatMap emptyList()
@@ -133,11 +208,10 @@ object TSDiagramRefresher {
                     .filterNot { extendsMeta -> settings.excludedTypeNames.contains(extendsMeta.name) }
                     .filter { extendsMeta -> nodesMap[extendsMeta.name] == null }
                     .filterNot { extendsMeta -> model.removedNodes.contains(extendsMeta.name) }
-                    .mapNotNull { extendsMeta -> TSGraphFactory.buildTransitiveNode(extendsMeta) }
-                    .filter { extendsGraphNode -> model.scopeManager?.contains(extendsGraphNode) ?: true }
+                    .mapNotNull { extendsMeta -> getOrBuildNode(model, previousNodes, extendsMeta, true, settings) }
+                    .filter { extendsNode -> model.scopeManager?.contains(extendsNode.graphNode) ?: true }
                     .toList()
             }
-            .map { TSDiagramNode(it, model.provider) }
             .forEach { nodesMap[it.graphNode.name] = it }
     }
 
@@ -157,10 +231,13 @@ object TSDiagramRefresher {
         }
         nodesMap.values
             .map { it.graphNode }
-            .filter { model.collapsedNodes.contains(it.name) }
             .forEach {
-                it.fields.clear()
-                it.collapsed = true
+                if (model.collapsedNodes.contains(it.name)) {
+                    it.fields.clear()
+                    it.collapsed = true
+                } else if (it is TSGraphNodeClassifier) {
+                    TSGraphFactory.materializeFields(it)
+                }
             }
     }
 
@@ -19,7 +19,6 @@
 package com.intellij.idea.plugin.hybris.diagram.typeSystem.node.graph
 
 import com.intellij.idea.plugin.hybris.common.HybrisConstants
-import com.intellij.idea.plugin.hybris.system.type.meta.TSMetaDetailsGenerator
 import com.intellij.idea.plugin.hybris.system.type.meta.TSMetaModelAccess
 import com.intellij.idea.plugin.hybris.system.type.meta.model.*
 import com.intellij.idea.plugin.hybris.system.type.model.CollectionType
@@ -45,16 +44,30 @@ object TSGraphFactory {
 
     fun buildTransitiveNode(meta: TSGlobalMetaClassifier<out DomElement>) = buildNode(meta, true)
 
-    private fun buildNode(meta: TSGlobalMetaClassifier<out DomElement>, transitiveNode: Boolean) = when (meta) {
-        is TSGlobalMetaEnum -> buildNode(meta, transitiveNode)
-        is TSGlobalMetaCollection -> buildNode(meta, transitiveNode)
-        is TSGlobalMetaRelation -> buildNode(meta, transitiveNode)
-        is TSGlobalMetaMap -> buildNode(meta, transitiveNode)
-        is TSGlobalMetaItem -> buildNode(meta, transitiveNode)
-        else -> buildNode(meta.name, meta, mutableListOf(), transitiveNode)
+    /**
+     * Builds node without fields, fields can be added later via [materializeFields] once node is expanded.
+     */
+    fun buildNode(meta: TSGlobalMetaClassifier<out DomElement>, transitiveNode: Boolean, withFields: Boolean) =
+        buildNode(meta.name, meta, if (withFields) buildFields(meta) else mutableListOf(), transitiveNode)
+
+    fun materializeFields(graphNode: TSGraphNodeClassifier) {
+        if (graphNode.fields.isNotEmpty()) return
+
+        graphNode.fields.addAll(buildFields(graphNode.meta))
     }
 
-    private fun buildNode(meta: TSGlobalMetaItem, transitiveNode: Boolean): TSGraphNodeClassifier? {
+    private fun buildNode(meta: TSGlobalMetaClassifier<out DomElement>, transitiveNode: Boolean) = buildNode(meta, transitiveNode, true)
+
+    private fun buildFields(meta: TSGlobalMetaClassifier<*>): MutableList<TSGraphField> = when (meta) {
+        is TSGlobalMetaEnum -> buildFields(meta)
+        is TSGlobalMetaCollection -> buildFields(meta)
+        is TSGlobalMetaRelation -> buildFields(meta)
+        is TSGlobalMetaMap -> buildFields(meta)
+        is TSGlobalMetaItem -> buildFields(meta)
+        else -> mutableListOf()
+    }
+
+    private fun buildFields(meta: TSGlobalMetaItem): MutableList<TSGraphField> {
         val deploymentProperties = deploymentFields(meta.deployment)
         val customProperties = meta.customProperties.values
             .map { customProperty -> TSGraphFieldCustomProperty(customProperty.name, customProperty) }
@@ -70,42 +83,32 @@ object TSGraphFactory {
             .map { index -> TSGraphFieldIndex(index.name, index) }
             .sortedBy { it.name }
 
-        val fields = (deploymentProperties + customProperties + attributes + relationEnds + indexes).toMutableList()
-        return buildNode(meta.name, meta, fields, transitiveNode)
+        return (deploymentProperties + customProperties + attributes + relationEnds + indexes).toMutableList()
     }
 
-    private fun buildNode(meta: TSGlobalMetaMap, transitiveNode: Boolean): TSGraphNodeClassifier? {
-        val properties: MutableList<TSGraphField> = listOf(
-            TSGraphFieldTyped(MapType.ARGUMENTTYPE, meta.argumentType ?: "?"),
-            TSGraphFieldTyped(MapType.RETURNTYPE, meta.returnType ?: "?"),
-        )
-            .toMutableList()
+    private fun buildFields(meta: TSGlobalMetaMap): MutableList<TSGraphField> = listOf(
+        TSGraphFieldTyped(MapType.ARGUMENTTYPE, meta.argumentType ?: "?"),
+        TSGraphFieldTyped(MapType.RETURNTYPE, meta.returnType ?: "?"),
+    )
+        .toMutableList()
 
-        return buildNode(meta.name, meta, properties, transitiveNode)
-    }
-
-    private fun buildNode(meta: TSGlobalMetaRelation, transitiveNode: Boolean): TSGraphNodeClassifier? {
+    private fun buildFields(meta: TSGlobalMetaRelation): MutableList<TSGraphField> {
         val deploymentFields = deploymentFields(meta.deployment)
         val properties = listOf(
             TSGraphFieldRelationElement(Relation.SOURCE_ELEMENT, meta.source),
             TSGraphFieldRelationElement(Relation.TARGET_ELEMENT, meta.target),
         )
 
-        val fields = deploymentFields + properties
-        return buildNode(meta.name, meta, fields.toMutableList(), transitiveNode)
+        return (deploymentFields + properties).toMutableList()
     }
 
-    private fun buildNode(meta: TSGlobalMetaCollection, transitiveNode: Boolean): TSGraphNodeClassifier? {
-        val fields = listOf(
-            TSGraphFieldProperty(CollectionType.TYPE, meta.type.value),
-            TSGraphFieldTyped(CollectionType.ELEMENTTYPE, meta.elementType),
-        )
-            .toMutableList()
-
-        return buildNode(meta.name, meta, fields, transitiveNode)
-    }
+    private fun buildFields(meta: TSGlobalMetaCollection): MutableList<TSGraphField> = listOf(
+        TSGraphFieldProperty(CollectionType.TYPE, meta.type.value),
+        TSGraphFieldTyped(CollectionType.ELEMENTTYPE, meta.elementType),
+    )
+        .toMutableList()
 
-    private fun buildNode(meta: TSGlobalMetaEnum, transitiveNode: Boolean): TSGraphNodeClassifier? {
+    private fun buildFields(meta: TSGlobalMetaEnum): MutableList<TSGraphField> {
         val properties = listOf(
             TSGraphFieldProperty(HybrisConstants.ATTRIBUTE_PK, "PK"),
             TSGraphFieldProperty(HybrisConstants.ATTRIBUTE_CODE, "String"),
@@ -116,9 +119,7 @@ object TSGraphFactory {
             .map { (name, metaEnumValue) -> TSGraphFieldEnumValue(name, metaEnumValue) }
             .sortedBy { it.name }
 
-        val fields = (properties + values).toMutableList()
-
-        return buildNode(meta.name, meta, fields, transitiveNode)
+        return (properties + values).toMutableList()
     }
 
     private fun deploymentFields(deployment: TSMetaDeployment?): Array<TSGraphField> {
@@ -142,8 +143,8 @@ object TSGraphFactory {
             name = name,
             meta = meta,
             fields = fields,
-            transitiveNode = transitiveNode,
-            tooltip = TSMetaDetailsGenerator.generateTooltip(meta))
+            transitiveNode = transitiveNode
+        )
     }
 
 }
\ No newline at end of file
@@ -18,6 +18,7 @@
 
 package com.intellij.idea.plugin.hybris.diagram.typeSystem.node.graph
 
+import com.intellij.idea.plugin.hybris.system.type.meta.TSMetaDetailsGenerator
 import com.intellij.idea.plugin.hybris.system.type.meta.model.TSGlobalMetaClassifier
 
 /**
@@ -31,9 +32,11 @@ data class TSGraphNodeClassifier(
     override val fields: MutableList<TSGraphField> = mutableListOf(),
     val transitiveNode: Boolean = false,
     override var collapsed: Boolean = false,
-    override val tooltip: String?
 ) : TSGraphNode {
 
+    // tooltip is shown only on hover, so there is no need to generate it for each node of the diagram
+    override val tooltip: String? by lazy { TSMetaDetailsGenerator.generateTooltip(meta) }
+
     override fun equals(other: Any?): Boolean {
         if (this === other) return true
         if (other !is TSGraphNodeClassifier) return false
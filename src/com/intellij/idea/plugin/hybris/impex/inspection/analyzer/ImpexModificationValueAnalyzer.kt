@@ -21,13 +21,11 @@ package com.intellij.idea.plugin.hybris.impex.inspection.analyzer
 import com.intellij.codeInspection.ProblemHighlightType
 import com.intellij.codeInspection.ProblemsHolder
 import com.intellij.idea.plugin.hybris.impex.constants.modifier.AttributeModifier
-import com.intellij.idea.plugin.hybris.impex.psi.ImpexFile
-import com.intellij.idea.plugin.hybris.impex.psi.ImpexFullHeaderParameter
-import com.intellij.idea.plugin.hybris.impex.psi.ImpexHeaderLine
-import com.intellij.idea.plugin.hybris.impex.psi.ImpexTypes
+import com.intellij.idea.plugin.hybris.impex.psi.*
 import com.intellij.idea.plugin.hybris.psi.util.PsiTreeUtilExt
 import com.intellij.psi.PsiElement
 import com.intellij.psi.util.PsiTreeUtil
+import java.util.BitSet
 
 fun notKeyAttributesList(fullParametersList: List<ImpexFullHeaderParameter>) = fullParametersList.filterNot { keyAttrPredicate(it) }
 
@@ -41,8 +39,6 @@ fun keyAttrPredicate(param: ImpexFullHeaderParameter) = param.modifiersList
     .flatMap { it.attributeList }
     .find { it.anyAttributeName.text == AttributeModifier.UNIQUE.modifierName && it.anyAttributeValue?.text == "true" } != null
 
-fun intersection(a: ByteArray, b: ByteArray) = a.filterIndexed { index, i -> b[index] != 0.toByte() && b[index] == i }.isNotEmpty()
-
 fun createDataTable(dataMap: Map<String, List<PsiElement?>>, distinctCommonAttrsNames: List<String>, notKeyAttrsList: List<ImpexFullHeaderParameter>): DataTable {
     val countKeyAttrs = dataMap.entries.size
     val countRows = dataMap.values.first().size
@@ -53,13 +49,14 @@ fun createDataTable(dataMap: Map<String, List<PsiElement?>>, distinctCommonAttrs
 }
 
 fun createRows(countRows: Int, countKeyAttrs: Int, dataMap: Map<String, List<PsiElement?>>): MutableList<Key> {
-    val keyRows = mutableListOf<Key>()
+    val keyColumns = dataMap.values.toList()
+    val keyRows = ArrayList<Key>(countRows)
     for (i in 0 until countRows) {
-        val k = mutableListOf<PsiElement?>()
+        val k = ArrayList<PsiElement?>(countKeyAttrs)
         for (y in 0 until countKeyAttrs) {
-            val entry = dataMap.entries.toList()[y]
-            if ((entry.value as List<*>).isNotEmpty() && entry.value.size > i) {
-                k.add(entry.value[i])
+            val values = keyColumns[y]
+            if (values.size > i) {
+                k.add(values[i])
             }
         }
         keyRows.add(Key(k))
@@ -69,54 +66,34 @@ fun createRows(countRows: Int, countKeyAttrs: Int, dataMap: Map<String, List<Psi
 
 class DataTable(private val keyRows: List<Key>, private val attrs: List<String>, private val attrsValues: List<ImpexFullHeaderParameter>) {
 
-    private val rows = mutableListOf<Row>()
-    private val errorBag = mutableSetOf<PsiElement>()
-    private val warningBag = mutableSetOf<PsiElement>()
-
     fun analyze(problemsHolder: ProblemsHolder) {
+        val index = ValueOverrideIndex<List<String?>, PsiElement>(attrs.size)
+        val valueGroupsByColumn = collectValueGroups()
 
-        analyzeProblems()
-        collectProblems()
-        showFoundProblems(problemsHolder)
-    }
+        keyRows.forEach { keyRow ->
+            val valueLine = keyRow.keys.firstOrNull()
+                ?.let { PsiTreeUtil.getParentOfType(it, ImpexValueLine::class.java) }
+                ?: return@forEach
 
-    private fun collectProblems() {
-        val groupBy = rows.groupBy { it.key.toString() }
-        groupBy.forEach { (_, rows: List<Row>) ->
-            rows.forEach { row1 ->
-                rows.forEach { row2 ->
-                    if (row1.columns != row2.columns && intersection(row1.columns, row2.columns)) {
-                        row1.columns.forEachIndexed { idx, az ->
-                            val row1Element = row1.valueGroup[idx]
-                            val row2Element = row2.valueGroup[idx]
-
-                            if ((row1Element != null && row1Element.text.replace(";", "").isNotBlank()) &&
-                                (row2Element != null && row2Element.text.replace(";", "").isNotBlank())
-                            ) {
-                                if (az == 1.toByte()) {
-                                    if (!errorBag.contains(row2Element) && !warningBag.contains(row2Element))
-                                        warningBag.add(row2Element)
-
-                                    if (!errorBag.contains(row1Element) && !warningBag.contains(row1Element))
-                                        errorBag.add(row1Element)
-                                }
-                            }
-                        }
-                    }
-                }
+            val values = Array<PsiElement?>(attrs.size) { column ->
+                valueGroupsByColumn[column][valueLine]
+                    ?.takeIf { it.text.replace(";", "").isNotBlank() }
             }
+            index.add(keyRow.identity, values)
         }
+
+        showFoundProblems(problemsHolder, index)
     }
 
-    private fun showFoundProblems(problemsHolder: ProblemsHolder) {
+    private fun showFoundProblems(problemsHolder: ProblemsHolder, index: ValueOverrideIndex<*, PsiElement>) {
 
-        warningBag.forEach {
+        index.overriding.forEach {
             problemsHolder.registerProblem(
                 it, "This value will override the value above",
                 ProblemHighlightType.GENERIC_ERROR_OR_WARNING
             )
         }
-        errorBag.forEach {
+        index.overridden.forEach {
             problemsHolder.registerProblem(
                 it, "This value is overridden by a value below",
                 ProblemHighlightType.GENERIC_ERROR
@@ -124,57 +101,32 @@ class DataTable(private val keyRows: List<Key>, private val attrs: List<String>,
         }
     }
 
-    private fun analyzeProblems() {
-        keyRows.forEach { keyValue ->
-            val bitSet = ByteArray(attrs.size)
-
-            val row = Row(keyValue, bitSet, arrayOfNulls(attrs.size))
-            attrs.forEach { av ->
-                val valueGroups =
-                    attrsValues
-                        .asSequence()
-                        .filter { it.text == av }
-                        .filter { hasNoAppendModeModifier(it) }
-                        .flatMap { it.valueGroups }
-                        .filter { it.value != null }
-                        .filter {
-                            PsiTreeUtilExt.getLeafsOfAnyElementType(
-                                it.value!!,
-                                ImpexTypes.COLLECTION_APPEND_PREFIX,
-                                ImpexTypes.COLLECTION_REMOVE_PREFIX,
-                                ImpexTypes.COLLECTION_MERGE_PREFIX
-                            ).isEmpty()
-                        }
-                        .filter { valueGroup ->
-                            val commonContext = keyValue.keys.first()
-                                ?.let { PsiTreeUtil.findCommonContext(it, valueGroup) }
-                            commonContext != null && commonContext !is ImpexFile
-                        }
-                        .toList()
-
-                if (valueGroups.isNotEmpty()) {
-                    valueGroups.forEach { valueGroup ->
-                        if (valueGroup == null) {
-                            val indexOf = attrs.indexOfFirst { s -> s == av }
-                            if (indexOf > -1) {
-                                bitSet[indexOf] = 0
-                                row.valueGroup[indexOf] = null
-                            }
-                        } else {
-                            valueGroup.fullHeaderParameter
-                                ?.let { headerParameter ->
-                                    val indexOf = attrs.indexOfFirst { headerParameter.text == it }
-                                    if (indexOf > -1) {
-                                        bitSet[indexOf] = 1
-                                        row.valueGroup[indexOf] = valueGroup
-                                    }
-                                }
-                        }
-                    }
-                }
+    /**
+     * Value groups of each analyzed attribute mapped by the Value Line, for the same line the last value group wins.
+     */
+    private fun collectValueGroups(): List<Map<ImpexValueLine, ImpexValueGroup>> = attrs.map { attr ->
+        val valueGroups = HashMap<ImpexValueLine, ImpexValueGroup>()
+
+        attrsValues
+            .asSequence()
+            .filter { it.text == attr }
+            .filter { hasNoAppendModeModifier(it) }
+            .flatMap { it.valueGroups }
+            .filter { it.value != null }
+            .filter {
+                PsiTreeUtilExt.getLeafsOfAnyElementType(
+                    it.value!!,
+                    ImpexTypes.COLLECTION_APPEND_PREFIX,
+                    ImpexTypes.COLLECTION_REMOVE_PREFIX,
+                    ImpexTypes.COLLECTION_MERGE_PREFIX
+                ).isEmpty()
             }
-            rows.add(row)
-        }
+            .forEach { valueGroup ->
+                valueGroup.valueLine
+                    ?.let { valueGroups[it] = valueGroup }
+            }
+
+        valueGroups
     }
 
     private fun hasNoAppendModeModifier(headerParameter: ImpexFullHeaderParameter) = !headerParameter.modifiersList
@@ -186,8 +138,42 @@ class DataTable(private val keyRows: List<Key>, private val attrs: List<String>,
 
 }
 
-class Row(val key: Key, val columns: ByteArray, val valueGroup: Array<PsiElement?>)
+/**
+ * Hash index of the key tuples to the bitset of columns which already have a value.
+ *
+ * The first value of the column for the same key is overridden by every subsequent one,
+ * so each row has to be visited only once and analysis takes O(rows × columns).
+ */
+class ValueOverrideIndex<K : Any, E : Any>(private val columnsCount: Int) {
+
+    private val index = HashMap<K, KeyColumns<E>>()
+    val overridden = LinkedHashSet<E>()
+    val overriding = LinkedHashSet<E>()
+
+    fun add(key: K, values: Array<out E?>) {
+        val keyColumns = index.getOrPut(key) { KeyColumns(columnsCount) }
+
+        values.forEachIndexed { column, value ->
+            if (value == null) return@forEachIndexed
+
+            if (keyColumns.columns.get(column)) {
+                keyColumns.firstValues[column]?.let { overridden.add(it) }
+                overriding.add(value)
+            } else {
+                keyColumns.columns.set(column)
+                keyColumns.firstValues[column] = value
+            }
+        }
+    }
+
+    private class KeyColumns<E : Any>(columnsCount: Int) {
+        val columns = BitSet(columnsCount)
+        val firstValues = MutableList<E?>(columnsCount) { null }
+    }
+}
 
 class Key(val keys: List<PsiElement?>) {
+    val identity: List<String?> by lazy { keys.map { it?.text } }
+
     override fun toString(): String = keys.joinToString { "|" + it?.text }
 }
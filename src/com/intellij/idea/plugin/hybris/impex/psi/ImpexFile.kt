@@ -48,6 +48,16 @@ class ImpexFile(viewProvider: FileViewProvider) : PsiFileBase(viewProvider, Impe
         )
     }, false)
 
+    /**
+     * Depends only on this file modification stamp, so changes in other files will not drop it.
+     */
+    fun getMacroDeclarations(): ImpexMacroDeclarationTable = CachedValuesManager.getManager(project).getCachedValue(this, CACHE_KEY_MACRO_DECLARATIONS, {
+        CachedValueProvider.Result.createSingleDependency(
+            ImpexMacroDeclarationTable.create(this),
+            this,
+        )
+    }, false)
+
     fun getExternalImpExFiles(): Collection<ImpexFile> = CachedValuesManager.getManager(project).getCachedValue(this, CACHE_KEY_EXTERNAL_FILES, {
         val externalImpExFiles = mutableListOf<ImpexFile>()
 
@@ -96,6 +106,7 @@ class ImpexFile(viewProvider: FileViewProvider) : PsiFileBase(viewProvider, Impe
     companion object {
         val CACHE_KEY_HEADER_LINES = Key.create<CachedValue<Map<ImpexHeaderLine, Collection<ImpexValueLine>>>>("SAP_CX_IMPEX_HEADER_LINES")
         val CACHE_KEY_EXTERNAL_FILES = Key.create<CachedValue<Collection<ImpexFile>>>("SAP_CX_IMPEX_EXTERNAL_FILES")
+        val CACHE_KEY_MACRO_DECLARATIONS = Key.create<CachedValue<ImpexMacroDeclarationTable>>("SAP_CX_IMPEX_MACRO_DECLARATIONS")
 
         @Serial
         private val serialVersionUID: Long = 5112646813557523662L
@@ -0,0 +1,94 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.impex.psi
+
+import com.intellij.idea.plugin.hybris.impex.psi.references.ImpexMacroReference
+import com.intellij.idea.plugin.hybris.psi.util.getLineNumber
+import com.intellij.psi.util.PsiTreeUtil
+
+/**
+ * Line-ordered table of the macro declarations of a single ImpEx file.
+ *
+ * Declarations are grouped by the escaped macro name, for each name line numbers are sorted,
+ * so the closest declaration above the usage can be found via binary search.
+ */
+class ImpexMacroDeclarationTable private constructor(
+    val declarations: List<ImpexMacroDeclaration>,
+    private val entries: Map<String, Entries>,
+    private val maxNameLength: Int
+) {
+
+    /**
+     * Returns the last declaration placed above the given line, which name is a prefix of the macro usage text.
+     */
+    fun findDeclaration(macroUsageText: String, beforeLine: Int = Int.MAX_VALUE): ImpexMacroDeclaration? {
+        var candidate = -1
+
+        for (length in 0..minOf(macroUsageText.length, maxNameLength)) {
+            val nameEntries = entries[macroUsageText.substring(0, length)] ?: continue
+            val index = nameEntries.lastBefore(beforeLine)
+            if (index > candidate) candidate = index
+        }
+
+        return if (candidate == -1) null
+        else declarations[candidate]
+    }
+
+    private class Entries(val lines: IntArray, val indexes: IntArray) {
+
+        fun lastBefore(line: Int): Int {
+            var low = 0
+            var high = lines.size - 1
+            var found = -1
+
+            while (low <= high) {
+                val mid = (low + high) ushr 1
+                if (lines[mid] < line) {
+                    found = mid
+                    low = mid + 1
+                } else {
+                    high = mid - 1
+                }
+            }
+            return if (found == -1) -1
+            else indexes[found]
+        }
+    }
+
+    companion object {
+        val EMPTY = ImpexMacroDeclarationTable(emptyList(), emptyMap(), 0)
+
+        fun create(file: ImpexFile): ImpexMacroDeclarationTable {
+            val declarations = PsiTreeUtil.findChildrenOfType(file, ImpexMacroDeclaration::class.java).toList()
+            if (declarations.isEmpty()) return EMPTY
+
+            val entries = declarations
+                .mapIndexed { index, declaration -> Triple(ImpexMacroReference.escapeName(declaration.macroNameDec.text), declaration.getLineNumber(), index) }
+                .groupBy({ it.first }, { it.second to it.third })
+                .mapValues { (_, linesAndIndexes) ->
+                    // declarations are collected in the document order, so lines are already sorted
+                    Entries(
+                        linesAndIndexes.map { it.first }.toIntArray(),
+                        linesAndIndexes.map { it.second }.toIntArray()
+                    )
+                }
+
+            return ImpexMacroDeclarationTable(declarations, entries, entries.keys.maxOf { it.length })
+        }
+    }
+}
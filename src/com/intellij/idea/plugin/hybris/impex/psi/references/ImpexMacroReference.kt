@@ -47,21 +47,15 @@ class ImpexMacroReference(owner: PsiElement) : PsiReferenceBase.Poly<PsiElement?
 
     private fun findMacroDeclaration(): ImpexMacroDeclaration? {
         val text = element.text
-        val macroUsageLineNumber = element.getLineNumber()
+        val file = element.containingFile as? ImpexFile
+            ?: return null
 
-        return PsiTreeUtil.findChildrenOfType(
-            element.containingFile,
-            ImpexMacroDeclaration::class.java
-        )
-            .reversed()
-            .find { it.getLineNumber() < macroUsageLineNumber && text.startsWith(escapeName(it.macroNameDec.text)) }
-            ?: findExternalMacroDeclaration(text)
+        return file.getMacroDeclarations().findDeclaration(text, element.getLineNumber())
+            ?: findExternalMacroDeclaration(file, text)
     }
 
-    private fun findExternalMacroDeclaration(text: String) = (element.containingFile as ImpexFile).getExternalImpExFiles()
-        .map { PsiTreeUtil.findChildrenOfType(it, ImpexMacroDeclaration::class.java) }
-        .flatMap { it.reversed() }
-        .find { text.startsWith(escapeName(it.macroNameDec.text)) }
+    private fun findExternalMacroDeclaration(file: ImpexFile, text: String) = file.getExternalImpExFiles()
+        .firstNotNullOfOrNull { it.getMacroDeclarations().findDeclaration(text) }
 
     companion object {
         private val CACHE_KEY = Key.create<ParameterizedCachedValue<Array<ResolveResult>, ImpexMacroReference>>("SAP_CX_IMPEXMACRO_REFERENCE")
@@ -75,9 +69,14 @@ class ImpexMacroReference(owner: PsiElement) : PsiReferenceBase.Poly<PsiElement?
                 ?.let { PsiElementResolveResult.createResults(it.macroNameDec) }
                 ?: ResolveResult.EMPTY_ARRAY
 
+            val file = ref.element.containingFile as? ImpexFile
+            val dependencies = file
+                ?.let { listOf(it) + it.getExternalImpExFiles() }
+                ?: listOf(PsiModificationTracker.MODIFICATION_COUNT)
+
             CachedValueProvider.Result.create(
                 result,
-                PsiModificationTracker.MODIFICATION_COUNT
+                dependencies
             )
         }
     }
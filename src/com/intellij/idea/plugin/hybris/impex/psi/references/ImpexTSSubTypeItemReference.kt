@@ -24,7 +24,6 @@ import com.intellij.idea.plugin.hybris.psi.util.PsiUtils
 import com.intellij.idea.plugin.hybris.system.type.codeInsight.lookup.TSLookupElementFactory
 import com.intellij.idea.plugin.hybris.system.type.meta.TSMetaModelAccess
 import com.intellij.idea.plugin.hybris.system.type.meta.model.TSGlobalMetaItem
-import com.intellij.idea.plugin.hybris.system.type.meta.model.TSMetaType
 import com.intellij.idea.plugin.hybris.system.type.psi.reference.result.ItemResolveResult
 import com.intellij.openapi.progress.ProgressManager
 import com.intellij.openapi.util.Key
@@ -76,12 +75,12 @@ class ImpexTSSubTypeItemReference(owner: ImpexSubTypeName) : TSReferenceBase<Imp
                 ?.text
                 ?: return emptyList()
 
-            return TSMetaModelAccess.getInstance(element.project).getAll<TSGlobalMetaItem>(TSMetaType.META_ITEM)
-                .filter {meta ->
-                    meta.allExtends.find { it.name == headerTypeName } != null
-                        // or itself, it will be highlighted as unnecessary via Inspection
-                        || meta.name == headerTypeName
-                }
+            val metaModelAccess = TSMetaModelAccess.getInstance(element.project)
+            val headerMetaItem = metaModelAccess.findMetaItemByName(headerTypeName)
+                ?: return emptyList()
+
+            // or itself, it will be highlighted as unnecessary via Inspection
+            return listOf(headerMetaItem) + metaModelAccess.getAllSubtypes(headerTypeName)
         }
     }
 }
@@ -49,6 +49,7 @@ import java.nio.file.attribute.BasicFileAttributes
 import java.util.jar.JarOutputStream
 import kotlin.io.path.exists
 import kotlin.io.path.extension
+import kotlin.io.path.isDirectory
 import kotlin.io.path.name
 
 // TODO: add progress indicator
@@ -87,22 +88,99 @@ class ProjectBeforeCompilerTask : CompileTask {
             ?: return true
 
         val bootstrapDirectory = platformModuleRoot.resolve(HybrisConstants.PLATFORM_BOOTSTRAP_DIRECTORY)
+        val incremental = settings.state.generateCodeIncrementally
+        val generationState = ProjectCodeGenerationState.getInstance(context.project)
+        val fingerprint = if (incremental) generationState.computeFingerprint(modules.asList(), bootstrapDirectory) else null
+
+        if (fingerprint != null && generationState.isUpToDate(fingerprint, bootstrapDirectory)) {
+            context.addMessage(CompilerMessageCategory.STATISTICS, "[y] Type and Bean System definitions are unchanged, skipped code generation.", null, -1, -1)
+            return true
+        }
+        generationState.reset()
+
+        val genSrcDirectory = bootstrapDirectory.resolve(HybrisConstants.GEN_SRC_DIRECTORY)
+        val previousSources = if (incremental) ProjectCodeGenerationState.hashGeneratedSources(genSrcDirectory) else emptyMap()
+
         if (!invokeCodeGeneration(context, platformModuleRoot, bootstrapDirectory, coreModuleRoot, vmExecutablePath, settings.state)) {
+            // compiled classes no longer correspond to the generated sources, next generation has to compile everything
+            if (incremental) cleanDirectory(context, bootstrapDirectory.resolve(HybrisConstants.PLATFORM_MODEL_CLASSES_DIRECTORY))
             ProjectCompileUtil.triggerRefreshGeneratedFiles(bootstrapDirectory)
             return false
         }
-        if (!invokeCodeCompilation(context, platformModule, bootstrapDirectory, sdkVersion)) {
+
+        val changedSources = if (incremental) collectChangedSources(context, bootstrapDirectory, previousSources) else null
+
+        if (!invokeCodeCompilation(context, platformModule, bootstrapDirectory, sdkVersion, changedSources)) {
+            if (incremental) cleanDirectory(context, bootstrapDirectory.resolve(HybrisConstants.PLATFORM_MODEL_CLASSES_DIRECTORY))
             ProjectCompileUtil.triggerRefreshGeneratedFiles(bootstrapDirectory)
             return false
         }
-        if (!invokeModelsJarCreation(context, bootstrapDirectory)) {
+        val modelsJarUpToDate = changedSources?.isEmpty() == true && ProjectCodeGenerationState.getModelsJar(bootstrapDirectory).exists()
+        if (!modelsJarUpToDate && !invokeModelsJarCreation(context, bootstrapDirectory)) {
             ProjectCompileUtil.triggerRefreshGeneratedFiles(bootstrapDirectory)
             return false
         }
 
+        fingerprint?.let { generationState.save(it) }
+
         return true;
     }
 
+    /**
+     * Returns generated sources which content differs from the previous generation.
+     * `null` indicates that all generated sources have to be compiled.
+     */
+    private fun collectChangedSources(
+        context: CompileContext,
+        bootstrapDirectory: Path,
+        previousSources: Map<String, ProjectCodeGenerationState.GeneratedSourceHash>
+    ): Collection<File>? {
+        if (previousSources.isEmpty()) return null
+        if (!bootstrapDirectory.resolve(HybrisConstants.PLATFORM_MODEL_CLASSES_DIRECTORY).isDirectory()) return null
+
+        val genSrcDirectory = bootstrapDirectory.resolve(HybrisConstants.GEN_SRC_DIRECTORY)
+        val currentSources = ProjectCodeGenerationState.hashGeneratedSources(genSrcDirectory)
+
+        // removed types may still be referenced by the previously compiled classes, full compilation is required
+        val removedSources = previousSources.keys - currentSources.keys
+        if (removedSources.isNotEmpty()) {
+            context.addMessage(CompilerMessageCategory.INFORMATION, "[y] Detected ${removedSources.size} removed generated source(s), all generated code will be compiled.", null, -1, -1)
+            return null
+        }
+
+        val changedSources = currentSources
+            .filter { (path, hash) -> previousSources[path]?.content != hash.content }
+            .keys
+
+        // unchanged classes compiled against the previous API of the changed ones may no longer be valid
+        val changedApiSources = changedSources
+            .filter { path -> previousSources[path]?.let { it.api != currentSources[path]?.api } ?: false }
+        if (changedApiSources.isNotEmpty()) {
+            context.addMessage(
+                CompilerMessageCategory.INFORMATION,
+                "[y] Detected API changes of ${countModels(changedApiSources)} generated model(s), all generated code will be compiled.",
+                null, -1, -1
+            )
+            return null
+        }
+
+        context.addMessage(
+            CompilerMessageCategory.STATISTICS,
+            "[y] Regenerated ${countModels(changedSources)} model(s) in ${changedSources.size} source file(s), skipped ${currentSources.size - changedSources.size} unchanged source file(s).",
+            null, -1, -1
+        )
+        return changedSources
+            .map { genSrcDirectory.resolve(it).toFile() }
+    }
+
+    /**
+     * Single type is generated into several sources, e.g. `FooModel` of the service layer and `GeneratedFoo` of the jalo layer.
+     */
+    private fun countModels(sources: Collection<String>) = sources
+        .map { it.substringAfterLast('/').removeSuffix(".java").removePrefix("Generated").removeSuffix("Model") }
+        .toSet()
+        .size
+
     private fun invokeCodeGeneration(
         context: CompileContext,
         platformModuleRoot: Path,
@@ -166,22 +244,34 @@ class ProjectBeforeCompilerTask : CompileTask {
         context: CompileContext,
         platformModule: Module,
         bootstrapDirectory: Path,
-        sdkVersion: JavaSdkVersion
+        sdkVersion: JavaSdkVersion,
+        changedSources: Collection<File>?
     ): Boolean {
-        val pathToBeDeleted = bootstrapDirectory.resolve(HybrisConstants.PLATFORM_MODEL_CLASSES_DIRECTORY)
-        cleanDirectory(context, pathToBeDeleted)
+        val modelClassesDirectory = bootstrapDirectory.resolve(HybrisConstants.PLATFORM_MODEL_CLASSES_DIRECTORY)
+        if (changedSources == null) cleanDirectory(context, modelClassesDirectory)
 
         try {
             context.addMessage(CompilerMessageCategory.INFORMATION, "[y] Started compilation of the generated code...", null, -1, -1)
             val sourceFiles = mutableSetOf<File>()
-            Files.walkFileTree(
-                bootstrapDirectory.resolve(HybrisConstants.GEN_SRC_DIRECTORY),
-                object : SimpleFileVisitor<Path>() {
-                    override fun visitFile(file: Path?, attrs: BasicFileAttributes?): FileVisitResult {
-                        if (file?.extension == "java" && file.name != "package-info.java") sourceFiles.add(file.toFile())
-                        return super.visitFile(file, attrs)
-                    }
-                })
+            if (changedSources != null) {
+                changedSources
+                    .filter { it.name != "package-info.java" }
+                    .forEach { sourceFiles.add(it) }
+            } else {
+                Files.walkFileTree(
+                    bootstrapDirectory.resolve(HybrisConstants.GEN_SRC_DIRECTORY),
+                    object : SimpleFileVisitor<Path>() {
+                        override fun visitFile(file: Path?, attrs: BasicFileAttributes?): FileVisitResult {
+                            if (file?.extension == "java" && file.name != "package-info.java") sourceFiles.add(file.toFile())
+                            return super.visitFile(file, attrs)
+                        }
+                    })
+            }
+
+            if (sourceFiles.isEmpty()) {
+                context.addMessage(CompilerMessageCategory.INFORMATION, "[y] Generated code is unchanged, skipped compilation.", null, -1, -1)
+                return true
+            }
 
             val profile = CompilerConfiguration.getInstance(context.project).getAnnotationProcessingConfiguration(platformModule)
             val sourceOption = sdkVersion.maxLanguageLevel.toJavaVersion().complianceOption()
@@ -196,8 +286,10 @@ class ProjectBeforeCompilerTask : CompileTask {
             addAnnotationProcessingOptions(options, profile)
 
             val rootManager = ModuleRootManager.getInstance(platformModule)
+            // previously compiled unchanged classes must be resolvable during incremental compilation
             val classpath = rootManager.orderEntries().compileOnly().recursively().exportedOnly().withoutSdk().pathsList.pathList
                 .map { File(it) }
+                .let { if (changedSources != null) listOf(modelClassesDirectory.toFile()) + it else it }
             val platformClasspath = rootManager.orderEntries().compileOnly().sdkOnly().pathsList.pathList
                 .map { File(it) }
 
@@ -209,7 +301,7 @@ class ProjectBeforeCompilerTask : CompileTask {
                 emptyList(),
                 listOf(bootstrapDirectory.resolve(HybrisConstants.GEN_SRC_DIRECTORY).toFile()),
                 sourceFiles,
-                bootstrapDirectory.resolve(HybrisConstants.PLATFORM_MODEL_CLASSES_DIRECTORY).toFile()
+                modelClassesDirectory.toFile()
             )
             context.addMessage(CompilerMessageCategory.STATISTICS, "[y] Compiled ${classes.size} generated classes.", null, -1, -1)
             val flushedClasses = classes
@@ -234,11 +326,7 @@ class ProjectBeforeCompilerTask : CompileTask {
     private fun invokeModelsJarCreation(context: CompileContext, bootstrapDirectory: Path): Boolean {
         context.addMessage(CompilerMessageCategory.INFORMATION, "[y] Started creation of the models.jar file...", null, -1, -1)
 
-        val bootstrapDir = System.getenv(HybrisConstants.ENV_HYBRIS_BOOTSTRAP_BIN_DIR)
-            ?.let { Paths.get(it) }
-            ?: bootstrapDirectory.resolve(HybrisConstants.BIN_DIRECTORY)
-
-        val modelsFile = bootstrapDir.resolve(HybrisConstants.JAR_MODELS).toFile()
+        val modelsFile = ProjectCodeGenerationState.getModelsJar(bootstrapDirectory).toFile()
         if (modelsFile.exists()) modelsFile.delete()
 
         try {
@@ -0,0 +1,169 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.project.compile
+
+import com.intellij.idea.plugin.hybris.common.HybrisConstants
+import com.intellij.idea.plugin.hybris.common.root
+import com.intellij.idea.plugin.hybris.common.yExtensionName
+import com.intellij.openapi.components.Service
+import com.intellij.openapi.diagnostic.Logger
+import com.intellij.openapi.module.Module
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.project.getProjectDataPath
+import org.apache.commons.codec.binary.Hex
+import org.apache.commons.codec.digest.DigestUtils
+import java.io.IOException
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.nio.file.StandardCopyOption
+import java.security.MessageDigest
+import kotlin.io.path.*
+
+/**
+ * Keeps fingerprint of the Type and Bean System definitions used for the last successful code generation.
+ *
+ * Fingerprint covers content of all `*-items.xml` and `*-beans.xml` files of the compiled extensions,
+ * set of the extensions itself and the `ybootstrap.jar` which contains code generator.
+ */
+@Service(Service.Level.PROJECT)
+class ProjectCodeGenerationState(private val project: Project) {
+
+    private val fingerprintFile by lazy { project.getProjectDataPath(DATA_DIR).resolve(FINGERPRINT_FILE_NAME) }
+
+    fun computeFingerprint(modules: Collection<Module>, bootstrapDirectory: Path): String {
+        val digest = DigestUtils.getSha1Digest()
+
+        modules
+            .mapNotNull { module -> module.root()?.let { module.yExtensionName() to it } }
+            .sortedBy { it.first }
+            .forEach { (extensionName, root) ->
+                digest.update(extensionName)
+                definitionFiles(root.resolve(HybrisConstants.RESOURCES_DIRECTORY))
+                    .forEach { file ->
+                        digest.update(root.relativize(file).invariantSeparatorsPathString)
+                        digest.update(Files.readAllBytes(file))
+                    }
+            }
+
+        val codeGenerator = bootstrapDirectory.resolve(HybrisConstants.BIN_DIRECTORY).resolve("ybootstrap.jar")
+        if (codeGenerator.exists()) {
+            digest.update("${codeGenerator.fileSize()}:${codeGenerator.getLastModifiedTime().toMillis()}")
+        }
+
+        return Hex.encodeHexString(digest.digest())
+    }
+
+    fun isUpToDate(fingerprint: String, bootstrapDirectory: Path) = fingerprint == load()
+        && bootstrapDirectory.resolve(HybrisConstants.GEN_SRC_DIRECTORY).isDirectory()
+        && bootstrapDirectory.resolve(HybrisConstants.PLATFORM_MODEL_CLASSES_DIRECTORY).isDirectory()
+        && getModelsJar(bootstrapDirectory).exists()
+
+    fun save(fingerprint: String) {
+        try {
+            Files.createDirectories(fingerprintFile.parent)
+            val tempFile = Files.createTempFile(fingerprintFile.parent, FINGERPRINT_FILE_NAME, ".tmp")
+            tempFile.writeText(fingerprint)
+            Files.move(tempFile, fingerprintFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+        } catch (e: IOException) {
+            LOG.warn("Unable to store code generation fingerprint: $fingerprintFile", e)
+        }
+    }
+
+    fun reset() {
+        try {
+            fingerprintFile.deleteIfExists()
+        } catch (e: IOException) {
+            LOG.warn("Unable to reset code generation fingerprint: $fingerprintFile", e)
+        }
+    }
+
+    private fun load() = try {
+        fingerprintFile
+            .takeIf { it.exists() }
+            ?.readText()
+    } catch (e: IOException) {
+        LOG.warn("Unable to read code generation fingerprint: $fingerprintFile", e)
+        null
+    }
+
+    private fun definitionFiles(resourcesDirectory: Path): List<Path> {
+        if (!resourcesDirectory.isDirectory()) return emptyList()
+
+        return Files.walk(resourcesDirectory).use { paths ->
+            paths
+                .filter { it.isRegularFile() }
+                .filter {
+                    it.name.endsWith(HybrisConstants.HYBRIS_ITEMS_XML_FILE_ENDING)
+                        || it.name.endsWith(HybrisConstants.HYBRIS_BEANS_XML_FILE_ENDING)
+                }
+                .sorted()
+                .toList()
+        }
+    }
+
+    private fun MessageDigest.update(value: String) = update(value.toByteArray(Charsets.UTF_8))
+
+    companion object {
+        private const val DATA_DIR = "sap-commerce"
+        private const val FINGERPRINT_FILE_NAME = "code-generation.fingerprint"
+        private val LOG = Logger.getInstance(ProjectCodeGenerationState::class.java)
+
+        fun getInstance(project: Project): ProjectCodeGenerationState = project.getService(ProjectCodeGenerationState::class.java)
+
+        /**
+         * Location of the `models.jar` respects `HYBRIS_BOOTSTRAP_BIN_DIR` environment variable, same as the platform build.
+         */
+        fun getModelsJar(bootstrapDirectory: Path): Path = (System.getenv(HybrisConstants.ENV_HYBRIS_BOOTSTRAP_BIN_DIR)
+            ?.let { Paths.get(it) }
+            ?: bootstrapDirectory.resolve(HybrisConstants.BIN_DIRECTORY))
+            .resolve(HybrisConstants.JAR_MODELS)
+
+        /**
+         * Returns hashes of the generated java sources, mapped by the path relative to the `gensrc` directory.
+         */
+        fun hashGeneratedSources(genSrcDirectory: Path): Map<String, GeneratedSourceHash> {
+            if (!genSrcDirectory.isDirectory()) return emptyMap()
+
+            return Files.walk(genSrcDirectory).use { paths ->
+                paths
+                    .filter { it.isRegularFile() && it.extension == "java" }
+                    .toList()
+                    .associate { genSrcDirectory.relativize(it).invariantSeparatorsPathString to hashGeneratedSource(it) }
+            }
+        }
+
+        /**
+         * API hash covers only `public` and `protected` declarations, including values of the constants,
+         * which are inlined by the compiler into the dependent classes.
+         * Generated code places each declaration on a separate line, so no java parser is required.
+         */
+        private fun hashGeneratedSource(file: Path): GeneratedSourceHash {
+            val content = Files.readAllBytes(file)
+            val api = String(content, Charsets.UTF_8)
+                .lineSequence()
+                .map { it.trim() }
+                .filter { it.startsWith("public ") || it.startsWith("protected ") }
+                .joinToString("\n")
+
+            return GeneratedSourceHash(DigestUtils.sha1Hex(content), DigestUtils.sha1Hex(api))
+        }
+    }
+
+    data class GeneratedSourceHash(val content: String, val api: String)
+}
@@ -37,6 +37,12 @@ public class HybrisConfiguratorCache {
     private static final Logger LOG = Logger.getInstance(HybrisConfiguratorCache.class);
 
     private final Map<String, Ref<Properties>> path2Properties = new HashMap<>();
+    private final SharedJarLibraries sharedJarLibraries = new SharedJarLibraries();
+
+    @NotNull
+    public SharedJarLibraries getSharedJarLibraries() {
+        return sharedJarLibraries;
+    }
 
     @Nullable
     private Properties getParsedProperties(@NotNull final String filePath) {
@@ -34,7 +34,8 @@ interface LibRootsConfigurator {
         modifiableRootModel: ModifiableRootModel,
         moduleDescriptor: ModuleDescriptor,
         modifiableModelsProvider: IdeModifiableModelsProvider,
-        indicator: ProgressIndicator
+        indicator: ProgressIndicator,
+        cache: HybrisConfiguratorCache
     )
 
 }
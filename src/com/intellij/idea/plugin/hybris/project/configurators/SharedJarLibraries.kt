@@ -0,0 +1,55 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.project.configurators
+
+import com.intellij.idea.plugin.hybris.project.configurators.impl.JarDigestCache.JarContentKey
+
+/**
+ * Jars shared via project libraries during a single project import.
+ *
+ * Each distinct jar content is represented by a single project library, all other occurrences of the same jar
+ * in other extensions are mapped onto it, so they do not become separate library roots.
+ */
+class SharedJarLibraries {
+
+    private val contentKeys = HashSet<JarContentKey>()
+
+    var jarRoots = 0
+        private set
+
+    val libraries: Int
+        get() = contentKeys.size
+
+    val eliminatedRoots: Int
+        get() = jarRoots - contentKeys.size
+
+    /**
+     * Returns `true` if the jar content is registered for the first time and its shared library has to be populated.
+     */
+    fun register(contentKey: JarContentKey): Boolean {
+        jarRoots++
+        return contentKeys.add(contentKey)
+    }
+
+    companion object {
+        private const val LIBRARY_NAME_PREFIX = "Shared Jar - "
+        private const val DIGEST_LENGTH = 12
+
+        fun getLibraryName(contentKey: JarContentKey) = "$LIBRARY_NAME_PREFIX${contentKey.name} (${contentKey.digest.take(DIGEST_LENGTH)})"
+    }
+}
@@ -19,7 +19,9 @@ package com.intellij.idea.plugin.hybris.project.configurators.impl
 
 import com.intellij.idea.plugin.hybris.common.HybrisConstants
 import com.intellij.idea.plugin.hybris.common.utils.HybrisI18NBundleUtils
+import com.intellij.idea.plugin.hybris.project.configurators.HybrisConfiguratorCache
 import com.intellij.idea.plugin.hybris.project.configurators.LibRootsConfigurator
+import com.intellij.idea.plugin.hybris.project.configurators.SharedJarLibraries
 import com.intellij.idea.plugin.hybris.project.descriptors.JavaLibraryDescriptor
 import com.intellij.idea.plugin.hybris.project.descriptors.ModuleDescriptor
 import com.intellij.idea.plugin.hybris.project.descriptors.YModuleDescriptor
@@ -28,6 +30,8 @@ import com.intellij.idea.plugin.hybris.project.descriptors.impl.PlatformModuleDe
 import com.intellij.idea.plugin.hybris.project.descriptors.impl.YCoreExtModuleDescriptor
 import com.intellij.idea.plugin.hybris.project.descriptors.impl.YOotbRegularModuleDescriptor
 import com.intellij.idea.plugin.hybris.project.descriptors.impl.YWebSubModuleDescriptor
+import com.intellij.idea.plugin.hybris.settings.components.ApplicationSettingsComponent
+import com.intellij.openapi.diagnostic.Logger
 import com.intellij.openapi.externalSystem.service.project.IdeModifiableModelsProvider
 import com.intellij.openapi.progress.ProgressIndicator
 import com.intellij.openapi.roots.DependencyScope
@@ -39,6 +43,7 @@ import com.intellij.openapi.vfs.JarFileSystem
 import com.intellij.openapi.vfs.VfsUtil
 import com.intellij.openapi.vfs.VirtualFile
 import java.io.File
+import java.io.IOException
 
 class DefaultLibRootsConfigurator : LibRootsConfigurator {
 
@@ -48,10 +53,13 @@ class DefaultLibRootsConfigurator : LibRootsConfigurator {
         modifiableRootModel: ModifiableRootModel,
         moduleDescriptor: ModuleDescriptor,
         modifiableModelsProvider: IdeModifiableModelsProvider,
-        indicator: ProgressIndicator
+        indicator: ProgressIndicator,
+        cache: HybrisConfiguratorCache
     ) {
         indicator.text2 = HybrisI18NBundleUtils.message("hybris.project.import.module.libs")
 
+        val sharedJarLibraries = cache.sharedJarLibraries
+            .takeIf { ApplicationSettingsComponent.getInstance().state.shareIdenticalLibraryJars }
         val sourceCodeRoot = getSourceCodeRoot(moduleDescriptor)
         for (javaLibraryDescriptor in YModuleLibDescriptorUtil.getLibraryDescriptors(moduleDescriptor, allYModules)) {
             if (!javaLibraryDescriptor.libraryFile.exists() && javaLibraryDescriptor.scope == DependencyScope.COMPILE) {
@@ -59,6 +67,8 @@ class DefaultLibRootsConfigurator : LibRootsConfigurator {
             }
             if (javaLibraryDescriptor.directoryWithClasses) {
                 addClassesToModuleLibs(modifiableRootModel, modifiableModelsProvider, sourceCodeRoot, javaLibraryDescriptor)
+            } else if (sharedJarLibraries != null) {
+                addJarFolderToSharedLibs(modifiableRootModel, modifiableModelsProvider, javaLibraryDescriptor, sharedJarLibraries)
             } else {
                 addJarFolderToModuleLibs(modifiableRootModel, modifiableModelsProvider, javaLibraryDescriptor)
             }
@@ -157,6 +167,89 @@ class DefaultLibRootsConfigurator : LibRootsConfigurator {
         setLibraryEntryScope(modifiableRootModel, library, javaLibraryDescriptor.scope)
     }
 
+    /**
+     * Instead of the module library with the whole jar folder, each jar is added via project library shared by all identical jars.
+     * Empty or not yet existing jar folders are still registered as module libraries to pick up jars created later, i.e. by the build,
+     * jars added to the non-empty folders are picked up only by the next import.
+     *
+     * Sources of all descriptors referencing the same jar are attached to its shared library.
+     * Same jar may be referenced by several descriptors of the module, in such case the entry is exported if any of them is exported
+     * and gets the scope which covers all of them.
+     */
+    private fun addJarFolderToSharedLibs(
+        modifiableRootModel: ModifiableRootModel,
+        modifiableModelsProvider: IdeModifiableModelsProvider,
+        javaLibraryDescriptor: JavaLibraryDescriptor,
+        sharedJarLibraries: SharedJarLibraries
+    ) {
+        val jarFiles = javaLibraryDescriptor.libraryFile
+            .walkTopDown()
+            .filter { it.isFile && it.name.endsWith(".jar") }
+            .sortedBy { it.path }
+            .toList()
+
+        if (jarFiles.isEmpty()) {
+            addJarFolderToModuleLibs(modifiableRootModel, modifiableModelsProvider, javaLibraryDescriptor)
+            return
+        }
+
+        val jarDigestCache = JarDigestCache.getInstance()
+        val libraryTableModifiableModel = modifiableModelsProvider.modifiableProjectLibrariesModel
+
+        jarFiles.forEach { jarFile ->
+            val contentKey = try {
+                jarDigestCache.getContentKey(jarFile)
+            } catch (e: IOException) {
+                LOG.warn("Unable to calculate digest of the jar: $jarFile", e)
+                // unreadable jar is never shared
+                JarDigestCache.JarContentKey(jarFile.name, jarFile.length(), jarFile.absolutePath)
+            }
+            val libraryName = SharedJarLibraries.getLibraryName(contentKey)
+            val library = libraryTableModifiableModel.getLibraryByName(libraryName)
+                ?: libraryTableModifiableModel.createLibrary(libraryName)
+
+            val libraryModifiableModel = modifiableModelsProvider.getModifiableLibraryModel(library)
+            if (sharedJarLibraries.register(contentKey)) {
+                libraryModifiableModel.addRoot(VfsUtil.getUrlForLibraryRoot(jarFile), OrderRootType.CLASSES)
+            }
+
+            val sourceUrls = libraryModifiableModel.getUrls(OrderRootType.SOURCES).toSet()
+            javaLibraryDescriptor.sourceJarDirectories
+                .map { File(it, "${jarFile.nameWithoutExtension}-sources.jar") }
+                .filter { it.isFile }
+                .map { VfsUtil.getUrlForLibraryRoot(it) }
+                .plus(javaLibraryDescriptor.sourceFiles.filter { it.exists() }.map { VfsUtil.getUrlForLibraryRoot(it) })
+                .filterNot { sourceUrls.contains(it) }
+                .distinct()
+                .forEach { libraryModifiableModel.addRoot(it, OrderRootType.SOURCES) }
+
+            val libraryOrderEntry = modifiableRootModel.orderEntries
+                .mapNotNull { it as? LibraryOrderEntry }
+                .find { it.library == library }
+
+            if (libraryOrderEntry == null) {
+                modifiableRootModel.addLibraryEntry(library)
+
+                if (javaLibraryDescriptor.exported) {
+                    setLibraryEntryExported(modifiableRootModel, library)
+                }
+
+                setLibraryEntryScope(modifiableRootModel, library, javaLibraryDescriptor.scope)
+            } else {
+                if (javaLibraryDescriptor.exported) libraryOrderEntry.isExported = true
+                libraryOrderEntry.scope = coveringScope(libraryOrderEntry.scope, javaLibraryDescriptor.scope)
+            }
+        }
+    }
+
+    private fun coveringScope(scope: DependencyScope, otherScope: DependencyScope) = when {
+        scope == otherScope -> scope
+        scope == DependencyScope.TEST -> otherScope
+        otherScope == DependencyScope.TEST -> scope
+        // PROVIDED and RUNTIME together, or any of them with COMPILE
+        else -> DependencyScope.COMPILE
+    }
+
     private fun addLibsToModule(
         modifiableRootModel: ModifiableRootModel,
         modifiableModelsProvider: IdeModifiableModelsProvider,
@@ -205,4 +298,8 @@ class DefaultLibRootsConfigurator : LibRootsConfigurator {
         .mapNotNull { it as? LibraryOrderEntry }
         .find { it.library == library }
         ?: (modifiableRootModel.findLibraryOrderEntry(library) as LibraryOrderEntry)
+
+    companion object {
+        private val LOG = Logger.getInstance(DefaultLibRootsConfigurator::class.java)
+    }
 }
@@ -30,22 +30,22 @@ import com.intellij.idea.plugin.hybris.project.descriptors.impl.YRegularModuleDe
 import com.intellij.idea.plugin.hybris.project.descriptors.impl.YWebSubModuleDescriptor
 import com.intellij.openapi.diagnostic.Logger
 import com.intellij.openapi.externalSystem.service.project.IdeModifiableModelsProvider
+import com.intellij.openapi.progress.ProcessCanceledException
 import com.intellij.openapi.progress.ProgressIndicator
+import com.intellij.openapi.progress.ProgressManager
 import com.intellij.openapi.project.Project
-import com.intellij.openapi.util.JDOMUtil
+import com.intellij.openapi.util.Computable
 import com.intellij.openapi.util.io.FileUtilRt
-import com.intellij.openapi.vfs.VfsUtil
 import com.intellij.spring.facet.SpringFacet
 import com.intellij.spring.settings.SpringGeneralSettings
 import org.apache.commons.lang3.StringUtils
-import org.jdom.Element
-import org.jdom.JDOMException
 import java.io.File
 import java.io.FileNotFoundException
 import java.io.IOException
-import java.util.*
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ForkJoinPool
 import java.util.regex.Pattern
-import java.util.zip.ZipFile
 import kotlin.io.path.exists
 
 class DefaultSpringConfigurator : SpringConfigurator {
@@ -56,17 +56,33 @@ class DefaultSpringConfigurator : SpringConfigurator {
         moduleDescriptors: Map<String, ModuleDescriptor>
     ) {
         indicator.text = message("hybris.project.import.spring")
-        for (moduleDescriptor in moduleDescriptors.values) {
-            try {
-                when (moduleDescriptor) {
-                    is YWebSubModuleDescriptor -> process(moduleDescriptors, moduleDescriptor)
-                    is YRegularModuleDescriptor -> process(moduleDescriptors, moduleDescriptor)
+
+        val cache = SpringContextFilesCache.getInstance()
+        val pool = ForkJoinPool(maxOf(2, Runtime.getRuntime().availableProcessors()))
+        val discoveredSpringFiles = try {
+            // pool threads do not inherit the indicator, so it is passed explicitly to make `checkCanceled` work there
+            pool.invokeAll(moduleDescriptors.values.map {
+                Callable { ProgressManager.getInstance().runProcess(Computable { discover(moduleDescriptors, it, cache) }, indicator) }
+            })
+                .map {
+                    try {
+                        it.get()
+                    } catch (e: ExecutionException) {
+                        throw e.cause as? ProcessCanceledException ?: e
+                    }
                 }
-            } catch (e: Exception) {
-                LOG.error("Unable to parse Spring context for module " + moduleDescriptor.name, e)
-            }
+        } finally {
+            pool.shutdown()
         }
 
+        // modules are discovered independently, but files are added in the order of the modules,
+        // so Spring file sets are the same as in case of the sequential discovery
+        discoveredSpringFiles
+            .flatten()
+            .forEach { (moduleDescriptor, springFile) -> moduleDescriptor.addSpringFile(springFile) }
+
+        cache.save()
+
         moduleDescriptors.values
             .firstOrNull { it is YCoreExtModuleDescriptor }
             ?.let { moduleDescriptor ->
@@ -124,239 +140,226 @@ class DefaultSpringConfigurator : SpringConfigurator {
         ?.iterator()
         ?.next()
 
-    private fun process(
+    private fun discover(
         moduleDescriptorMap: Map<String, ModuleDescriptor>,
-        moduleDescriptor: YRegularModuleDescriptor
-    ) {
-        val projectProperties = Properties()
-        val propFile = File(moduleDescriptor.moduleRootDirectory, HybrisConstants.PROJECT_PROPERTIES_FILE)
-        moduleDescriptor.addSpringFile(propFile.absolutePath)
-        try {
-            projectProperties.load(propFile.inputStream())
-        } catch (e: FileNotFoundException) {
-            return
-        } catch (e: IOException) {
-            LOG.error("", e)
-            return
-        }
-
-        // specifci case for OCC like extensions, usually, they have web-spring.xml files in the corresponding resources folder
-        projectProperties.getProperty("ext.${moduleDescriptor.name}.extension.webmodule.webroot")
-            ?.let { if (it.startsWith("/")) it.removePrefix("/") else it }
-            ?.let {
-                getResourceDir(moduleDescriptor).toPath()
-                    .resolve(it)
-                    .resolve(moduleDescriptor.name)
-                    .resolve("web")
-                    .resolve("spring")
-            }
-            ?.takeIf { it.exists() }
-            ?.let { addSpringXmlFile(moduleDescriptorMap, moduleDescriptor, it.toFile(), moduleDescriptor.name + "-web-spring.xml") }
-
-        projectProperties.stringPropertyNames()
-            .filter {
-                it.endsWith(HybrisConstants.APPLICATION_CONTEXT_SPRING_FILES)
-                    || it.endsWith(HybrisConstants.ADDITIONAL_WEB_SPRING_CONFIG_FILES)
-                    || it.endsWith(HybrisConstants.GLOBAL_CONTEXT_SPRING_FILES)
+        moduleDescriptor: ModuleDescriptor,
+        cache: SpringContextFilesCache
+    ): List<Pair<ModuleDescriptor, String>> {
+        val discovery = SpringContextDiscovery(moduleDescriptorMap, cache)
 
+        try {
+            when (moduleDescriptor) {
+                is YWebSubModuleDescriptor -> discovery.process(moduleDescriptor)
+                is YRegularModuleDescriptor -> discovery.process(moduleDescriptor)
             }
-            .forEach { key ->
-                val moduleName = key.substring(0, key.indexOf('.'))
-                // relevantModule can be different to a moduleDescriptor. e.g. addon concept
-                moduleDescriptorMap[moduleName]
-                    ?.let { relevantModule ->
-                        projectProperties.getProperty(key)
-                            .split(",")
-                            .dropLastWhile { it.isEmpty() }
-                            .toTypedArray()
-                            .filterNot { addSpringXmlFile(moduleDescriptorMap, relevantModule, getResourceDir(relevantModule), it) }
-                            .forEach { fileName ->
-                                val dir = hackGuessLocation(relevantModule)
-                                if (!addSpringXmlFile(moduleDescriptorMap, relevantModule, dir, fileName)) {
-                                    // otherwise we can scan in all other extensions, HybrisContextFactory does the same in the getResource() methods
-                                    // it is the case for `common` extension which has `common-spring.xml` in the `platformservices` extension
-
-                                    moduleDescriptorMap.entries
-                                        .filter { it.key != moduleName }
-                                        .firstOrNull {
-                                            val anotherModule = it.value
-                                            addSpringXmlFile(moduleDescriptorMap, anotherModule, getResourceDir(anotherModule), fileName)
-                                        }
-                                }
-                            }
-                    }
-            }
-
-        if (moduleDescriptor.hasBackofficeModule) {
-            File(moduleDescriptor.moduleRootDirectory, HybrisConstants.RESOURCES_DIRECTORY)
-                .listFiles { _, name: String -> name.endsWith("-backoffice-spring.xml") }
-                ?.forEach { processSpringFile(moduleDescriptorMap, moduleDescriptor, it) }
+        } catch (e: ProcessCanceledException) {
+            throw e
+        } catch (e: Exception) {
+            LOG.error("Unable to parse Spring context for module " + moduleDescriptor.name, e)
         }
-    }
 
-    // This is not a nice practice but the platform has a bug in acceleratorstorefrontcommons/project.properties.
-    // See https://jira.hybris.com/browse/ECP-3167
-    private fun hackGuessLocation(moduleDescriptor: ModuleDescriptor) = File(
-        getResourceDir(moduleDescriptor),
-        FileUtilRt.toSystemDependentName(moduleDescriptor.name + "/web/spring")
-    )
+        return discovery.springFiles
+    }
 
-    @Throws(IOException::class, JDOMException::class)
-    private fun process(
-        moduleDescriptorMap: Map<String, ModuleDescriptor>,
-        moduleDescriptor: YWebSubModuleDescriptor
+    /**
+     * Discovery of the Spring files for a single module, it may add Spring files to other modules as well.
+     *
+     * Files are collected instead of being added to module descriptors, so modules can be discovered in parallel.
+     * All parsing is done via [SpringContextFilesCache].
+     */
+    private class SpringContextDiscovery(
+        private val moduleDescriptorMap: Map<String, ModuleDescriptor>,
+        private val cache: SpringContextFilesCache
     ) {
-        File(moduleDescriptor.moduleRootDirectory, HybrisConstants.WEBROOT_WEBINF_WEB_XML_PATH)
-            .takeIf { it.exists() }
-            ?.let { getDocumentRoot(it) }
-            ?.takeUnless { it.isEmpty || it.name != "web-app" }
-            ?.children
-            ?.asSequence()
-            ?.filter { it.name == "context-param" }
-            ?.filter { it.children.any { p: Element -> p.name == "param-name" && p.value == "contextConfigLocation" } }
-            ?.mapNotNull { it.children.firstOrNull { p: Element -> p.name == "param-value" } }
-            ?.map { it.value }
-            ?.map { location -> location.trim { it <= ' ' } }
-            ?.firstOrNull()
-            ?.let { processContextParam(moduleDescriptorMap, moduleDescriptor, it) }
 
-    }
+        val springFiles = mutableListOf<Pair<ModuleDescriptor, String>>()
+        private val visited = HashSet<Pair<String, String>>()
 
-    private fun processContextParam(
-        moduleDescriptorMap: Map<String, ModuleDescriptor>,
-        moduleDescriptor: YWebSubModuleDescriptor,
-        contextConfigLocation: String
-    ) {
-        val webModuleDir = File(moduleDescriptor.moduleRootDirectory, HybrisConstants.WEB_ROOT_DIRECTORY)
-
-        SPLIT_PATTERN.split(contextConfigLocation)
-            .filter { it.endsWith(".xml") }
-            .map { File(webModuleDir, it) }
-            .filter { it.exists() }
-            .forEach { processSpringFile(moduleDescriptorMap, moduleDescriptor, it) }
-
-        // In addition to plain xml files also scan jars in the WEB-INF/lib
-        val webInfLibDir = File(moduleDescriptor.moduleRootDirectory, HybrisConstants.WEBROOT_WEBINF_LIB_PATH)
-        VfsUtil.findFileByIoFile(webInfLibDir, true)
-            ?.children
-            ?.filter { it.extension == "jar" }
-            ?.forEach { it ->
-                val file = VfsUtil.virtualToIoFile(it)
-                val zipFile = ZipFile(file)
-                val entries = zipFile.entries()
-                while (entries.hasMoreElements()) {
-                    val entry = entries.nextElement()
-                    val name = entry.name
-                    if (name.startsWith("META-INF") && name.endsWith(".xml")) {
-                        zipFile.getInputStream(entry).use { inputStream ->
-                            val element = JDOMUtil.load(inputStream)
-                            if (!element.isEmpty && element.name == "beans") {
-                                // as for now, imports are not scanned
-                                val springFile = "jar://${file.absolutePath}!/$name"
-                                moduleDescriptor.addSpringFile(springFile)
-                            }
-                        }
-                    }
-                }
+        private fun addSpringFile(moduleDescriptor: ModuleDescriptor, file: String) = visited.add(moduleDescriptor.name to file)
+            .also { if (it) springFiles.add(moduleDescriptor to file) }
+
+        fun process(moduleDescriptor: YRegularModuleDescriptor) {
+            val propFile = File(moduleDescriptor.moduleRootDirectory, HybrisConstants.PROJECT_PROPERTIES_FILE)
+            addSpringFile(moduleDescriptor, propFile.absolutePath)
+            val projectProperties = try {
+                cache.getProperties(propFile)
+            } catch (e: FileNotFoundException) {
+                return
+            } catch (e: IOException) {
+                LOG.error("", e)
+                return
             }
-    }
 
-    @Throws(IOException::class, JDOMException::class)
-    private fun getDocumentRoot(inputFile: File) = JDOMUtil.load(inputFile)
+            // specifci case for OCC like extensions, usually, they have web-spring.xml files in the corresponding resources folder
+            projectProperties["ext.${moduleDescriptor.name}.extension.webmodule.webroot"]
+                ?.let { if (it.startsWith("/")) it.removePrefix("/") else it }
+                ?.let {
+                    getResourceDir(moduleDescriptor).toPath()
+                        .resolve(it)
+                        .resolve(moduleDescriptor.name)
+                        .resolve("web")
+                        .resolve("spring")
+                }
+                ?.takeIf { it.exists() }
+                ?.let { addSpringXmlFile(moduleDescriptor, it.toFile(), moduleDescriptor.name + "-web-spring.xml") }
 
-    @Throws(IOException::class, JDOMException::class)
-    private fun hasSpringContent(springFile: File) = with(getDocumentRoot(springFile)) {
-        !this.isEmpty && this.name == "beans"
-    }
+            projectProperties.keys
+                .filter {
+                    it.endsWith(HybrisConstants.APPLICATION_CONTEXT_SPRING_FILES)
+                        || it.endsWith(HybrisConstants.ADDITIONAL_WEB_SPRING_CONFIG_FILES)
+                        || it.endsWith(HybrisConstants.GLOBAL_CONTEXT_SPRING_FILES)
 
-    private fun processSpringFile(
-        moduleDescriptorMap: Map<String, ModuleDescriptor>,
-        relevantModule: ModuleDescriptor,
-        springFile: File
-    ): Boolean {
-        try {
-            if (!hasSpringContent(springFile)) return false
+                }
+                .forEach { key ->
+                    val moduleName = key.substring(0, key.indexOf('.'))
+                    // relevantModule can be different to a moduleDescriptor. e.g. addon concept
+                    moduleDescriptorMap[moduleName]
+                        ?.let { relevantModule ->
+                            projectProperties[key]!!
+                                .split(",")
+                                .dropLastWhile { it.isEmpty() }
+                                .toTypedArray()
+                                .filterNot { addSpringXmlFile(relevantModule, getResourceDir(relevantModule), it) }
+                                .forEach { fileName ->
+                                    val dir = hackGuessLocation(relevantModule)
+                                    if (!addSpringXmlFile(relevantModule, dir, fileName)) {
+                                        // otherwise we can scan in all other extensions, HybrisContextFactory does the same in the getResource() methods
+                                        // it is the case for `common` extension which has `common-spring.xml` in the `platformservices` extension
+
+                                        moduleDescriptorMap.entries
+                                            .filter { it.key != moduleName }
+                                            .firstOrNull {
+                                                val anotherModule = it.value
+                                                addSpringXmlFile(anotherModule, getResourceDir(anotherModule), fileName)
+                                            }
+                                    }
+                                }
+                        }
+                }
 
-            if (relevantModule.addSpringFile(springFile.absolutePath)) {
-                scanForSpringImport(moduleDescriptorMap, relevantModule, springFile)
+            if (moduleDescriptor.hasBackofficeModule) {
+                File(moduleDescriptor.moduleRootDirectory, HybrisConstants.RESOURCES_DIRECTORY)
+                    .listFiles { _, name: String -> name.endsWith("-backoffice-spring.xml") }
+                    ?.forEach { processSpringFile(moduleDescriptor, it) }
             }
-            return true
-        } catch (e: Exception) {
-            LOG.error("unable scan file for spring imports " + springFile.name)
         }
-        return false
-    }
-
-    @Throws(IOException::class, JDOMException::class)
-    private fun scanForSpringImport(
-        moduleDescriptorMap: Map<String, ModuleDescriptor>,
-        moduleDescriptor: ModuleDescriptor,
-        springFile: File
-    ) {
-        getDocumentRoot(springFile).children
-            .filter { it.name == "import" }
-            .forEach { processImportNodeList(moduleDescriptorMap, moduleDescriptor, it, springFile) }
-    }
 
-    private fun processImportNodeList(
-        moduleDescriptorMap: Map<String, ModuleDescriptor>,
-        moduleDescriptor: ModuleDescriptor,
-        import: Element,
-        springFile: File
-    ) {
-        val resource = import.getAttributeValue("resource")
+        // This is not a nice practice but the platform has a bug in acceleratorstorefrontcommons/project.properties.
+        // See https://jira.hybris.com/browse/ECP-3167
+        private fun hackGuessLocation(moduleDescriptor: ModuleDescriptor) = File(
+            getResourceDir(moduleDescriptor),
+            FileUtilRt.toSystemDependentName(moduleDescriptor.name + "/web/spring")
+        )
+
+        fun process(moduleDescriptor: YWebSubModuleDescriptor) {
+            File(moduleDescriptor.moduleRootDirectory, HybrisConstants.WEBROOT_WEBINF_WEB_XML_PATH)
+                .takeIf { it.exists() }
+                ?.let { cache.getContextConfigLocation(it) }
+                ?.takeIf { it.isNotEmpty() }
+                ?.let { processContextParam(moduleDescriptor, it) }
+        }
 
-        if (resource.startsWith("classpath:")) {
-            addSpringOnClasspath(moduleDescriptorMap, moduleDescriptor, resource.substring("classpath:".length))
-        } else {
-            addSpringXmlFile(moduleDescriptorMap, moduleDescriptor, springFile.parentFile, resource)
+        private fun processContextParam(
+            moduleDescriptor: YWebSubModuleDescriptor,
+            contextConfigLocation: String
+        ) {
+            val webModuleDir = File(moduleDescriptor.moduleRootDirectory, HybrisConstants.WEB_ROOT_DIRECTORY)
+
+            SPLIT_PATTERN.split(contextConfigLocation)
+                .filter { it.endsWith(".xml") }
+                .map { File(webModuleDir, it) }
+                .filter { it.exists() }
+                .forEach { processSpringFile(moduleDescriptor, it) }
+
+            // In addition to plain xml files also scan jars in the WEB-INF/lib
+            File(moduleDescriptor.moduleRootDirectory, HybrisConstants.WEBROOT_WEBINF_LIB_PATH)
+                .listFiles { _, name: String -> name.endsWith(".jar") }
+                ?.sortedBy { it.name }
+                ?.forEach { jar ->
+                    ProgressManager.checkCanceled()
+
+                    // as for now, imports are not scanned
+                    cache.getJarSpringEntries(jar)
+                        .forEach { addSpringFile(moduleDescriptor, "jar://${jar.absolutePath}!/$it") }
+                }
         }
-    }
 
-    private fun addSpringOnClasspath(
-        moduleDescriptorMap: Map<String, ModuleDescriptor>,
-        relevantModule: ModuleDescriptor,
-        fileOnClasspath: String
-    ) {
-        val resourceDirectory = getResourceDir(relevantModule)
-        if (addSpringXmlFile(moduleDescriptorMap, relevantModule, resourceDirectory, fileOnClasspath)) return
+        private fun processSpringFile(
+            relevantModule: ModuleDescriptor,
+            springFile: File
+        ): Boolean {
+            ProgressManager.checkCanceled()
 
-        val file = StringUtils.stripStart(fileOnClasspath, "/")
+            try {
+                val springXml = cache.getSpringXml(springFile)
+                if (!springXml.beans) return false
 
-        val index = file.indexOf("/")
-        if (index != -1) {
-            val moduleName = file.substring(0, index)
-            val module = moduleDescriptorMap[moduleName]
-            if (module != null && addSpringExternalXmlFile(moduleDescriptorMap, relevantModule, getResourceDir(module), fileOnClasspath)) {
-                return
+                if (addSpringFile(relevantModule, springFile.absolutePath)) {
+                    springXml.imports.forEach { processImport(relevantModule, it, springFile) }
+                }
+                return true
+            } catch (e: ProcessCanceledException) {
+                throw e
+            } catch (e: Exception) {
+                LOG.error("unable scan file for spring imports " + springFile.name)
             }
+            return false
         }
-        moduleDescriptorMap.values
-            .any { addSpringExternalXmlFile(moduleDescriptorMap, relevantModule, getResourceDir(it), fileOnClasspath) }
-    }
 
-    private fun addSpringXmlFile(
-        moduleDescriptorMap: Map<String, ModuleDescriptor>,
-        moduleDescriptor: ModuleDescriptor,
-        resourceDirectory: File,
-        file: String
-    ) = if (StringUtils.startsWith(file, "/")) addSpringExternalXmlFile(moduleDescriptorMap, moduleDescriptor, getResourceDir(moduleDescriptor), file)
-    else addSpringExternalXmlFile(moduleDescriptorMap, moduleDescriptor, resourceDirectory, file)
+        private fun processImport(
+            moduleDescriptor: ModuleDescriptor,
+            resource: String,
+            springFile: File
+        ) {
+            if (resource.startsWith("classpath:")) {
+                addSpringOnClasspath(moduleDescriptor, resource.substring("classpath:".length))
+            } else {
+                addSpringXmlFile(moduleDescriptor, springFile.parentFile, resource)
+            }
+        }
 
-    private fun getResourceDir(moduleToSearch: ModuleDescriptor) = File(
-        moduleToSearch.moduleRootDirectory,
-        HybrisConstants.RESOURCES_DIRECTORY
-    )
+        private fun addSpringOnClasspath(
+            relevantModule: ModuleDescriptor,
+            fileOnClasspath: String
+        ) {
+            val resourceDirectory = getResourceDir(relevantModule)
+            if (addSpringXmlFile(relevantModule, resourceDirectory, fileOnClasspath)) return
+
+            val file = StringUtils.stripStart(fileOnClasspath, "/")
+
+            val index = file.indexOf("/")
+            if (index != -1) {
+                val moduleName = file.substring(0, index)
+                val module = moduleDescriptorMap[moduleName]
+                if (module != null && addSpringExternalXmlFile(relevantModule, getResourceDir(module), fileOnClasspath)) {
+                    return
+                }
+            }
+            moduleDescriptorMap.values
+                .any { addSpringExternalXmlFile(relevantModule, getResourceDir(it), fileOnClasspath) }
+        }
 
-    private fun addSpringExternalXmlFile(
-        moduleDescriptorMap: Map<String, ModuleDescriptor>,
-        moduleDescriptor: ModuleDescriptor,
-        resourcesDir: File,
-        file: String
-    ) = File(resourcesDir, file)
-        .takeIf { it.exists() }
-        ?.let { processSpringFile(moduleDescriptorMap, moduleDescriptor, it) }
-        ?: false
+        private fun addSpringXmlFile(
+            moduleDescriptor: ModuleDescriptor,
+            resourceDirectory: File,
+            file: String
+        ) = if (StringUtils.startsWith(file, "/")) addSpringExternalXmlFile(moduleDescriptor, getResourceDir(moduleDescriptor), file)
+        else addSpringExternalXmlFile(moduleDescriptor, resourceDirectory, file)
+
+        private fun getResourceDir(moduleToSearch: ModuleDescriptor) = File(
+            moduleToSearch.moduleRootDirectory,
+            HybrisConstants.RESOURCES_DIRECTORY
+        )
+
+        private fun addSpringExternalXmlFile(
+            moduleDescriptor: ModuleDescriptor,
+            resourcesDir: File,
+            file: String
+        ) = File(resourcesDir, file)
+            .takeIf { it.exists() }
+            ?.let { processSpringFile(moduleDescriptor, it) }
+            ?: false
+    }
 
     companion object {
         private val LOG = Logger.getInstance(DefaultSpringConfigurator::class.java)
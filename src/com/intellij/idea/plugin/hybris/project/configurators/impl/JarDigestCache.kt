@@ -0,0 +1,59 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.project.configurators.impl
+
+import com.intellij.idea.plugin.hybris.project.configurators.impl.PersistentFileCache.Companion.readString
+import com.intellij.idea.plugin.hybris.project.configurators.impl.PersistentFileCache.Companion.writeString
+import com.intellij.openapi.application.ApplicationManager
+import com.intellij.openapi.components.Service
+import org.apache.commons.codec.digest.DigestUtils
+import java.io.File
+import java.io.FileNotFoundException
+import java.io.IOException
+
+/**
+ * Persistent cache of the jar content digests used to map identical jars of different extensions onto shared libraries.
+ */
+@Service(Service.Level.APP)
+class JarDigestCache {
+
+    private val digests = PersistentFileCache<String>(CACHE_FILE_NAME, VERSION, { writeString(it) }, { readString() })
+
+    /**
+     * Returns content key of the jar, composed of its name, size and SHA-1 digest of the content.
+     *
+     * @throws FileNotFoundException if the file does not exist
+     */
+    @Throws(IOException::class)
+    fun getContentKey(file: File): JarContentKey {
+        val digest = digests.get(file) { it.inputStream().buffered().use { input -> DigestUtils.sha1Hex(input) } }
+
+        return JarContentKey(file.name, file.length(), digest)
+    }
+
+    fun save() = digests.save()
+
+    data class JarContentKey(val name: String, val size: Long, val digest: String)
+
+    companion object {
+        private const val VERSION = 2
+        private const val CACHE_FILE_NAME = "jar-digests.cache"
+
+        fun getInstance(): JarDigestCache = ApplicationManager.getApplication().getService(JarDigestCache::class.java)
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.project.configurators.impl
+
+import com.intellij.openapi.application.PathManager
+import com.intellij.openapi.diagnostic.Logger
+import com.intellij.openapi.util.io.IOUtil
+import java.io.*
+import java.nio.file.Files
+import java.nio.file.NoSuchFileException
+import java.nio.file.StandardCopyOption
+import java.nio.file.attribute.BasicFileAttributes
+import java.util.concurrent.ConcurrentHashMap
+import kotlin.io.path.exists
+
+/**
+ * Persistent cache of the values computed from the files, i.e. parsed content or digest of the file.
+ *
+ * Entries are keyed by the absolute path of the file and are valid while size and modification time of the file are the same,
+ * so only new or changed files are read during the project refresh.
+ * Cache is shared by all projects and stored in the IDE system directory under [fileName], it is loaded on the first access
+ * and entries of non-existing files are dropped on [save]. Any change of the [writeValue] / [readValue] format requires new [version].
+ */
+class PersistentFileCache<T : Any>(
+    private val fileName: String,
+    private val version: Int,
+    private val writeValue: DataOutputStream.(T) -> Unit,
+    private val readValue: DataInputStream.() -> T
+) {
+
+    private val cacheFile by lazy { PathManager.getSystemDir().resolve(DATA_DIR).resolve(fileName) }
+    private val entries = ConcurrentHashMap<String, Cached<T>>()
+
+    @Volatile
+    private var loaded = false
+
+    @Volatile
+    private var modified = false
+
+    /**
+     * Returns cached value or computes it, if the file was changed since the value was cached.
+     *
+     * @throws FileNotFoundException if the file does not exist
+     */
+    @Throws(IOException::class)
+    fun get(file: File, compute: (File) -> T): T {
+        load()
+
+        val attributes = try {
+            Files.readAttributes(file.toPath(), BasicFileAttributes::class.java)
+        } catch (e: NoSuchFileException) {
+            throw FileNotFoundException(file.absolutePath)
+        }
+        val key = file.absolutePath
+        val size = attributes.size()
+        val lastModified = attributes.lastModifiedTime().toMillis()
+
+        entries[key]
+            ?.takeIf { it.size == size && it.lastModified == lastModified }
+            ?.let { return it.value }
+
+        return compute(file)
+            .also {
+                entries[key] = Cached(size, lastModified, it)
+                modified = true
+            }
+    }
+
+    fun save() {
+        if (!modified) return
+
+        try {
+            Files.createDirectories(cacheFile.parent)
+            val tempFile = Files.createTempFile(cacheFile.parent, fileName, ".tmp")
+
+            DataOutputStream(BufferedOutputStream(Files.newOutputStream(tempFile))).use { out ->
+                val existingEntries = entries.entries.filter { File(it.key).exists() }
+
+                out.writeInt(version)
+                out.writeInt(existingEntries.size)
+                existingEntries.forEach { (key, cached) ->
+                    out.writeString(key)
+                    out.writeLong(cached.size)
+                    out.writeLong(cached.lastModified)
+                    out.writeValue(cached.value)
+                }
+            }
+
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+            modified = false
+        } catch (e: IOException) {
+            LOG.warn("Unable to store cache: $cacheFile", e)
+        }
+    }
+
+    @Synchronized
+    private fun load() {
+        if (loaded) return
+        loaded = true
+
+        if (!cacheFile.exists()) return
+
+        try {
+            DataInputStream(BufferedInputStream(Files.newInputStream(cacheFile))).use { input ->
+                if (input.readInt() != version) return
+
+                repeat(input.readInt()) {
+                    val key = input.readString()
+                    entries[key] = Cached(input.readLong(), input.readLong(), input.readValue())
+                }
+            }
+        } catch (e: IOException) {
+            LOG.warn("Unable to read cache: $cacheFile", e)
+
+            entries.clear()
+        }
+    }
+
+    private class Cached<T>(val size: Long, val lastModified: Long, val value: T)
+
+    companion object {
+        private const val DATA_DIR = "sap-commerce"
+        private val LOG = Logger.getInstance(PersistentFileCache::class.java)
+
+        // unlike DataOutput.writeUTF, is not limited to 64 KB, so long values can be stored as well
+        fun DataOutputStream.writeString(value: String) = IOUtil.writeUTF(this, value)
+
+        fun DataInputStream.readString(): String = IOUtil.readUTF(this)
+
+        fun DataOutputStream.writeStrings(values: Collection<String>) {
+            writeInt(values.size)
+            values.forEach { writeString(it) }
+        }
+
+        fun DataInputStream.readStrings() = List(readInt()) { readString() }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.project.configurators.impl
+
+import com.intellij.idea.plugin.hybris.project.configurators.impl.PersistentFileCache.Companion.readString
+import com.intellij.idea.plugin.hybris.project.configurators.impl.PersistentFileCache.Companion.readStrings
+import com.intellij.idea.plugin.hybris.project.configurators.impl.PersistentFileCache.Companion.writeString
+import com.intellij.idea.plugin.hybris.project.configurators.impl.PersistentFileCache.Companion.writeStrings
+import com.intellij.openapi.application.ApplicationManager
+import com.intellij.openapi.components.Service
+import com.intellij.openapi.util.JDOMUtil
+import java.io.File
+import java.io.FileNotFoundException
+import java.io.IOException
+import java.util.*
+import java.util.zip.ZipFile
+
+/**
+ * Persistent caches of the files parsed during discovery of the Spring contexts,
+ * so refresh of the project without changed extensions does not parse any `project.properties`, `web.xml`, Spring XML or jar file.
+ */
+@Service(Service.Level.APP)
+class SpringContextFilesCache {
+
+    private val properties = PersistentFileCache<Map<String, String>>(
+        "spring-context-properties.cache", VERSION,
+        { value ->
+            writeInt(value.size)
+            value.forEach { (key, property) ->
+                writeString(key)
+                writeString(property)
+            }
+        },
+        { List(readInt()) { readString() to readString() }.toMap() }
+    )
+    private val webXmls = PersistentFileCache<String>("spring-context-web-xml.cache", VERSION, { writeString(it) }, { readString() })
+    private val springXmls = PersistentFileCache<SpringXml>(
+        "spring-context-xml.cache", VERSION,
+        { value ->
+            writeBoolean(value.beans)
+            writeStrings(value.imports)
+        },
+        { SpringXml(readBoolean(), readStrings()) }
+    )
+    private val jars = PersistentFileCache<List<String>>("spring-context-jars.cache", VERSION, { writeStrings(it) }, { readStrings() })
+
+    /**
+     * @throws FileNotFoundException if the file does not exist
+     */
+    @Throws(IOException::class)
+    fun getProperties(file: File): Map<String, String> = properties.get(file) {
+        Properties()
+            .apply { file.inputStream().use { load(it) } }
+            .let { props -> props.stringPropertyNames().associateWith { props.getProperty(it) } }
+    }
+
+    /**
+     * Returns `contextConfigLocation` of the `web.xml` or empty string if it is not declared.
+     */
+    fun getContextConfigLocation(file: File): String = webXmls.get(file) {
+        JDOMUtil.load(it)
+            .takeUnless { root -> root.isEmpty || root.name != "web-app" }
+            ?.children
+            ?.asSequence()
+            ?.filter { param -> param.name == "context-param" }
+            ?.filter { param -> param.children.any { p -> p.name == "param-name" && p.value == "contextConfigLocation" } }
+            ?.mapNotNull { param -> param.children.firstOrNull { p -> p.name == "param-value" } }
+            ?.map { location -> location.value.trim { c -> c <= ' ' } }
+            ?.firstOrNull()
+            ?: ""
+    }
+
+    fun getSpringXml(file: File): SpringXml = springXmls.get(file) {
+        val root = JDOMUtil.load(it)
+
+        if (root.isEmpty || root.name != "beans") SpringXml(false, emptyList())
+        else SpringXml(
+            true,
+            root.children
+                .filter { child -> child.name == "import" }
+                .mapNotNull { import -> import.getAttributeValue("resource") }
+        )
+    }
+
+    /**
+     * Returns names of the `META-INF/ *.xml` jar entries with the Spring `beans` root element.
+     */
+    fun getJarSpringEntries(file: File): List<String> = jars.get(file) {
+        ZipFile(it).use { zipFile ->
+            zipFile.entries().asSequence()
+                .filter { entry -> entry.name.startsWith("META-INF") && entry.name.endsWith(".xml") }
+                .filter { entry ->
+                    zipFile.getInputStream(entry).use { inputStream ->
+                        val element = JDOMUtil.load(inputStream)
+                        !element.isEmpty && element.name == "beans"
+                    }
+                }
+                .map { entry -> entry.name }
+                .toList()
+        }
+    }
+
+    fun save() {
+        properties.save()
+        webXmls.save()
+        springXmls.save()
+        jars.save()
+    }
+
+    data class SpringXml(val beans: Boolean, val imports: List<String>)
+
+    companion object {
+        private const val VERSION = 1
+
+        fun getInstance(): SpringContextFilesCache = ApplicationManager.getApplication().getService(SpringContextFilesCache::class.java)
+    }
+}
@@ -397,16 +397,16 @@ public class DefaultHybrisProjectDescriptor implements HybrisProjectDescriptor {
         final var excludedFromScanning = getExcludedFromScanningDirectories();
 
         LOG.info("Scanning for modules");
-        findModuleRoots(moduleRootMap, excludedFromScanning, false, rootDirectory, progressListenerProcessor);
+        scanForModuleRoots(moduleRootMap, excludedFromScanning, false, rootDirectory, progressListenerProcessor);
 
         if (externalExtensionsDirectory != null && !FileUtils.isFileUnder(externalExtensionsDirectory, rootDirectory)) {
             LOG.info("Scanning for external modules");
-            findModuleRoots(moduleRootMap, excludedFromScanning, false, externalExtensionsDirectory, progressListenerProcessor);
+            scanForModuleRoots(moduleRootMap, excludedFromScanning, false, externalExtensionsDirectory, progressListenerProcessor);
         }
 
         if (hybrisDistributionDirectory != null && !FileUtils.isFileUnder(hybrisDistributionDirectory, rootDirectory)) {
             LOG.info("Scanning for hybris modules out of the project");
-            findModuleRoots(moduleRootMap, excludedFromScanning, false, hybrisDistributionDirectory, progressListenerProcessor);
+            scanForModuleRoots(moduleRootMap, excludedFromScanning, false, hybrisDistributionDirectory, progressListenerProcessor);
         }
         final var moduleRootDirectories = processDirectoriesByTypePriority(
             moduleRootMap,
@@ -564,7 +564,12 @@ public class DefaultHybrisProjectDescriptor implements HybrisProjectDescriptor {
             LOG.info("Scanning for higher priority modules");
             for (final File nonHybrisDir : moduleRootMap.get(NON_HYBRIS)) {
                 final Map<DIRECTORY_TYPE, Set<File>> nonHybrisModuleRootMap = newModuleRootMap();
-                scanForSubdirectories(nonHybrisModuleRootMap, excludedFromScanning, true, nonHybrisDir.toPath(), progressListenerProcessor);
+                if (isParallelScanningApplicable(nonHybrisDir)) {
+                    newModuleRootsScanner(excludedFromScanning, progressListenerProcessor)
+                        .scan(nonHybrisDir, true, nonHybrisModuleRootMap, vcs);
+                } else {
+                    scanForSubdirectories(nonHybrisModuleRootMap, excludedFromScanning, true, nonHybrisDir.toPath(), progressListenerProcessor);
+                }
                 final Set<File> hybrisModuleSet = nonHybrisModuleRootMap.get(HYBRIS);
                 if (hybrisModuleSet.isEmpty()) {
                     LOG.info("Confirmed module " + nonHybrisDir);
@@ -645,6 +650,34 @@ public class DefaultHybrisProjectDescriptor implements HybrisProjectDescriptor {
         this.project = project;
     }
 
+    private void scanForModuleRoots(
+        @NotNull final Map<DIRECTORY_TYPE, Set<File>> moduleRootMap,
+        final Set<File> excludedFromScanning,
+        final boolean acceptOnlyHybrisModules,
+        @NotNull final File rootProjectDirectory,
+        @Nullable final TaskProgressProcessor<File> progressListenerProcessor
+    ) throws InterruptedException, IOException {
+        if (isParallelScanningApplicable(rootProjectDirectory)) {
+            newModuleRootsScanner(excludedFromScanning, progressListenerProcessor)
+                .scan(rootProjectDirectory, acceptOnlyHybrisModules, moduleRootMap, vcs);
+        } else {
+            findModuleRoots(moduleRootMap, excludedFromScanning, acceptOnlyHybrisModules, rootProjectDirectory, progressListenerProcessor);
+        }
+    }
+
+    // WSL file system is accessed over the network share, so parallel listing does not bring any benefit there
+    private boolean isParallelScanningApplicable(@NotNull final File directory) {
+        return ApplicationSettingsComponent.getInstance().getState().getParallelModuleScanning()
+            && !isPathInWSLDistribution(directory.toPath());
+    }
+
+    private ModuleRootsScanner newModuleRootsScanner(
+        final Set<File> excludedFromScanning,
+        @Nullable final TaskProgressProcessor<File> progressListenerProcessor
+    ) {
+        return new ModuleRootsScanner(rootDirectory, excludedFromScanning, followSymlink, this::isDirectoryExcluded, progressListenerProcessor);
+    }
+
     private void findModuleRoots(
         @NotNull final Map<DIRECTORY_TYPE, Set<File>> moduleRootMap,
         final Set<File> excludedFromScanning,
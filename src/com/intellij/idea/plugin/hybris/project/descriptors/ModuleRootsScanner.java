@@ -0,0 +1,258 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.intellij.idea.plugin.hybris.project.descriptors;
+
+import com.intellij.idea.plugin.hybris.common.HybrisConstants;
+import com.intellij.idea.plugin.hybris.project.tasks.TaskProgressProcessor;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.util.io.FileUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.idea.maven.model.MavenConstants;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+import static com.intellij.idea.plugin.hybris.project.descriptors.DefaultHybrisProjectDescriptor.DIRECTORY_TYPE.*;
+
+/**
+ * Parallel alternative of the recursive module roots lookup.
+ * <p>
+ * Each directory is listed only once and classified by a single pass over its entries,
+ * instead of several file-exists probes per module type. Sub-directories are processed as Fork-Join tasks.
+ * Classification rules are the same as in {@link DefaultHybrisProjectDescriptor#findModuleRoots}.
+ */
+final class ModuleRootsScanner {
+
+    private static final Logger LOG = Logger.getInstance(ModuleRootsScanner.class);
+    private static final Set<String> VCS_DIRECTORIES = Set.of(".git", ".svn", ".hg");
+
+    private final File rootDirectory;
+    private final Set<File> excludedFromScanning;
+    private final boolean followSymlink;
+    private final Predicate<Path> directoryExcluded;
+    @Nullable
+    private final TaskProgressProcessor<File> progressListenerProcessor;
+
+    private final Set<File> hybrisModules = ConcurrentHashMap.newKeySet();
+    private final Set<File> nonHybrisModules = ConcurrentHashMap.newKeySet();
+    private final Set<File> ccv2Modules = ConcurrentHashMap.newKeySet();
+    private final Set<File> vcs = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<IOException> ioException = new AtomicReference<>();
+    private volatile boolean cancelled;
+
+    ModuleRootsScanner(
+        @Nullable final File rootDirectory,
+        @NotNull final Set<File> excludedFromScanning,
+        final boolean followSymlink,
+        @NotNull final Predicate<Path> directoryExcluded,
+        @Nullable final TaskProgressProcessor<File> progressListenerProcessor
+    ) {
+        this.rootDirectory = rootDirectory;
+        this.excludedFromScanning = excludedFromScanning;
+        this.followSymlink = followSymlink;
+        this.directoryExcluded = directoryExcluded;
+        this.progressListenerProcessor = progressListenerProcessor;
+    }
+
+    void scan(
+        @NotNull final File directory,
+        final boolean acceptOnlyHybrisModules,
+        @NotNull final Map<DefaultHybrisProjectDescriptor.DIRECTORY_TYPE, Set<File>> moduleRootMap,
+        @NotNull final Set<File> vcs
+    ) throws InterruptedException, IOException {
+        final var pool = new ForkJoinPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        try {
+            pool.invoke(new DirectoryTask(directory, acceptOnlyHybrisModules));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        if (cancelled) {
+            LOG.error("Modules scanning has been interrupted.");
+            throw new InterruptedException("Modules scanning has been interrupted.");
+        }
+        final var exception = ioException.get();
+        if (exception != null) throw exception;
+
+        moduleRootMap.get(HYBRIS).addAll(hybrisModules);
+        moduleRootMap.get(NON_HYBRIS).addAll(nonHybrisModules);
+        moduleRootMap.get(CCV2).addAll(ccv2Modules);
+        vcs.addAll(this.vcs);
+    }
+
+    private final class DirectoryTask extends RecursiveAction {
+
+        private final File directory;
+        private final boolean acceptOnlyHybrisModules;
+
+        private DirectoryTask(final File directory, final boolean acceptOnlyHybrisModules) {
+            this.directory = directory;
+            this.acceptOnlyHybrisModules = acceptOnlyHybrisModules;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled || ioException.get() != null) return;
+
+            if (progressListenerProcessor != null && !progressListenerProcessor.shouldContinue(directory)) {
+                cancelled = true;
+                return;
+            }
+
+            if (directory.isHidden()) {
+                LOG.debug("Skipping hidden directory: ", directory);
+                return;
+            }
+            if (excludedFromScanning.contains(directory)) {
+                LOG.debug("Skipping excluded directory: ", directory);
+                return;
+            }
+
+            final DirectoryListing listing;
+            try {
+                listing = list(directory.toPath());
+            } catch (IOException e) {
+                ioException.compareAndSet(null, e);
+                return;
+            }
+
+            if (!classify(listing)) return;
+
+            final var subTasks = listing.subdirectories.stream()
+                .map(it -> new DirectoryTask(it.toFile(), acceptOnlyHybrisModules))
+                .toList();
+            invokeAll(subTasks);
+        }
+
+        /**
+         * Returns <code>false</code> if sub-directories must not be scanned.
+         */
+        private boolean classify(final DirectoryListing listing) {
+            if (listing.directoryNames.stream().anyMatch(VCS_DIRECTORIES::contains)) {
+                LOG.info("Detected version control service " + directory.getAbsolutePath());
+                try {
+                    vcs.add(directory.getCanonicalFile());
+                } catch (IOException e) {
+                    ioException.compareAndSet(null, e);
+                    return false;
+                }
+            }
+
+            if (listing.fileNames.contains(HybrisConstants.EXTENSION_INFO_XML)) {
+                LOG.info("Detected hybris module " + directory.getAbsolutePath());
+                hybrisModules.add(directory);
+                return false;
+            }
+            if (listing.fileNames.contains(HybrisConstants.LOCAL_EXTENSIONS_XML) && listing.fileNames.contains(HybrisConstants.LOCAL_PROPERTIES_FILE)) {
+                LOG.info("Detected config module " + directory.getAbsolutePath());
+                hybrisModules.add(directory);
+                return false;
+            }
+
+            if (acceptOnlyHybrisModules) return true;
+
+            final var absolutePath = directory.getAbsolutePath();
+            final var isRootDirectory = FileUtil.filesEqual(directory, rootDirectory);
+            final var isPlatformSubDirectory = absolutePath.contains(HybrisConstants.PLATFORM_MODULE_PREFIX);
+            final var isCCv2Module = (absolutePath.contains(HybrisConstants.CCV2_CORE_CUSTOMIZE_NAME)
+                || absolutePath.contains(HybrisConstants.CCV2_DATAHUB_NAME)
+                || absolutePath.contains(HybrisConstants.CCV2_JS_STOREFRONT_NAME))
+                && listing.fileNames.contains(HybrisConstants.CCV2_MANIFEST_NAME);
+            final var isGradleModule = !isPlatformSubDirectory && (
+                listing.fileNames.contains(HybrisConstants.GRADLE_SETTINGS)
+                    || listing.fileNames.contains(HybrisConstants.GRADLE_BUILD)
+                    || listing.fileNames.contains(HybrisConstants.GRADLE_SETTINGS_KTS)
+                    || listing.fileNames.contains(HybrisConstants.GRADLE_BUILD_KTS)
+            );
+
+            if (!absolutePath.endsWith(HybrisConstants.PLATFORM_MODULE) && !isRootDirectory && isGradleModule && !isCCv2Module) {
+                LOG.info("Detected gradle module " + absolutePath);
+                nonHybrisModules.add(directory);
+            }
+
+            if (!isPlatformSubDirectory && listing.fileNames.contains(MavenConstants.POM_XML) && !isRootDirectory && !isCCv2Module) {
+                LOG.info("Detected maven module " + absolutePath);
+                nonHybrisModules.add(directory);
+            }
+
+            if (directory.getName().equals(HybrisConstants.EXTENSION_NAME_PLATFORM) && listing.fileNames.contains(HybrisConstants.EXTENSIONS_XML)) {
+                LOG.info("Detected platform module " + absolutePath);
+                hybrisModules.add(directory);
+            } else if (!isPlatformSubDirectory && listing.fileNames.contains(HybrisConstants.DOT_PROJECT) && !isRootDirectory) {
+                LOG.info("Detected eclipse module " + absolutePath);
+                nonHybrisModules.add(directory);
+            }
+
+            if (isCCv2Module) {
+                LOG.info("Detected CCv2 module " + absolutePath);
+                ccv2Modules.add(directory);
+                final var name = directory.getName();
+                // faster import: no need to process sub-folders of the CCv2 js-storefront and datahub directories
+                return !name.endsWith(HybrisConstants.CCV2_JS_STOREFRONT_NAME) && !name.endsWith(HybrisConstants.CCV2_DATAHUB_NAME);
+            }
+            return true;
+        }
+    }
+
+    private DirectoryListing list(final Path directory) throws IOException {
+        final var listing = new DirectoryListing();
+
+        if (!Files.isDirectory(directory)) return listing;
+
+        try (final DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (final var entry : entries) {
+                final var attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                final var symbolicLink = attributes.isSymbolicLink();
+                final var isDirectory = symbolicLink ? Files.isDirectory(entry) : attributes.isDirectory();
+                final var isFile = symbolicLink ? Files.isRegularFile(entry) : attributes.isRegularFile();
+                final var name = entry.getFileName().toString();
+
+                if (isFile) {
+                    listing.fileNames.add(name);
+                } else if (isDirectory) {
+                    listing.directoryNames.add(name);
+
+                    if (directoryExcluded.test(entry)) continue;
+                    if (symbolicLink && !followSymlink) continue;
+
+                    listing.subdirectories.add(entry);
+                }
+            }
+        }
+        return listing;
+    }
+
+    private static final class DirectoryListing {
+        private final Set<String> fileNames = new HashSet<>();
+        private final Set<String> directoryNames = new HashSet<>();
+        private final List<Path> subdirectories = new ArrayList<>();
+    }
+}
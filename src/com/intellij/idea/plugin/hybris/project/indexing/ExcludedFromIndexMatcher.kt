@@ -0,0 +1,103 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.project.indexing
+
+import com.intellij.openapi.progress.ProgressManager
+import com.intellij.openapi.vfs.VirtualFile
+
+/**
+ * All "excluded from index" patterns compiled into a single trie of path segments.
+ *
+ * Patterns are `/` separated directory paths relative to the content root, `**` segment matches any directory name.
+ * Content root is traversed once for all patterns, only directories which may still lead to a match are visited,
+ * matched directories are not visited at all.
+ */
+class ExcludedFromIndexMatcher private constructor(
+    val patterns: List<String>,
+    private val root: Node,
+    val maxDepth: Int
+) {
+
+    fun findExcludedDirectories(contentRoot: VirtualFile): List<VirtualFile> = findExcluded(contentRoot, { it.name }) { directory ->
+        ProgressManager.checkCanceled()
+
+        directory.children.filter { it.isDirectory }
+    }
+
+    /**
+     * Traversal is independent of the [VirtualFile], so the matching can be verified on any directory tree.
+     */
+    fun <T> findExcluded(root: T, name: (T) -> String, subdirectories: (T) -> Collection<T>): List<T> {
+        if (maxDepth == 0) return emptyList()
+
+        val excluded = mutableListOf<T>()
+        collect(root, listOf(this.root), name, subdirectories, excluded)
+        return excluded
+    }
+
+    private fun <T> collect(
+        directory: T,
+        states: List<Node>,
+        name: (T) -> String,
+        subdirectories: (T) -> Collection<T>,
+        excluded: MutableList<T>
+    ) {
+        subdirectories(directory).forEach { child ->
+            val childStates = states.flatMap { it.next(name(child)) }
+
+            when {
+                childStates.isEmpty() -> Unit
+                childStates.any { it.terminal } -> excluded.add(child)
+                else -> collect(child, childStates, name, subdirectories, excluded)
+            }
+        }
+    }
+
+    private class Node {
+        val children = HashMap<String, Node>()
+        var wildcard: Node? = null
+        var terminal = false
+
+        fun next(name: String) = listOfNotNull(children[name], wildcard)
+    }
+
+    companion object {
+        private const val WILDCARD = "**"
+
+        fun compile(patterns: List<String>): ExcludedFromIndexMatcher {
+            val root = Node()
+            var maxDepth = 0
+
+            patterns
+                .map { pattern -> pattern.split('/').filter { it.isNotBlank() } }
+                .filter { it.isNotEmpty() }
+                .forEach { segments ->
+                    maxDepth = maxOf(maxDepth, segments.size)
+
+                    segments
+                        .fold(root) { node, segment ->
+                            if (segment == WILDCARD) node.wildcard ?: Node().also { node.wildcard = it }
+                            else node.children.getOrPut(segment) { Node() }
+                        }
+                        .terminal = true
+                }
+
+            return ExcludedFromIndexMatcher(patterns, root, maxDepth)
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.project.indexing
+
+import com.intellij.idea.plugin.hybris.settings.components.ApplicationSettingsComponent
+import com.intellij.openapi.Disposable
+import com.intellij.openapi.components.Service
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.util.Disposer
+import com.intellij.openapi.vfs.VirtualFile
+import com.intellij.openapi.vfs.VirtualFileManager
+import com.intellij.openapi.vfs.newvfs.BulkFileListener
+import com.intellij.openapi.vfs.newvfs.events.*
+import com.intellij.openapi.vfs.pointers.VirtualFilePointer
+import com.intellij.openapi.vfs.pointers.VirtualFilePointerManager
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Cache of the directories excluded from index, found under the content roots of the modules.
+ *
+ * Entry of the content root becomes stale only when a directory is created, deleted, moved or renamed under that root
+ * not deeper than the longest pattern, or when the patterns are changed in the settings.
+ *
+ * Stale entry is kept till the platform asks for the exclude roots again, because its pointers may still be in use.
+ * Pointers of each entry are registered under own [Disposable], which is disposed once the entry is superseded.
+ * Pointers to the same directory are shared by the [VirtualFilePointerManager], so directories which are still excluded
+ * keep their pointers valid.
+ */
+@Service(Service.Level.PROJECT)
+class ExcludedFromIndexRootsCache(private val project: Project) : Disposable {
+
+    @Volatile
+    private var matcher = ExcludedFromIndexMatcher.compile(emptyList())
+    private val entries = ConcurrentHashMap<String, Entry>()
+
+    init {
+        project.messageBus.connect(this).subscribe(VirtualFileManager.VFS_CHANGES, object : BulkFileListener {
+            override fun after(events: MutableList<out VFileEvent>) = invalidate(events)
+        })
+    }
+
+    fun getExcludeRoots(contentRoot: VirtualFile): List<VirtualFilePointer> {
+        val currentMatcher = getMatcher()
+
+        entries[contentRoot.url]
+            ?.takeIf { !it.stale && it.matcher === currentMatcher }
+            ?.let { return it.pointers }
+
+        val disposable = Disposer.newDisposable(this, "Excluded from index: ${contentRoot.path}")
+        val pointerManager = VirtualFilePointerManager.getInstance()
+        val pointers = currentMatcher.findExcludedDirectories(contentRoot)
+            .map { pointerManager.create(it, disposable, null) }
+
+        entries.put(contentRoot.url, Entry(contentRoot.path, currentMatcher, pointers, disposable))
+            ?.let { Disposer.dispose(it.disposable) }
+
+        return pointers
+    }
+
+    override fun dispose() = entries.clear()
+
+    @Synchronized
+    private fun getMatcher(): ExcludedFromIndexMatcher {
+        val patterns = ApplicationSettingsComponent.getInstance().state.excludedFromIndexList
+        if (matcher.patterns != patterns) matcher = ExcludedFromIndexMatcher.compile(patterns)
+        return matcher
+    }
+
+    private fun invalidate(events: List<VFileEvent>) {
+        if (entries.isEmpty()) return
+
+        val paths = events.flatMap { getAffectedPaths(it) }
+        if (paths.isEmpty()) return
+
+        val maxDepth = matcher.maxDepth
+        entries.values
+            .filter { entry -> paths.any { entry.isAffectedBy(it, maxDepth) } }
+            .forEach { it.stale = true }
+    }
+
+    private fun getAffectedPaths(event: VFileEvent) = when (event) {
+        is VFileCreateEvent -> if (event.isDirectory) listOf(event.path) else emptyList()
+        is VFileCopyEvent -> if (event.file.isDirectory) listOf(event.path) else emptyList()
+        is VFileDeleteEvent -> listOf(event.path)
+        is VFileMoveEvent -> if (event.file.isDirectory) listOf(event.oldPath, event.newPath) else emptyList()
+        is VFilePropertyChangeEvent -> if (event.isRename && event.file.isDirectory) listOf(event.oldPath, event.newPath) else emptyList()
+        else -> emptyList()
+    }
+
+    private class Entry(
+        val contentRootPath: String,
+        val matcher: ExcludedFromIndexMatcher,
+        val pointers: List<VirtualFilePointer>,
+        val disposable: Disposable
+    ) {
+
+        @Volatile
+        var stale = false
+
+        /**
+         * Changes of the content root itself or of its parents invalidate the entry,
+         * changes under the content root matter only up to the depth of the longest pattern.
+         */
+        fun isAffectedBy(path: String, maxDepth: Int): Boolean {
+            if (contentRootPath == path || contentRootPath.startsWith("$path/")) return true
+            if (!path.startsWith("$contentRootPath/")) return false
+
+            val depth = path.substring(contentRootPath.length + 1).count { it == '/' } + 1
+            return depth <= maxDepth
+        }
+    }
+
+    companion object {
+        fun getInstance(project: Project): ExcludedFromIndexRootsCache = project.getService(ExcludedFromIndexRootsCache::class.java)
+    }
+}
@@ -33,7 +33,9 @@ import com.intellij.ide.plugins.PluginManagerCore;
 import com.intellij.ide.util.PropertiesComponent;
 import com.intellij.idea.plugin.hybris.common.HybrisConstants;
 import com.intellij.idea.plugin.hybris.impex.ImpexLanguage;
+import com.intellij.idea.plugin.hybris.notifications.Notifications;
 import com.intellij.idea.plugin.hybris.project.configurators.*;
+import com.intellij.idea.plugin.hybris.project.configurators.impl.JarDigestCache;
 import com.intellij.idea.plugin.hybris.project.descriptors.HybrisProjectDescriptor;
 import com.intellij.idea.plugin.hybris.project.descriptors.ModuleDescriptor;
 import com.intellij.idea.plugin.hybris.project.descriptors.YModuleDescriptor;
@@ -47,6 +49,7 @@ import com.intellij.idea.plugin.hybris.settings.components.ProjectSettingsCompon
 import com.intellij.javaee.application.facet.JavaeeApplicationFacet;
 import com.intellij.javaee.web.facet.WebFacet;
 import com.intellij.lang.Language;
+import com.intellij.notification.NotificationType;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.application.ApplicationNamesInfo;
 import com.intellij.openapi.diagnostic.Logger;
@@ -179,7 +182,7 @@ public class ImportProjectProgressModalWindow extends Task.Modal {
         int counter = 0;
 
         for (ModuleDescriptor moduleDescriptor : allModules) {
-            final Module javaModule = createJavaModule(indicator, allYModules, rootProjectModifiableModel, moduleDescriptor, appSettings);
+            final Module javaModule = createJavaModule(indicator, allYModules, rootProjectModifiableModel, moduleDescriptor, appSettings, cache);
             modules.add(javaModule);
             counter++;
 
@@ -196,6 +199,8 @@ public class ImportProjectProgressModalWindow extends Task.Modal {
             }
         }
 
+        reportSharedJarLibraries(cache, appSettings);
+
         configuratorFactory.getModuleDependenciesConfigurator().configure(indicator, hybrisProjectDescriptor, modifiableModelsProvider);
         configuratorFactory.getSpringConfigurator().configure(indicator, hybrisProjectDescriptor, allModuleDescriptors, modifiableModelsProvider);
         configuratorFactory.getRunConfigurationConfigurator().configure(indicator, hybrisProjectDescriptor, project, cache);
@@ -272,7 +277,8 @@ public class ImportProjectProgressModalWindow extends Task.Modal {
     private Module createJavaModule(final @NotNull ProgressIndicator indicator,
                                     final Map<String, YModuleDescriptor> allYModules,
                                     final ModifiableModuleModel rootProjectModifiableModel,
-                                    final ModuleDescriptor moduleDescriptor, final @NotNull ApplicationSettings appSettings
+                                    final ModuleDescriptor moduleDescriptor, final @NotNull ApplicationSettings appSettings,
+                                    final HybrisConfiguratorCache cache
     ) {
         indicator.setText(message("hybris.project.import.module.import", moduleDescriptor.getName()));
         indicator.setText2(message("hybris.project.import.module.settings"));
@@ -293,7 +299,7 @@ public class ImportProjectProgressModalWindow extends Task.Modal {
         modifiableRootModel.inheritSdk();
 
         configuratorFactory.getJavadocSettingsConfigurator().configure(modifiableRootModel, moduleDescriptor);
-        configuratorFactory.getLibRootsConfigurator().configure(indicator, allYModules, modifiableRootModel, moduleDescriptor, modifiableModelsProvider, indicator);
+        configuratorFactory.getLibRootsConfigurator().configure(indicator, allYModules, modifiableRootModel, moduleDescriptor, modifiableModelsProvider, indicator, cache);
         configuratorFactory.getContentRootConfigurator().configure(indicator, modifiableRootModel, moduleDescriptor, appSettings);
         configuratorFactory.getCompilerOutputPathsConfigurator().configure(indicator, modifiableRootModel, moduleDescriptor);
 
@@ -304,6 +310,32 @@ public class ImportProjectProgressModalWindow extends Task.Modal {
         return javaModule;
     }
 
+    private void reportSharedJarLibraries(final HybrisConfiguratorCache cache, final @NotNull ApplicationSettings appSettings) {
+        if (!appSettings.getShareIdenticalLibraryJars()) return;
+
+        JarDigestCache.Companion.getInstance().save();
+
+        final var sharedJarLibraries = cache.getSharedJarLibraries();
+        final var eliminatedRoots = sharedJarLibraries.getEliminatedRoots();
+
+        LOG.info("Shared jar libraries: " + sharedJarLibraries.getLibraries() + " libraries for " + sharedJarLibraries.getJarRoots()
+            + " jars, " + eliminatedRoots + " duplicate roots eliminated");
+
+        if (eliminatedRoots == 0) return;
+
+        final var title = refresh
+            ? message("hybris.notification.project.refresh.title")
+            : message("hybris.notification.project.import.title");
+        Notifications.create(
+                NotificationType.INFORMATION,
+                title,
+                message("hybris.notification.project.import.shared.jars.content",
+                    eliminatedRoots, sharedJarLibraries.getJarRoots(), sharedJarLibraries.getLibraries())
+            )
+            .hideAfter(10)
+            .notify(project);
+    }
+
     private List<ModuleDescriptor> getHybrisModuleDescriptors() {
         return hybrisProjectDescriptor.getModulesChosenForImport().stream()
             .filter(e -> !(e instanceof MavenModuleDescriptor)
@@ -31,6 +31,7 @@ import com.intellij.openapi.components.Service
 import com.intellij.openapi.module.Module
 import com.intellij.openapi.module.ModuleManager
 import com.intellij.openapi.project.Project
+import com.intellij.openapi.roots.ProjectRootModificationTracker
 import com.intellij.openapi.util.ModificationTracker
 import com.intellij.openapi.vfs.LocalFileSystem
 import com.intellij.openapi.vfs.VirtualFile
@@ -59,11 +60,14 @@ class PropertyService(val project: Project) {
     private val nestedPropertySuffix = "}"
     private val optionalPropertiesFilePattern = Pattern.compile("([1-9]\\d)-(\\w*)\\.properties")
 
+    /**
+     * Holds properties together with their resolved values and keys index, so lookups do not re-resolve placeholders on each call.
+     */
     private val cachedProperties = CachedValuesManager.getManager(project).createCachedValue(
         {
             val result = LinkedHashMap<String, IProperty>()
-            val configModule = obtainConfigModule() ?: return@createCachedValue CachedValueProvider.Result.create(emptyList(), ModificationTracker.NEVER_CHANGED)
-            val platformModule = obtainPlatformModule() ?: return@createCachedValue CachedValueProvider.Result.create(emptyList(), ModificationTracker.NEVER_CHANGED)
+            val configModule = obtainConfigModule() ?: return@createCachedValue CachedValueProvider.Result.create(PropertyTable.EMPTY, ModificationTracker.NEVER_CHANGED)
+            val platformModule = obtainPlatformModule() ?: return@createCachedValue CachedValueProvider.Result.create(PropertyTable.EMPTY, ModificationTracker.NEVER_CHANGED)
             val scope = createSearchScope(configModule, platformModule)
             var envPropsFile: PropertiesFile? = null
             var advancedPropsFile: PropertiesFile? = null
@@ -93,11 +97,16 @@ class PropertyService(val project: Project) {
             loadHybrisRuntimeProperties(result)
             loadHybrisOptionalConfigDir(result)
 
+            val properties = result.values.toList()
+            val dependencies = propertiesFiles
+                .map { it.virtualFile }
+                .takeIf { it.isNotEmpty() }
+                ?.let { it + ProjectRootModificationTracker.getInstance(project) }
+                ?: listOf(ModificationTracker.EVER_CHANGED)
+
             CachedValueProvider.Result.create(
-                result.values.toList(), propertiesFiles
-                    .map { it.virtualFile }
-                    .toTypedArray()
-                    .ifEmpty { ModificationTracker.EVER_CHANGED }
+                PropertyTable(properties, resolveProperties(properties)),
+                dependencies
             )
         }, false
     )
@@ -123,41 +132,38 @@ class PropertyService(val project: Project) {
 
     fun findAutoCompleteProperties(query: String): List<IProperty> = ApplicationManager.getApplication()
         .runReadAction<List<IProperty>> {
-            findAllIProperties()
-                .filter { it.key != null && it.key!!.contains(query) || query.isBlank() }
+            getPropertyTable().findContaining(query)
         }
 
     fun findMacroProperty(query: String): IProperty? = ApplicationManager.getApplication()
         .runReadAction<IProperty?> {
-            findAllIProperties()
-                .takeIf { it.isNotEmpty() }
-                ?.filter { it.key != null && query.contains(it.key!!) || query.isBlank() }
-                ?.takeIf { it.isNotEmpty() }
-                ?.reduce { one, two -> if (one.key!!.length > two.key!!.length) one else two }
+            getPropertyTable().findLongestContainedIn(query)
         }
 
     fun findAllProperties(): Map<String, String> = ApplicationManager.getApplication()
         .runReadAction<Map<String, String>> {
-            findAllIProperties()
-                .filter { it.value != null && it.key != null }
-                .associateTo(LinkedHashMap()) { it.key!! to it.value!! }
-                .let { properties ->
-                    addEnvironmentProperties(properties)
-                    properties
-                        .filter { it.value.contains(nestedPropertyPrefix) }
-                        .forEach { replacePlaceholder(properties, it.key, HashSet<String>()) }
-                    return@let properties
-                }
+            getPropertyTable().resolvedProperties
         }
 
     fun initCache() = ReadAction
         .nonBlocking<Collection<IProperty>> {
-            findAllIProperties()
+            getPropertyTable().properties
         }
         .inSmartMode(project)
         .submit(AppExecutorUtil.getAppExecutorService())
 
-    private fun findAllIProperties() = cachedProperties.value
+    private fun getPropertyTable() = cachedProperties.value
+
+    private fun resolveProperties(properties: Collection<IProperty>): Map<String, String> = properties
+        .filter { it.value != null && it.key != null }
+        .associateTo(LinkedHashMap()) { it.key!! to it.value!! }
+        .let { resolvedProperties ->
+            addEnvironmentProperties(resolvedProperties)
+            resolvedProperties
+                .filter { it.value.contains(nestedPropertyPrefix) }
+                .forEach { replacePlaceholder(resolvedProperties, it.key, HashSet<String>()) }
+            Collections.unmodifiableMap(resolvedProperties)
+        }
 
     private fun addEnvironmentProperties(properties: MutableMap<String, String>) {
         val platformHomePropertyKey = HybrisConstants.PROPERTY_PLATFORMHOME
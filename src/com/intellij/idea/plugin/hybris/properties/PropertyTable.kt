@@ -0,0 +1,95 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.properties
+
+import com.intellij.lang.properties.IProperty
+
+/**
+ * Snapshot of the project properties, which holds fully resolved values and substring index of the property keys.
+ *
+ * Keys are indexed by trigrams, so lookup of the keys containing a query verifies only keys sharing its rarest trigram.
+ */
+class PropertyTable(
+    val properties: List<IProperty>,
+    val resolvedProperties: Map<String, String>
+) {
+
+    private val keys = properties.map { it.key ?: "" }
+    private val keyIndexes = keys.withIndex().associate { it.value to it.index }
+    private val keyLengths = keys.map { it.length }.filter { it > 0 }.distinct().sortedDescending().toIntArray()
+    private val trigrams = buildTrigramIndex()
+
+    /**
+     * Returns properties which key contains given query, in the order of properties declaration.
+     */
+    fun findContaining(query: String): List<IProperty> {
+        if (query.isBlank()) return properties
+        if (query.length < TRIGRAM_LENGTH) return properties.filterIndexed { index, _ -> keys[index].contains(query) }
+
+        var candidates: IntArray? = null
+        for (start in 0..query.length - TRIGRAM_LENGTH) {
+            val postings = trigrams[query.substring(start, start + TRIGRAM_LENGTH)] ?: return emptyList()
+            if (candidates == null || postings.size < candidates.size) candidates = postings
+        }
+
+        return candidates!!
+            .filter { keys[it].contains(query) }
+            .map { properties[it] }
+    }
+
+    /**
+     * Returns property with the longest key contained in the given query.
+     * For keys of the same length the last declared property wins.
+     */
+    fun findLongestContainedIn(query: String): IProperty? {
+        if (properties.isEmpty()) return null
+        if (query.isBlank()) return properties.reduce { one, two -> if (one.key!!.length > two.key!!.length) one else two }
+
+        for (length in keyLengths) {
+            if (length > query.length) continue
+
+            var found = -1
+            for (start in 0..query.length - length) {
+                val index = keyIndexes[query.substring(start, start + length)] ?: continue
+                if (index > found) found = index
+            }
+            if (found != -1) return properties[found]
+        }
+        return null
+    }
+
+    private fun buildTrigramIndex(): Map<String, IntArray> {
+        val postings = HashMap<String, MutableList<Int>>()
+
+        keys.forEachIndexed { index, key ->
+            if (key.length < TRIGRAM_LENGTH) return@forEachIndexed
+
+            (0..key.length - TRIGRAM_LENGTH)
+                .mapTo(HashSet()) { key.substring(it, it + TRIGRAM_LENGTH) }
+                .forEach { postings.getOrPut(it) { ArrayList() }.add(index) }
+        }
+
+        return postings.mapValues { it.value.toIntArray() }
+    }
+
+    companion object {
+        private const val TRIGRAM_LENGTH = 3
+
+        val EMPTY = PropertyTable(emptyList(), emptyMap())
+    }
+}
@@ -29,8 +29,11 @@ data class ApplicationSettings(
     var hideEmptyMiddleFolders: Boolean = true,
     var defaultPlatformInReadOnly: Boolean = true,
     var followSymlink: Boolean = true,
+    var parallelModuleScanning: Boolean = true,
+    var shareIdenticalLibraryJars: Boolean = false,
     var sourceZipUsed: Boolean = true,
     var warnIfGeneratedItemsAreOutOfDate: Boolean = true,
+    var debuggerBatchedModelEvaluation: Boolean = true,
     var ignoreNonExistingSourceDirectories: Boolean = false,
     var withStandardProvidedSources: Boolean = true,
     var scanThroughExternalModule: Boolean = true,
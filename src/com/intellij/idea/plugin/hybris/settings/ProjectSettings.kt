@@ -40,6 +40,7 @@ class ProjectSettings : BaseState() {
     var generateCodeOnRebuild by property(true)
     var generateCodeOnJUnitRunConfiguration by property(false)
     var generateCodeTimeoutSeconds by property(60)
+    var generateCodeIncrementally by property(true)
     var importOotbModulesInReadOnlyMode by property(false)
     var followSymlink by property(false)
     var scanThroughExternalModule by property(true)
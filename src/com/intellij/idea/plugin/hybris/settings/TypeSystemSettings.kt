@@ -23,6 +23,7 @@ import com.intellij.util.xmlb.annotations.Tag
 
 data class TypeSystemSettings(
     var folding: TypeSystemFoldingSettings = TypeSystemFoldingSettings(),
+    var incrementalMerge: Boolean = true,
 )
 
 data class TypeSystemFoldingSettings(
@@ -45,6 +46,8 @@ data class TypeSystemDiagramSettings(
     var showCustomEnumNodes: Boolean = false,
     var showCustomMapNodes: Boolean = false,
     var showCustomRelationNodes: Boolean = false,
+    var showOnlyNeighbourhood: Boolean = false,
+    var neighbourhoodDepth: Int = 2,
     var excludedTypeNames: MutableSet<String> = mutableSetOf(
         HybrisConstants.TS_TYPE_ITEM,
         HybrisConstants.TS_TYPE_GENERIC_ITEM,
@@ -48,6 +48,15 @@ class ApplicationSettingsConfigurableProvider : ConfigurableProvider() {
                 checkBox(message("hybris.project.import.followSymlink"))
                     .bindSelected(state::followSymlink)
             }
+            row {
+                checkBox(message("hybris.project.import.parallelModuleScanning"))
+                    .bindSelected(state::parallelModuleScanning)
+            }
+            row {
+                checkBox(message("hybris.project.import.shareIdenticalLibraryJars"))
+                    .bindSelected(state::shareIdenticalLibraryJars)
+                    .comment(message("hybris.project.import.shareIdenticalLibraryJars.comment"))
+            }
             row {
                 checkBox(message("hybris.project.view.tree.hide.empty.middle.folders"))
                     .bindSelected(state::hideEmptyMiddleFolders)
@@ -72,6 +81,11 @@ class ApplicationSettingsConfigurableProvider : ConfigurableProvider() {
                 checkBox(message("hybris.ts.items.validation.settings.enabled"))
                     .bindSelected(state::warnIfGeneratedItemsAreOutOfDate)
             }
+            row {
+                checkBox(message("hybris.debug.settings.batchedModelEvaluation"))
+                    .comment(message("hybris.debug.settings.batchedModelEvaluation.tooltip"))
+                    .bindSelected(state::debuggerBatchedModelEvaluation)
+            }
         }
     }
 }
@@ -75,9 +75,9 @@ class ProjectSettingsConfigurableProvider(val project: Project) : ConfigurablePr
                     generateCodeOnRebuildCheckBox = checkBox("Generate code before the Rebuild Project action")
                         .comment(
                             """
-                            If checked, beans and models will be re-generated to the <strong>boostrap/gensrc</strong> before the compilation process.<br>
-                            Once generated, compilation will be triggered and create class files which will be placed under <strong>boostrap/modelclasses</strong>.<br>
-                            After that, <strong>models.jar</strong> will be created from the <strong>boostrap/modelclasses</strong> folder.<br>
+                            If checked, beans and models will be re-generated to the <strong>bootstrap/gensrc</strong> before the compilation process.<br>
+                            Once generated, compilation will be triggered and create class files which will be placed under <strong>bootstrap/modelclasses</strong>.<br>
+                            After that, <strong>models.jar</strong> will be created from the <strong>bootstrap/modelclasses</strong> folder.<br>
                             As a final step, project compilation will continue.
                         """.trimIndent()
                         )
@@ -94,6 +94,17 @@ class ProjectSettingsConfigurableProvider(val project: Project) : ConfigurablePr
                         .bindIntValue(projectSettings::generateCodeTimeoutSeconds)
                         .enabledIf(generateCodeOnRebuildCheckBox.selected)
                 }
+                row {
+                    checkBox("Generate code incrementally")
+                        .comment(
+                            """
+                            If checked, code generation will be skipped when <strong>items.xml</strong> and <strong>beans.xml</strong> files were not changed since the last generation.<br>
+                            Otherwise, only generated sources with changed content will be compiled and placed under <strong>bootstrap/modelclasses</strong>.
+                        """.trimIndent()
+                        )
+                        .bindSelected(projectSettings::generateCodeIncrementally)
+                        .enabledIf(generateCodeOnRebuildCheckBox.selected)
+                }
             }
 
             group(message("hybris.settings.project.common.title")) {
@@ -27,6 +27,7 @@ import com.intellij.openapi.options.ConfigurableProvider
 import com.intellij.openapi.project.Project
 import com.intellij.ui.ToolbarDecorator
 import com.intellij.ui.dsl.builder.Align
+import com.intellij.ui.dsl.builder.bindIntValue
 import com.intellij.ui.dsl.builder.bindSelected
 import com.intellij.ui.dsl.builder.panel
 import com.intellij.ui.layout.selected
@@ -57,8 +58,17 @@ class ProjectTypeSystemConfigurableProvider(val project: Project) : Configurable
         }
 
         private lateinit var foldingEnableCheckBox: JCheckBox
+        private lateinit var showOnlyNeighbourhoodCheckBox: JCheckBox
 
         override fun createPanel() = panel {
+            group("Meta Model") {
+                row {
+                    checkBox("Incremental merge")
+                        .comment("Re-apply only declarations of the changed items.xml files instead of re-building whole Type System.")
+                        .bindSelected(tsSettings::incrementalMerge)
+                }
+            }
+
             group("Code Folding - items.xml") {
                 row {
                     foldingEnableCheckBox = checkBox("Enable code folding")
@@ -131,6 +141,18 @@ class ProjectTypeSystemConfigurableProvider(val project: Project) : Configurable
                         .comment("Relations with set Deployment will be always displayed.")
                         .bindSelected(tsDiagramSettings::showCustomRelationNodes)
                 }
+
+                row {
+                    showOnlyNeighbourhoodCheckBox = checkBox("Show only neighbourhood of the focused type")
+                        .comment("Applicable when diagram is opened for a type declaration, e.g. from the `items.xml`.")
+                        .bindSelected(tsDiagramSettings::showOnlyNeighbourhood)
+                        .component
+                }
+                row("Neighbourhood depth:") {
+                    spinner(1..10, 1)
+                        .bindIntValue(tsDiagramSettings::neighbourhoodDepth)
+                        .enabledIf(showOnlyNeighbourhoodCheckBox.selected)
+                }
             }
 
             group("Diagram - Excluded Type Names", true) {
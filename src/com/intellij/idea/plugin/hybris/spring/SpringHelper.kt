@@ -51,8 +51,8 @@ object SpringHelper {
 
         return if (Plugin.SPRING.isActive()) springResolveBean(module, beanId)
             ?.beanClass
-        else plainResolveBean(module, beanId)
-            ?.getAttributeValue("class")
+        else SimpleSpringService.getService(project)
+            ?.findBeanClass(beanId)
             ?.let { JavaPsiFacade.getInstance(project).findClass(it, GlobalSearchScope.allScope(project)) }
     }
 
@@ -20,8 +20,9 @@ package com.intellij.idea.plugin.hybris.startup
 import com.intellij.debugger.settings.NodeRendererSettings
 import com.intellij.debugger.ui.tree.render.CompoundReferenceRenderer
 import com.intellij.idea.plugin.hybris.common.HybrisConstants
-import com.intellij.openapi.project.Project
+import com.intellij.idea.plugin.hybris.debugger.ui.tree.render.ModelChildrenRenderer
 import com.intellij.idea.plugin.hybris.debugger.ui.tree.render.ModelRenderer
+import com.intellij.openapi.project.Project
 import com.intellij.openapi.startup.ProjectActivity
 
 /**
@@ -45,7 +46,7 @@ class HybrisJavaTypeRenderersStartupActivity : ProjectActivity {
 
                 val modelRenderer = object : ModelRenderer(oldRenderer.className, project) {
                     // there is no need to re-evaluate children for preloaded renderers
-                    override fun getChildrenRenderer() = oldRenderer.childrenRenderer
+                    override fun getChildrenRenderer() = ModelChildrenRenderer.of(oldRenderer.childrenRenderer)
                 }
                 val replacedRenderer = modelRenderer.createRenderer()
                 replacedRenderer.name = oldRenderer.name
@@ -21,7 +21,6 @@ import com.intellij.idea.plugin.hybris.properties.PropertyService
 import com.intellij.idea.plugin.hybris.settings.components.ProjectSettingsComponent
 import com.intellij.idea.plugin.hybris.system.bean.meta.BSMetaModelAccess
 import com.intellij.idea.plugin.hybris.system.cockpitng.meta.CngMetaModelAccess
-import com.intellij.idea.plugin.hybris.system.spring.SimpleSpringService
 import com.intellij.idea.plugin.hybris.system.type.meta.TSMetaModelAccess
 import com.intellij.openapi.progress.ProcessCanceledException
 import com.intellij.openapi.project.DumbService
@@ -37,8 +36,6 @@ class PreLoadSystemsStartupActivity : ProjectActivity {
         refreshSystem(project) { BSMetaModelAccess.getInstance(project).initMetaModel() }
         refreshSystem(project) { CngMetaModelAccess.getInstance(project).initMetaModel() }
 
-        SimpleSpringService.getService(project)
-            ?.let { service -> refreshSystem(project) { service.initCache() } }
         PropertyService.getInstance(project)
             ?.let { service -> refreshSystem(project) { service.initCache() } }
     }
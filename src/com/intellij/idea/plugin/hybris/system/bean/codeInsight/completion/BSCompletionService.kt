@@ -25,6 +25,7 @@ import com.intellij.idea.plugin.hybris.system.bean.meta.BSMetaModelAccess
 import com.intellij.idea.plugin.hybris.system.bean.meta.model.BSGlobalMetaBean
 import com.intellij.idea.plugin.hybris.system.bean.meta.model.BSGlobalMetaEnum
 import com.intellij.idea.plugin.hybris.system.bean.meta.model.BSMetaType
+import com.intellij.idea.plugin.hybris.system.bean.occ.OccFieldMappingAccess
 import com.intellij.openapi.components.Service
 import com.intellij.openapi.project.Project
 
@@ -34,7 +35,7 @@ class BSCompletionService(private val project: Project) {
     fun getCompletions(meta: BSGlobalMetaBean): List<LookupElement> {
         val properties = meta.allProperties.values
             .mapNotNull { BSLookupElementFactory.build(it) }
-        val levelMappings = HybrisConstants.OCC_DEFAULT_LEVEL_MAPPINGS
+        val levelMappings = (HybrisConstants.OCC_DEFAULT_LEVEL_MAPPINGS + OccFieldMappingAccess.getInstance(project).getLevels(meta.name))
             .map { BSLookupElementFactory.buildLevelMapping(it) }
         return properties + levelMappings
     }
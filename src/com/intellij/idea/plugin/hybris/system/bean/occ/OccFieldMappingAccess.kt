@@ -0,0 +1,103 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.system.bean.occ
+
+import com.intellij.openapi.components.Service
+import com.intellij.openapi.project.DumbService
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.util.ModificationTracker
+import com.intellij.psi.PsiManager
+import com.intellij.psi.search.GlobalSearchScope
+import com.intellij.psi.util.PsiTreeUtil
+import com.intellij.psi.xml.XmlAttributeValue
+import com.intellij.psi.xml.XmlTag
+import com.intellij.util.indexing.FileBasedIndex
+
+/**
+ * Project-wide OCC field mappings backed by the [OccFieldMappingIndex].
+ *
+ * Index is maintained incrementally per file by the platform, so it can be used as a dependency of the cached values
+ * instead of any PSI modification in the project.
+ */
+@Service(Service.Level.PROJECT)
+class OccFieldMappingAccess(private val project: Project) : ModificationTracker {
+
+    /**
+     * Returns dtoClass and indexed level mapping for the `value` of the `levelMapping` entry.
+     */
+    fun findLevelMapping(attributeValue: XmlAttributeValue): Pair<String, OccLevelMapping>? {
+        if (DumbService.isDumb(project)) return null
+
+        // completion works with the copy of the file, offsets of the entries before the caret are same
+        val file = attributeValue.containingFile?.originalFile?.virtualFile ?: return null
+        val entryOffset = PsiTreeUtil.getParentOfType(attributeValue, XmlTag::class.java)
+            ?.textRange
+            ?.startOffset
+            ?: return null
+
+        return FileBasedIndex.getInstance().getFileData(OccFieldMappingIndex.NAME, file, project)
+            .firstNotNullOfOrNull { (dtoClass, levelMappings) ->
+                levelMappings
+                    .find { it.entryOffset == entryOffset }
+                    ?.let { dtoClass to it }
+            }
+    }
+
+    fun getLevels(dtoClass: String?): Set<String> {
+        if (dtoClass == null || DumbService.isDumb(project)) return emptySet()
+
+        return FileBasedIndex.getInstance().getValues(OccFieldMappingIndex.NAME, dtoClass, GlobalSearchScope.allScope(project))
+            .flatMap { levelMappings -> levelMappings.map { it.level } }
+            .toSet()
+    }
+
+    /**
+     * Returns `key` attribute values of all `levelMapping` entries declared for the given dtoClass and level.
+     * PSI is loaded only for files which contain such entries.
+     */
+    fun findLevelDeclarations(dtoClass: String?, level: String): List<XmlAttributeValue> {
+        if (dtoClass == null || DumbService.isDumb(project)) return emptyList()
+
+        val psiManager = PsiManager.getInstance(project)
+        val declarations = mutableListOf<XmlAttributeValue>()
+
+        FileBasedIndex.getInstance().processValues(
+            OccFieldMappingIndex.NAME, dtoClass, null,
+            { file, levelMappings ->
+                val psiFile = psiManager.findFile(file) ?: return@processValues true
+
+                levelMappings
+                    .filter { it.level == level }
+                    .mapNotNull { PsiTreeUtil.getParentOfType(psiFile.findElementAt(it.entryOffset), XmlTag::class.java, false) }
+                    .mapNotNull { it.getAttribute("key")?.valueElement }
+                    .forEach { declarations.add(it) }
+                true
+            },
+            GlobalSearchScope.allScope(project)
+        )
+
+        return declarations
+    }
+
+    override fun getModificationCount(): Long = if (DumbService.isDumb(project)) -1L
+    else FileBasedIndex.getInstance().getIndexModificationStamp(OccFieldMappingIndex.NAME, project)
+
+    companion object {
+        fun getInstance(project: Project): OccFieldMappingAccess = project.getService(OccFieldMappingAccess::class.java)
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.system.bean.occ
+
+import com.intellij.idea.plugin.hybris.system.bean.psi.BSConstants
+import com.intellij.idea.plugin.hybris.system.bean.psi.OccFieldMappingParser
+import com.intellij.idea.plugin.hybris.system.bean.psi.OccPropertyMapping
+import com.intellij.idea.plugin.hybris.system.spring.AbstractSpringXmlIndex
+import com.intellij.psi.impl.source.parsing.xml.XmlBuilder
+import com.intellij.util.indexing.ID
+import com.intellij.util.io.DataExternalizer
+import com.intellij.util.io.DataInputOutputUtil
+import com.intellij.util.io.IOUtil
+import java.io.DataInput
+import java.io.DataOutput
+
+/**
+ * Index of the OCC level mappings declared in the Spring XML files: dtoClass -> level mappings with parsed field trees.
+ *
+ * Only `levelMapping` entries of the beans having `dtoClass` property are indexed, like:
+ * ```
+ * <bean parent="fieldSetLevelMapping">
+ *     <property name="dtoClass" value="de.hybris.platform.commercewebservicescommons.dto.product.ProductWsDTO"/>
+ *     <property name="levelMapping">
+ *         <map>
+ *             <entry key="BASIC" value="code,name,images(BASIC)"/>
+ *         </map>
+ *     </property>
+ * </bean>
+ * ```
+ */
+class OccFieldMappingIndex : AbstractSpringXmlIndex<List<OccLevelMapping>>() {
+
+    override val requiredMarkers = listOf(BSConstants.ATTRIBUTE_VALUE_LEVEL_MAPPING)
+
+    override fun getName() = NAME
+    override fun getVersion() = 1
+    override fun getValueExternalizer(): DataExternalizer<List<OccLevelMapping>> = OccLevelMappingsExternalizer
+    override fun createCollector(): SpringXmlCollector<List<OccLevelMapping>> = LevelMappingsCollector()
+
+    private class Tag(val localName: String, val startOffset: Int) {
+        val attributes = HashMap<String, String>(2)
+
+        // set only for the `bean` tags
+        var dtoClass: String? = null
+        val entries = mutableListOf<Tag>()
+    }
+
+    private class LevelMappingsCollector : SpringXmlCollector<List<OccLevelMapping>>() {
+
+        override val result = HashMap<String, MutableList<OccLevelMapping>>()
+
+        private val tags = ArrayDeque<Tag>()
+
+        override fun startSpringTag(localName: CharSequence, startOffset: Int, depth: Int): XmlBuilder.ProcessingOrder {
+            val tag = Tag(localName.toString(), startOffset)
+            tags.addLast(tag)
+
+            return if (tag.localName in TAGS_WITH_ATTRIBUTES) XmlBuilder.ProcessingOrder.TAGS_AND_ATTRIBUTES
+            else XmlBuilder.ProcessingOrder.TAGS
+        }
+
+        override fun attribute(name: CharSequence, value: CharSequence, startoffset: Int, endoffset: Int) {
+            tags.lastOrNull()?.attributes?.put(name.toString(), value.toString())
+        }
+
+        override fun endSpringTag(localName: CharSequence, depth: Int) {
+            val tag = tags.removeLastOrNull() ?: return
+
+            when (tag.localName) {
+                "entry" -> if (isLevelMappingEntry()) findBean()?.entries?.add(tag)
+
+                "property" -> if (tag.attributes["name"] == BSConstants.ATTRIBUTE_VALUE_DTO_CLASS) {
+                    findBean()?.dtoClass = tag.attributes["value"]
+                }
+
+                "bean" -> {
+                    val dtoClass = tag.dtoClass ?: return
+                    val beanLevelMappings = tag.entries.mapNotNull { entry ->
+                        val level = entry.attributes["key"] ?: return@mapNotNull null
+                        val fields = entry.attributes["value"] ?: return@mapNotNull null
+
+                        OccLevelMapping(tag.startOffset, entry.startOffset, level, fields, OccFieldMappingParser.parse(fields))
+                    }
+
+                    if (beanLevelMappings.isNotEmpty()) result.getOrPut(dtoClass) { mutableListOf() }.addAll(beanLevelMappings)
+                }
+            }
+        }
+
+        // entry -> map -> property[name=levelMapping] -> bean, `entry` is already removed from the stack
+        private fun isLevelMappingEntry(): Boolean {
+            if (tags.size < 3) return false
+
+            val map = tags[tags.size - 1]
+            val property = tags[tags.size - 2]
+            val bean = tags[tags.size - 3]
+
+            return map.localName == "map"
+                && property.localName == "property" && property.attributes["name"] == BSConstants.ATTRIBUTE_VALUE_LEVEL_MAPPING
+                && bean.localName == "bean"
+        }
+
+        private fun findBean() = tags.lastOrNull { it.localName == "bean" }
+    }
+
+    private object OccLevelMappingsExternalizer : DataExternalizer<List<OccLevelMapping>> {
+
+        override fun save(out: DataOutput, value: List<OccLevelMapping>) {
+            DataInputOutputUtil.writeINT(out, value.size)
+            value.forEach {
+                DataInputOutputUtil.writeINT(out, it.beanOffset)
+                DataInputOutputUtil.writeINT(out, it.entryOffset)
+                IOUtil.writeUTF(out, it.level)
+                IOUtil.writeUTF(out, it.value)
+                saveFields(out, it.fields)
+            }
+        }
+
+        override fun read(input: DataInput) = List(DataInputOutputUtil.readINT(input)) {
+            OccLevelMapping(
+                DataInputOutputUtil.readINT(input),
+                DataInputOutputUtil.readINT(input),
+                IOUtil.readUTF(input),
+                IOUtil.readUTF(input),
+                readFields(input, null)
+            )
+        }
+
+        private fun saveFields(out: DataOutput, fields: List<OccPropertyMapping>) {
+            DataInputOutputUtil.writeINT(out, fields.size)
+            fields.forEach {
+                DataInputOutputUtil.writeINT(out, it.startPosition)
+                IOUtil.writeUTF(out, it.value)
+                saveFields(out, it.children)
+            }
+        }
+
+        private fun readFields(input: DataInput, parent: OccPropertyMapping?): MutableList<OccPropertyMapping> = MutableList(DataInputOutputUtil.readINT(input)) {
+            val field = OccPropertyMapping(DataInputOutputUtil.readINT(input), IOUtil.readUTF(input))
+            field.parent = parent
+            field.children.addAll(readFields(input, field))
+            field
+        }
+    }
+
+    companion object {
+        val NAME = ID.create<String, List<OccLevelMapping>>("hybris.occ.field.mapping")
+
+        private val TAGS_WITH_ATTRIBUTES = setOf("bean", "property", "entry")
+    }
+}
+
+/**
+ * Single `levelMapping` entry, offsets are absolute offsets of the `bean` and `entry` tags in the file.
+ */
+data class OccLevelMapping(
+    val beanOffset: Int,
+    val entryOffset: Int,
+    val level: String,
+    val value: String,
+    val fields: List<OccPropertyMapping>
+)
@@ -0,0 +1,88 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.system.bean.psi
+
+import java.util.*
+
+/**
+ * Parser of the OCC field mapping, like `code,name,images(BASIC),stock(stockLevel,stockLevelStatus)`.
+ *
+ * Start positions of the properties are relative to the text of the XML attribute value, including opening quote.
+ */
+object OccFieldMappingParser {
+
+    fun parse(text: String): List<OccPropertyMapping> {
+        val parentProperties = LinkedList<OccPropertyMapping>()
+        val properties = mutableListOf<OccPropertyMapping>()
+        val textLength = text.length - 1
+        val tempPropertyName = StringBuilder("")
+        var newPropertyIndex = 0
+
+        text.withIndex().forEach { iv ->
+            val c = iv.value
+            val index = iv.index
+
+            if (tempPropertyName.isEmpty()) newPropertyIndex = index + 1
+
+            if (c != '\n' && c != '\t' && c != ',' && c != '(' && c != ')' && (tempPropertyName.isNotEmpty() || c != ' ')) {
+                tempPropertyName.append(c)
+            }
+
+            if ((c == ',' || index == textLength) && tempPropertyName.isNotEmpty()) {
+                val newProperty = OccPropertyMapping(newPropertyIndex, tempPropertyName.toString().trim())
+
+                if (parentProperties.lastOrNull() == null) properties.add(newProperty)
+                else {
+                    val lastParent = parentProperties.last()
+                    lastParent.children.add(newProperty)
+                    newProperty.parent = lastParent
+                }
+                tempPropertyName.clear()
+            } else if (c == '(') {
+                val newProperty = OccPropertyMapping(newPropertyIndex, tempPropertyName.toString().trim())
+
+                if (parentProperties.lastOrNull() == null) {
+                    properties.add(newProperty)
+                    parentProperties.add(newProperty)
+                } else {
+                    val lastParent = parentProperties.last()
+                    lastParent.children.add(newProperty)
+                    newProperty.parent = lastParent
+                    parentProperties.add(newProperty)
+                }
+                tempPropertyName.clear()
+            } else if (c == ')') {
+                if (tempPropertyName.isNotEmpty()) {
+                    val newProperty = OccPropertyMapping(newPropertyIndex, tempPropertyName.toString().trim())
+
+                    parentProperties.lastOrNull()
+                        ?.let {
+                            it.children.add(newProperty)
+                            newProperty.parent = it
+                        }
+                }
+
+                parentProperties.removeLastOrNull()
+
+                tempPropertyName.clear()
+            }
+        }
+
+        return properties
+    }
+}
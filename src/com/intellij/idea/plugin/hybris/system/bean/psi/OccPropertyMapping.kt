@@ -21,11 +21,13 @@ package com.intellij.idea.plugin.hybris.system.bean.psi
 import com.intellij.openapi.util.TextRange
 
 data class OccPropertyMapping(
-    private val startPosition: Int,
+    val startPosition: Int,
     val value: String,
     val textRange: TextRange = TextRange.from(startPosition, value.length),
-    val children: MutableList<OccPropertyMapping> = mutableListOf(),
-    var parent: OccPropertyMapping? = null
+    val children: MutableList<OccPropertyMapping> = mutableListOf()
 ) {
+    // not a part of the equals, otherwise comparison of the trees will never end
+    var parent: OccPropertyMapping? = null
+
     override fun toString() =  "$textRange - $value"
 }
\ No newline at end of file
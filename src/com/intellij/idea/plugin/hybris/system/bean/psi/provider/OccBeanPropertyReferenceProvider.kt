@@ -20,83 +20,72 @@ package com.intellij.idea.plugin.hybris.system.bean.psi.provider
 import com.intellij.idea.plugin.hybris.common.HybrisConstants
 import com.intellij.idea.plugin.hybris.system.bean.meta.BSMetaModelAccess
 import com.intellij.idea.plugin.hybris.system.bean.meta.model.BSGlobalMetaBean
-import com.intellij.idea.plugin.hybris.system.bean.psi.BSConstants
+import com.intellij.idea.plugin.hybris.system.bean.occ.OccFieldMappingAccess
+import com.intellij.idea.plugin.hybris.system.bean.psi.OccFieldMappingParser
 import com.intellij.idea.plugin.hybris.system.bean.psi.OccPropertyMapping
 import com.intellij.idea.plugin.hybris.system.bean.psi.reference.OccBSBeanPropertyReference
 import com.intellij.idea.plugin.hybris.system.bean.psi.reference.OccLevelMappingReference
+import com.intellij.openapi.project.DumbService
 import com.intellij.psi.PsiElement
 import com.intellij.psi.PsiReference
 import com.intellij.psi.PsiReferenceProvider
-import com.intellij.psi.util.*
-import com.intellij.psi.xml.XmlAttribute
+import com.intellij.psi.util.CachedValueProvider
+import com.intellij.psi.util.CachedValuesManager
 import com.intellij.psi.xml.XmlAttributeValue
-import com.intellij.psi.xml.XmlTag
 import com.intellij.util.ProcessingContext
-import java.util.*
 
+/**
+ * References of the OCC field mapping are built from the [OccFieldMappingAccess], so neither enclosing bean nor
+ * field mapping itself is re-parsed, and cached references depend only on the current file, Bean System and OCC index.
+ */
 class OccBeanPropertyReferenceProvider : PsiReferenceProvider() {
 
-    // TODO*: Create new Global OCC Meta Model, which will contain list of levelMappings and properties per dtoClass
-
     override fun getReferencesByElement(
         element: PsiElement, context: ProcessingContext
     ): Array<out PsiReference> = CachedValuesManager.getManager(element.project).getCachedValue(element) {
-        val attributeValue = element as? XmlAttributeValue
-            ?: return@getCachedValue CachedValueProvider.Result.createSingleDependency(emptyArray(), PsiModificationTracker.MODIFICATION_COUNT)
+        val project = element.project
+        val occFieldMappingAccess = OccFieldMappingAccess.getInstance(project)
+        val metaModelAccess = BSMetaModelAccess.getInstance(project)
+        val dependencies = arrayOf(
+            element.containingFile,
+            metaModelAccess.getMetaModel(),
+            occFieldMappingAccess,
+            DumbService.getInstance(project).modificationTracker
+        )
 
-        val propertyXmlTags = element.parents(false)
-            .mapNotNull { it as? XmlTag }
-            .filter { it.localName == "bean" }
-            .firstOrNull()
-            ?.childrenOfType<XmlTag>()
-            ?.filter { it.localName == "property" }
-            ?: return@getCachedValue CachedValueProvider.Result.createSingleDependency(emptyArray(), PsiModificationTracker.MODIFICATION_COUNT)
-        val currentLevelMappings = propertyXmlTags
-            .firstOrNull { it.getAttributeValue("name") == BSConstants.ATTRIBUTE_VALUE_LEVEL_MAPPING }
-            ?.let { PsiTreeUtil.collectElements(it) { element -> element is XmlAttribute && element.localName == "key" } }
-            ?.map { it as XmlAttribute }
-            ?.mapNotNull { it.value }
-            ?: return@getCachedValue CachedValueProvider.Result.createSingleDependency(emptyArray(), PsiModificationTracker.MODIFICATION_COUNT)
-
-        val meta = propertyXmlTags
-            .firstOrNull { it.getAttributeValue("name") == BSConstants.ATTRIBUTE_VALUE_DTO_CLASS }
-            ?.let { BSMetaModelAccess.getInstance(element.project).findMetaBeanByName(it.getAttributeValue("value")) }
-            ?: return@getCachedValue CachedValueProvider.Result.createSingleDependency(emptyArray(), PsiModificationTracker.MODIFICATION_COUNT)
+        val attributeValue = element as? XmlAttributeValue
+            ?: return@getCachedValue CachedValueProvider.Result.create(emptyArray(), *dependencies)
+        val (dtoClass, levelMapping) = occFieldMappingAccess.findLevelMapping(attributeValue)
+            ?: return@getCachedValue CachedValueProvider.Result.create(emptyArray(), *dependencies)
+        val meta = metaModelAccess.findMetaBeanByName(dtoClass)
+            ?: return@getCachedValue CachedValueProvider.Result.create(emptyArray(), *dependencies)
 
-        val levelMappings = currentLevelMappings + HybrisConstants.OCC_DEFAULT_LEVEL_MAPPINGS
+        // index may be not yet updated for the modified document, or it can be a copy of the file used by the completion
+        val properties = if (levelMapping.value == attributeValue.value) levelMapping.fields
+        else OccFieldMappingParser.parse(attributeValue.value)
 
-        val properties = processProperties(attributeValue.value)
-        val ignoredProperties = listOf<String>()
-        val references = collectReferences(meta, attributeValue, properties, levelMappings, ignoredProperties, 0)
+        val references = collectReferences(meta, attributeValue, properties, 0)
             .toTypedArray()
 
-        CachedValueProvider.Result.createSingleDependency(
-            references,
-            PsiModificationTracker.MODIFICATION_COUNT,
-        );
+        CachedValueProvider.Result.create(references, *dependencies)
     }
 
     private fun collectReferences(
         meta: BSGlobalMetaBean,
         attributeValue: XmlAttributeValue,
         properties: List<OccPropertyMapping>,
-        levelMappings: List<String>,
-        ignoredProperties: List<String>,
         recursiveLevel: Int
     ): List<PsiReference> {
-        val ownReferences = properties
-            .mapNotNull {
-                if (ignoredProperties.contains(it.value)) return@mapNotNull null
+        val levelMappings = OccFieldMappingAccess.getInstance(attributeValue.project).getLevels(meta.name) + HybrisConstants.OCC_DEFAULT_LEVEL_MAPPINGS
 
-                return@mapNotNull if (levelMappings.contains(it.value)) OccLevelMappingReference(meta, attributeValue, it)
+        val ownReferences = properties
+            .map {
+                if (levelMappings.contains(it.value)) OccLevelMappingReference(meta, attributeValue, it)
                 else OccBSBeanPropertyReference(meta, attributeValue, it)
             }
 
         if (recursiveLevel > 10) return ownReferences
 
-        // we cannot detect valid Level mapping for nested properties without global OCC Meta Model
-        val nestedIgnoredProperties = listOf("BASIC", "DEFAULT", "FULL")
-
         val nestedReferences = properties
             .filter { it.children.isNotEmpty() }
             .mapNotNull {
@@ -106,72 +95,11 @@ class OccBeanPropertyReferenceProvider : PsiReferenceProvider() {
                 val nestedMeta = BSMetaModelAccess.getInstance(attributeValue.project).findMetaBeanByName(metaProperty)
                     ?: return@mapNotNull null
 
-                collectReferences(nestedMeta, attributeValue, it.children, emptyList(), nestedIgnoredProperties, recursiveLevel + 1)
+                collectReferences(nestedMeta, attributeValue, it.children, recursiveLevel + 1)
             }
             .flatten()
 
         return ownReferences + nestedReferences
     }
 
-    private fun processProperties(text: String): List<OccPropertyMapping> {
-        val parentProperties = LinkedList<OccPropertyMapping>()
-        val properties = mutableListOf<OccPropertyMapping>()
-        val textLength = text.length - 1
-        val tempPropertyName = StringBuilder("")
-        var newPropertyIndex = 0
-
-        text.withIndex().forEach { iv ->
-            val c = iv.value
-            val index = iv.index
-
-            if (tempPropertyName.isEmpty()) newPropertyIndex = index + 1
-
-            if (c != '\n' && c != '\t' && c != ',' && c != '(' && c != ')' && (tempPropertyName.isNotEmpty() || c != ' ')) {
-                tempPropertyName.append(c)
-            }
-
-            if ((c == ',' || index == textLength) && tempPropertyName.isNotEmpty()) {
-                val newProperty = OccPropertyMapping(newPropertyIndex, tempPropertyName.toString().trim())
-
-                if (parentProperties.lastOrNull() == null) properties.add(newProperty)
-                else {
-                    val lastParent = parentProperties.last()
-                    lastParent.children.add(newProperty)
-                    newProperty.parent = lastParent
-                }
-                tempPropertyName.clear()
-            } else if (c == '(') {
-                val newProperty = OccPropertyMapping(newPropertyIndex, tempPropertyName.toString().trim())
-
-                if (parentProperties.lastOrNull() == null) {
-                    properties.add(newProperty)
-                    parentProperties.add(newProperty)
-                } else {
-                    val lastParent = parentProperties.last()
-                    lastParent.children.add(newProperty)
-                    newProperty.parent = lastParent
-                    parentProperties.add(newProperty)
-                }
-                tempPropertyName.clear()
-            } else if (c == ')') {
-                if (tempPropertyName.isNotEmpty()) {
-                    val newProperty = OccPropertyMapping(newPropertyIndex, tempPropertyName.toString().trim())
-
-                    parentProperties.lastOrNull()
-                        ?.let {
-                            it.children.add(newProperty)
-                            newProperty.parent = it
-                        }
-                }
-
-                parentProperties.removeLastOrNull()
-
-                tempPropertyName.clear()
-            }
-        }
-
-        return properties
-    }
-
 }
-
@@ -23,14 +23,16 @@ import com.intellij.idea.plugin.hybris.psi.util.PsiUtils
 import com.intellij.idea.plugin.hybris.system.bean.codeInsight.completion.BSCompletionService
 import com.intellij.idea.plugin.hybris.system.bean.meta.BSMetaModelAccess
 import com.intellij.idea.plugin.hybris.system.bean.meta.model.BSGlobalMetaBean
-import com.intellij.idea.plugin.hybris.system.bean.psi.BSConstants
+import com.intellij.idea.plugin.hybris.system.bean.occ.OccFieldMappingAccess
 import com.intellij.idea.plugin.hybris.system.bean.psi.OccPropertyMapping
 import com.intellij.openapi.util.Key
 import com.intellij.openapi.util.TextRange
 import com.intellij.psi.*
-import com.intellij.psi.util.*
-import com.intellij.psi.xml.XmlAttribute
-import com.intellij.psi.xml.XmlTag
+import com.intellij.psi.util.CachedValueProvider
+import com.intellij.psi.util.CachedValuesManager
+import com.intellij.psi.util.ParameterizedCachedValue
+import com.intellij.psi.util.ParameterizedCachedValueProvider
+import com.intellij.psi.util.PsiModificationTracker
 
 class OccLevelMappingReference(
     private val meta: BSGlobalMetaBean,
@@ -49,23 +51,13 @@ class OccLevelMappingReference(
     companion object {
         private val provider = ParameterizedCachedValueProvider<Array<ResolveResult>, Pair<OccLevelMappingReference, BSGlobalMetaBean>> { param ->
             val ref = param.first
+            val meta = param.second
             val element = ref.element
-            val levelMapping = ref.value
 
-            val result = element.parents(false)
-                .mapNotNull { it as? XmlTag }
-                .filter { it.localName == "bean" }
-                .firstOrNull()
-                ?.childrenOfType<XmlTag>()
-                ?.filter { it.localName == "property" }
-                ?.firstOrNull { it.getAttributeValue("name") == BSConstants.ATTRIBUTE_VALUE_LEVEL_MAPPING }
-                ?.let { PsiTreeUtil.collectElements(it) { element -> element is XmlAttribute && element.localName == "key" } }
-                ?.map { it as XmlAttribute }
-                ?.mapNotNull { it.valueElement }
-                ?.filter { it.value == levelMapping }
-                ?.let { PsiElementResolveResult.createResults(it) }
-                ?.let { PsiUtils.getValidResults(it) }
-                ?: emptyArray()
+            val result = OccFieldMappingAccess.getInstance(element.project)
+                .findLevelDeclarations(meta.name, ref.value)
+                .let { PsiElementResolveResult.createResults(it) }
+                .let { PsiUtils.getValidResults(it) }
 
             CachedValueProvider.Result.create(
                 result,
@@ -24,6 +24,7 @@ import com.intellij.idea.plugin.hybris.system.cockpitng.meta.model.CngMetaWidget
 import com.intellij.idea.plugin.hybris.system.type.meta.impl.CaseInsensitive.CaseInsensitiveConcurrentHashMap
 import com.intellij.openapi.Disposable
 import com.intellij.openapi.util.ModificationTracker
+import java.util.concurrent.ConcurrentHashMap
 
 /**
  * Component can be any string
@@ -33,7 +34,7 @@ class CngGlobalMetaModel : ModificationTracker, Disposable {
 
     private var modificationTracker = 0L
     val components = mutableSetOf<String>()
-    val contextAttributes = mutableMapOf<String, MutableSet<String>>()
+    val contextAttributes = ConcurrentHashMap<String, MutableSet<String>>()
     val actionDefinitions = CaseInsensitiveConcurrentHashMap<String, CngMetaActionDefinition>()
     val widgetDefinitions = CaseInsensitiveConcurrentHashMap<String, CngMetaWidgetDefinition>()
     val editorDefinitions = CaseInsensitiveConcurrentHashMap<String, CngMetaEditorDefinition>()
@@ -41,7 +42,13 @@ class CngGlobalMetaModel : ModificationTracker, Disposable {
 
     fun clear() {
         cleanup()
+        incModificationCount()
+    }
 
+    /**
+     * Used by incremental merge, when only contributions of the changed files have been re-applied without clearing the whole model.
+     */
+    fun incModificationCount() {
         if (modificationTracker == Long.MAX_VALUE) modificationTracker = 0L
         modificationTracker++
     }
@@ -0,0 +1,40 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.system.cockpitng.meta
+
+import com.intellij.idea.plugin.hybris.system.cockpitng.meta.model.*
+
+/**
+ * Local Meta Models of all Cockpit NG files used for a single merge into the [CngGlobalMetaModel].
+ *
+ * Local Meta Models are cached per PsiFile, so non-changed files will be represented by the same instances between the merges.
+ */
+class CngLocalMetaModels(
+    val configs: Collection<CngConfigMeta> = emptyList(),
+    val actions: Collection<CngMetaActionDefinition> = emptyList(),
+    val widgetDefinitions: Collection<CngMetaWidgetDefinition> = emptyList(),
+    val editors: Collection<CngMetaEditorDefinition> = emptyList(),
+    val widgets: Collection<CngMetaWidgets> = emptyList()
+) {
+
+    val psiFiles
+        get() = (configs + actions + widgetDefinitions + editors + widgets)
+            .map { it.psiFile }
+
+    fun isEmpty() = configs.isEmpty() && actions.isEmpty() && widgetDefinitions.isEmpty() && editors.isEmpty() && widgets.isEmpty()
+}
@@ -17,7 +17,6 @@
  */
 package com.intellij.idea.plugin.hybris.system.cockpitng.meta
 
-import com.intellij.idea.plugin.hybris.system.cockpitng.meta.model.*
 import com.intellij.openapi.project.Project
 
 interface CngMetaModelMerger {
@@ -26,12 +25,10 @@ interface CngMetaModelMerger {
         fun getInstance(project: Project): CngMetaModelMerger = project.getService(CngMetaModelMerger::class.java)
     }
 
-    fun merge(
-        globalMetaModel: CngGlobalMetaModel,
-        configs: Collection<CngConfigMeta>,
-        actions: Collection<CngMetaActionDefinition>,
-        widgetDefinitions: Collection<CngMetaWidgetDefinition>,
-        editors: Collection<CngMetaEditorDefinition>,
-        widgets: Collection<CngMetaWidgets>
-    )
-}
\ No newline at end of file
+    fun merge(globalMetaModel: CngGlobalMetaModel, localMetaModels: CngLocalMetaModels)
+
+    /**
+     * Retracts contributions of the removed or changed local Meta Models and re-applies only affected keys.
+     */
+    fun mergeIncrementally(globalMetaModel: CngGlobalMetaModel, previousLocalMetaModels: CngLocalMetaModels, localMetaModels: CngLocalMetaModels)
+}
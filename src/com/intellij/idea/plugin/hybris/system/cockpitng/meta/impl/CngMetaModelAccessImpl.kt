@@ -26,17 +26,15 @@ import com.intellij.idea.plugin.hybris.system.cockpitng.model.core.EditorDefinit
 import com.intellij.idea.plugin.hybris.system.cockpitng.model.core.WidgetDefinition
 import com.intellij.idea.plugin.hybris.system.cockpitng.model.core.Widgets
 import com.intellij.openapi.application.ApplicationManager
-import com.intellij.openapi.application.ReadAction
+import com.intellij.openapi.application.readAction
+import com.intellij.openapi.application.smartReadAction
 import com.intellij.openapi.progress.ProcessCanceledException
-import com.intellij.openapi.progress.ProgressIndicator
-import com.intellij.openapi.progress.ProgressManager
-import com.intellij.openapi.progress.Task
-import com.intellij.openapi.progress.impl.BackgroundableProcessIndicator
 import com.intellij.openapi.project.DumbService
 import com.intellij.openapi.project.Project
 import com.intellij.openapi.util.Computable
 import com.intellij.openapi.util.Key
 import com.intellij.openapi.util.ModificationTracker
+import com.intellij.platform.ide.progress.withBackgroundProgress
 import com.intellij.psi.PsiFile
 import com.intellij.psi.util.CachedValue
 import com.intellij.psi.util.CachedValueProvider
@@ -44,6 +42,7 @@ import com.intellij.psi.util.CachedValuesManager
 import com.intellij.util.messages.Topic
 import com.intellij.util.xml.DomElement
 import com.intellij.util.xml.DomFileElement
+import kotlinx.coroutines.*
 import java.util.*
 import java.util.concurrent.Semaphore
 
@@ -58,9 +57,13 @@ import java.util.concurrent.Semaphore
  * 2. PsiFile (-config.xml) specific cache
  * - retrieving of that cache also performs processing of the PsiFile and pre-filling into MetaModel caches
  *
+ * Configs, action definitions, widget definitions, editor definitions and widgets are independent of each other,
+ * so each of them is collected and processed concurrently, each in own read action.
+ * On subsequent rebuilds only contributions of the changed files are re-applied to the Global Meta Model.
+ *
  * It is quite important to take into account possibility of interruption of the process, especially during Inspection and other heavy operations
  */
-class CngMetaModelAccessImpl(private val myProject: Project) : CngMetaModelAccess {
+class CngMetaModelAccessImpl(private val myProject: Project, private val coroutineScope: CoroutineScope) : CngMetaModelAccess {
 
     private val myGlobalMetaModel = CngGlobalMetaModel()
     private val myMessageBus = myProject.messageBus
@@ -72,85 +75,105 @@ class CngMetaModelAccessImpl(private val myProject: Project) : CngMetaModelAcces
     private var initialized: Boolean = false
     private val semaphore = Semaphore(1)
 
+    // local Meta Models used during the last merge, required for the incremental merge
+    @Volatile
+    private var myMergedMetaModels: CngLocalMetaModels? = null
+
     private val myGlobalMetaModelCache = CachedValuesManager.getManager(myProject).createCachedValue(
         {
-            val processor = CngMetaModelProcessor.getInstance(myProject)
-            val (configs, configDependencies) = collectLocalMetaModels(SINGLE_CONFIG_CACHE_KEY, Config::class.java,
-                { file -> processor.processConfig(file) },
-                { _ -> true }
-            )
-            val (actions, actionDependencies) = collectLocalMetaModels(SINGLE_ACTION_DEFINITION_CACHE_KEY, ActionDefinition::class.java,
-                { file -> processor.processActionDefinition(file) },
-                { dom -> dom.rootElement.id.exists() }
-            )
-            val (widgetDefinitions, widgetDependencies) = collectLocalMetaModels(SINGLE_WIDGET_DEFINITION_CACHE_KEY, WidgetDefinition::class.java,
-                { file -> processor.processWidgetDefinition(file) },
-                { dom -> dom.rootElement.id.exists() }
-            )
-            val (editors, editorDependencies) = collectLocalMetaModels(SINGLE_EDITOR_DEFINITION_CACHE_KEY, EditorDefinition::class.java,
-                { file -> processor.processEditorDefinition(file) },
-                { dom -> dom.rootElement.id.exists() }
-            )
-            val (widgets, widgetsDependencies) = collectLocalMetaModels(SINGLE_WIDGETS_MODEL_CACHE_KEY, Widgets::class.java,
-                { file -> processor.processWidgets(file) },
-                { _ -> true }
-            )
-            CngMetaModelMerger.getInstance(myProject).merge(
-                myGlobalMetaModel, configs, actions, widgetDefinitions, editors, widgets
-            )
-
-            val dependencies = configDependencies + actionDependencies + widgetDependencies + editorDependencies + widgetsDependencies
+            val localMetaModels = runBlocking {
+                withBackgroundProgress(myProject, message("hybris.cng.access.progress.title.building"), true) {
+                    val processor = CngMetaModelProcessor.getInstance(myProject)
+                    val configs = async(Dispatchers.Default) {
+                        collectLocalMetaModels(SINGLE_CONFIG_CACHE_KEY, Config::class.java,
+                            { file -> processor.processConfig(file) },
+                            { _ -> true }
+                        )
+                    }
+                    val actions = async(Dispatchers.Default) {
+                        collectLocalMetaModels(SINGLE_ACTION_DEFINITION_CACHE_KEY, ActionDefinition::class.java,
+                            { file -> processor.processActionDefinition(file) },
+                            { dom -> dom.rootElement.id.exists() }
+                        )
+                    }
+                    val widgetDefinitions = async(Dispatchers.Default) {
+                        collectLocalMetaModels(SINGLE_WIDGET_DEFINITION_CACHE_KEY, WidgetDefinition::class.java,
+                            { file -> processor.processWidgetDefinition(file) },
+                            { dom -> dom.rootElement.id.exists() }
+                        )
+                    }
+                    val editors = async(Dispatchers.Default) {
+                        collectLocalMetaModels(SINGLE_EDITOR_DEFINITION_CACHE_KEY, EditorDefinition::class.java,
+                            { file -> processor.processEditorDefinition(file) },
+                            { dom -> dom.rootElement.id.exists() }
+                        )
+                    }
+                    val widgets = async(Dispatchers.Default) {
+                        collectLocalMetaModels(SINGLE_WIDGETS_MODEL_CACHE_KEY, Widgets::class.java,
+                            { file -> processor.processWidgets(file) },
+                            { _ -> true }
+                        )
+                    }
+
+                    val localMetaModels = CngLocalMetaModels(
+                        configs.await(), actions.await(), widgetDefinitions.await(), editors.await(), widgets.await()
+                    )
+                    val previousLocalMetaModels = myMergedMetaModels
+
+                    readAction {
+                        val merger = CngMetaModelMerger.getInstance(myProject)
+
+                        if (initialized && previousLocalMetaModels != null) {
+                            merger.mergeIncrementally(myGlobalMetaModel, previousLocalMetaModels, localMetaModels)
+                        } else {
+                            merger.merge(myGlobalMetaModel, localMetaModels)
+                        }
+                    }
+
+                    myMergedMetaModels = localMetaModels
+
+                    localMetaModels
+                }
+            }
+
+            val dependencies = localMetaModels.psiFiles.toTypedArray()
 
             CachedValueProvider.Result.create(myGlobalMetaModel, dependencies.ifEmpty { ModificationTracker.EVER_CHANGED })
         }, false
     )
 
-    private fun <D : DomElement, T : CngMeta<D>> collectLocalMetaModels(
+    private suspend fun <D : DomElement, T : CngMeta<D>> collectLocalMetaModels(
         key: Key<CachedValue<T>>,
         clazz: Class<D>,
         resultProcessor: (input: PsiFile) -> T?,
         shouldCollect: (DomFileElement<D>) -> Boolean
-    ): Pair<List<T>, Array<PsiFile>> {
-        val localConfigMetaModels = CngMetaModelCollector.getInstance(myProject).collectDependencies(clazz, shouldCollect)
-            .map { retrieveSingleMetaModelPerFile(it, key, resultProcessor) }
-            .map { it.value }
-
-        val dependencies = localConfigMetaModels
-            .map { it.psiFile }
-            .toTypedArray()
-        return Pair(localConfigMetaModels, dependencies)
-    }
+    ): List<T> {
+        val files = smartReadAction(myProject) {
+            CngMetaModelCollector.getInstance(myProject).collectDependencies(clazz, shouldCollect)
+        }
 
-    private val task = object : Task.Backgroundable(myProject, message("hybris.cng.access.progress.title.building")) {
-        override fun run(indicator: ProgressIndicator) {
-            indicator.text2 = message("hybris.cng.access.progress.subTitle.waitingForIndex")
-
-            ReadAction
-                .nonBlocking<Unit> {
-                    val lock = semaphore.tryAcquire()
-
-                    if (lock) {
-                        try {
-                            building = true
-                            val globalMetaModel = myGlobalMetaModelCache.value
-                            building = false
-                            initialized = true
-                            myMessageBus.syncPublisher(topic).cngSystemChanged(globalMetaModel)
-                        } finally {
-                            semaphore.release()
-                        }
-                    }
-                }
-                .inSmartMode(project)
-                .executeSynchronously()
+        // processor returns null for incomplete files
+        return files.mapNotNull { file ->
+            readAction { retrieveSingleMetaModelPerFile(file, key, resultProcessor).value }
         }
     }
 
     override fun initMetaModel() {
         building = true
-        ProgressManager.getInstance().runProcessWithProgressAsynchronously(task, BackgroundableProcessIndicator(task))
-    }
 
+        coroutineScope.launch(Dispatchers.IO) {
+            if (!semaphore.tryAcquire()) return@launch
+
+            try {
+                val globalMetaModel = myGlobalMetaModelCache.value
+                initialized = true
+                myMessageBus.syncPublisher(topic).cngSystemChanged(globalMetaModel)
+            } finally {
+                building = false
+                semaphore.release()
+            }
+        }
+    }
     override fun getMetaModel(): CngGlobalMetaModel {
         if (building || !initialized || DumbService.isDumb(myProject)) throw ProcessCanceledException()
 
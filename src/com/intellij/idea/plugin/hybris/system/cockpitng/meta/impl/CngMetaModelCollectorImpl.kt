@@ -43,7 +43,7 @@ class CngMetaModelCollectorImpl(private val myProject: Project) : CngMetaModelCo
     override fun <T : DomElement> collectDependencies(clazz: Class<T>, shouldCollect: (DomFileElement<T>) -> Boolean): Set<PsiFile> {
         val files = HashSet<PsiFile>()
 
-        ProgressManager.getInstance().progressIndicator.text2 = message("hybris.cng.access.progress.subTitle.collectingDependencies", getDescriptor(clazz))
+        ProgressManager.getInstance().progressIndicator?.text2 = message("hybris.cng.access.progress.subTitle.collectingDependencies", getDescriptor(clazz))
 
         StubIndex.getInstance().processElements(
             DomElementClassIndex.KEY,
@@ -64,7 +64,7 @@ class CngMetaModelCollectorImpl(private val myProject: Project) : CngMetaModelCo
             }
         )
 
-        ProgressManager.getInstance().progressIndicator.text2 = message("hybris.cng.access.progress.subTitle.collectedDependencies", files.size, getDescriptor(clazz))
+        ProgressManager.getInstance().progressIndicator?.text2 = message("hybris.cng.access.progress.subTitle.collectedDependencies", files.size, getDescriptor(clazz))
 
         return Collections.unmodifiableSet(files)
     }
@@ -19,37 +19,118 @@ package com.intellij.idea.plugin.hybris.system.cockpitng.meta.impl
 
 import com.intellij.idea.plugin.hybris.common.utils.HybrisI18NBundleUtils.message
 import com.intellij.idea.plugin.hybris.system.cockpitng.meta.CngGlobalMetaModel
+import com.intellij.idea.plugin.hybris.system.cockpitng.meta.CngLocalMetaModels
 import com.intellij.idea.plugin.hybris.system.cockpitng.meta.CngMetaModelMerger
 import com.intellij.idea.plugin.hybris.system.cockpitng.meta.model.*
 import com.intellij.openapi.progress.ProgressManager
 import com.intellij.openapi.project.Project
+import java.util.*
 
 class CngMetaModelMergerImpl(val myProject: Project) : CngMetaModelMerger {
 
-    override fun merge(
-        globalMetaModel: CngGlobalMetaModel,
-        configs: Collection<CngConfigMeta>,
-        actions: Collection<CngMetaActionDefinition>,
-        widgetDefinitions: Collection<CngMetaWidgetDefinition>,
-        editors: Collection<CngMetaEditorDefinition>,
-        widgets: Collection<CngMetaWidgets>
-    ) = with(globalMetaModel) {
+    override fun merge(globalMetaModel: CngGlobalMetaModel, localMetaModels: CngLocalMetaModels) = with(globalMetaModel) {
         globalMetaModel.clear()
 
-        ProgressManager.getInstance().progressIndicator.text2 = message("hybris.cng.access.progress.subTitle.merging")
+        ProgressManager.getInstance().progressIndicator?.text2 = message("hybris.cng.access.progress.subTitle.merging")
 
-        configs
+        localMetaModels.configs
             .forEach { merge(this, it) }
-        actions
+        localMetaModels.actions
             .forEach { merge(this, it) }
-        widgetDefinitions
+        localMetaModels.widgetDefinitions
             .forEach { merge(this, it) }
-        editors
+        localMetaModels.editors
             .forEach { merge(this, it) }
-        widgets
+        localMetaModels.widgets
             .forEach { merge(this, it) }
     }
 
+    /**
+     * Local Meta Models are cached per PsiFile, so any non-changed file will return the same instance of the Meta Model,
+     * which allows us to identify removed & added files by identity.
+     * For each key contributed by such files we retract the global value and re-merge it from all current local Meta Models in the original order,
+     * so the result is the same as for the full merge.
+     */
+    override fun mergeIncrementally(
+        globalMetaModel: CngGlobalMetaModel,
+        previousLocalMetaModels: CngLocalMetaModels,
+        localMetaModels: CngLocalMetaModels
+    ) = with(globalMetaModel) {
+        ProgressManager.getInstance().progressIndicator?.text2 = message("hybris.cng.access.progress.subTitle.merging")
+
+        val changedConfigs = changed(previousLocalMetaModels.configs, localMetaModels.configs)
+        val changedActions = changed(previousLocalMetaModels.actions, localMetaModels.actions)
+        val changedWidgetDefinitions = changed(previousLocalMetaModels.widgetDefinitions, localMetaModels.widgetDefinitions)
+        val changedEditors = changed(previousLocalMetaModels.editors, localMetaModels.editors)
+        val changedWidgets = changed(previousLocalMetaModels.widgets, localMetaModels.widgets)
+
+        if (changedConfigs.isEmpty() && changedActions.isEmpty() && changedWidgetDefinitions.isEmpty()
+            && changedEditors.isEmpty() && changedWidgets.isEmpty()
+        ) return@with
+
+        if (changedConfigs.isNotEmpty()) {
+            val keys = changedConfigs
+                .flatMap { it.contexts }
+                .flatMapTo(HashSet()) { it.attributes.keys }
+            val contextAttributes = HashMap<String, MutableSet<String>>()
+
+            localMetaModels.configs
+                .flatMap { it.contexts }
+                .flatMap { it.attributes.entries }
+                .filter { keys.contains(it.key) }
+                .forEach { contextAttributes.computeIfAbsent(it.key) { _ -> mutableSetOf() }.add(it.value) }
+
+            keys.forEach {
+                val values = contextAttributes[it]
+                if (values == null) globalMetaModel.contextAttributes.remove(it)
+                else globalMetaModel.contextAttributes[it] = values
+            }
+        }
+
+        remerge(actionDefinitions, changedActions, localMetaModels.actions) { listOf(it.id to it) }
+        remerge(widgetDefinitions, changedWidgetDefinitions, localMetaModels.widgetDefinitions) { listOf(it.id to it) }
+        remerge(editorDefinitions, changedEditors, localMetaModels.editors) { listOf(it.id to it) }
+        remerge(widgets, changedWidgets, localMetaModels.widgets) { localMeta ->
+            // It is possible to extend existing widget with new widgets, those have to be processed first
+            (localMeta.widgetExtensions.flatMap { it.widgets } + localMeta.widgets)
+                .flatMap { flatten(it) }
+                .map { it.id to it }
+        }
+
+        incModificationCount()
+    }
+
+    private fun <T : Any> changed(previous: Collection<T>, current: Collection<T>): List<T> {
+        val previousSet = Collections.newSetFromMap(IdentityHashMap<T, Boolean>())
+            .apply { addAll(previous) }
+        val currentSet = Collections.newSetFromMap(IdentityHashMap<T, Boolean>())
+            .apply { addAll(current) }
+
+        return previous.filterNot { currentSet.contains(it) } + current.filterNot { previousSet.contains(it) }
+    }
+
+    private fun <L, G> remerge(
+        globalCache: MutableMap<String, G>,
+        changedLocalMetas: Collection<L>,
+        localMetas: Collection<L>,
+        entries: (L) -> List<Pair<String, G>>
+    ) {
+        if (changedLocalMetas.isEmpty()) return
+
+        val changedKeys = changedLocalMetas
+            .flatMap(entries)
+            .mapTo(HashSet()) { it.first.lowercase() }
+
+        changedKeys.forEach { globalCache.remove(it) }
+
+        localMetas
+            .flatMap(entries)
+            .filter { changedKeys.contains(it.first.lowercase()) }
+            .forEach { globalCache[it.first] = it.second }
+    }
+
+    private fun flatten(widget: CngMetaWidget): List<CngMetaWidget> = listOf(widget) + widget.widgets.flatMap { flatten(it) }
+
     private fun merge(globalMetaModel: CngGlobalMetaModel, localMeta: CngConfigMeta) {
         localMeta.contexts
             .flatMap { it.attributes.entries }
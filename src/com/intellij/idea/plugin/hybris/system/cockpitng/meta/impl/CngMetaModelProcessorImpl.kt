@@ -36,7 +36,7 @@ class CngMetaModelProcessorImpl(myProject: Project) : CngMetaModelProcessor {
         psiFile.virtualFile ?: return null
         val dom = myDomManager.getFileElement(psiFile as XmlFile, Config::class.java)?.rootElement ?: return null
 
-        ProgressManager.getInstance().progressIndicator.text2 = message("hybris.cng.access.progress.subTitle.processing", psiFile.name)
+        ProgressManager.getInstance().progressIndicator?.text2 = message("hybris.cng.access.progress.subTitle.processing", psiFile.name)
 
         val contexts = dom.contexts
             .filter { it.component.stringValue != null }
@@ -52,7 +52,7 @@ class CngMetaModelProcessorImpl(myProject: Project) : CngMetaModelProcessor {
             ?: return null
         val id = CngMetaModelNameProvider.extract(dom) ?: return null
 
-        ProgressManager.getInstance().progressIndicator.text2 = message("hybris.cng.access.progress.subTitle.processing", psiFile.name)
+        ProgressManager.getInstance().progressIndicator?.text2 = message("hybris.cng.access.progress.subTitle.processing", psiFile.name)
 
         return CngMetaActionDefinition(psiFile, dom, id)
     }
@@ -64,7 +64,7 @@ class CngMetaModelProcessorImpl(myProject: Project) : CngMetaModelProcessor {
             ?: return null
         val id = CngMetaModelNameProvider.extract(dom) ?: return null
 
-        ProgressManager.getInstance().progressIndicator.text2 = message("hybris.cng.access.progress.subTitle.processing", psiFile.name)
+        ProgressManager.getInstance().progressIndicator?.text2 = message("hybris.cng.access.progress.subTitle.processing", psiFile.name)
 
         val settings = CaseInsensitiveConcurrentHashMap<String, CngMetaWidgetSetting>()
         dom.settings.settings
@@ -81,7 +81,7 @@ class CngMetaModelProcessorImpl(myProject: Project) : CngMetaModelProcessor {
             ?: return null
         val id = CngMetaModelNameProvider.extract(dom) ?: return null
 
-        ProgressManager.getInstance().progressIndicator.text2 = message("hybris.cng.access.progress.subTitle.processing", psiFile.name)
+        ProgressManager.getInstance().progressIndicator?.text2 = message("hybris.cng.access.progress.subTitle.processing", psiFile.name)
 
         return CngMetaEditorDefinition(psiFile, dom, id)
     }
@@ -92,7 +92,7 @@ class CngMetaModelProcessorImpl(myProject: Project) : CngMetaModelProcessor {
             ?.rootElement
             ?: return null
 
-        ProgressManager.getInstance().progressIndicator.text2 = message("hybris.cng.access.progress.subTitle.processing", psiFile.name)
+        ProgressManager.getInstance().progressIndicator?.text2 = message("hybris.cng.access.progress.subTitle.processing", psiFile.name)
 
         return CngMetaWidgets(
             psiFile,
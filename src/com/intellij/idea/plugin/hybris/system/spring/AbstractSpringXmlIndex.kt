@@ -0,0 +1,90 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.system.spring
+
+import com.intellij.ide.highlighter.XmlFileType
+import com.intellij.idea.plugin.hybris.common.HybrisConstants
+import com.intellij.openapi.util.text.StringUtil
+import com.intellij.psi.impl.source.parsing.xml.XmlBuilder
+import com.intellij.psi.impl.source.parsing.xml.XmlBuilderDriver
+import com.intellij.util.indexing.*
+import com.intellij.util.io.EnumeratorStringDescriptor
+import com.intellij.util.io.KeyDescriptor
+
+/**
+ * Base of the indexes over the plain Spring XML files.
+ *
+ * Files are parsed via [XmlBuilderDriver], so neither PSI nor AST is created during indexing.
+ * Parsing is skipped for files which do not contain Spring namespace or any of the [requiredMarkers].
+ */
+abstract class AbstractSpringXmlIndex<V> : FileBasedIndexExtension<String, V>() {
+
+    protected open val requiredMarkers: Collection<String> = emptyList()
+
+    protected abstract fun createCollector(): SpringXmlCollector<V>
+
+    override fun dependsOnFileContent() = true
+    override fun getKeyDescriptor(): KeyDescriptor<String> = EnumeratorStringDescriptor.INSTANCE
+    override fun getInputFilter() = DefaultFileTypeSpecificInputFilter(XmlFileType.INSTANCE)
+
+    override fun getIndexer() = DataIndexer<String, V, FileContent> { inputData ->
+        val text = inputData.contentAsText
+
+        if (!StringUtil.contains(text, HybrisConstants.SPRING_NAMESPACE)
+            || requiredMarkers.any { !StringUtil.contains(text, it) }
+        ) return@DataIndexer emptyMap()
+
+        createCollector()
+            .also { XmlBuilderDriver(text).build(it) }
+            .result
+    }
+
+    /**
+     * Receives tag events only when the root tag belongs to the Spring namespace, [depth] of the root tag is 1.
+     */
+    abstract class SpringXmlCollector<V> : XmlBuilder {
+
+        abstract val result: Map<String, V>
+
+        private var depth = 0
+        private var springFile = false
+
+        protected abstract fun startSpringTag(localName: CharSequence, startOffset: Int, depth: Int): XmlBuilder.ProcessingOrder
+        protected abstract fun endSpringTag(localName: CharSequence, depth: Int)
+
+        final override fun startTag(localName: CharSequence, namespace: String?, startoffset: Int, endoffset: Int, headerEndOffset: Int): XmlBuilder.ProcessingOrder {
+            depth++
+
+            if (depth == 1) springFile = namespace == HybrisConstants.SPRING_NAMESPACE
+
+            return if (springFile) startSpringTag(localName, startoffset, depth)
+            else XmlBuilder.ProcessingOrder.TAGS
+        }
+
+        final override fun endTag(localName: CharSequence, namespace: String?, startoffset: Int, endoffset: Int) {
+            if (springFile) endSpringTag(localName, depth)
+            depth--
+        }
+
+        override fun attribute(name: CharSequence, value: CharSequence, startoffset: Int, endoffset: Int) = Unit
+        override fun textElement(display: CharSequence, physical: CharSequence, startoffset: Int, endoffset: Int) = Unit
+        override fun entityRef(ref: CharSequence, startOffset: Int, endOffset: Int) = Unit
+        override fun error(message: String, startOffset: Int, endOffset: Int) = Unit
+        override fun doctype(publicId: CharSequence?, systemId: CharSequence?, startOffset: Int, endOffset: Int) = Unit
+    }
+}
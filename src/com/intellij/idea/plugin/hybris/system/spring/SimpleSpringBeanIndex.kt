@@ -0,0 +1,95 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.system.spring
+
+import com.intellij.openapi.util.text.StringUtil
+import com.intellij.psi.impl.source.parsing.xml.XmlBuilder
+import com.intellij.util.indexing.ID
+import com.intellij.util.io.DataExternalizer
+import com.intellij.util.io.IOUtil
+import java.io.DataInput
+import java.io.DataOutput
+
+/**
+ * Index of the Spring beans declared in the plain Spring XML files: bean id -> bean class and offset of the bean tag.
+ *
+ * Only `bean` tags declared directly within the root `beans` tag and having both `id` and `class` are indexed.
+ */
+class SimpleSpringBeanIndex : AbstractSpringXmlIndex<SimpleSpringBean>() {
+
+    override fun getName() = NAME
+    override fun getVersion() = 1
+    override fun getValueExternalizer(): DataExternalizer<SimpleSpringBean> = SimpleSpringBeanExternalizer
+    override fun createCollector(): SpringXmlCollector<SimpleSpringBean> = SpringBeansCollector()
+
+    private class SpringBeansCollector : SpringXmlCollector<SimpleSpringBean>() {
+
+        override val result = HashMap<String, SimpleSpringBean>()
+
+        private var beanOffset = -1
+        private var beanId: String? = null
+        private var beanClass: String? = null
+
+        override fun startSpringTag(localName: CharSequence, startOffset: Int, depth: Int): XmlBuilder.ProcessingOrder {
+            collectBean()
+
+            if (depth != 2 || !StringUtil.equals(localName, "bean")) return XmlBuilder.ProcessingOrder.TAGS
+
+            beanOffset = startOffset
+            return XmlBuilder.ProcessingOrder.TAGS_AND_ATTRIBUTES
+        }
+
+        override fun endSpringTag(localName: CharSequence, depth: Int) = collectBean()
+
+        override fun attribute(name: CharSequence, value: CharSequence, startoffset: Int, endoffset: Int) {
+            if (beanOffset == -1) return
+
+            when {
+                StringUtil.equals(name, "id") -> beanId = value.toString()
+                StringUtil.equals(name, "class") -> beanClass = value.toString()
+            }
+        }
+
+        // attributes of the tag are reported right after the tag itself, so bean is complete on the next tag event
+        private fun collectBean() {
+            val id = beanId
+            val className = beanClass
+            if (beanOffset != -1 && id != null && className != null) result[id] = SimpleSpringBean(className, beanOffset)
+
+            beanOffset = -1
+            beanId = null
+            beanClass = null
+        }
+    }
+
+    private object SimpleSpringBeanExternalizer : DataExternalizer<SimpleSpringBean> {
+
+        override fun save(out: DataOutput, value: SimpleSpringBean) {
+            IOUtil.writeUTF(out, value.className)
+            out.writeInt(value.offset)
+        }
+
+        override fun read(input: DataInput) = SimpleSpringBean(IOUtil.readUTF(input), input.readInt())
+    }
+
+    companion object {
+        val NAME = ID.create<String, SimpleSpringBean>("hybris.simple.spring.bean")
+    }
+}
+
+data class SimpleSpringBean(val className: String, val offset: Int)
@@ -18,83 +18,62 @@
 
 package com.intellij.idea.plugin.hybris.system.spring
 
-import com.intellij.ide.highlighter.XmlFileType
-import com.intellij.idea.plugin.hybris.common.HybrisConstants
-import com.intellij.openapi.application.ApplicationNamesInfo
-import com.intellij.openapi.application.ReadAction
 import com.intellij.openapi.components.Service
+import com.intellij.openapi.project.DumbService
 import com.intellij.openapi.project.Project
-import com.intellij.openapi.util.ModificationTracker
+import com.intellij.openapi.vfs.VirtualFile
 import com.intellij.psi.PsiManager
-import com.intellij.psi.search.FileTypeIndex
 import com.intellij.psi.search.GlobalSearchScope
-import com.intellij.psi.util.CachedValueProvider
-import com.intellij.psi.util.CachedValuesManager
-import com.intellij.psi.util.childrenOfType
-import com.intellij.psi.xml.XmlFile
+import com.intellij.psi.util.PsiTreeUtil
 import com.intellij.psi.xml.XmlTag
-import com.intellij.util.concurrency.AppExecutorUtil
+import com.intellij.util.indexing.FileBasedIndex
+import com.intellij.util.indexing.FileBasedIndexExtension
 
 /**
  * Incredibly simple handling of the Spring beans.
  * Provided only as a fallback logic for IntelliJ Community.
  * It is not planned for future improvement or IntelliJ IDEA Ultimate Spring plugin replacement.
  * May produce incorrect results.
+ *
+ * Beans are looked up via [SimpleSpringBeanIndex], PSI is loaded only for the file of the requested bean declaration.
  */
 @Service(Service.Level.PROJECT)
 class SimpleSpringService(val project: Project) {
 
-    private val cache = CachedValuesManager.getManager(project).createCachedValue(
-        {
-            val springFiles = collectFiles()
-            val beans = processBeans(springFiles)
-
-            val dependencies = springFiles
-                .toTypedArray()
-
-            CachedValueProvider.Result.create(beans, dependencies.ifEmpty { ModificationTracker.EVER_CHANGED })
-        }, false
-    )
+    fun findBean(id: String): XmlTag? {
+        val (file, bean) = findIndexedBean(id) ?: return null
+        val psiFile = PsiManager.getInstance(project).findFile(file) ?: return null
 
-    fun findBean(id: String) = if (cache.hasUpToDateValue()) cache.value[id]
-    else null
-
-    fun initCache() {
-        ReadAction
-            .nonBlocking<Map<String, XmlTag>>() {
-                cache.value
-            }
-            .submit(AppExecutorUtil.getAppExecutorService())
+        return PsiTreeUtil.getParentOfType(psiFile.findElementAt(bean.offset), XmlTag::class.java, false)
+            ?.takeIf { it.localName == "bean" && it.getAttributeValue("id") == id }
     }
 
-    private fun processBeans(xmlFiles: List<XmlFile>) = xmlFiles
-        .mapNotNull { it.rootTag }
-        .flatMap {
-            it.childrenOfType<XmlTag>()
-                .filter { tag -> tag.localName == "bean" }
-                .mapNotNull { tag ->
-                    val id = tag.getAttributeValue("id") ?: return@mapNotNull null
-                    tag.getAttributeValue("class") ?: return@mapNotNull null
+    fun findBeanClass(id: String) = findIndexedBean(id)
+        ?.second
+        ?.className
 
-                    id to tag
-                }
-        }
-        .associate { it.first to it.second }
+    private fun findIndexedBean(id: String): Pair<VirtualFile, SimpleSpringBean>? {
+        if (DumbService.isDumb(project)) return null
 
-    private fun collectFiles(): List<XmlFile> {
-        val psiManager = PsiManager.getInstance(project)
+        var found: Pair<VirtualFile, SimpleSpringBean>? = null
 
-        return FileTypeIndex.getFiles(
-            XmlFileType.INSTANCE,
+        FileBasedIndex.getInstance().processValues(
+            SimpleSpringBeanIndex.NAME, id, null,
+            { file, bean ->
+                found = file to bean
+                false
+            },
             GlobalSearchScope.allScope(project)
         )
-            .mapNotNull { psiManager.findFile(it) }
-            .filterIsInstance<XmlFile>()
-            .filter { it.rootTag?.getAttributeValue("xmlns") == HybrisConstants.SPRING_NAMESPACE }
+
+        return found
     }
 
     companion object {
-        fun getService(project: Project) = if (HybrisConstants.IDEA_EDITION_ULTIMATE.equals(ApplicationNamesInfo.getInstance().editionName, ignoreCase = true)) null
+        /**
+         * [SimpleSpringBeanIndex] is registered only for IntelliJ IDEA Community, for other IDEs the service is not available.
+         */
+        fun getService(project: Project) = if (FileBasedIndexExtension.EXTENSION_POINT_NAME.findExtension(SimpleSpringBeanIndex::class.java) == null) null
         else project.getService(SimpleSpringService::class.java)
     }
-}
\ No newline at end of file
+}
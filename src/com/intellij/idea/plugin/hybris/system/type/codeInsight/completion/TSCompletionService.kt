@@ -29,17 +29,21 @@ import com.intellij.idea.plugin.hybris.impex.psi.ImpexParameter
 import com.intellij.idea.plugin.hybris.properties.PropertyService
 import com.intellij.idea.plugin.hybris.settings.components.DeveloperSettingsComponent
 import com.intellij.idea.plugin.hybris.system.type.codeInsight.lookup.TSLookupElementFactory
+import com.intellij.idea.plugin.hybris.system.type.meta.TSGlobalMetaModel
 import com.intellij.idea.plugin.hybris.system.type.meta.TSMetaModelAccess
 import com.intellij.idea.plugin.hybris.system.type.meta.model.*
 import com.intellij.idea.plugin.hybris.system.type.meta.model.TSGlobalMetaItem.TSGlobalMetaItemAttribute
 import com.intellij.openapi.components.Service
 import com.intellij.openapi.project.Project
 import org.apache.commons.lang3.StringUtils
-import java.util.*
+import java.util.concurrent.ConcurrentHashMap
 
 @Service(Service.Level.PROJECT)
 class TSCompletionService(private val project: Project) {
 
+    @Volatile
+    private var lookupElementsCache: LookupElementsCache? = null
+
     /**
      * This method should return lookup elements for possible type code, it can be Item/Enum or Relation
      */
@@ -53,39 +57,15 @@ class TSCompletionService(private val project: Project) {
         0, *types
     )
 
-    fun getCompletions(vararg types: TSMetaType) = with(TSMetaModelAccess.getInstance(project)) {
-        types
-            .map { metaType ->
-                when (metaType) {
-                    TSMetaType.META_ITEM -> this
-                        .getAll<TSGlobalMetaItem>(metaType)
-                        .mapNotNull { TSLookupElementFactory.build(it) }
-
-                    TSMetaType.META_ENUM -> this
-                        .getAll<TSGlobalMetaEnum>(metaType)
-                        .mapNotNull { TSLookupElementFactory.build(it, it.name) }
-
-                    TSMetaType.META_RELATION -> this
-                        .getAll<TSGlobalMetaRelation>(metaType)
-                        .mapNotNull { TSLookupElementFactory.build(it) }
+    fun getCompletions(vararg types: TSMetaType) = types
+        .map { metaType -> cached(metaType) { buildCompletions(metaType) } }
+        .flatten()
 
-                    TSMetaType.META_COLLECTION -> this
-                        .getAll<TSGlobalMetaCollection>(metaType)
-                        .mapNotNull { TSLookupElementFactory.build(it) }
-
-                    TSMetaType.META_MAP -> this
-                        .getAll<TSGlobalMetaMap>(metaType)
-                        .mapNotNull { TSLookupElementFactory.build(it) }
-
-                    else -> emptyList()
-                }
-            }
-            .flatten()
+    fun getCompletions(meta: TSGlobalMetaEnum) = cached(TSMetaType.META_ENUM to meta.name?.lowercase()) {
+        meta.values.values
+            .map { TSLookupElementFactory.build(it) }
     }
 
-    fun getCompletions(meta: TSGlobalMetaEnum) = meta.values.values
-        .map { TSLookupElementFactory.build(it) }
-
     fun getImpExInlineTypeCompletions(project: Project, element: ImpexParameter): List<LookupElement> {
         val completion = DeveloperSettingsComponent.getInstance(project).state.impexSettings.completion
         if (!completion.showInlineTypes) return emptyList()
@@ -98,15 +78,11 @@ class TSCompletionService(private val project: Project) {
         }
 
         val metaModelAccess = TSMetaModelAccess.getInstance(project)
-        metaModelAccess.findMetaItemByName(referenceItemTypeName)
+        val referenceMetaItem = metaModelAccess.findMetaItemByName(referenceItemTypeName)
             ?: return emptyList()
 
-        return metaModelAccess.getAll<TSGlobalMetaItem>(TSMetaType.META_ITEM)
-            .filter { meta ->
-                meta.allExtends.find { it.name.equals(referenceItemTypeName, true) } != null
-                    // or itself, it will be highlighted as unnecessary via Inspection
-                    || meta.name.equals(referenceItemTypeName, true)
-            }
+        // or itself, it will be highlighted as unnecessary via Inspection
+        return (listOf(referenceMetaItem) + metaModelAccess.getAllSubtypes(referenceItemTypeName))
             .mapNotNull {
                 TSLookupElementFactory.build(it, suffix)
                     ?.withTypeText(" child of $referenceItemTypeName", true)
@@ -159,28 +135,36 @@ class TSCompletionService(private val project: Project) {
             ?: emptyList()
     }
 
-    private fun getCompletionsForEnum(metaModelAccess: TSMetaModelAccess) = metaModelAccess.findMetaItemByName(HybrisConstants.TS_TYPE_ENUMERATION_VALUE)
-        ?.allAttributes
-        ?.values
-        ?.map { TSLookupElementFactory.build(it) }
-        ?: emptyList()
+    private fun getCompletionsForEnum(metaModelAccess: TSMetaModelAccess) = cached(HybrisConstants.TS_TYPE_ENUMERATION_VALUE) {
+        metaModelAccess.findMetaItemByName(HybrisConstants.TS_TYPE_ENUMERATION_VALUE)
+            ?.allAttributes
+            ?.values
+            ?.map { TSLookupElementFactory.build(it) }
+            ?: emptyList()
+    }
 
-    private fun getCompletions(metaRelation: TSGlobalMetaRelation, metaService: TSMetaModelAccess): List<LookupElementBuilder> {
-        val linkMetaItem = metaService.findMetaItemByName(HybrisConstants.TS_TYPE_LINK) ?: return emptyList()
-        val completions = LinkedList(getCompletions(linkMetaItem, setOf(ATTRIBUTE_SOURCE, ATTRIBUTE_TARGET)))
+    private fun getCompletions(metaRelation: TSGlobalMetaRelation, metaService: TSMetaModelAccess) = cached(TSMetaType.META_RELATION to metaRelation.name?.lowercase()) {
+        val linkMetaItem = metaService.findMetaItemByName(HybrisConstants.TS_TYPE_LINK) ?: return@cached emptyList()
+        val completions = ArrayList(getCompletions(linkMetaItem, setOf(ATTRIBUTE_SOURCE, ATTRIBUTE_TARGET)))
         completions.add(TSLookupElementFactory.build(metaRelation.source, ATTRIBUTE_SOURCE))
         completions.add(TSLookupElementFactory.build(metaRelation.target, ATTRIBUTE_TARGET))
-        return completions
+        completions
     }
 
-    private fun getCompletions(metaMap: TSGlobalMetaMap) = listOf(
-        TSLookupElementFactory.build(metaMap.argumentType, ATTRIBUTE_KEY),
-        TSLookupElementFactory.build(metaMap.returnType, ATTRIBUTE_VALUE),
-    )
+    private fun getCompletions(metaMap: TSGlobalMetaMap) = cached(TSMetaType.META_MAP to metaMap.name?.lowercase()) {
+        listOf(
+            TSLookupElementFactory.build(metaMap.argumentType, ATTRIBUTE_KEY),
+            TSLookupElementFactory.build(metaMap.returnType, ATTRIBUTE_VALUE),
+        )
+    }
 
     private fun getCompletions(metaItem: TSGlobalMetaItem) = getCompletions(metaItem, emptySet())
 
-    private fun getCompletions(metaItem: TSGlobalMetaItem, excludeNames: Set<String>): List<LookupElementBuilder> {
+    private fun getCompletions(metaItem: TSGlobalMetaItem, excludeNames: Set<String>) = cached(Triple(TSMetaType.META_ITEM, metaItem.name?.lowercase(), excludeNames)) {
+        buildCompletions(metaItem, excludeNames)
+    }
+
+    private fun buildCompletions(metaItem: TSGlobalMetaItem, excludeNames: Set<String>): List<LookupElementBuilder> {
         val attributes = metaItem.allAttributes.values
             .mapNotNull { mapAttributeToLookup(excludeNames, it) }
         val orderingAttributes = metaItem.allOrderingAttributes.values
@@ -200,6 +184,57 @@ class TSCompletionService(private val project: Project) {
         } else TSLookupElementFactory.build(attribute, name)
     }
 
+    /**
+     * Lookup elements are immutable, so once built they are shared between all completion invocations
+     * until the next modification of the Type System global meta model.
+     */
+    private fun <T : LookupElementBuilder> cached(key: Any, compute: () -> List<T>): List<T> {
+        val metaModel = TSMetaModelAccess.getInstance(project).getMetaModel()
+        val modificationCount = metaModel.modificationCount
+        val cache = lookupElementsCache
+            ?.takeIf { it.metaModel === metaModel && it.modificationCount == modificationCount }
+            ?: LookupElementsCache(metaModel, modificationCount)
+                .also { lookupElementsCache = it }
+
+        @Suppress("UNCHECKED_CAST")
+        (cache.elements[key] as List<T>?)
+            ?.let { return it }
+
+        // computeIfAbsent is not used on purpose, computation of the Collection completions is recursive
+        val elements = compute()
+        @Suppress("UNCHECKED_CAST")
+        return (cache.elements.putIfAbsent(key, elements) as List<T>?) ?: elements
+    }
+
+    private fun buildCompletions(metaType: TSMetaType) = with(TSMetaModelAccess.getInstance(project)) {
+        when (metaType) {
+            TSMetaType.META_ITEM -> this
+                .getAll<TSGlobalMetaItem>(metaType)
+                .mapNotNull { TSLookupElementFactory.build(it) }
+
+            TSMetaType.META_ENUM -> this
+                .getAll<TSGlobalMetaEnum>(metaType)
+                .mapNotNull { TSLookupElementFactory.build(it, it.name) }
+
+            TSMetaType.META_RELATION -> this
+                .getAll<TSGlobalMetaRelation>(metaType)
+                .mapNotNull { TSLookupElementFactory.build(it) }
+
+            TSMetaType.META_COLLECTION -> this
+                .getAll<TSGlobalMetaCollection>(metaType)
+                .mapNotNull { TSLookupElementFactory.build(it) }
+
+            TSMetaType.META_MAP -> this
+                .getAll<TSGlobalMetaMap>(metaType)
+                .mapNotNull { TSLookupElementFactory.build(it) }
+
+            else -> emptyList()
+        }
+    }
+
+    private class LookupElementsCache(val metaModel: TSGlobalMetaModel, val modificationCount: Long) {
+        val elements = ConcurrentHashMap<Any, List<LookupElementBuilder>>()
+    }
 
     companion object {
         fun getInstance(project: Project): TSCompletionService = project.getService(TSCompletionService::class.java)
@@ -18,6 +18,7 @@
 package com.intellij.idea.plugin.hybris.system.type.meta
 
 import com.intellij.idea.plugin.hybris.system.type.meta.impl.CaseInsensitive
+import com.intellij.idea.plugin.hybris.system.type.meta.impl.TSMetaItemHierarchyIndex
 import com.intellij.idea.plugin.hybris.system.type.meta.model.*
 import com.intellij.openapi.Disposable
 import com.intellij.openapi.util.ModificationTracker
@@ -33,13 +34,32 @@ class TSGlobalMetaModel : ModificationTracker, Disposable {
     private val myDeploymentTables = CaseInsensitive.CaseInsensitiveConcurrentHashMap<String, TSMetaDeployment>()
     private val myDeploymentTypeCodes = ConcurrentHashMap<Int, TSMetaDeployment>()
 
+    /**
+     * Rebuilt on each merge, once all Item types are known.
+     */
+    @Volatile
+    var itemHierarchyIndex = TSMetaItemHierarchyIndex.EMPTY
+
     fun clear() {
         cleanup()
+        incModificationCount()
+    }
 
+    /**
+     * Used by incremental merge, when only a subset of the classifiers has been re-applied without clearing the whole model.
+     */
+    fun incModificationCount() {
         if (modificationTracker == Long.MAX_VALUE) modificationTracker = 0L
         modificationTracker++
     }
 
+    @Synchronized
+    fun clearRelationsAndDeployments() {
+        myReferencesBySourceTypeName.clear()
+        myDeploymentTables.clear()
+        myDeploymentTypeCodes.clear()
+    }
+
     fun getDeploymentForTable(table: String?): TSMetaDeployment? = if (table != null) myDeploymentTables[table] else null
     fun getDeploymentForTypeCode(typeCode: Int?): TSMetaDeployment? = if (typeCode != null) myDeploymentTypeCodes[typeCode] else null
     fun getDeploymentForTypeCode(typeCode: String?): TSMetaDeployment? = getDeploymentForTypeCode(typeCode?.toIntOrNull())
@@ -79,5 +99,6 @@ class TSGlobalMetaModel : ModificationTracker, Disposable {
         myReferencesBySourceTypeName.clear()
         myDeploymentTables.clear()
         myDeploymentTypeCodes.clear()
+        itemHierarchyIndex = TSMetaItemHierarchyIndex.EMPTY
     }
 }
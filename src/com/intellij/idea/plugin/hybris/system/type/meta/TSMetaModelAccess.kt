@@ -20,11 +20,15 @@ package com.intellij.idea.plugin.hybris.system.type.meta
 import com.intellij.idea.plugin.hybris.common.HybrisConstants
 import com.intellij.idea.plugin.hybris.common.root
 import com.intellij.idea.plugin.hybris.common.yExtensionName
+import com.intellij.idea.plugin.hybris.settings.components.DeveloperSettingsComponent
 import com.intellij.idea.plugin.hybris.system.type.meta.impl.TSMetaModelNameProvider
 import com.intellij.idea.plugin.hybris.system.type.meta.model.*
+import com.intellij.idea.plugin.hybris.system.type.meta.snapshot.TSMetaModelSnapshot
+import com.intellij.idea.plugin.hybris.system.type.meta.snapshot.TSMetaModelSnapshotStorage
 import com.intellij.idea.plugin.hybris.system.type.model.EnumType
 import com.intellij.idea.plugin.hybris.system.type.model.ItemType
 import com.intellij.openapi.components.Service
+import com.intellij.openapi.diagnostic.Logger
 import com.intellij.openapi.module.ModuleManager
 import com.intellij.openapi.progress.ProcessCanceledException
 import com.intellij.openapi.project.DumbService
@@ -40,6 +44,8 @@ import com.intellij.psi.util.CachedValuesManager
 import com.intellij.util.messages.Topic
 import com.intellij.util.xml.DomElement
 import kotlinx.coroutines.*
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 import org.apache.commons.collections4.CollectionUtils
 import java.util.*
 import kotlin.io.path.exists
@@ -56,6 +62,13 @@ import kotlin.io.path.inputStream
  * - retrieving of that cache also performs processing of the PsiFile and pre-filling into MetaModel caches
  *
  * It is quite important to take into account the possibility of interruption of the process, especially during Inspection and other heavy operations
+ *
+ * Until the very first initialization is completed, lookups which do not require DOM, like [isDeclared], [isSubtype] and [getNextAvailableTypeCode],
+ * are served by the [TSMetaModelSnapshot] stored during the previous session, if none of the items.xml files were changed since then.
+ * Snapshot is stored in the background after each successful merge, if any of the items.xml files were changed since the last stored snapshot.
+ *
+ * Local Meta Models are re-created on any PSI change of the items.xml, so content hash of each merged file is tracked as well,
+ * and if content of the file is the same, previously merged Meta Model is re-used and such file is not re-merged.
  */
 @Service(Service.Level.PROJECT)
 class TSMetaModelAccess(private val project: Project, private val coroutineScope: CoroutineScope) {
@@ -63,6 +76,7 @@ class TSMetaModelAccess(private val project: Project, private val coroutineScope
     companion object {
         val TOPIC = Topic("HYBRIS_TYPE_SYSTEM_LISTENER", TSChangeListener::class.java)
         private val SINGLE_MODEL_CACHE_KEY = Key.create<CachedValue<TSMetaModel>>("SINGLE_TS_MODEL_CACHE")
+        private val LOG = Logger.getInstance(TSMetaModelAccess::class.java)
 
         @JvmStatic
         fun getInstance(project: Project): TSMetaModelAccess = project.getService(TSMetaModelAccess::class.java)
@@ -94,6 +108,23 @@ class TSMetaModelAccess(private val project: Project, private val coroutineScope
     @Volatile
     private var building: Boolean = false
 
+    // local Meta Models used during the last merge, required for the incremental merge
+    @Volatile
+    private var myMergedMetaModels: Collection<TSMetaModel> = emptyList()
+
+    // content hashes of the items.xml files used during the last merge, path -> hash
+    @Volatile
+    private var myMergedFileHashes: Map<String, String> = emptyMap()
+
+    // content hashes of the last loaded or stored snapshot
+    @Volatile
+    private var myStoredFileHashes: Map<String, String>? = null
+
+    private val myMergeMutex = Mutex()
+
+    @Volatile
+    private var mySnapshot: TSMetaModelSnapshot? = null
+
     @Volatile
     private var initialized: Boolean = false
 
@@ -103,7 +134,7 @@ class TSMetaModelAccess(private val project: Project, private val coroutineScope
                 withBackgroundProgress(project, "Re-building Type System...", true) {
                     val collectedDependencies = TSMetaModelCollector.getInstance(project).collectDependencies()
 
-                    val localMetaModels = reportProgress(collectedDependencies.size) { progressReporter ->
+                    val processedLocalMetaModels = reportProgress(collectedDependencies.size) { progressReporter ->
                         collectedDependencies
                             .map {
                                 progressReporter.sizedStep(1, "Processing: ${it.name}...") {
@@ -116,9 +147,22 @@ class TSMetaModelAccess(private val project: Project, private val coroutineScope
                             .sortedBy { !it.custom }
                     }
 
-                    TSMetaModelMerger.merge(myGlobalMetaModel, localMetaModels)
+                    myMergeMutex.withLock {
+                        val incrementalMerge = DeveloperSettingsComponent.getInstance(project).state.typeSystemSettings.incrementalMerge
+                        val previousLocalMetaModels = myMergedMetaModels
+                        val localMetaModels = reuseNotChangedMetaModels(processedLocalMetaModels)
+
+                        if (incrementalMerge && initialized && previousLocalMetaModels.isNotEmpty()) {
+                            TSMetaModelMerger.mergeIncrementally(myGlobalMetaModel, previousLocalMetaModels, localMetaModels)
+                        } else {
+                            TSMetaModelMerger.merge(myGlobalMetaModel, localMetaModels)
+                        }
 
-                    localMetaModels
+                        // re-used Meta Models have the same content, so the next merge can compare against the latest instances
+                        myMergedMetaModels = processedLocalMetaModels
+
+                        localMetaModels
+                    }
                 }
             }
 
@@ -137,13 +181,18 @@ class TSMetaModelAccess(private val project: Project, private val coroutineScope
 
         coroutineScope
             .launch(Dispatchers.IO) {
+                if (!initialized) loadSnapshot()
+
                 myGlobalMetaModelCache.value
             }
-            .invokeOnCompletion {
+            .invokeOnCompletion { cause ->
                 building = false
                 initialized = true
+                mySnapshot = null
 
                 myMessageBus.syncPublisher(TOPIC).typeSystemChanged(myGlobalMetaModel)
+
+                if (cause == null) coroutineScope.launch(Dispatchers.IO) { storeSnapshot() }
             }
     }
 
@@ -179,6 +228,23 @@ class TSMetaModelAccess(private val project: Project, private val coroutineScope
     fun findMetaMapByName(name: String?) = findMetaByName<TSGlobalMetaMap>(TSMetaType.META_MAP, name)
     fun findMetaRelationByName(name: String?) = findMetaByName<TSGlobalMetaRelation>(TSMetaType.META_RELATION, name)
 
+    /**
+     * Returns `true` if the Item type directly or indirectly extends given super type.
+     */
+    fun isSubtype(itemName: String?, superTypeName: String?) = getSnapshot()?.isSubtype(itemName, superTypeName)
+        ?: getMetaModel().itemHierarchyIndex.isSubtype(itemName, superTypeName)
+
+    /**
+     * Returns `true` if there is any Type System classifier with the given name.
+     */
+    fun isDeclared(name: String?) = getSnapshot()?.isDeclared(name)
+        ?: (findMetaClassifierByName(name) != null)
+
+    /**
+     * Returns all direct and indirect subtypes of the Item type, the type itself is not included.
+     */
+    fun getAllSubtypes(itemName: String?) = getMetaModel().itemHierarchyIndex.getAllSubtypes(itemName)
+
     fun findRelationByName(name: String?) = CollectionUtils.emptyIfNull(getMetaModel().getAllRelations().values())
         .mapNotNull { metaRelationElement -> metaRelationElement.owner }
         .filter { ref: TSMetaRelation -> name == ref.name }
@@ -191,7 +257,8 @@ class TSMetaModelAccess(private val project: Project, private val coroutineScope
         ?: findMetaAtomicByName(name)
 
     fun getNextAvailableTypeCode(): Int? {
-        val projectTypeCodes = getMetaModel().getDeploymentTypeCodes().keys
+        val projectTypeCodes = getSnapshot()?.getDeploymentTypeCodes()
+            ?: getMetaModel().getDeploymentTypeCodes().keys
         val reservedTypesCodes = getReservedTypeCodes().keys
         val keys = projectTypeCodes + reservedTypesCodes
 
@@ -206,6 +273,74 @@ class TSMetaModelAccess(private val project: Project, private val coroutineScope
 
     fun getReservedTypeCodes() = myReservedTypeCodes
 
+    /**
+     * Returns snapshot of the Type System from the previous session, available only till the first initialization of the Global Meta Model.
+     */
+    fun getSnapshot(): TSMetaModelSnapshot? = if (initialized) null else mySnapshot
+
+    private suspend fun loadSnapshot() {
+        val storage = TSMetaModelSnapshotStorage.getInstance(project)
+        val snapshot = storage.load() ?: return
+        val currentFileHashes = storage.computeFileHashes(TSMetaModelCollector.getInstance(project).collectDependencies())
+
+        // hashes will be re-used by the first merge, so files are not hashed twice
+        myMergedFileHashes = currentFileHashes
+        myStoredFileHashes = snapshot.fileHashes
+
+        if (snapshot.isUpToDate(currentFileHashes)) {
+            mySnapshot = snapshot
+        } else {
+            LOG.debug("Type System snapshot is outdated, changed files: ${snapshot.getChangedFiles(currentFileHashes).size}")
+        }
+    }
+
+    /**
+     * Snapshot is created and stored under the merge lock, so it is consistent with merged file hashes
+     * and snapshot of the previous merge never overwrites snapshot of the next one.
+     */
+    private suspend fun storeSnapshot() = myMergeMutex.withLock {
+        val fileHashes = myMergedFileHashes
+        if (fileHashes.isEmpty() || fileHashes == myStoredFileHashes) return@withLock
+
+        TSMetaModelSnapshotStorage.getInstance(project).save(TSMetaModelSnapshot.create(myGlobalMetaModel, fileHashes))
+        myStoredFileHashes = fileHashes
+    }
+
+    /**
+     * Any PSI change of the items.xml leads to the new local Meta Model, even if the content of the file is the same as before, i.e. after undo.
+     * For such files previously merged Meta Model is returned, so incremental merge will not re-merge them.
+     * Only files with new local Meta Model are hashed.
+     */
+    private suspend fun reuseNotChangedMetaModels(localMetaModels: List<TSMetaModel>): List<TSMetaModel> {
+        val previousFileHashes = myMergedFileHashes
+        val previousLocalMetaModels = myMergedMetaModels.associateBy { it.psiFile.virtualFile?.path }
+
+        val filesToHash = localMetaModels
+            .filter {
+                val path = it.psiFile.virtualFile?.path
+                val previous = previousLocalMetaModels[path]
+
+                if (previous == null) !previousFileHashes.containsKey(path)
+                else previous !== it
+            }
+            .map { it.psiFile }
+        val changedFileHashes = TSMetaModelSnapshotStorage.getInstance(project).computeFileHashes(filesToHash)
+        val currentPaths = localMetaModels.mapNotNull { it.psiFile.virtualFile?.path }.toSet()
+
+        myMergedFileHashes = previousFileHashes.filterKeys { it in currentPaths } + changedFileHashes
+
+        return localMetaModels.map { localMetaModel ->
+            val path = localMetaModel.psiFile.virtualFile?.path ?: return@map localMetaModel
+            val previous = previousLocalMetaModels[path]
+                ?.takeIf { it !== localMetaModel && it.psiFile.isValid }
+                ?: return@map localMetaModel
+            val hash = changedFileHashes[path]
+
+            if (hash != null && hash == previousFileHashes[path]) previous
+            else localMetaModel
+        }
+    }
+
     private fun <T : TSGlobalMetaClassifier<*>> findMetaByName(metaType: TSMetaType, name: String?): T? =
         getMetaModel().getMetaType<T>(metaType)[name]
 
@@ -17,10 +17,14 @@
  */
 package com.intellij.idea.plugin.hybris.system.type.meta
 
+import com.intellij.idea.plugin.hybris.common.HybrisConstants
+import com.intellij.idea.plugin.hybris.system.type.meta.impl.CaseInsensitive
+import com.intellij.idea.plugin.hybris.system.type.meta.impl.TSMetaItemHierarchyIndex
 import com.intellij.idea.plugin.hybris.system.type.meta.model.*
 import com.intellij.idea.plugin.hybris.system.type.meta.model.impl.*
 import com.intellij.openapi.application.readAction
 import com.intellij.util.xml.DomElement
+import java.util.*
 
 object TSMetaModelMerger {
 
@@ -33,80 +37,208 @@ object TSMetaModelMerger {
                 .sortedBy { !it.custom }
                 .forEach { merge(this, it) }
 
-            val allTypes = getMetaTypes().values
-                .flatMap { it.values }
-                .filter { it.name != null }
-                .filter { it is TSTypedClassifier }
-                .associate { it.name!! to (it as TSTypedClassifier) }
+            val metaItems = getMetaType<TSGlobalMetaItem>(TSMetaType.META_ITEM)
+
+            postMerge(this, metaItems.values, true)
+        }
+    }
+
+    /**
+     * Incremental merge re-applies only classifiers contributed by changed local Meta Models.
+     *
+     * Local Meta Models are cached per items.xml PsiFile, so any non-changed file will return the same instance of the Meta Model,
+     * which allows us to identify removed & added declarations by identity.
+     * For each affected classifier key we retract the global classifier and re-merge it from all current declarations,
+     * after that post-merge processing is performed only for affected Item types and all their subtypes.
+     */
+    suspend fun mergeIncrementally(
+        globalMetaModel: TSGlobalMetaModel,
+        previousLocalMetaModels: Collection<TSMetaModel>,
+        localMetaModels: Collection<TSMetaModel>
+    ) = with(globalMetaModel) {
+        val previous = Collections.newSetFromMap(IdentityHashMap<TSMetaModel, Boolean>())
+            .apply { addAll(previousLocalMetaModels) }
+        val current = Collections.newSetFromMap(IdentityHashMap<TSMetaModel, Boolean>())
+            .apply { addAll(localMetaModels) }
+        val changedLocalMetaModels = previousLocalMetaModels.filterNot { current.contains(it) } +
+            localMetaModels.filterNot { previous.contains(it) }
+
+        if (changedLocalMetaModels.isEmpty()) return@with
+
+        // Item type declared for the many-to-many Relation is removed by the post-merge,
+        // once such Relation is changed, the Item type may have to be restored, which is possible only via full merge
+        val changedRelationNames = changedLocalMetaModels
+            .flatMap { it.getMetaType<TSMetaRelation>(TSMetaType.META_RELATION).keySet() }
+            .toSet()
+        if (changedRelationNames.isNotEmpty() && localMetaModels.any { localMetaModel ->
+                localMetaModel.getMetaType<TSMetaItem>(TSMetaType.META_ITEM).keySet().any { changedRelationNames.contains(it) }
+            }) {
+            return@with merge(globalMetaModel, localMetaModels)
+        }
+
+        readAction {
+            val changedKeys = collectKeys(changedLocalMetaModels)
+            val orderedLocalMetaModels = localMetaModels.sortedBy { !it.custom }
+
+            changedKeys.forEach { (metaType, keys) ->
+                val globalCache = getMetaType<TSGlobalMetaClassifier<*>>(metaType)
+                keys.forEach { globalCache.remove(it) }
+            }
+
+            // relations and deployments are plain references to the local meta, so it is cheaper to re-collect them
+            clearRelationsAndDeployments()
+
+            orderedLocalMetaModels.forEach { merge(this, it, changedKeys) }
+
+            // relation ends are part of the Item type, so both source and target types have to be re-processed
+            val changedItemNames = (changedKeys[TSMetaType.META_ITEM] ?: emptySet()) + changedLocalMetaModels
+                .flatMap { it.getMetaType<TSMetaRelation>(TSMetaType.META_RELATION).values() }
+                .flatMap { listOf(it.source.type, it.target.type) }
 
-            // after merging all different declarations of the same time we may need to process properties which can be overridden via extends
             val metaItems = getMetaType<TSGlobalMetaItem>(TSMetaType.META_ITEM)
-            metaItems.values
-                .forEach { (it as? TSGlobalMetaItemSelfMerge<*, *>)?.postMerge(this) }
-
-            metaItems.values
-                .flatMap { it.allAttributes.values }
-                .filter { it.type != null }
-                .forEach { it.flattenType = TSMetaHelper.flattenType(it.type!!, allTypes) }
-
-            // to properly propagate `isCustom` flag, we need to check every relation end defined for non directly modified Item Types
-            // if at least one relation end is custom Item Type will be marked as custom too
-            metaItems.values
-                .filterNot { it.isCustom }
-                .filter { it.allRelationEnds.any { relationEnd -> relationEnd.isCustom } }
-                .forEach { it.isCustom = true }
-
-            getMetaType<TSGlobalMetaRelation>(TSMetaType.META_RELATION).values
-                .forEach {
-                    it.source.flattenType = TSMetaHelper.flattenType(TSMetaHelper.flattenType(it.source), allTypes)
-                    it.target.flattenType = TSMetaHelper.flattenType(TSMetaHelper.flattenType(it.target), allTypes)
-
-                    it.orderingAttribute
-                        ?.let { orderingAttribute ->
-                            val type = orderingAttribute.owner.type
-                            getMetaItem(type)
-                                ?.let { metaItem -> metaItem as? TSGlobalMetaItemImpl }
-                                ?.let { metaItem ->
-                                    metaItem.allOrderingAttributes[orderingAttribute.qualifier] = orderingAttribute
-                                }
-                        }
-                }
-
-            // it is possible to declare many-to-many Relation as Item to declare custom indexes
-            // in such a case we have to remove such Item types
-            metaItems.keys
-                .filter {
-                    getMetaRelation(it)
-                        ?.let { relation -> relation.deployment != null }
-                        ?: false
-                }
-                .forEach { metaItems.remove(it) }
+            val affectedMetaItems = collectSubtypes(metaItems.values, changedItemNames)
+
+            affectedMetaItems.forEach { (it as? TSGlobalMetaItemSelfMerge<*, *>)?.resetPostMerge() }
+
+            // any change of the non-Item type may change flatten type of any attribute
+            val reflattenAll = changedKeys.keys.any { it != TSMetaType.META_ITEM && it != TSMetaType.META_RELATION }
+
+            postMerge(this, affectedMetaItems, reflattenAll)
+
+            incModificationCount()
+        }
+    }
+
+    private fun postMerge(globalMetaModel: TSGlobalMetaModel, affectedMetaItems: Collection<TSGlobalMetaItem>, reflattenAll: Boolean) = with(globalMetaModel) {
+        val allTypes = getMetaTypes().values
+            .flatMap { it.values }
+            .filter { it.name != null }
+            .filter { it is TSTypedClassifier }
+            .associate { it.name!! to (it as TSTypedClassifier) }
+
+        // after merging all different declarations of the same time we may need to process properties which can be overridden via extends
+        val metaItems = getMetaType<TSGlobalMetaItem>(TSMetaType.META_ITEM)
+        affectedMetaItems
+            .forEach { (it as? TSGlobalMetaItemSelfMerge<*, *>)?.postMerge(this) }
+
+        // each attribute is owned by exactly one Item type, so own attributes of all Item types cover all inherited attributes too
+        (if (reflattenAll) metaItems.values.flatMap { it.attributes.values } else affectedMetaItems.flatMap { it.allAttributes.values })
+            .filter { it.type != null }
+            .forEach { it.flattenType = TSMetaHelper.flattenType(it.type!!, allTypes) }
+
+        // to properly propagate `isCustom` flag, we need to check every relation end defined for non directly modified Item Types
+        // if at least one relation end is custom Item Type will be marked as custom too
+        affectedMetaItems
+            .filterNot { it.isCustom }
+            .filter { it.allRelationEnds.any { relationEnd -> relationEnd.isCustom } }
+            .forEach { it.isCustom = true }
+
+        getMetaType<TSGlobalMetaRelation>(TSMetaType.META_RELATION).values
+            .forEach {
+                it.source.flattenType = TSMetaHelper.flattenType(TSMetaHelper.flattenType(it.source), allTypes)
+                it.target.flattenType = TSMetaHelper.flattenType(TSMetaHelper.flattenType(it.target), allTypes)
+
+                it.orderingAttribute
+                    ?.let { orderingAttribute ->
+                        val type = orderingAttribute.owner.type
+                        getMetaItem(type)
+                            ?.let { metaItem -> metaItem as? TSGlobalMetaItemImpl }
+                            ?.let { metaItem ->
+                                metaItem.allOrderingAttributes[orderingAttribute.qualifier] = orderingAttribute
+                            }
+                    }
+            }
+
+        // it is possible to declare many-to-many Relation as Item to declare custom indexes
+        // in such a case we have to remove such Item types
+        metaItems.keys
+            .filter {
+                getMetaRelation(it)
+                    ?.let { relation -> relation.deployment != null }
+                    ?: false
+            }
+            .forEach { metaItems.remove(it) }
+
+        itemHierarchyIndex = TSMetaItemHierarchyIndex.build(metaItems)
+    }
+
+    private fun collectKeys(localMetaModels: Collection<TSMetaModel>): Map<TSMetaType, Set<String>> {
+        val keys = EnumMap<TSMetaType, MutableSet<String>>(TSMetaType::class.java)
+
+        localMetaModels.forEach { localMetaModel ->
+            localMetaModel.getMetaTypes().forEach { (metaType, localMetas) ->
+                keys.computeIfAbsent(metaType) { HashSet() }
+                    .addAll(localMetas.keySet())
+            }
         }
+
+        return keys
+    }
+
+    /**
+     * Returns Item types with given names and all their direct and indirect subtypes.
+     * Lookup is name-based, so subtypes of removed Item types will be also returned.
+     */
+    private fun collectSubtypes(metaItems: Collection<TSGlobalMetaItem>, names: Collection<String>): Collection<TSGlobalMetaItem> {
+        val directSubtypes = CaseInsensitive.NoCaseMultiMap<TSGlobalMetaItem>()
+        val metaItemsByName = CaseInsensitive.CaseInsensitiveConcurrentHashMap<String, TSGlobalMetaItem>()
+
+        metaItems.forEach { metaItem ->
+            val name = metaItem.name ?: return@forEach
+            metaItemsByName[name] = metaItem
+
+            val extendedMetaItemName = metaItem.extendedMetaItemName
+                ?.takeIf { !it.equals(name, true) }
+                ?: HybrisConstants.TS_TYPE_GENERIC_ITEM
+            if (!extendedMetaItemName.equals(name, true)) {
+                directSubtypes.putValue(extendedMetaItemName, metaItem)
+            }
+        }
+
+        val affected = LinkedHashSet<TSGlobalMetaItem>()
+        val visited = HashSet<String>()
+        val queue = ArrayDeque<String>()
+        names.forEach { queue.add(it.lowercase()) }
+
+        while (queue.isNotEmpty()) {
+            val name = queue.poll()
+            if (!visited.add(name)) continue
+
+            metaItemsByName[name]?.let { affected.add(it) }
+            directSubtypes.get(name)
+                ?.mapNotNull { it.name }
+                ?.forEach { queue.add(it.lowercase()) }
+        }
+
+        return affected
     }
 
     @Suppress("UNCHECKED_CAST")
-    private fun merge(globalMetaModel: TSGlobalMetaModel, localMetaModel: TSMetaModel) {
+    private fun merge(globalMetaModel: TSGlobalMetaModel, localMetaModel: TSMetaModel, onlyKeys: Map<TSMetaType, Set<String>>? = null) {
         localMetaModel.getMetaTypes().forEach { (metaType, localMetas) ->
             run {
                 val globalCache = globalMetaModel.getMetaType<TSMetaSelfMerge<out DomElement, out TSMetaClassifier<out DomElement>>>(metaType)
+                val keys = onlyKeys?.let { it[metaType] ?: return@run }
 
-                localMetas.entrySet().forEach { (key, localMetaClassifiers) ->
-                    localMetaClassifiers.forEach { localMetaClassifier ->
-                        val globalMetaClassifier = globalCache.computeIfAbsent(key) {
-                            when (localMetaClassifier) {
-                                is TSMetaAtomic -> TSGlobalMetaAtomicImpl(localMetaClassifier)
-                                is TSMetaEnum -> TSGlobalMetaEnumImpl(localMetaClassifier)
-                                is TSMetaCollection -> TSGlobalMetaCollectionImpl(localMetaClassifier)
-                                is TSMetaMap -> TSGlobalMetaMapImpl(localMetaClassifier)
-                                is TSMetaRelation -> TSGlobalMetaRelationImpl(localMetaClassifier)
-                                is TSMetaItem -> TSGlobalMetaItemImpl(localMetaClassifier)
-                                else -> null
+                localMetas.entrySet()
+                    .filter { keys == null || keys.contains(it.key) }
+                    .forEach { (key, localMetaClassifiers) ->
+                        localMetaClassifiers.forEach { localMetaClassifier ->
+                            val globalMetaClassifier = globalCache.computeIfAbsent(key) {
+                                when (localMetaClassifier) {
+                                    is TSMetaAtomic -> TSGlobalMetaAtomicImpl(localMetaClassifier)
+                                    is TSMetaEnum -> TSGlobalMetaEnumImpl(localMetaClassifier)
+                                    is TSMetaCollection -> TSGlobalMetaCollectionImpl(localMetaClassifier)
+                                    is TSMetaMap -> TSGlobalMetaMapImpl(localMetaClassifier)
+                                    is TSMetaRelation -> TSGlobalMetaRelationImpl(localMetaClassifier)
+                                    is TSMetaItem -> TSGlobalMetaItemImpl(localMetaClassifier)
+                                    else -> null
+                                }
                             }
-                        }
 
-                        (globalMetaClassifier as TSMetaSelfMerge<DomElement, TSMetaClassifier<DomElement>>).merge(localMetaClassifier)
+                            (globalMetaClassifier as TSMetaSelfMerge<DomElement, TSMetaClassifier<DomElement>>).merge(localMetaClassifier)
+                        }
                     }
-                }
             }
         }
 
@@ -121,4 +253,4 @@ object TSMetaModelMerger {
             .forEach { globalMetaModel.addDeployment(it) }
     }
 
-}
\ No newline at end of file
+}
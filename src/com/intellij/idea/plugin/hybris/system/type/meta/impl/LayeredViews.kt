@@ -0,0 +1,83 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.system.type.meta.impl
+
+/**
+ * Read-only view over own map and maps of all parents, no entries are copied.
+ *
+ * Layers are looked up in order: own map first and then each parent map in the iteration order,
+ * so the nearest declaration of the key wins. Entries of a layer shadowed by any previous layer are skipped on iteration.
+ * Case-insensitivity is provided by the layers themselves, all of them are expected to be [CaseInsensitive.CaseInsensitiveConcurrentHashMap].
+ * View always reflects the current state of the layers, so it does not have to be updated on change of own map, parent maps or set of parents.
+ */
+class CaseInsensitiveLayeredMap<P, V : Any>(
+    private val own: Map<String, V>,
+    private val parents: Collection<P>,
+    private val selector: (P) -> Map<String, V>
+) : AbstractMap<String, V>() {
+
+    override fun get(key: String): V? = own[key]
+        ?: parents.firstNotNullOfOrNull { selector(it)[key] }
+
+    override fun containsKey(key: String) = get(key) != null
+
+    override val entries: Set<Map.Entry<String, V>> = object : AbstractSet<Map.Entry<String, V>>() {
+        override val size: Int
+            get() = visibleEntries().count()
+
+        override fun iterator() = visibleEntries().iterator()
+    }
+
+    private fun layers() = sequenceOf(own) + parents.asSequence().map(selector)
+
+    private fun visibleEntries() = layers()
+        .flatMapIndexed { index, layer ->
+            layer.entries.asSequence()
+                .filter { entry -> layers().take(index).none { it.containsKey(entry.key) } }
+        }
+}
+
+/**
+ * Read-only view over own elements followed by the elements of each parent, no elements are copied.
+ *
+ * View always reflects the current state of own and parent elements.
+ */
+class LayeredList<P, V>(
+    private val own: () -> Collection<V>,
+    private val parents: Collection<P>,
+    private val selector: (P) -> Collection<V>
+) : AbstractList<V>() {
+
+    override val size: Int
+        get() = layers().sumOf { it.size }
+
+    override fun get(index: Int): V {
+        var offset = index
+        layers().forEach { layer ->
+            if (offset < layer.size) return layer.elementAt(offset)
+            offset -= layer.size
+        }
+        throw IndexOutOfBoundsException("Index: $index, Size: $size")
+    }
+
+    override fun iterator(): Iterator<V> = layers()
+        .flatMap { it.asSequence() }
+        .iterator()
+
+    private fun layers() = sequenceOf(own()) + parents.asSequence().map(selector)
+}
@@ -0,0 +1,128 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.system.type.meta.impl
+
+import com.intellij.idea.plugin.hybris.common.HybrisConstants
+import com.intellij.idea.plugin.hybris.system.type.meta.model.TSGlobalMetaItem
+
+/**
+ * Reverse-inheritance index of the Item types.
+ *
+ * Item types are numbered in the pre-order of the `extends` hierarchy, so all subtypes of the Item type
+ * occupy continuous interval right after it. Such numbering allows to store transitive closure of the hierarchy
+ * in two arrays and answer "is subtype" question in O(1) and "all subtypes" question in O(k).
+ *
+ * Parent of the Item type is resolved in the same way as for `allExtends`: missing `extends` means `GenericItem`.
+ */
+class TSMetaItemHierarchyIndex private constructor(
+    private val preOrder: Array<TSGlobalMetaItem>,
+    private val positions: CaseInsensitive.CaseInsensitiveConcurrentHashMap<String, Int>,
+    private val subtreeEnds: IntArray
+) {
+
+    val size: Int
+        get() = preOrder.size
+
+    /**
+     * Returns `true` if [itemName] directly or indirectly extends [superTypeName], the type itself is not its own subtype.
+     */
+    fun isSubtype(itemName: String?, superTypeName: String?): Boolean {
+        val position = itemName?.let { positions[it] } ?: return false
+        val superTypePosition = superTypeName?.let { positions[it] } ?: return false
+
+        return superTypePosition < position && position <= subtreeEnds[superTypePosition]
+    }
+
+    /**
+     * Returns all direct and indirect subtypes of the given Item type in the pre-order of the hierarchy.
+     */
+    fun getAllSubtypes(superTypeName: String?): List<TSGlobalMetaItem> {
+        val superTypePosition = superTypeName?.let { positions[it] } ?: return emptyList()
+        val end = subtreeEnds[superTypePosition]
+
+        if (end == superTypePosition) return emptyList()
+        return preOrder.asList().subList(superTypePosition + 1, end + 1)
+    }
+
+    companion object {
+        val EMPTY = TSMetaItemHierarchyIndex(emptyArray(), CaseInsensitive.CaseInsensitiveConcurrentHashMap(), IntArray(0))
+
+        fun build(metaItems: Map<String, TSGlobalMetaItem>): TSMetaItemHierarchyIndex {
+            val items = metaItems.values.filter { it.name != null }
+            val children = HashMap<TSGlobalMetaItem, MutableList<TSGlobalMetaItem>>()
+            val roots = ArrayList<TSGlobalMetaItem>()
+
+            items.forEach { item ->
+                val parent = item.extendedMetaItemName
+                    // type which extends itself is treated in the same way as in TSMetaHelper.getAllExtends
+                    ?.takeIf { !it.equals(item.name, true) }
+                    ?: HybrisConstants.TS_TYPE_GENERIC_ITEM
+                val parentItem = metaItems[parent]
+                    ?.takeIf { it !== item }
+
+                if (parentItem == null) roots.add(item)
+                else children.computeIfAbsent(parentItem) { ArrayList() }.add(item)
+            }
+
+            val preOrder = ArrayList<TSGlobalMetaItem>(items.size)
+            val positions = CaseInsensitive.CaseInsensitiveConcurrentHashMap<String, Int>()
+            val subtreeEnds = IntArray(items.size)
+
+            // cyclic hierarchies have no root, so any not yet visited Item type of such cycle becomes a root
+            (roots.asSequence() + items.asSequence())
+                .filter { !positions.containsKey(it.name!!.lowercase()) }
+                .forEach { number(it, children, preOrder, positions, subtreeEnds) }
+
+            return TSMetaItemHierarchyIndex(preOrder.toTypedArray(), positions, subtreeEnds)
+        }
+
+        /**
+         * Iterative depth-first traversal, hierarchies can be deep enough to not rely on the call stack.
+         */
+        private fun number(
+            root: TSGlobalMetaItem,
+            children: Map<TSGlobalMetaItem, List<TSGlobalMetaItem>>,
+            preOrder: MutableList<TSGlobalMetaItem>,
+            positions: MutableMap<String, Int>,
+            subtreeEnds: IntArray
+        ) {
+            val stack = ArrayDeque<Pair<TSGlobalMetaItem, Iterator<TSGlobalMetaItem>>>()
+
+            fun enter(item: TSGlobalMetaItem) {
+                positions[item.name!!] = preOrder.size
+                preOrder.add(item)
+                stack.addLast(item to (children[item]?.iterator() ?: emptyList<TSGlobalMetaItem>().iterator()))
+            }
+
+            enter(root)
+
+            while (stack.isNotEmpty()) {
+                val (item, iterator) = stack.last()
+                val child = iterator.asSequence()
+                    .firstOrNull { !positions.containsKey(it.name!!.lowercase()) }
+
+                if (child != null) {
+                    enter(child)
+                } else {
+                    stack.removeLast()
+                    subtreeEnds[positions[item.name!!]!!] = preOrder.size - 1
+                }
+            }
+        }
+    }
+}
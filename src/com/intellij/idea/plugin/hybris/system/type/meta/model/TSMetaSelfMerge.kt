@@ -42,4 +42,9 @@ abstract class TSGlobalMetaItemSelfMerge<DOM : DomElement, T : TSMetaClassifier<
 
     abstract fun postMerge(globalMetaModel: TSGlobalMetaModel)
 
+    /**
+     * Reverts all values calculated during [postMerge], so it can be re-run during incremental merge.
+     */
+    abstract fun resetPostMerge()
+
 }
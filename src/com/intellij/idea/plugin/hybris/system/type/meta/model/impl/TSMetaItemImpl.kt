@@ -20,6 +20,8 @@ package com.intellij.idea.plugin.hybris.system.type.meta.model.impl
 import com.intellij.idea.plugin.hybris.system.type.meta.TSGlobalMetaModel
 import com.intellij.idea.plugin.hybris.system.type.meta.TSMetaHelper
 import com.intellij.idea.plugin.hybris.system.type.meta.impl.CaseInsensitive.CaseInsensitiveConcurrentHashMap
+import com.intellij.idea.plugin.hybris.system.type.meta.impl.CaseInsensitiveLayeredMap
+import com.intellij.idea.plugin.hybris.system.type.meta.impl.LayeredList
 import com.intellij.idea.plugin.hybris.system.type.meta.model.*
 import com.intellij.idea.plugin.hybris.system.type.meta.model.TSMetaItem.TSMetaItemAttribute
 import com.intellij.idea.plugin.hybris.system.type.meta.model.TSMetaItem.TSMetaItemIndex
@@ -112,12 +114,14 @@ internal class TSGlobalMetaItemImpl(localMeta: TSMetaItem) : TSGlobalMetaItemSel
     override val indexes = CaseInsensitiveConcurrentHashMap<String, TSGlobalMetaItem.TSGlobalMetaItemIndex>()
     override val relationEnds = LinkedList<TSMetaRelation.TSMetaRelationElement>()
 
-    override val allAttributes = CaseInsensitiveConcurrentHashMap<String, TSGlobalMetaItem.TSGlobalMetaItemAttribute>()
-    override val allOrderingAttributes = CaseInsensitiveConcurrentHashMap<String, TSMetaRelation.TSMetaOrderingAttribute>()
-    override val allIndexes = LinkedList<TSGlobalMetaItem.TSGlobalMetaItemIndex>()
-    override val allCustomProperties = LinkedList<TSMetaCustomProperty>()
-    override val allRelationEnds = LinkedList<TSMetaRelation.TSMetaRelationElement>()
     override val allExtends = LinkedHashSet<TSGlobalMetaItem>()
+    override val allOrderingAttributes = CaseInsensitiveConcurrentHashMap<String, TSMetaRelation.TSMetaOrderingAttribute>()
+
+    // inherited values are not copied, instead each view refers to own values of all extends
+    override val allAttributes = CaseInsensitiveLayeredMap(attributes, allExtends) { it.attributes }
+    override val allIndexes = LayeredList({ indexes.values }, allExtends) { it.indexes.values }
+    override val allCustomProperties = LayeredList({ customProperties.values }, allExtends) { it.customProperties.values }
+    override val allRelationEnds = LayeredList({ relationEnds }, allExtends) { it.relationEnds }
 
     override var domAnchor = localMeta.domAnchor
     override var module = localMeta.module
@@ -162,14 +166,8 @@ internal class TSGlobalMetaItemImpl(localMeta: TSMetaItem) : TSGlobalMetaItemSel
             .flatMap { TSMetaHelper.getAllExtends(globalMetaModel, name, it) }
             .toSet()
         val currentRelationEnds = TSMetaHelper.getAllRelationEnds(globalMetaModel, this, emptySet())
-        val combinedRelationEnds = TSMetaHelper.getAllRelationEnds(globalMetaModel, this, extends)
 
         allExtends.addAll(extends)
-        allAttributes.putAll(attributes)
-        extends.forEach { allAttributes.putAll(it.attributes) }
-        allCustomProperties.addAll(customProperties.values + extends.flatMap { it.customProperties.values })
-        allIndexes.addAll(indexes.values + extends.flatMap { it.indexes.values })
-        allRelationEnds.addAll(combinedRelationEnds)
         relationEnds.addAll(currentRelationEnds)
 
         if (!isCatalogAware) {
@@ -177,6 +175,15 @@ internal class TSGlobalMetaItemImpl(localMeta: TSMetaItem) : TSGlobalMetaItemSel
         }
     }
 
+    override fun resetPostMerge() {
+        allExtends.clear()
+        allOrderingAttributes.clear()
+        relationEnds.clear()
+
+        isCatalogAware = declarations.any { it.isCatalogAware }
+        isCustom = declarations.any { it.isCustom }
+    }
+
     override fun mergeInternally(localMeta: TSMetaItem) {
         if (localMeta.isAbstract) isAbstract = localMeta.isAbstract
         if (localMeta.isAutoCreate) isAutoCreate = localMeta.isAutoCreate
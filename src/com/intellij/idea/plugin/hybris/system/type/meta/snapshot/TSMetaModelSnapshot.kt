@@ -0,0 +1,143 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.system.type.meta.snapshot
+
+import com.intellij.idea.plugin.hybris.system.type.meta.TSGlobalMetaModel
+import com.intellij.idea.plugin.hybris.system.type.meta.impl.CaseInsensitive.CaseInsensitiveConcurrentHashMap
+import com.intellij.idea.plugin.hybris.system.type.meta.model.TSGlobalMetaItem
+import com.intellij.idea.plugin.hybris.system.type.meta.model.TSMetaType
+import com.intellij.util.io.IOUtil
+import java.io.DataInput
+import java.io.DataOutput
+
+/**
+ * Lightweight, DOM-independent extract of the [TSGlobalMetaModel].
+ *
+ * Snapshot is stored on disk and used to serve name-based lookups right after project opening,
+ * while the real Global Meta Model is being re-built in the background.
+ * It contains only data required by such lookups: names of all classifiers, extends of the Item types and deployment type codes.
+ * Snapshot is valid only for the same set of items.xml files with the same content hashes.
+ */
+class TSMetaModelSnapshot(
+    val fileHashes: Map<String, String>,
+    val itemExtends: Map<String, List<String>>,
+    val typeCodes: Set<Int>,
+    val classifierNames: Set<String>,
+) {
+
+    fun getDeploymentTypeCodes() = typeCodes
+    fun isDeclared(name: String?) = name != null && classifierNames.contains(name.lowercase())
+
+    /**
+     * Same semantic as for the Global Meta Model, the type itself is not its own subtype.
+     */
+    fun isSubtype(itemName: String?, superTypeName: String?): Boolean {
+        if (itemName == null || superTypeName == null || superTypeName.equals(itemName, true)) return false
+
+        return itemExtends[itemName]
+            ?.any { it.equals(superTypeName, true) }
+            ?: false
+    }
+
+    fun isUpToDate(currentFileHashes: Map<String, String>) = fileHashes == currentFileHashes
+
+    fun getChangedFiles(currentFileHashes: Map<String, String>) = getChangedFiles(fileHashes, currentFileHashes)
+
+    companion object {
+        // increment on any change of the binary format
+        const val VERSION = 3
+
+        /**
+         * Returns paths of the added, removed and modified files.
+         */
+        fun getChangedFiles(previousFileHashes: Map<String, String>, currentFileHashes: Map<String, String>) =
+            (previousFileHashes.keys + currentFileHashes.keys)
+                .filter { previousFileHashes[it] != currentFileHashes[it] }
+
+        /**
+         * Only names of the already merged classifiers are used, so DOM is not accessed and no read action is required.
+         */
+        fun create(globalMetaModel: TSGlobalMetaModel, fileHashes: Map<String, String>): TSMetaModelSnapshot {
+            val itemExtends = globalMetaModel.getMetaType<TSGlobalMetaItem>(TSMetaType.META_ITEM).values
+                .filter { it.name != null }
+                .associateTo(CaseInsensitiveConcurrentHashMap()) { item -> item.name!! to item.allExtends.mapNotNull { it.name } }
+            val classifierNames = globalMetaModel.getMetaTypes().values
+                .flatMap { it.keys }
+                .map { it.lowercase() }
+                .toSet()
+
+            return TSMetaModelSnapshot(
+                fileHashes = fileHashes,
+                itemExtends = itemExtends,
+                typeCodes = globalMetaModel.getDeploymentTypeCodes().keys.toSet(),
+                classifierNames = classifierNames,
+            )
+        }
+
+        fun write(out: DataOutput, snapshot: TSMetaModelSnapshot) {
+            out.writeInt(VERSION)
+
+            writeCollection(out, snapshot.fileHashes.entries) {
+                writeString(out, it.key)
+                writeString(out, it.value)
+            }
+            writeCollection(out, snapshot.itemExtends.entries) { (name, extends) ->
+                writeString(out, name)
+                writeCollection(out, extends) { writeString(out, it) }
+            }
+            writeCollection(out, snapshot.typeCodes) { out.writeInt(it) }
+            writeCollection(out, snapshot.classifierNames) { writeString(out, it) }
+        }
+
+        /**
+         * Returns `null` in case of the incompatible snapshot version.
+         */
+        fun read(input: DataInput): TSMetaModelSnapshot? {
+            if (input.readInt() != VERSION) return null
+
+            val fileHashes = readCollection(input) { readString(input) to readString(input) }
+                .toMap()
+            val itemExtends = readCollection(input) { readString(input) to readCollection(input) { readString(input) } }
+                .toMap(CaseInsensitiveConcurrentHashMap())
+            val typeCodes = readCollection(input) { input.readInt() }
+                .toSet()
+            val classifierNames = readCollection(input) { readString(input) }
+                .toSet()
+
+            return TSMetaModelSnapshot(
+                fileHashes = fileHashes,
+                itemExtends = itemExtends,
+                typeCodes = typeCodes,
+                classifierNames = classifierNames,
+            )
+        }
+
+        private fun <T> writeCollection(out: DataOutput, collection: Collection<T>, writer: (T) -> Unit) {
+            out.writeInt(collection.size)
+            collection.forEach { writer(it) }
+        }
+
+        private fun <T> readCollection(input: DataInput, reader: () -> T): List<T> {
+            val size = input.readInt()
+            return (0 until size).map { reader() }
+        }
+
+        private fun writeString(out: DataOutput, value: String) = IOUtil.writeUTF(out, value)
+        private fun readString(input: DataInput): String = IOUtil.readUTF(input)
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.system.type.meta.snapshot
+
+import com.intellij.openapi.application.readAction
+import com.intellij.openapi.components.Service
+import com.intellij.openapi.diagnostic.Logger
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.project.getProjectDataPath
+import com.intellij.psi.PsiFile
+import org.apache.commons.codec.digest.DigestUtils
+import java.io.*
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+import kotlin.io.path.exists
+
+/**
+ * Stores [TSMetaModelSnapshot] in the project system directory.
+ */
+@Service(Service.Level.PROJECT)
+class TSMetaModelSnapshotStorage(private val project: Project) {
+
+    private val snapshotFile by lazy { project.getProjectDataPath(DATA_DIR).resolve(SNAPSHOT_FILE_NAME) }
+
+    /**
+     * Content hashes are calculated from the PsiFile text to respect not yet saved changes.
+     */
+    suspend fun computeFileHashes(files: Collection<PsiFile>): Map<String, String> = readAction {
+        files
+            .mapNotNull { psiFile ->
+                val path = psiFile.virtualFile?.path ?: return@mapNotNull null
+                path to DigestUtils.sha1Hex(psiFile.viewProvider.contents.toString())
+            }
+            .toMap()
+    }
+
+    fun load(): TSMetaModelSnapshot? {
+        if (!snapshotFile.exists()) return null
+
+        return try {
+            DataInputStream(BufferedInputStream(Files.newInputStream(snapshotFile))).use {
+                TSMetaModelSnapshot.read(it)
+            }
+        } catch (e: IOException) {
+            LOG.warn("Unable to read Type System snapshot: $snapshotFile", e)
+            null
+        }
+    }
+
+    fun save(snapshot: TSMetaModelSnapshot) {
+        try {
+            Files.createDirectories(snapshotFile.parent)
+            val tempFile = Files.createTempFile(snapshotFile.parent, SNAPSHOT_FILE_NAME, ".tmp")
+
+            DataOutputStream(BufferedOutputStream(Files.newOutputStream(tempFile))).use {
+                TSMetaModelSnapshot.write(it, snapshot)
+            }
+
+            Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+        } catch (e: IOException) {
+            LOG.warn("Unable to store Type System snapshot: $snapshotFile", e)
+        }
+    }
+
+    companion object {
+        private const val DATA_DIR = "sap-commerce"
+        private const val SNAPSHOT_FILE_NAME = "type-system.snapshot"
+        private val LOG = Logger.getInstance(TSMetaModelSnapshotStorage::class.java)
+
+        fun getInstance(project: Project): TSMetaModelSnapshotStorage = project.getService(TSMetaModelSnapshotStorage::class.java)
+    }
+}
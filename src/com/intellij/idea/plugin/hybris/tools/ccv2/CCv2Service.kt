@@ -32,19 +32,13 @@ import com.intellij.notification.NotificationType
 import com.intellij.openapi.components.Service
 import com.intellij.openapi.options.ShowSettingsUtil
 import com.intellij.openapi.project.Project
-import com.intellij.openapi.vfs.LocalFileSystem
-import com.intellij.openapi.vfs.VirtualFile
 import com.intellij.platform.ide.progress.withBackgroundProgress
 import com.intellij.platform.util.progress.reportProgress
-import com.intellij.util.io.ZipUtil
 import com.intellij.util.messages.Topic
 import kotlinx.coroutines.*
 import java.net.SocketTimeoutException
-import java.nio.file.Files
+import java.nio.file.Path
 import java.util.*
-import kotlin.io.path.deleteIfExists
-import kotlin.io.path.listDirectoryEntries
-import kotlin.io.path.pathString
 
 @Service(Service.Level.PROJECT)
 class CCv2Service(val project: Project, private val coroutineScope: CoroutineScope) {
@@ -461,7 +455,7 @@ class CCv2Service(val project: Project, private val coroutineScope: CoroutineSco
         subscription: CCv2Subscription,
         build: CCv2BuildDto,
         onStartCallback: () -> Unit,
-        onCompleteCallback: (Collection<VirtualFile>) -> Unit
+        onCompleteCallback: (Path?) -> Unit
     ) {
         onStartCallback.invoke()
         coroutineScope.launch {
@@ -471,29 +465,24 @@ class CCv2Service(val project: Project, private val coroutineScope: CoroutineSco
                 val ccv2Token = getCCv2Token(subscription)
                 if (ccv2Token == null) {
                     project.messageBus.syncPublisher(TOPIC_BUILDS).onBuildDeploymentRequested(subscription, build)
+                    onCompleteCallback.invoke(null)
                     return@withBackgroundProgress
                 }
 
-                try {
-                    val buildLogs = CCv2Api.getInstance().downloadBuildLogs(ccv2Token, subscription, build)
-                    val buildLogsPath = buildLogs.toPath()
-                    val tempDirectory = Files.createTempDirectory("ccv2_${build.code}")
-                    tempDirectory.toFile().deleteOnExit()
-
-                    ZipUtil.extract(buildLogsPath, tempDirectory, null, true)
-
-                    buildLogsPath.deleteIfExists()
+                var buildLogs: Path? = null
 
-                    val logFiles = tempDirectory.listDirectoryEntries()
-                        .onEach { it.toFile().deleteOnExit() }
-                        .mapNotNull { LocalFileSystem.getInstance().findFileByPath(it.pathString) }
-
-                    onCompleteCallback.invoke(logFiles)
+                try {
+                    buildLogs = CCv2Api.getInstance().downloadBuildLogs(ccv2Token, subscription, build)
+                        .also { it.deleteOnExit() }
+                        .toPath()
                 } catch (e: SocketTimeoutException) {
                     notifyOnTimeout(subscription)
                 } catch (e: RuntimeException) {
                     notifyOnException(subscription, e)
                 }
+
+                // archive is not extracted, log entries are read directly from the zip by the build logs view
+                onCompleteCallback.invoke(buildLogs)
             }
         }
     }
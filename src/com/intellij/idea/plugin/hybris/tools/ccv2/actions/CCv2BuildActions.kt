@@ -21,26 +21,30 @@ package com.intellij.idea.plugin.hybris.tools.ccv2.actions
 import com.intellij.idea.plugin.hybris.common.utils.HybrisIcons
 import com.intellij.idea.plugin.hybris.common.utils.HybrisIcons.CCv2.Actions.FETCH
 import com.intellij.idea.plugin.hybris.common.utils.HybrisIcons.CCv2.Build.Actions.SHOW_DETAILS
+import com.intellij.idea.plugin.hybris.notifications.Notifications
 import com.intellij.idea.plugin.hybris.settings.CCv2Settings
 import com.intellij.idea.plugin.hybris.settings.CCv2Subscription
 import com.intellij.idea.plugin.hybris.settings.components.ApplicationSettingsComponent
 import com.intellij.idea.plugin.hybris.tools.ccv2.CCv2Service
 import com.intellij.idea.plugin.hybris.tools.ccv2.dto.CCv2BuildDto
 import com.intellij.idea.plugin.hybris.tools.ccv2.dto.CCv2BuildStatus
+import com.intellij.idea.plugin.hybris.tools.ccv2.logs.CCv2BuildLogArchive
 import com.intellij.idea.plugin.hybris.tools.ccv2.ui.CCv2CreateBuildDialog
 import com.intellij.idea.plugin.hybris.tools.ccv2.ui.CCv2DeployBuildDialog
 import com.intellij.idea.plugin.hybris.toolwindow.ccv2.CCv2Tab
 import com.intellij.idea.plugin.hybris.toolwindow.ccv2.CCv2View
 import com.intellij.idea.plugin.hybris.toolwindow.ccv2.CCv2ViewUtil
+import com.intellij.notification.NotificationType
 import com.intellij.openapi.actionSystem.ActionUpdateThread
 import com.intellij.openapi.actionSystem.AnActionEvent
 import com.intellij.openapi.actionSystem.DataKey
 import com.intellij.openapi.application.invokeLater
-import com.intellij.openapi.fileEditor.FileEditorManager
 import com.intellij.openapi.project.DumbAwareAction
 import com.intellij.openapi.project.Project
 import com.intellij.openapi.ui.Messages
-import com.intellij.openapi.vfs.VirtualFile
+import java.io.IOException
+import java.nio.file.Path
+import kotlin.io.path.deleteIfExists
 
 val subscriptionKey = DataKey.create<CCv2Subscription>("subscription")
 val buildKey = DataKey.create<CCv2BuildDto>("build")
@@ -181,16 +185,32 @@ class CCv2DownloadBuildLogsAction(
         CCv2Service.getInstance(project).downloadBuildLogs(project, subscription, build, onStartCallback(), onCompleteCallback(project))
     }
 
-    private fun onCompleteCallback(project: Project): (Collection<VirtualFile>) -> Unit = {
-        invokeLater {
-            processing = false
-
-            it.forEach {
-                FileEditorManager.getInstance(project).openFile(it, true)
-            }
+    private fun onCompleteCallback(project: Project): (Path?) -> Unit = { path ->
+        try {
+            // zip central directory is read in the background, entries are indexed lazily by the view
+            path
+                ?.let { openArchive(project, it) }
+                ?.let { archive -> invokeLater { CCv2ViewUtil.showBuildLogsTab(project, build, archive) } }
+        } finally {
+            invokeLater { processing = false }
         }
     }
 
+    private fun openArchive(project: Project, path: Path) = try {
+        CCv2BuildLogArchive(path)
+    } catch (e: IOException) {
+        path.deleteIfExists()
+
+        Notifications.create(
+            NotificationType.WARNING,
+            "CCv2: Unable to open Build Logs",
+            "Build logs archive of the ${build.code} cannot be read: ${e.message}"
+        )
+            .hideAfter(10)
+            .notify(project)
+        null
+    }
+
     private fun onStartCallback(): () -> Unit = {
         processing = true
     }
@@ -40,6 +40,7 @@ class CCv1Api {
     private val apiClient by lazy {
         ApiClient.builder
             .readTimeout(ApplicationSettingsComponent.getInstance().state.ccv2ReadTimeout.toLong(), TimeUnit.SECONDS)
+            .let { CCv2HttpCache.getInstance().configure(it) }
             .build()
     }
     private val environmentApi by lazy { EnvironmentApi(client = apiClient) }
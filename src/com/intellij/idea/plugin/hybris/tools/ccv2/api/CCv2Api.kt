@@ -36,8 +36,10 @@ import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.async
 import kotlinx.coroutines.awaitAll
 import kotlinx.coroutines.launch
+import org.apache.commons.codec.digest.DigestUtils
 import org.jetbrains.kotlin.utils.flatMapToNullableSet
 import java.io.File
+import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.TimeUnit
 
 @Service
@@ -46,6 +48,7 @@ class CCv2Api {
     private val apiClient by lazy {
         ApiClient.builder
             .readTimeout(ApplicationSettingsComponent.getInstance().state.ccv2ReadTimeout.toLong(), TimeUnit.SECONDS)
+            .let { CCv2HttpCache.getInstance().configure(it) }
             .build()
     }
     private val environmentApi by lazy { EnvironmentApi(client = apiClient) }
@@ -54,6 +57,9 @@ class CCv2Api {
     private val servicePropertiesApi by lazy { ServicePropertiesApi(client = apiClient) }
     private val databackupApi by lazy { DatabackupApi(client = apiClient) }
 
+    // finished builds never change, key is `<token hash>/<subscription>/<build>`, so builds are not shared between tokens
+    private val finishedBuilds = ConcurrentHashMap<String, CCv2BuildDto>()
+
     suspend fun fetchEnvironments(
         ccv2Token: String,
         subscription: CCv2Subscription,
@@ -148,16 +154,21 @@ class CCv2Api {
         ?.let { fetchBuildForCode(ccv2Token, subscription, it) }
         ?.also { build -> environment.deployedBuild = build }
 
+    /**
+     * Finished builds are fetched only once, so on refresh only deployments of the new builds lead to the additional requests.
+     */
     suspend fun fetchBuildForCode(
         ccv2Token: String,
         subscription: CCv2Subscription,
         buildCode: String
-    ): CCv2BuildDto = buildApi.getBuild(
-        subscriptionCode = subscription.id!!,
-        buildCode = buildCode,
-        requestHeaders = createRequestParams(ccv2Token)
-    )
-        .let { CCv2BuildDto.map(it) }
+    ): CCv2BuildDto = finishedBuilds[finishedBuildKey(ccv2Token, subscription, buildCode)]
+        ?: buildApi.getBuild(
+            subscriptionCode = subscription.id!!,
+            buildCode = buildCode,
+            requestHeaders = createRequestParams(ccv2Token)
+        )
+            .let { CCv2BuildDto.map(it) }
+            .also { rememberFinishedBuild(ccv2Token, subscription, it) }
 
     suspend fun fetchBuilds(
         ccv2Token: String,
@@ -174,6 +185,7 @@ class CCv2Api {
             )
             .value
             ?.map { build -> CCv2BuildDto.map(build) }
+            ?.onEach { rememberFinishedBuild(ccv2Token, subscription, it) }
             ?: emptyList()
     }
 
@@ -247,6 +259,7 @@ class CCv2Api {
         buildCode = build.code,
         requestHeaders = createRequestParams(ccv2Token)
     )
+        .also { finishedBuilds.keys.removeIf { it.endsWith("/${subscription.id}/${build.code}") } }
 
     suspend fun deployBuild(
         ccv2Token: String,
@@ -322,6 +335,15 @@ class CCv2Api {
 
     private fun createRequestParams(ccv2Token: String) = mapOf("Authorization" to "Bearer $ccv2Token")
 
+    private fun rememberFinishedBuild(ccv2Token: String, subscription: CCv2Subscription, build: CCv2BuildDto) {
+        if (build.status == CCv2BuildStatus.SUCCESS || build.status == CCv2BuildStatus.FAIL) {
+            finishedBuilds[finishedBuildKey(ccv2Token, subscription, build.code)] = build
+        }
+    }
+
+    private fun finishedBuildKey(ccv2Token: String, subscription: CCv2Subscription, buildCode: String) =
+        "${DigestUtils.sha256Hex(ccv2Token)}/${subscription.id}/$buildCode"
+
     private suspend fun getV1Environment(
         canAccess: Boolean,
         ccv1Api: CCv1Api,
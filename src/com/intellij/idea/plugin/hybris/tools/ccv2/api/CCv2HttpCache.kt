@@ -0,0 +1,192 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.tools.ccv2.api
+package com.intellij.idea.plugin.hybris.tools.ccv2.api
+
+import okhttp3.*
+import okhttp3.ResponseBody.Companion.toResponseBody
+import org.apache.commons.codec.digest.DigestUtils
+import java.time.Duration
+
+/**
+ * In-memory HTTP response cache shared by the CCv1 and CCv2 management API clients.
+ *
+ * Responses are partitioned by the hash of the `Authorization` header, so a response fetched with one CCv2 token
+ * is never served for another one, and nothing is persisted on disk.
+ *
+ * Management API marks its responses as not cacheable, so successful responses of the known read-only endpoints
+ * get an explicit per-endpoint TTL. Within the TTL responses are served from the cache without any request,
+ * once expired, they are re-validated via `If-None-Match`/`If-Modified-Since` if the server provided `ETag` or `Last-Modified`.
+ *
+ * Any successful modifying request evicts all cached responses of the same subscription.
+ */
+class CCv2HttpCache(
+    private val ttls: List<Pair<Regex, Duration>> = DEFAULT_TTLS,
+    private val maxSize: Long = MAX_SIZE
+) {
+
+    private val entries = LinkedHashMap<String, Entry>(16, 0.75f, true)
+    private var size = 0L
+
+    fun configure(builder: OkHttpClient.Builder): OkHttpClient.Builder = builder
+        .addInterceptor(interceptor)
+
+    fun evictAll() = synchronized(entries) {
+        entries.clear()
+        size = 0
+    }
+
+    private val interceptor = Interceptor { chain ->
+        val request = chain.request()
+
+        if (request.method != "GET") {
+            val response = chain.proceed(request)
+            if (response.isSuccessful) evict(request)
+            return@Interceptor response
+        }
+
+        val ttl = getTtl(request)
+            ?: return@Interceptor chain.proceed(request)
+        val key = getKey(request)
+        val cached = synchronized(entries) { entries[key] }
+
+        if (cached != null && System.nanoTime() < cached.expiresAt) return@Interceptor cached.toResponse(request)
+
+        val response = chain.proceed(cached?.let { conditional(request, it) } ?: request)
+
+        if (response.code == 304 && cached != null) {
+            response.close()
+            cached.expiresAt = System.nanoTime() + ttl.toNanos()
+            return@Interceptor cached.toResponse(request)
+        }
+
+        if (!response.isSuccessful) return@Interceptor response
+
+        val body = response.body
+            ?: return@Interceptor response
+        val contentType = body.contentType()
+        val bytes = body.bytes()
+
+        put(
+            key, Entry(
+                url = request.url.toString(),
+                protocol = response.protocol,
+                code = response.code,
+                message = response.message,
+                headers = response.headers,
+                contentType = contentType,
+                body = bytes,
+                expiresAt = System.nanoTime() + ttl.toNanos()
+            )
+        )
+
+        response.newBuilder()
+            .body(bytes.toResponseBody(contentType))
+            .build()
+    }
+
+    private fun getTtl(request: Request): Duration? {
+        val path = request.url.encodedPath
+        return ttls
+            .firstOrNull { (pattern, _) -> pattern.containsMatchIn(path) }
+            ?.second
+    }
+
+    private fun getKey(request: Request) = (request.header("Authorization")
+        ?.let { DigestUtils.sha256Hex(it) }
+        ?: "anonymous") + ' ' + request.url
+
+    private fun conditional(request: Request, cached: Entry): Request? {
+        val eTag = cached.headers["ETag"]
+        val lastModified = cached.headers["Last-Modified"]
+        if (eTag == null && lastModified == null) return null
+
+        return request.newBuilder()
+            .apply { eTag?.let { header("If-None-Match", it) } }
+            .apply { lastModified?.let { header("If-Modified-Since", it) } }
+            .build()
+    }
+
+    private fun put(key: String, entry: Entry) = synchronized(entries) {
+        entries.put(key, entry)
+            ?.let { size -= it.body.size }
+        size += entry.body.size
+
+        val iterator = entries.values.iterator()
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().body.size
+            iterator.remove()
+        }
+    }
+
+    private fun evict(request: Request) {
+        val subscriptionPath = SUBSCRIPTION_PATH.find(request.url.encodedPath)
+            ?.value
+            ?: return
+
+        synchronized(entries) {
+            val iterator = entries.values.iterator()
+            while (iterator.hasNext()) {
+                val entry = iterator.next()
+                if (entry.url.contains(subscriptionPath)) {
+                    size -= entry.body.size
+                    iterator.remove()
+                }
+            }
+        }
+    }
+
+    private class Entry(
+        val url: String,
+        val protocol: Protocol,
+        val code: Int,
+        val message: String,
+        val headers: Headers,
+        val contentType: MediaType?,
+        val body: ByteArray,
+        @Volatile var expiresAt: Long
+    ) {
+        fun toResponse(request: Request) = Response.Builder()
+            .request(request)
+            .protocol(protocol)
+            .code(code)
+            .message(message)
+            .headers(headers)
+            .body(body.toResponseBody(contentType))
+            .build()
+    }
+
+    companion object {
+        private const val MAX_SIZE = 10L * 1024 * 1024
+        private val SUBSCRIPTION_PATH = Regex("/subscriptions/[^/]+/")
+
+        // permissions are intentionally not cached, revoked access must be reflected right away
+        val DEFAULT_TTLS = listOf(
+            Regex("/subscriptions/[^/]+/environments$") to Duration.ofMinutes(2),
+            Regex("/subscriptions/[^/]+/environments/[^/]+$") to Duration.ofMinutes(2),
+            Regex("/subscriptions/[^/]+/environments/[^/]+/health$") to Duration.ofSeconds(30),
+            Regex("/subscriptions/[^/]+/builds$") to Duration.ofSeconds(30),
+            Regex("/subscriptions/[^/]+/builds/[^/]+$") to Duration.ofSeconds(30),
+            Regex("/subscriptions/[^/]+/deployments$") to Duration.ofSeconds(30),
+        )
+
+        private val INSTANCE by lazy { CCv2HttpCache() }
+
+        fun getInstance() = INSTANCE
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.tools.ccv2.logs
+
+import com.intellij.openapi.util.io.FileUtil
+import com.intellij.openapi.util.text.StringUtil
+import java.io.Closeable
+import java.io.FilterInputStream
+import java.io.IOException
+import java.io.InputStream
+import java.io.OutputStream
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+import java.util.concurrent.ConcurrentHashMap
+import java.util.zip.ZipFile
+import kotlin.io.path.deleteIfExists
+import kotlin.io.path.outputStream
+
+/**
+ * Downloaded CCv2 build logs archive.
+ *
+ * Each entry is inflated only once, while it is being indexed, into a temporary file next to the index,
+ * so pages are read by offset without inflating the entry from its beginning again.
+ */
+class CCv2BuildLogArchive(private val path: Path) : Closeable {
+
+    private val zipFile = ZipFile(path.toFile())
+    private val indexes = ConcurrentHashMap<String, CCv2BuildLogIndex>()
+    private val extractedEntries = ConcurrentHashMap<String, Path>()
+
+    @Volatile
+    private var closed = false
+
+    val entryNames: List<String> = zipFile.entries().asSequence()
+        .filterNot { it.isDirectory }
+        .map { it.name }
+        .sorted()
+        .toList()
+
+    fun getIndex(entryName: String): CCv2BuildLogIndex? = indexes[entryName]
+
+    fun index(entryName: String, checkCanceled: () -> Unit = {}): CCv2BuildLogIndex {
+        indexes[entryName]?.let { return it }
+
+        val extractedEntry = FileUtil.createTempFile("ccv2BuildLog", ".log", true).toPath()
+        try {
+            val index = extractedEntry.outputStream().buffered().use { out ->
+                zipFile.getInputStream(zipFile.getEntry(entryName))
+                    .let { TeeInputStream(it, out) }
+                    .use { CCv2BuildLogIndex.build(entryName, it, checkCanceled) }
+            }
+            extractedEntries[entryName] = extractedEntry
+            indexes[entryName] = index
+
+            // archive may be closed while the last chunk was being written
+            if (closed) extractedEntries.remove(entryName)?.deleteIfExists()
+            return index
+        } catch (e: Throwable) {
+            extractedEntry.deleteIfExists()
+            throw e
+        }
+    }
+
+    /**
+     * Returns text of the lines `[fromLine, toLine)` with normalized line separators.
+     * Empty text is returned once the archive is closed, e.g. when the view is disposed while the page is being read.
+     */
+    fun readLines(index: CCv2BuildLogIndex, fromLine: Int, toLine: Int): String {
+        if (closed) return ""
+
+        val extractedEntry = extractedEntries[index.entryName] ?: return ""
+        val startOffset = index.getLineOffset(fromLine)
+        val endOffset = index.getLineOffset(toLine)
+        val buffer = ByteBuffer.allocate((endOffset - startOffset).toInt())
+
+        try {
+            FileChannel.open(extractedEntry, StandardOpenOption.READ).use { channel ->
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, startOffset + buffer.position()) == -1) break
+                }
+            }
+        } catch (e: IOException) {
+            // extracted entry has been deleted concurrently
+            if (closed) return "" else throw e
+        }
+
+        return StringUtil.convertLineSeparators(String(buffer.array(), 0, buffer.position(), Charsets.UTF_8))
+    }
+
+    override fun close() {
+        closed = true
+        zipFile.close()
+        extractedEntries.values.forEach { it.deleteIfExists() }
+        extractedEntries.clear()
+        path.deleteIfExists()
+    }
+
+    /**
+     * Copies everything read from the entry into the extracted file.
+     */
+    private class TeeInputStream(input: InputStream, private val out: OutputStream) : FilterInputStream(input) {
+
+        override fun read(): Int = super.read()
+            .also { if (it != -1) out.write(it) }
+
+        override fun read(b: ByteArray, off: Int, len: Int): Int = super.read(b, off, len)
+            .also { if (it > 0) out.write(b, off, it) }
+    }
+}
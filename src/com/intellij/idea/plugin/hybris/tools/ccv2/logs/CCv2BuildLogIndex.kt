@@ -0,0 +1,133 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.tools.ccv2.logs
+
+import java.io.InputStream
+
+/**
+ * Lightweight index of a single build log: start offset of each line and lines with errors, warnings and failed tasks.
+ *
+ * Only offsets are kept in memory, the text itself is read from the archive page by page.
+ */
+class CCv2BuildLogIndex private constructor(
+    val entryName: String,
+    private val lineOffsets: LongArray,
+    val lineCount: Int,
+    val size: Long,
+    val hits: List<Hit>
+) {
+
+    val errorsCount = hits.count { it.kind == HitKind.ERROR || it.kind == HitKind.FAILED_TASK }
+    val warningsCount = hits.count { it.kind == HitKind.WARN }
+
+    fun getLineOffset(line: Int): Long = if (line >= lineCount) size
+    else lineOffsets[line]
+
+    data class Hit(val line: Int, val kind: HitKind, val text: String)
+
+    enum class HitKind {
+        FAILED_TASK, ERROR, WARN
+    }
+
+    companion object {
+        private const val MAX_HITS = 10_000
+        private const val MAX_INDEXED_LINE_LENGTH = 4096
+        private val FAILED_TASK_PATTERNS = listOf(
+            Regex("> Task (\\S+) FAILED"),
+            Regex("Execution failed for task '([^']+)'"),
+            Regex("^(BUILD FAILED)"),
+        )
+        private val ERROR_PATTERN = Regex("\\bERROR\\b")
+        private val WARN_PATTERN = Regex("\\bWARN(?:ING)?\\b")
+
+        /**
+         * Reads the stream once, without keeping the text of the log.
+         */
+        fun build(entryName: String, input: InputStream, checkCanceled: () -> Unit = {}): CCv2BuildLogIndex {
+            var lineOffsets = LongArray(1024)
+            var lineCount = 0
+            var offset = 0L
+            val hits = ArrayList<Hit>()
+            val line = LineBuffer()
+            val buffer = ByteArray(64 * 1024)
+
+            fun endLine() {
+                if (hits.size < MAX_HITS) analyze(line.text(), lineCount - 1)?.let { hits.add(it) }
+                line.reset()
+            }
+
+            while (true) {
+                val read = input.read(buffer)
+                if (read == -1) break
+
+                checkCanceled()
+
+                for (i in 0 until read) {
+                    if (line.isLineStart) {
+                        if (lineCount == lineOffsets.size) lineOffsets = lineOffsets.copyOf(lineCount * 2)
+                        lineOffsets[lineCount++] = offset
+                        line.isLineStart = false
+                    }
+
+                    val byte = buffer[i]
+                    offset++
+
+                    if (byte == '\n'.code.toByte()) {
+                        endLine()
+                    } else {
+                        line.append(byte)
+                    }
+                }
+            }
+
+            if (!line.isLineStart) endLine()
+
+            return CCv2BuildLogIndex(entryName, lineOffsets, lineCount, offset, hits)
+        }
+
+        private fun analyze(text: String, lineNumber: Int): Hit? {
+            FAILED_TASK_PATTERNS.firstNotNullOfOrNull { it.find(text) }
+                ?.let { return Hit(lineNumber, HitKind.FAILED_TASK, it.groupValues[1]) }
+
+            if (ERROR_PATTERN.containsMatchIn(text)) return Hit(lineNumber, HitKind.ERROR, text.trim())
+            if (WARN_PATTERN.containsMatchIn(text)) return Hit(lineNumber, HitKind.WARN, text.trim())
+
+            return null
+        }
+    }
+
+    /**
+     * Holds up to [MAX_INDEXED_LINE_LENGTH] bytes of the current line, which is enough to detect keywords.
+     */
+    private class LineBuffer {
+        private val bytes = ByteArray(MAX_INDEXED_LINE_LENGTH)
+        private var length = 0
+        var isLineStart = true
+
+        fun append(byte: Byte) {
+            if (length < bytes.size && byte != '\r'.code.toByte()) bytes[length++] = byte
+        }
+
+        fun text() = String(bytes, 0, length, Charsets.UTF_8)
+
+        fun reset() {
+            length = 0
+            isLineStart = true
+        }
+    }
+}
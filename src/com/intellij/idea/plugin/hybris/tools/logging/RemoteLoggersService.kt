@@ -0,0 +1,203 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.tools.logging
+
+import com.google.gson.Gson
+import com.google.gson.JsonParseException
+import com.google.gson.reflect.TypeToken
+import com.intellij.idea.plugin.hybris.notifications.Notifications
+import com.intellij.idea.plugin.hybris.tools.remote.RemoteConnectionType
+import com.intellij.idea.plugin.hybris.tools.remote.RemoteConnectionUtil
+import com.intellij.idea.plugin.hybris.tools.remote.http.AbstractHybrisHacHttpClient
+import com.intellij.idea.plugin.hybris.tools.remote.http.HybrisHacHttpClient
+import com.intellij.notification.NotificationType
+import com.intellij.openapi.components.Service
+import com.intellij.openapi.project.Project
+import com.intellij.platform.ide.progress.withBackgroundProgress
+import com.intellij.util.messages.Topic
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+
+/**
+ * Cached view of the remote logger configuration.
+ *
+ * Whole configuration is fetched once per active HAC connection, afterward only levels of the changed loggers
+ * are merged into the snapshot. Any number of level changes is sent to the server as a single Groovy script,
+ * levels overridden by the last batch are remembered, so the batch can be reverted.
+ */
+@Service(Service.Level.PROJECT)
+class RemoteLoggersService(val project: Project, private val coroutineScope: CoroutineScope) {
+
+    private val mutex = Mutex()
+
+    @Volatile
+    private var snapshot: RemoteLoggersSnapshot? = null
+
+    @Volatile
+    private var undoLevels: Map<String, String>? = null
+
+    /**
+     * Returns cached snapshot, snapshot of the previously active connection is never returned.
+     */
+    fun getSnapshot() = snapshot
+        ?.takeIf { it.connectionId == activeConnectionId() }
+
+    fun canUndo() = getSnapshot() != null && undoLevels != null
+
+    fun fetchLoggers() = execute("Fetching Loggers...") {
+        undoLevels = null
+        snapshot = executeScript(emptyMap())
+            ?.let { RemoteLoggersSnapshot(activeConnectionId(), it) }
+    }
+
+    fun updateLevels(levels: Map<String, String>) {
+        if (levels.isEmpty()) return
+
+        execute("Updating Log Levels...") {
+            val currentSnapshot = getSnapshot()
+                ?: executeScript(emptyMap())?.let { RemoteLoggersSnapshot(activeConnectionId(), it) }
+                ?: return@execute
+            val previousLevels = levels.keys
+                .mapNotNull { name -> currentSnapshot.effectiveLevel(name)?.let { name to it } }
+                .toMap()
+
+            val updatedLevels = executeScript(levels) ?: return@execute
+
+            undoLevels = previousLevels
+            snapshot = currentSnapshot.merge(updatedLevels)
+
+            notify(NotificationType.INFORMATION, "Log levels updated", "Updated ${updatedLevels.size} logger(s)")
+        }
+    }
+
+    /**
+     * Restores levels overridden by the last batch. Not configured loggers get explicit level of their former parent.
+     */
+    fun undoLastBatch() {
+        val levels = undoLevels ?: return
+
+        execute("Reverting Log Levels...") {
+            val currentSnapshot = getSnapshot() ?: return@execute
+            val revertedLevels = executeScript(levels) ?: return@execute
+
+            undoLevels = null
+            snapshot = currentSnapshot.merge(revertedLevels)
+
+            notify(NotificationType.INFORMATION, "Log levels reverted", "Reverted ${revertedLevels.size} logger(s)")
+        }
+    }
+
+    /**
+     * Keeps snapshot in sync with the level changed outside of this service, i.e. via HAC log4j endpoint.
+     */
+    fun onLevelChanged(loggerName: String, logLevel: String) {
+        val currentSnapshot = getSnapshot() ?: return
+
+        snapshot = currentSnapshot.merge(mapOf(loggerName to logLevel))
+        project.messageBus.syncPublisher(TOPIC_LOGGERS).onLoggersUpdated(snapshot)
+    }
+
+    private fun execute(title: String, operation: suspend () -> Unit) {
+        project.messageBus.syncPublisher(TOPIC_LOGGERS).onFetchingStarted()
+
+        coroutineScope.launch {
+            withBackgroundProgress(project, title, true) {
+                try {
+                    mutex.withLock { operation() }
+                } finally {
+                    project.messageBus.syncPublisher(TOPIC_LOGGERS).onLoggersUpdated(getSnapshot())
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies given levels and returns effective levels of the changed loggers.
+     * If there are no levels to apply, levels of all configured loggers are returned.
+     */
+    private fun executeScript(levels: Map<String, String>): Map<String, String>? {
+        val result = HybrisHacHttpClient.getInstance(project)
+            .executeGroovyScript(project, buildScript(levels), false, AbstractHybrisHacHttpClient.DEFAULT_HAC_TIMEOUT)
+
+        if (result.hasError()) {
+            notify(NotificationType.ERROR, "Unable to process loggers", result.errorMessage ?: "")
+            return null
+        }
+
+        return try {
+            Gson().fromJson<Map<String, String?>>(result.result, LEVELS_TYPE.type)
+                ?.mapNotNull { (name, level) -> level?.let { name to it } }
+                ?.toMap()
+                ?: emptyMap()
+        } catch (e: JsonParseException) {
+            notify(NotificationType.ERROR, "Unable to process loggers", "Cannot parse response from the server...")
+            null
+        }
+    }
+
+    private fun buildScript(levels: Map<String, String>) = buildString {
+        appendLine("import groovy.json.JsonOutput")
+        appendLine("import org.apache.logging.log4j.Level")
+        appendLine("import org.apache.logging.log4j.LogManager")
+        appendLine("import org.apache.logging.log4j.core.config.Configurator")
+        appendLine()
+
+        if (levels.isEmpty()) {
+            appendLine("def levels = [:]")
+        } else {
+            appendLine("def levels = [")
+            levels.forEach { (name, level) -> appendLine("    '${escape(name)}': '${escape(level)}',") }
+            appendLine("]")
+        }
+
+        appendLine(
+            """
+                def context = LogManager.getContext(false)
+                if (levels.isEmpty()) {
+                    return JsonOutput.toJson(context.configuration.loggers.collectEntries { name, config -> [(name): config.level?.name()] })
+                }
+
+                Configurator.setLevel(levels
+                    .collectEntries { name, level -> [(name): Level.toLevel(level, null)] }
+                    .findAll { it.value != null } as Map<String, Level>)
+
+                JsonOutput.toJson(levels.keySet().collectEntries { name -> [(name): context.getLogger(name).level?.name()] })
+            """.trimIndent()
+        )
+    }
+
+    private fun escape(value: String) = value
+        .replace("\\", "\\\\")
+        .replace("'", "\\'")
+
+    private fun activeConnectionId() = RemoteConnectionUtil.getActiveRemoteConnectionSettings(project, RemoteConnectionType.Hybris).uuid
+
+    private fun notify(type: NotificationType, title: String, content: String) = Notifications.create(type, title, content)
+        .hideAfter(5)
+        .notify(project)
+
+    companion object {
+        private val LEVELS_TYPE = object : TypeToken<Map<String, String?>>() {}
+
+        val TOPIC_LOGGERS = Topic("HYBRIS_REMOTE_LOGGERS_LISTENER", RemoteLoggersListener::class.java)
+
+        fun getInstance(project: Project): RemoteLoggersService = project.getService(RemoteLoggersService::class.java)
+    }
+}
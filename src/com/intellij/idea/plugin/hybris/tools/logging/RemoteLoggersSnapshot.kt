@@ -0,0 +1,47 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.tools.logging
+
+/**
+ * Locally cached levels of the loggers configured on the remote SAP Commerce instance.
+ *
+ * Snapshot is immutable, changed levels are merged into a new snapshot, so it can be shared with the UI without locking.
+ * Level of a not configured logger is inherited from the closest configured parent, root logger has an empty name.
+ */
+class RemoteLoggersSnapshot(
+    val connectionId: String?,
+    val levels: Map<String, String>
+) {
+
+    fun effectiveLevel(loggerName: String): String? {
+        var name = loggerName
+
+        while (true) {
+            levels[name]?.let { return it }
+            if (name.isEmpty()) return null
+
+            name = name.substringBeforeLast('.', "")
+        }
+    }
+
+    fun merge(changedLevels: Map<String, String>) = RemoteLoggersSnapshot(connectionId, levels + changedLevels)
+
+    companion object {
+        const val ROOT_LOGGER_NAME = ""
+    }
+}
@@ -29,6 +29,8 @@ import com.intellij.idea.plugin.hybris.tools.remote.console.HybrisConsole
 import com.intellij.idea.plugin.hybris.tools.remote.console.HybrisConsoleService
 import com.intellij.idea.plugin.hybris.tools.remote.console.impl.HybrisImpexMonitorConsole
 import com.intellij.idea.plugin.hybris.tools.remote.console.impl.HybrisSolrSearchConsole
+import com.intellij.idea.plugin.hybris.tools.remote.http.HybrisHacHttpClient
+import com.intellij.idea.plugin.hybris.tools.remote.http.flexibleSearch.FlexibleSearchResultTable
 import com.intellij.idea.plugin.hybris.tools.remote.http.impex.HybrisHttpResult
 import com.intellij.idea.plugin.hybris.tools.remote.http.impex.HybrisHttpResult.HybrisHttpResultBuilder.createResult
 import com.intellij.json.JsonFileType
@@ -41,6 +43,9 @@ import com.intellij.openapi.progress.Task
 import com.intellij.openapi.project.Project
 import com.intellij.openapi.util.TextRange
 import com.intellij.openapi.util.text.StringUtil
+import java.io.IOException
+import java.util.concurrent.atomic.AtomicBoolean
+import kotlin.math.min
 
 class HybrisConsoleExecuteActionHandler(
     private val project: Project,
@@ -84,6 +89,10 @@ class HybrisConsoleExecuteActionHandler(
                                 printCurrentHost(console, RemoteConnectionType.Hybris)
 
                                 printPlainText(console, httpResult)
+                                httpResult.resultTable
+                                    ?.takeIf { !httpResult.hasError() && it.pagesCount > 1 }
+                                    ?.let { printNextPageLink(console, it, 1) }
+                                printLatency(console)
                             }
                         }
                     } finally {
@@ -104,6 +113,40 @@ class HybrisConsoleExecuteActionHandler(
         console.print("${activeConnectionSettings.generatedURL}\n", NORMAL_OUTPUT)
     }
 
+    private fun printNextPageLink(console: HybrisConsole, table: FlexibleSearchResultTable, page: Int) {
+        val remainingRows = table.getRemainingRowsCount(page)
+        val pageRows = min(remainingRows, FlexibleSearchResultTable.PAGE_SIZE)
+        val shown = AtomicBoolean(false)
+
+        console.print("[ROWS] ", SYSTEM_OUTPUT)
+        console.printHyperlink("Show next $pageRows of $remainingRows remaining rows") {
+            if (!shown.compareAndSet(false, true)) return@printHyperlink
+
+            val output = try {
+                table.renderPage(page)
+            } catch (e: IOException) {
+                console.print("[ERROR] \n", SYSTEM_OUTPUT)
+                console.print("${e.message}\n", ERROR_OUTPUT)
+                return@printHyperlink
+            }
+
+            console.print("[OUTPUT] \n", SYSTEM_OUTPUT)
+            console.print(output, NORMAL_OUTPUT)
+            if (page + 1 < table.pagesCount) printNextPageLink(console, table, page + 1)
+        }
+        console.print("\n", NORMAL_OUTPUT)
+    }
+
+    private fun printLatency(console: HybrisConsole) {
+        val activeConnectionSettings = RemoteConnectionUtil.getActiveRemoteConnectionSettings(project, RemoteConnectionType.Hybris)
+        val metrics = HybrisHacHttpClient.getInstance(project).getRequestMetrics(activeConnectionSettings)
+            .takeIf { it.requests > 0 }
+            ?: return
+
+        console.print("\n[LATENCY] ", SYSTEM_OUTPUT)
+        console.print("${metrics.presentableText}\n", LOG_INFO_OUTPUT)
+    }
+
     private fun printPlainText(console: HybrisConsole, httpResult: HybrisHttpResult?) {
         val result = createResult()
             .errorMessage(httpResult?.errorMessage)
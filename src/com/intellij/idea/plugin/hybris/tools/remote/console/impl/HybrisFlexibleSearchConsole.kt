@@ -25,7 +25,9 @@ import com.intellij.idea.plugin.hybris.common.utils.HybrisIcons
 import com.intellij.idea.plugin.hybris.flexibleSearch.FlexibleSearchLanguage
 import com.intellij.idea.plugin.hybris.tools.remote.console.HybrisConsole
 import com.intellij.idea.plugin.hybris.tools.remote.http.HybrisHacHttpClient
+import com.intellij.idea.plugin.hybris.tools.remote.http.flexibleSearch.FlexibleSearchResultTable
 import com.intellij.openapi.project.Project
+import com.intellij.openapi.util.Disposer
 import com.intellij.ui.components.JBCheckBox
 import com.intellij.ui.components.JBLabel
 import com.intellij.vcs.log.ui.frame.WrappedFlowLayout
@@ -46,15 +48,18 @@ class HybrisFlexibleSearchConsole(project: Project) : HybrisConsole(project, Hyb
         .also { it.border = borders10 }
     private val plainSqlCheckbox = JBCheckBox("Plain SQL")
         .also { it.border = borders10 }
-    private val maxRowsSpinner = JSpinner(SpinnerNumberModel(10, 1, 100, 1))
+    private val maxRowsSpinner = JSpinner(SpinnerNumberModel(10, 1, MAX_ROWS, 1))
         .also { it.border = borders5 }
 
+    @Volatile
+    private var resultTable: FlexibleSearchResultTable? = null
+
     init {
         isEditable = true
 
         panel.add(commitCheckbox)
         panel.add(plainSqlCheckbox)
-        panel.add(JBLabel("Rows (max 100):").also { it.border = bordersLabel })
+        panel.add(JBLabel("Rows (max $MAX_ROWS):").also { it.border = bordersLabel })
         panel.add(maxRowsSpinner)
 
         add(panel, BorderLayout.NORTH)
@@ -70,12 +75,21 @@ class HybrisFlexibleSearchConsole(project: Project) : HybrisConsole(project, Hyb
             maxRowsSpinner.value.toString(),
             query
         )
+        .also { result ->
+            // rows of the previous result are spooled to a temporary file, it is released once the next query is executed
+            resultTable?.let { Disposer.dispose(it) }
+            resultTable = result.resultTable
+                ?.also { if (!Disposer.tryRegister(this, it)) Disposer.dispose(it) }
+        }
 
     override fun title(): String = "FlexibleSearch"
     override fun tip(): String = "FlexibleSearch Console"
     override fun icon(): Icon = HybrisIcons.FlexibleSearch.FILE
 
     companion object {
+        // rows are not kept in memory and rendered page by page, see FlexibleSearchResultTable
+        private const val MAX_ROWS = 50000
+
         @Serial
         private val serialVersionUID: Long = -112651125533211607L
     }
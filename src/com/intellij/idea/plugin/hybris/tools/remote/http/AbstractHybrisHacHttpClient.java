@@ -19,6 +19,7 @@
 package com.intellij.idea.plugin.hybris.tools.remote.http;
 
 import com.intellij.idea.plugin.hybris.settings.RemoteConnectionSettings;
+import com.intellij.openapi.Disposable;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import org.apache.commons.lang3.StringUtils;
@@ -31,18 +32,20 @@ import org.apache.http.client.entity.UrlEncodedFormEntity;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
-import org.apache.http.conn.HttpClientConnectionManager;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClients;
-import org.apache.http.impl.conn.BasicHttpClientConnectionManager;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.message.BasicHttpResponse;
 import org.apache.http.message.BasicNameValuePair;
 import org.apache.http.message.BasicStatusLine;
 import org.apache.http.ssl.SSLContexts;
+import org.apache.http.util.EntityUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jsoup.Connection;
@@ -66,17 +69,26 @@ import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.cert.X509Certificate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static java.net.HttpURLConnection.HTTP_MOVED_TEMP;
 import static java.net.HttpURLConnection.HTTP_OK;
 import static org.apache.http.HttpVersion.HTTP_1_1;
 
-public abstract class AbstractHybrisHacHttpClient {
+/**
+ * HTTP client is pooled per Remote Connection (keyed by its uuid) and reuses keep-alive connections between the requests.
+ * Once URL, user or SSL protocol of the connection are changed, pooled client is closed and session is dropped.
+ * CSRF token is cached per session and refreshed only on re-login, when server responds with 403 or redirects to the login page.
+ */
+public abstract class AbstractHybrisHacHttpClient implements Disposable {
 
     private static final Logger LOG = Logger.getInstance(AbstractHybrisHacHttpClient.class);
     private static final String COOKIE_JSESSIONID = "JSESSIONID";
     public static final int DEFAULT_HAC_TIMEOUT = 6000;
+    private static final int MAX_CONNECTIONS_PER_ROUTE = 5;
+    private static final int IDLE_CONNECTION_TIMEOUT_SECONDS = 60;
     private static final X509TrustManager X_509_TRUST_MANAGER = new X509TrustManager() {
 
         @Override
@@ -94,18 +106,22 @@ public abstract class AbstractHybrisHacHttpClient {
         }
     };
 
-    private final Map<RemoteConnectionSettings, Map<String, String>> cookiesPerSettings = new WeakHashMap<>();
+    private final Map<String, Map<String, String>> cookiesPerSettings = new ConcurrentHashMap<>();
+    private final Map<String, String> csrfTokensPerSettings = new ConcurrentHashMap<>();
+    private final Map<String, PooledClient> clientsPerSettings = new HashMap<>();
+    private final Map<String, HybrisHacRequestMetrics> metricsPerSettings = new ConcurrentHashMap<>();
 
     public String login(@NotNull final Project project, @NotNull final RemoteConnectionSettings settings) {
         final var hostHacURL = settings.getGeneratedURL();
         retrieveCookies(hostHacURL, project, settings);
-        final var sessionId = Optional.ofNullable(cookiesPerSettings.get(settings))
+        final var sessionId = Optional.ofNullable(cookiesPerSettings.get(getKey(settings)))
             .map(it -> it.get(COOKIE_JSESSIONID))
             .orElse(null);
         if (sessionId == null) {
             return "Unable to obtain sessionId for " + hostHacURL;
         }
         final var csrfToken = getCsrfToken(hostHacURL, settings);
+        if (csrfToken != null) csrfTokensPerSettings.put(getKey(settings), csrfToken);
         final var params = List.of(
             new BasicNameValuePair("j_username", settings.getUsername()),
             new BasicNameValuePair("j_password", settings.getPassword()),
@@ -113,6 +129,8 @@ public abstract class AbstractHybrisHacHttpClient {
         );
         final var loginURL = hostHacURL + "/j_spring_security_check";
         final HttpResponse response = post(project, loginURL, params, false, DEFAULT_HAC_TIMEOUT, settings);
+        // new session will have own CSRF token
+        csrfTokensPerSettings.remove(getKey(settings));
         if (response.getStatusLine().getStatusCode() == HttpStatus.SC_MOVED_TEMPORARILY) {
             final Header location = response.getFirstHeader("Location");
             if (location != null && location.getValue().contains("login_error")) {
@@ -121,7 +139,7 @@ public abstract class AbstractHybrisHacHttpClient {
         }
         final var newSessionId = CookieParser.getInstance().getSpecialCookie(response.getAllHeaders());
         if (newSessionId != null) {
-            Optional.ofNullable(cookiesPerSettings.get(settings))
+            Optional.ofNullable(cookiesPerSettings.get(getKey(settings)))
                 .ifPresent(cookies -> cookies.put(COOKIE_JSESSIONID, newSessionId));
             return StringUtils.EMPTY;
         }
@@ -147,29 +165,51 @@ public abstract class AbstractHybrisHacHttpClient {
         final long timeout,
         final RemoteConnectionSettings settings
     ) {
-        var cookies = cookiesPerSettings.get(settings);
+        return post(project, actionUrl, params, canReLoginIfNeeded, timeout, settings, true);
+    }
+
+    /**
+     * When response is not buffered, the caller is responsible for closing the content of the response entity,
+     * otherwise the connection will not be returned back to the pool.
+     */
+    @NotNull
+    public final HttpResponse post(
+        @NotNull final Project project,
+        @NotNull final String actionUrl,
+        @NotNull final List<BasicNameValuePair> params,
+        final boolean canReLoginIfNeeded,
+        final long timeout,
+        final RemoteConnectionSettings settings,
+        final boolean bufferResponse
+    ) {
+        final var client = getClient(settings);
+        if (client == null) {
+            return createErrorResponse("Unable to create HttpClient");
+        }
+        final var key = getKey(settings);
+        var cookies = cookiesPerSettings.get(key);
         if (cookies == null || !cookies.containsKey(COOKIE_JSESSIONID)) {
             final String errorMessage = login(project, settings);
             if (StringUtils.isNotBlank(errorMessage)) {
                 return createErrorResponse(errorMessage);
             }
         }
-        cookies = cookiesPerSettings.get(settings);
+        cookies = cookiesPerSettings.get(key);
         final var sessionId = cookies.get(COOKIE_JSESSIONID);
-        final var csrfToken = getCsrfToken(settings.getGeneratedURL(), settings);
+        final var csrfToken = getCachedCsrfToken(settings);
         if (csrfToken == null) {
-            cookiesPerSettings.remove(settings);
+            invalidateSession(settings);
 
             if (canReLoginIfNeeded) {
-                return post(project, actionUrl, params, false, timeout, settings);
+                return post(project, actionUrl, params, false, timeout, settings, bufferResponse);
             }
             return createErrorResponse("Unable to obtain csrfToken for sessionId=" + sessionId);
         }
-        final var client = createAllowAllClient(timeout);
-        if (client == null) {
-            return createErrorResponse("Unable to create HttpClient");
-        }
         final var post = new HttpPost(actionUrl);
+        post.setConfig(RequestConfig.custom()
+            .setSocketTimeout((int) timeout)
+            .setConnectTimeout((int) timeout)
+            .build());
         final var cookie = cookies.entrySet().stream()
             .map(it -> it.getKey() + '=' + it.getValue())
             .collect(Collectors.joining("; "));
@@ -183,12 +223,16 @@ public abstract class AbstractHybrisHacHttpClient {
         post.setHeader("Sec-Fetch-Site", "same-origin");
 
         final HttpResponse response;
+        final var startTime = System.nanoTime();
         try {
             post.setEntity(new UrlEncodedFormEntity(params, StandardCharsets.UTF_8));
             response = client.execute(post);
+            if (bufferResponse) bufferEntity(response);
         } catch (IOException e) {
             LOG.warn(e.getMessage(), e);
             return createErrorResponse(e.getMessage());
+        } finally {
+            getRequestMetrics(settings).record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
         }
 
         final var statusCode = response.getStatusLine().getStatusCode();
@@ -203,19 +247,111 @@ public abstract class AbstractHybrisHacHttpClient {
         };
 
         if (needsLogin) {
-            cookiesPerSettings.remove(settings);
+            invalidateSession(settings);
             if (canReLoginIfNeeded) {
-                return post(project, actionUrl, params, false, DEFAULT_HAC_TIMEOUT, settings);
+                EntityUtils.consumeQuietly(response.getEntity());
+                return post(project, actionUrl, params, false, DEFAULT_HAC_TIMEOUT, settings, bufferResponse);
             }
         }
         return response;
     }
 
+    @NotNull
+    public HybrisHacRequestMetrics getRequestMetrics(@NotNull final RemoteConnectionSettings settings) {
+        return metricsPerSettings.computeIfAbsent(getKey(settings), _key -> new HybrisHacRequestMetrics());
+    }
+
+    @Override
+    public void dispose() {
+        synchronized (clientsPerSettings) {
+            clientsPerSettings.values().forEach(it -> closeClient(it.client()));
+            clientsPerSettings.clear();
+        }
+        cookiesPerSettings.clear();
+        csrfTokensPerSettings.clear();
+        metricsPerSettings.clear();
+    }
+
+    protected void invalidateSession(@NotNull final RemoteConnectionSettings settings) {
+        final var key = getKey(settings);
+        cookiesPerSettings.remove(key);
+        csrfTokensPerSettings.remove(key);
+    }
+
+    @Nullable
+    private String getCachedCsrfToken(@NotNull final RemoteConnectionSettings settings) {
+        final var key = getKey(settings);
+        final var cachedCsrfToken = csrfTokensPerSettings.get(key);
+        if (cachedCsrfToken != null) return cachedCsrfToken;
+
+        final var csrfToken = getCsrfToken(settings.getGeneratedURL(), settings);
+        if (StringUtils.isNotEmpty(csrfToken)) {
+            csrfTokensPerSettings.put(key, csrfToken);
+        }
+        return csrfToken;
+    }
+
+    /**
+     * Client is replaced together with the session once connection details are changed for the same Remote Connection.
+     * Replaced client is closed right away, which also stops its idle connections evictor thread.
+     */
+    @Nullable
+    private CloseableHttpClient getClient(@NotNull final RemoteConnectionSettings settings) {
+        final var key = getKey(settings);
+        final var fingerprint = getFingerprint(settings);
+
+        synchronized (clientsPerSettings) {
+            final var pooledClient = clientsPerSettings.get(key);
+            if (pooledClient != null) {
+                if (pooledClient.fingerprint().equals(fingerprint)) return pooledClient.client();
+
+                clientsPerSettings.remove(key);
+                closeClient(pooledClient.client());
+                invalidateSession(settings);
+            }
+
+            final var newClient = createAllowAllClient();
+            if (newClient != null) {
+                clientsPerSettings.put(key, new PooledClient(fingerprint, newClient));
+            }
+            return newClient;
+        }
+    }
+
+    @NotNull
+    private static String getKey(@NotNull final RemoteConnectionSettings settings) {
+        return Objects.requireNonNullElseGet(settings.getUuid(), settings::getGeneratedURL);
+    }
+
+    @NotNull
+    private static String getFingerprint(@NotNull final RemoteConnectionSettings settings) {
+        return settings.getGeneratedURL() + '|' + settings.getUsername() + '|' + settings.getSslProtocol();
+    }
+
+    /**
+     * Response has to be fully consumed to return the connection back to the pool.
+     */
+    private void bufferEntity(final HttpResponse response) throws IOException {
+        final var entity = response.getEntity();
+        if (entity == null) return;
+
+        response.setEntity(new BufferedHttpEntity(entity));
+        EntityUtils.consume(entity);
+    }
+
+    private void closeClient(final CloseableHttpClient client) {
+        try {
+            client.close();
+        } catch (IOException e) {
+            LOG.debug(e.getMessage(), e);
+        }
+    }
+
     protected HttpResponse createErrorResponse(final String reasonPhrase) {
         return new BasicHttpResponse(new BasicStatusLine(HTTP_1_1, HttpStatus.SC_SERVICE_UNAVAILABLE, reasonPhrase));
     }
 
-    protected CloseableHttpClient createAllowAllClient(final long timeout) {
+    protected CloseableHttpClient createAllowAllClient() {
         final SSLContext sslcontext;
         try {
             sslcontext = SSLContexts.custom().loadTrustMaterial(null, (chain, authType) -> true).build();
@@ -230,13 +366,18 @@ public abstract class AbstractHybrisHacHttpClient {
             .register("https", sslConnectionFactory)
             .build();
 
-        final HttpClientConnectionManager ccm = new BasicHttpClientConnectionManager(registry);
+        final PoolingHttpClientConnectionManager ccm = new PoolingHttpClientConnectionManager(registry);
+        ccm.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_ROUTE);
+        ccm.setMaxTotal(MAX_CONNECTIONS_PER_ROUTE);
         final RequestConfig config = RequestConfig.custom()
-            .setSocketTimeout((int) timeout)
-            .setConnectTimeout((int) timeout)
+            .setSocketTimeout(DEFAULT_HAC_TIMEOUT)
+            .setConnectTimeout(DEFAULT_HAC_TIMEOUT)
             .build();
         return HttpClients.custom()
             .setConnectionManager(ccm)
+            .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+            .evictIdleConnections(IDLE_CONNECTION_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            .evictExpiredConnections()
             .setDefaultRequestConfig(config)
             .build();
     }
@@ -247,7 +388,7 @@ public abstract class AbstractHybrisHacHttpClient {
         final @NotNull Project project,
         final @NotNull RemoteConnectionSettings settings
     ) {
-        final var cookies = cookiesPerSettings.computeIfAbsent(settings, _settings -> new HashMap<>());
+        final var cookies = cookiesPerSettings.computeIfAbsent(getKey(settings), _key -> new HashMap<>());
         cookies.clear();
 
         final var res = getResponseForUrl(hacURL, settings);
@@ -281,7 +422,7 @@ public abstract class AbstractHybrisHacHttpClient {
             final var sslProtocol = settings.getSslProtocol();
 
             final Document doc = connect(hacURL, sslProtocol)
-                .cookies(cookiesPerSettings.get(settings))
+                .cookies(cookiesPerSettings.getOrDefault(getKey(settings), Map.of()))
                 .get();
             final Elements csrfMetaElt = doc.select("meta[name=_csrf]");
             return csrfMetaElt.attr("content");
@@ -300,4 +441,7 @@ public abstract class AbstractHybrisHacHttpClient {
         HttpsURLConnection.setDefaultHostnameVerifier(new NoopHostnameVerifier());
         return Jsoup.connect(url);
     }
+
+    private record PooledClient(@NotNull String fingerprint, @NotNull CloseableHttpClient client) {
+    }
 }
@@ -20,21 +20,25 @@
 package com.intellij.idea.plugin.hybris.tools.remote.http;
 
 import com.google.gson.Gson;
+import com.google.gson.stream.MalformedJsonException;
 import com.intellij.idea.plugin.hybris.settings.RemoteConnectionSettings;
 import com.intellij.idea.plugin.hybris.tools.remote.RemoteConnectionType;
 import com.intellij.idea.plugin.hybris.tools.remote.RemoteConnectionUtil;
-import com.intellij.idea.plugin.hybris.tools.remote.http.flexibleSearch.TableBuilder;
+import com.intellij.idea.plugin.hybris.tools.remote.http.flexibleSearch.FlexibleSearchResultReader;
+import com.intellij.idea.plugin.hybris.tools.remote.http.flexibleSearch.FlexibleSearchResultTable;
 import com.intellij.idea.plugin.hybris.tools.remote.http.impex.HybrisHttpResult;
 import com.intellij.idea.plugin.hybris.tools.remote.http.solr.SolrQueryObject;
 import com.intellij.idea.plugin.hybris.tools.remote.http.solr.impl.SolrHttpClient;
 import com.intellij.openapi.components.Service;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.StatusLine;
 import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.util.EntityUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jsoup.Jsoup;
@@ -177,47 +181,52 @@ public final class HybrisHacHttpClient extends AbstractHybrisHacHttpClient {
         HybrisHttpResult.HybrisHttpResultBuilder resultBuilder = createResult();
         final String actionUrl = settings.getGeneratedURL() + "/console/flexsearch/execute";
 
-        final HttpResponse response = post(project, actionUrl, params, true, DEFAULT_HAC_TIMEOUT, settings);
+        // result may contain a lot of rows, so it is read directly from the connection without buffering
+        final HttpResponse response = post(project, actionUrl, params, true, DEFAULT_HAC_TIMEOUT, settings, false);
         final StatusLine statusLine = response.getStatusLine();
         resultBuilder = resultBuilder.httpCode(statusLine.getStatusCode());
         if (statusLine.getStatusCode() != SC_OK || response.getEntity() == null) {
+            EntityUtils.consumeQuietly(response.getEntity());
             return resultBuilder.errorMessage("[" + statusLine.getStatusCode() + "] " +
                 statusLine.getReasonPhrase()).build();
         }
-        final Document document;
-        try {
-            document = parse(response.getEntity().getContent(), StandardCharsets.UTF_8.name(), "");
-        } catch (final IOException e) {
-            return resultBuilder.errorMessage(e.getMessage() + ' ' + actionUrl).httpCode(SC_BAD_REQUEST).build();
-        }
-        final Elements fsResultStatus = document.getElementsByTag("body");
-        if (fsResultStatus == null) {
-            return resultBuilder.errorMessage("No data in response").build();
-        }
-        final Map json = parseResponse(fsResultStatus);
-
-        if (json == null) {
+        final FlexibleSearchResultReader.Result fsResult;
+        try (final var content = response.getEntity().getContent()) {
+            fsResult = FlexibleSearchResultReader.read(content);
+        } catch (final MalformedJsonException | IllegalStateException e) {
+            LOG.warn("Cannot parse response", e);
             return createResult()
                 .errorMessage("Cannot parse response from the server...")
                 .build();
+        } catch (final IOException e) {
+            return resultBuilder.errorMessage(e.getMessage() + ' ' + actionUrl).httpCode(SC_BAD_REQUEST).build();
         }
 
-        if (json.get("exception") != null) {
+        final FlexibleSearchResultTable table = fsResult.getTable();
+        if (fsResult.getExceptionMessage() != null) {
+            Disposer.dispose(table);
             return createResult()
-                .errorMessage(((Map<String, Object>) json.get("exception")).get("message").toString())
+                .errorMessage(fsResult.getExceptionMessage())
                 .build();
         }
 
+        // only the first page is rendered, next pages are rendered on demand by the console, which owns the table
+        final String firstPage;
+        try {
+            firstPage = table.renderPage(0);
+        } catch (final IOException e) {
+            Disposer.dispose(table);
+            return resultBuilder.errorMessage(e.getMessage()).httpCode(SC_BAD_REQUEST).build();
+        }
 
-        final TableBuilder tableBuilder = new TableBuilder();
-
-        final List<String> headers = (List<String>) json.get("headers");
-        final List<List<String>> resultList = (List<List<String>>) json.get("resultList");
-
-        tableBuilder.addRow(headers.toArray(new String[]{}));
-        resultList.forEach(row -> tableBuilder.addRow(row.toArray(new String[]{})));
+        // single page result is already rendered, so rows are not needed anymore
+        final boolean paged = table.getPagesCount() > 1;
+        if (!paged) Disposer.dispose(table);
 
-        return resultBuilder.output(tableBuilder.toString()).build();
+        return resultBuilder
+            .output(firstPage)
+            .resultTable(paged ? table : null)
+            .build();
     }
 
     public @NotNull
@@ -0,0 +1,57 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.intellij.idea.plugin.hybris.tools.remote.http;
+
+/**
+ * Latency statistics of the HTTP requests sent to a single remote connection.
+ */
+public final class HybrisHacRequestMetrics {
+
+    private long requests;
+    private long totalMillis;
+    private long lastMillis;
+    private long maxMillis;
+
+    synchronized void record(final long millis) {
+        requests++;
+        totalMillis += millis;
+        lastMillis = millis;
+        maxMillis = Math.max(maxMillis, millis);
+    }
+
+    public synchronized long getRequests() {
+        return requests;
+    }
+
+    public synchronized long getLastMillis() {
+        return lastMillis;
+    }
+
+    public synchronized long getMaxMillis() {
+        return maxMillis;
+    }
+
+    public synchronized long getAverageMillis() {
+        return requests == 0 ? 0 : totalMillis / requests;
+    }
+
+    public synchronized String getPresentableText() {
+        return "last: " + lastMillis + " ms, avg: " + getAverageMillis() + " ms, max: " + maxMillis + " ms, requests: " + requests;
+    }
+}
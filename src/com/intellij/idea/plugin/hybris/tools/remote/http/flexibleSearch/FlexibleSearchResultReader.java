@@ -0,0 +1,155 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.intellij.idea.plugin.hybris.tools.remote.http.flexibleSearch;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader of the HAC FlexibleSearch response.
+ * <p>
+ * Only <code>headers</code>, <code>resultList</code> and <code>exception</code> are read, all other properties are skipped,
+ * so no intermediate document or generic map is created for the whole response.
+ * Rows are not kept in memory, they are passed to the {@link FlexibleSearchResultTable} as soon as they are read.
+ */
+public final class FlexibleSearchResultReader {
+
+    private FlexibleSearchResultReader() {
+    }
+
+    /**
+     * @throws IOException           on I/O or JSON syntax errors
+     * @throws IllegalStateException on unexpected JSON structure
+     */
+    @NotNull
+    public static Result read(@NotNull final InputStream content) throws IOException {
+        String exceptionMessage = null;
+
+        try (final FlexibleSearchResultTable.Builder table = new FlexibleSearchResultTable.Builder();
+             final JsonReader reader = new JsonReader(new InputStreamReader(content, StandardCharsets.UTF_8))) {
+            reader.beginObject();
+
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "headers" -> table.setHeaders(readRow(reader));
+                    case "resultList" -> {
+                        if (reader.peek() == JsonToken.NULL) {
+                            reader.nextNull();
+                        } else {
+                            reader.beginArray();
+                            while (reader.hasNext()) {
+                                table.addRow(readRow(reader));
+                            }
+                            reader.endArray();
+                        }
+                    }
+                    case "exception" -> exceptionMessage = readExceptionMessage(reader);
+                    default -> reader.skipValue();
+                }
+            }
+
+            reader.endObject();
+
+            return new Result(exceptionMessage, table.build());
+        }
+    }
+
+    private static String[] readRow(final JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return new String[0];
+        }
+
+        final List<String> values = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            values.add(readValue(reader));
+        }
+        reader.endArray();
+
+        return values.toArray(new String[0]);
+    }
+
+    @Nullable
+    private static String readValue(final JsonReader reader) throws IOException {
+        return switch (reader.peek()) {
+            case STRING, NUMBER -> reader.nextString();
+            case BOOLEAN -> String.valueOf(reader.nextBoolean());
+            case NULL -> {
+                reader.nextNull();
+                yield null;
+            }
+            default -> {
+                reader.skipValue();
+                yield null;
+            }
+        };
+    }
+
+    @Nullable
+    private static String readExceptionMessage(final JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+
+        String message = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("message".equals(reader.nextName())) {
+                message = readValue(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return message != null ? message : "Unknown FlexibleSearch error";
+    }
+
+    public static final class Result {
+
+        private final String exceptionMessage;
+        private final FlexibleSearchResultTable table;
+
+        private Result(@Nullable final String exceptionMessage, @NotNull final FlexibleSearchResultTable table) {
+            this.exceptionMessage = exceptionMessage;
+            this.table = table;
+        }
+
+        @Nullable
+        public String getExceptionMessage() {
+            return exceptionMessage;
+        }
+
+        @NotNull
+        public FlexibleSearchResultTable getTable() {
+            return table;
+        }
+    }
+}
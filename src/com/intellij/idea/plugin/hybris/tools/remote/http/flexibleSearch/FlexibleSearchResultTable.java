@@ -0,0 +1,205 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.tools.remote.http.flexibleSearch;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.io.IOUtil;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Paged table model of the FlexibleSearch result.
+ * <p>
+ * Rows are spooled to a temporary file while the response is read, so only the requested page is loaded into memory.
+ * Column widths are calculated once for all rows, so separately rendered pages stay aligned, the first page includes headers.
+ * Temporary file is deleted on dispose, after that pages cannot be rendered anymore.
+ */
+public class FlexibleSearchResultTable implements Disposable {
+
+    public static final int PAGE_SIZE = 500;
+
+    private final String[] headers;
+    private final int[] columnWidths;
+    private final int rowsCount;
+    private final long[] pageOffsets;
+    private final File rowsFile;
+    private boolean disposed;
+
+    private FlexibleSearchResultTable(
+        @NotNull final String[] headers,
+        @NotNull final int[] columnWidths,
+        final int rowsCount,
+        @NotNull final long[] pageOffsets,
+        @NotNull final File rowsFile
+    ) {
+        this.headers = headers;
+        this.columnWidths = columnWidths;
+        this.rowsCount = rowsCount;
+        this.pageOffsets = pageOffsets;
+        this.rowsFile = rowsFile;
+    }
+
+    public int getRowsCount() {
+        return rowsCount;
+    }
+
+    public int getPagesCount() {
+        return Math.max(1, pageOffsets.length);
+    }
+
+    public int getRemainingRowsCount(final int page) {
+        return Math.max(0, rowsCount - page * PAGE_SIZE);
+    }
+
+    /**
+     * @throws IOException if the rows cannot be read or the table is already disposed
+     */
+    @NotNull
+    public synchronized String renderPage(final int page) throws IOException {
+        if (disposed) throw new IOException("Result is no longer available, please execute the query again");
+
+        final StringBuilder buf = new StringBuilder();
+
+        if (page == 0) appendRow(buf, headers);
+        if (page >= pageOffsets.length) return buf.toString();
+
+        try (final FileChannel channel = FileChannel.open(rowsFile.toPath(), StandardOpenOption.READ)) {
+            channel.position(pageOffsets[page]);
+
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            final int pageRows = Math.min(PAGE_SIZE, rowsCount - page * PAGE_SIZE);
+            for (int rowNum = 0; rowNum < pageRows; rowNum++) {
+                appendRow(buf, readRow(in));
+            }
+        }
+
+        return buf.toString();
+    }
+
+    @Override
+    public synchronized void dispose() {
+        disposed = true;
+        FileUtil.delete(rowsFile);
+    }
+
+    private void appendRow(final StringBuilder buf, final String[] row) {
+        for (int colNum = 0; colNum < row.length; colNum++) {
+            buf.append(StringUtils.rightPad(StringUtils.defaultString(row[colNum]), columnWidths[colNum]));
+            buf.append("| ");
+        }
+
+        buf.append('\n');
+    }
+
+    private static void writeRow(final DataOutputStream out, final String[] row) throws IOException {
+        out.writeInt(row.length);
+        for (final String value : row) {
+            out.writeBoolean(value != null);
+            if (value != null) IOUtil.writeUTF(out, value);
+        }
+    }
+
+    private static String[] readRow(final DataInputStream in) throws IOException {
+        final String[] row = new String[in.readInt()];
+        for (int colNum = 0; colNum < row.length; colNum++) {
+            row[colNum] = in.readBoolean() ? IOUtil.readUTF(in) : null;
+        }
+        return row;
+    }
+
+    /**
+     * Writes rows to the temporary file and tracks column widths and offsets of the pages.
+     * <p>
+     * If the table is not built, for example, because of the malformed response, the temporary file is deleted on close.
+     */
+    static final class Builder implements Closeable {
+
+        private final File rowsFile;
+        private final FileOutputStream fileOut;
+        private final DataOutputStream out;
+        private final List<Long> pageOffsets = new ArrayList<>();
+        private String[] headers = new String[0];
+        private int[] columnWidths = new int[0];
+        private int rowsCount;
+        private boolean built;
+
+        Builder() throws IOException {
+            rowsFile = FileUtil.createTempFile("flexibleSearch", ".rows", true);
+            fileOut = new FileOutputStream(rowsFile);
+            out = new DataOutputStream(new BufferedOutputStream(fileOut));
+        }
+
+        void setHeaders(@NotNull final String[] headers) {
+            this.headers = headers;
+            updateWidths(headers);
+        }
+
+        void addRow(@NotNull final String[] row) throws IOException {
+            if (rowsCount % PAGE_SIZE == 0) {
+                out.flush();
+                pageOffsets.add(fileOut.getChannel().position());
+            }
+
+            writeRow(out, row);
+            updateWidths(row);
+            rowsCount++;
+        }
+
+        @NotNull
+        FlexibleSearchResultTable build() throws IOException {
+            out.close();
+            built = true;
+
+            return new FlexibleSearchResultTable(
+                headers,
+                columnWidths,
+                rowsCount,
+                pageOffsets.stream().mapToLong(Long::longValue).toArray(),
+                rowsFile
+            );
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (built) return;
+
+            out.close();
+            FileUtil.delete(rowsFile);
+        }
+
+        private void updateWidths(final String[] row) {
+            if (columnWidths.length < row.length) {
+                final int[] widths = new int[row.length];
+                System.arraycopy(columnWidths, 0, widths, 0, columnWidths.length);
+                columnWidths = widths;
+            }
+
+            for (int colNum = 0; colNum < row.length; colNum++) {
+                columnWidths[colNum] = Math.max(columnWidths[colNum], StringUtils.length(row[colNum]));
+            }
+        }
+    }
+}
@@ -18,6 +18,8 @@
 
 package com.intellij.idea.plugin.hybris.tools.remote.http.impex;
 
+import com.intellij.idea.plugin.hybris.tools.remote.http.flexibleSearch.FlexibleSearchResultTable;
+
 import static com.intellij.openapi.util.text.StringUtil.isNotEmpty;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.http.HttpStatus.SC_OK;
@@ -30,6 +32,7 @@ public class HybrisHttpResult {
 
     private String output;
     private String result;
+    private FlexibleSearchResultTable resultTable;
     private int statusCode;
 
 
@@ -60,6 +63,10 @@ public class HybrisHttpResult {
         return result;
     }
 
+    public FlexibleSearchResultTable getResultTable() {
+        return resultTable;
+    }
+
     static public class HybrisHttpResultBuilder {
 
         private boolean hasError = false;
@@ -68,6 +75,7 @@ public class HybrisHttpResult {
 
         private String output= EMPTY;
         private String result= EMPTY;
+        private FlexibleSearchResultTable resultTable;
         private int statusCode = SC_OK;
 
         private HybrisHttpResultBuilder() {
@@ -103,6 +111,11 @@ public class HybrisHttpResult {
             return this;
         }
 
+        public HybrisHttpResultBuilder resultTable(final FlexibleSearchResultTable resultTable) {
+            this.resultTable = resultTable;
+            return this;
+        }
+
         public HybrisHttpResultBuilder httpCode(final int statusCode) {
             this.statusCode = statusCode;
             return this;
@@ -116,6 +129,7 @@ public class HybrisHttpResult {
             httpResult.detailMessage = this.detailMessage;
             httpResult.output = this.output;
             httpResult.result = this.result;
+            httpResult.resultTable = this.resultTable;
             httpResult.statusCode = this.statusCode;
 
             return httpResult;
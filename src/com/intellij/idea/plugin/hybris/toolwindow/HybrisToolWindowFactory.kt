@@ -21,6 +21,7 @@ import com.intellij.idea.plugin.hybris.common.utils.HybrisIcons
 import com.intellij.idea.plugin.hybris.settings.components.ProjectSettingsComponent
 import com.intellij.idea.plugin.hybris.tools.remote.console.view.HybrisConsolesView
 import com.intellij.idea.plugin.hybris.toolwindow.ccv2.CCv2View
+import com.intellij.idea.plugin.hybris.toolwindow.loggers.RemoteLoggersView
 import com.intellij.idea.plugin.hybris.toolwindow.system.bean.view.BSView
 import com.intellij.idea.plugin.hybris.toolwindow.system.type.view.TSView
 import com.intellij.openapi.project.DumbAware
@@ -40,6 +41,7 @@ class HybrisToolWindowFactory : ToolWindowFactory, DumbAware {
             createBSContent(toolWindow, BSView(project)),
             createConsolesContent(toolWindow, project, HybrisConsolesView(project)),
             createCCv2CLIContent(toolWindow, project, CCv2View(project)),
+            createLoggersContent(toolWindow, RemoteLoggersView(project)),
         ).forEach { toolWindow.contentManager.addContent(it) }
     }
 
@@ -86,11 +88,22 @@ class HybrisToolWindowFactory : ToolWindowFactory, DumbAware {
         this
     }
 
+    private fun createLoggersContent(toolWindow: ToolWindow, panel: RemoteLoggersView) = with(toolWindow.contentManager.factory.createContent(panel, LOGGERS_ID, true)) {
+        Disposer.register(toolWindow.disposable, panel)
+
+        isCloseable = false
+        icon = HybrisIcons.Log.Level.ALL
+        putUserData(ToolWindow.SHOW_CONTENT_ICON, true)
+
+        this
+    }
+
     companion object {
         const val ID = "SAP CX"
         const val CONSOLES_ID = "Consoles"
         const val TS_ID = "Type System"
         const val BS_ID = "Bean System"
         const val CCV2 = "CCv2"
+        const val LOGGERS_ID = "Loggers"
     }
 }
\ No newline at end of file
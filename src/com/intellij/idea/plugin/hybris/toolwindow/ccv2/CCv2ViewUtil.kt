@@ -18,11 +18,14 @@
 
 package com.intellij.idea.plugin.hybris.toolwindow.ccv2
 
+import com.intellij.idea.plugin.hybris.common.utils.HybrisIcons.CCv2.Build.Actions.DOWNLOAD_LOGS
 import com.intellij.idea.plugin.hybris.common.utils.HybrisIcons.CCv2.Build.Actions.SHOW_DETAILS
 import com.intellij.idea.plugin.hybris.settings.CCv2Subscription
 import com.intellij.idea.plugin.hybris.tools.ccv2.dto.CCv2BuildDto
+import com.intellij.idea.plugin.hybris.tools.ccv2.logs.CCv2BuildLogArchive
 import com.intellij.idea.plugin.hybris.toolwindow.HybrisToolWindowFactory
 import com.intellij.idea.plugin.hybris.toolwindow.ccv2.views.CCv2BuildDetailsView
+import com.intellij.idea.plugin.hybris.toolwindow.ccv2.views.CCv2BuildLogsView
 import com.intellij.openapi.project.Project
 import com.intellij.openapi.util.Disposer
 import com.intellij.openapi.wm.ToolWindow
@@ -49,4 +52,26 @@ object CCv2ViewUtil {
         contentManager.addContent(content)
         contentManager.setSelectedContent(content)
     }
-}
\ No newline at end of file
+
+    fun showBuildLogsTab(project: Project, build: CCv2BuildDto, archive: CCv2BuildLogArchive) {
+        val toolWindow = ToolWindowManager.getInstance(project)
+            .getToolWindow(HybrisToolWindowFactory.ID)
+            ?: return archive.close()
+        val contentManager = toolWindow.contentManager
+        val panel = CCv2BuildLogsView(project, build, archive)
+        val content = contentManager.factory
+            .createContent(panel, "${build.code} - Logs", true)
+            .also {
+                it.isCloseable = true
+                it.isPinnable = true
+                it.icon = DOWNLOAD_LOGS
+                it.putUserData(ToolWindow.SHOW_CONTENT_ICON, true)
+                it.setDisposer(panel)
+            }
+
+        Disposer.register(toolWindow.disposable, panel)
+
+        contentManager.addContent(content)
+        contentManager.setSelectedContent(content)
+    }
+}
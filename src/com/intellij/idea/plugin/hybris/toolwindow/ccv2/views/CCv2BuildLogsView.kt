@@ -0,0 +1,242 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.toolwindow.ccv2.views
+
+import com.intellij.icons.AllIcons
+import com.intellij.idea.plugin.hybris.common.utils.HybrisI18NBundleUtils.message
+import com.intellij.idea.plugin.hybris.tools.ccv2.dto.CCv2BuildDto
+import com.intellij.idea.plugin.hybris.tools.ccv2.logs.CCv2BuildLogArchive
+import com.intellij.idea.plugin.hybris.tools.ccv2.logs.CCv2BuildLogIndex
+import com.intellij.openapi.Disposable
+import com.intellij.openapi.actionSystem.ActionManager
+import com.intellij.openapi.actionSystem.ActionUpdateThread
+import com.intellij.openapi.actionSystem.AnActionEvent
+import com.intellij.openapi.actionSystem.DefaultActionGroup
+import com.intellij.openapi.application.ApplicationManager
+import com.intellij.openapi.application.invokeLater
+import com.intellij.openapi.application.runWriteAction
+import com.intellij.openapi.editor.EditorFactory
+import com.intellij.openapi.editor.LogicalPosition
+import com.intellij.openapi.editor.ScrollType
+import com.intellij.openapi.progress.ProcessCanceledException
+import com.intellij.openapi.progress.runBackgroundableTask
+import com.intellij.openapi.project.DumbAwareAction
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.ui.SimpleToolWindowPanel
+import com.intellij.ui.*
+import com.intellij.ui.components.JBLabel
+import com.intellij.ui.components.JBList
+import com.intellij.ui.components.JBPanel
+import com.intellij.util.ui.JBUI
+import java.awt.BorderLayout
+import java.io.Serial
+import javax.swing.JList
+import javax.swing.ListSelectionModel
+
+/**
+ * Viewer of the CCv2 build logs, which never loads the whole log.
+ *
+ * Each log entry is indexed in the background, index is used to page [PAGE_LINES] lines into the viewer
+ * and to navigate to the errors, warnings and failed tasks.
+ */
+class CCv2BuildLogsView(
+    private val project: Project,
+    private val build: CCv2BuildDto,
+    private val archive: CCv2BuildLogArchive
+) : SimpleToolWindowPanel(false, true), Disposable {
+
+    private val document = EditorFactory.getInstance().createDocument("")
+    private val editor = EditorFactory.getInstance().createViewer(document, project)
+    private val entriesList = JBList(archive.entryNames)
+    private val hitsModel = CollectionListModel<CCv2BuildLogIndex.Hit>()
+    private val hitsList = JBList(hitsModel)
+    private val pageLabel = JBLabel()
+
+    @Volatile
+    private var disposed = false
+    private var currentEntry: String? = null
+    private var currentPage = 0
+
+    init {
+        installToolbar()
+        initPanel()
+        indexInBackground()
+
+        if (archive.entryNames.isNotEmpty()) entriesList.selectedIndex = 0
+    }
+
+    override fun dispose() {
+        disposed = true
+        EditorFactory.getInstance().releaseEditor(editor)
+        archive.close()
+    }
+
+    private fun installToolbar() {
+        val toolbar = with(DefaultActionGroup()) {
+            add(PreviousPageAction())
+            add(NextPageAction())
+
+            ActionManager.getInstance().createActionToolbar("SAP_CX_CCv2_BUILD_LOGS_${System.identityHashCode(build)}", this, false)
+        }
+        toolbar.targetComponent = this
+        setToolbar(toolbar.component)
+    }
+
+    private fun initPanel() {
+        entriesList.selectionMode = ListSelectionModel.SINGLE_SELECTION
+        entriesList.cellRenderer = object : ColoredListCellRenderer<String>() {
+            @Serial
+            private val serialVersionUID: Long = -1722464758720286531L
+
+            override fun customizeCellRenderer(list: JList<out String>, value: String, index: Int, selected: Boolean, hasFocus: Boolean) {
+                append(value)
+
+                val logIndex = archive.getIndex(value)
+                if (logIndex == null) {
+                    append("  " + message("hybris.toolwindow.ccv2.build.logs.indexing"), SimpleTextAttributes.GRAYED_ATTRIBUTES)
+                } else {
+                    if (logIndex.errorsCount > 0) append("  " + message("hybris.toolwindow.ccv2.build.logs.errors", logIndex.errorsCount), SimpleTextAttributes.ERROR_ATTRIBUTES)
+                    if (logIndex.warningsCount > 0) append("  " + message("hybris.toolwindow.ccv2.build.logs.warnings", logIndex.warningsCount), SimpleTextAttributes.GRAYED_ATTRIBUTES)
+                }
+            }
+        }
+        entriesList.addListSelectionListener {
+            if (!it.valueIsAdjusting) entriesList.selectedValue?.let { entryName -> showEntry(entryName) }
+        }
+
+        hitsList.selectionMode = ListSelectionModel.SINGLE_SELECTION
+        hitsList.cellRenderer = object : ColoredListCellRenderer<CCv2BuildLogIndex.Hit>() {
+            @Serial
+            private val serialVersionUID: Long = 4398472361085231190L
+
+            override fun customizeCellRenderer(list: JList<out CCv2BuildLogIndex.Hit>, value: CCv2BuildLogIndex.Hit, index: Int, selected: Boolean, hasFocus: Boolean) {
+                icon = when (value.kind) {
+                    CCv2BuildLogIndex.HitKind.FAILED_TASK, CCv2BuildLogIndex.HitKind.ERROR -> AllIcons.General.Error
+                    CCv2BuildLogIndex.HitKind.WARN -> AllIcons.General.Warning
+                }
+                append("${value.line + 1}: ", SimpleTextAttributes.GRAYED_ATTRIBUTES)
+                append(value.text.take(300))
+            }
+        }
+        hitsList.addListSelectionListener {
+            if (!it.valueIsAdjusting) hitsList.selectedValue?.let { hit -> showLine(hit.line) }
+        }
+
+        val logPanel = JBPanel<JBPanel<*>>(BorderLayout()).apply {
+            add(pageLabel.apply { border = JBUI.Borders.empty(4, 8) }, BorderLayout.NORTH)
+            add(editor.component, BorderLayout.CENTER)
+        }
+        val contentSplitter = OnePixelSplitter(true, 0.75f).apply {
+            firstComponent = logPanel
+            secondComponent = ScrollPaneFactory.createScrollPane(hitsList, true)
+        }
+
+        add(OnePixelSplitter(false, 0.2f).apply {
+            firstComponent = ScrollPaneFactory.createScrollPane(entriesList, true)
+            secondComponent = contentSplitter
+        })
+    }
+
+    private fun indexInBackground() = runBackgroundableTask(message("hybris.toolwindow.ccv2.build.logs.indexing.title", build.code), project) { indicator ->
+        try {
+            archive.entryNames.forEach { entryName ->
+                indicator.text2 = entryName
+                archive.index(entryName) {
+                    indicator.checkCanceled()
+                    if (disposed) throw ProcessCanceledException()
+                }
+
+                invokeLater {
+                    if (disposed) return@invokeLater
+
+                    entriesList.repaint()
+                    if (entryName == currentEntry) showEntry(entryName)
+                }
+            }
+        } catch (e: RuntimeException) {
+            // archive is closed together with the view
+            if (!disposed) throw e
+        }
+    }
+
+    private fun showEntry(entryName: String) {
+        currentEntry = entryName
+        hitsModel.replaceAll(archive.getIndex(entryName)?.hits ?: emptyList())
+        showPage(0)
+    }
+
+    private fun showLine(line: Int) = showPage(line / PAGE_LINES, line % PAGE_LINES)
+
+    private fun showPage(page: Int, lineOnPage: Int = 0) {
+        val entryName = currentEntry ?: return
+        val index = archive.getIndex(entryName)
+
+        if (index == null) {
+            pageLabel.text = message("hybris.toolwindow.ccv2.build.logs.entry.indexing", entryName)
+            setText("")
+            return
+        }
+
+        currentPage = page.coerceIn(0, maxOf(0, (index.lineCount - 1) / PAGE_LINES))
+        val fromLine = currentPage * PAGE_LINES
+        val toLine = minOf(index.lineCount, fromLine + PAGE_LINES)
+
+        ApplicationManager.getApplication().executeOnPooledThread {
+            if (disposed) return@executeOnPooledThread
+
+            val text = archive.readLines(index, fromLine, toLine)
+
+            invokeLater {
+                if (disposed || entryName != currentEntry) return@invokeLater
+
+                pageLabel.text = message("hybris.toolwindow.ccv2.build.logs.page", fromLine + 1, toLine, index.lineCount)
+                setText(text)
+
+                editor.caretModel.moveToLogicalPosition(LogicalPosition(lineOnPage, 0))
+                editor.scrollingModel.scrollToCaret(ScrollType.CENTER)
+            }
+        }
+    }
+
+    private fun setText(text: String) = runWriteAction { document.setText(text) }
+
+    private inner class PreviousPageAction : DumbAwareAction(message("hybris.toolwindow.ccv2.build.logs.action.previous_page.text"), null, AllIcons.Actions.Back) {
+        override fun getActionUpdateThread() = ActionUpdateThread.EDT
+        override fun actionPerformed(e: AnActionEvent) = showPage(currentPage - 1)
+        override fun update(e: AnActionEvent) {
+            e.presentation.isEnabled = currentPage > 0
+        }
+    }
+
+    private inner class NextPageAction : DumbAwareAction(message("hybris.toolwindow.ccv2.build.logs.action.next_page.text"), null, AllIcons.Actions.Forward) {
+        override fun getActionUpdateThread() = ActionUpdateThread.EDT
+        override fun actionPerformed(e: AnActionEvent) = showPage(currentPage + 1)
+        override fun update(e: AnActionEvent) {
+            e.presentation.isEnabled = currentEntry
+                ?.let { archive.getIndex(it) }
+                ?.let { (currentPage + 1) * PAGE_LINES < it.lineCount }
+                ?: false
+        }
+    }
+
+    companion object {
+        @Serial
+        private val serialVersionUID: Long = -4157368742127356092L
+        private const val PAGE_LINES = 2000
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.toolwindow.loggers
+
+import com.intellij.icons.AllIcons
+import com.intellij.idea.plugin.hybris.common.utils.HybrisIcons
+import com.intellij.idea.plugin.hybris.tools.logging.RemoteLoggersListener
+import com.intellij.idea.plugin.hybris.tools.logging.RemoteLoggersService
+import com.intellij.idea.plugin.hybris.tools.logging.RemoteLoggersSnapshot
+import com.intellij.openapi.Disposable
+import com.intellij.openapi.actionSystem.ActionManager
+import com.intellij.openapi.actionSystem.ActionUpdateThread
+import com.intellij.openapi.actionSystem.AnActionEvent
+import com.intellij.openapi.actionSystem.DefaultActionGroup
+import com.intellij.openapi.application.invokeLater
+import com.intellij.openapi.project.DumbAwareAction
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.ui.SimpleToolWindowPanel
+import com.intellij.ui.DocumentAdapter
+import com.intellij.ui.ScrollPaneFactory
+import com.intellij.ui.SearchTextField
+import com.intellij.ui.table.TableView
+import com.intellij.util.ui.ColumnInfo
+import com.intellij.util.ui.ListTableModel
+import com.intellij.util.ui.update.UiNotifyConnector
+import java.awt.BorderLayout
+import java.io.Serial
+import javax.swing.Icon
+import javax.swing.ListSelectionModel
+import javax.swing.event.DocumentEvent
+
+/**
+ * Loggers of the active HAC connection, backed by the [RemoteLoggersService] snapshot.
+ *
+ * Level chosen in the toolbar is applied to all selected loggers within one request,
+ * without selection it is applied to the logger named in the filter field.
+ */
+class RemoteLoggersView(val project: Project) : SimpleToolWindowPanel(false, true), Disposable {
+
+    private val service = RemoteLoggersService.getInstance(project)
+    private val model = ListTableModel<LoggerRow>(NAME_COLUMN, LEVEL_COLUMN)
+    private val table = TableView(model)
+    private val filter = SearchTextField(false)
+
+    @Volatile
+    private var fetching = false
+
+    override fun dispose() = Unit
+
+    init {
+        table.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION)
+        table.setShowGrid(false)
+
+        filter.addDocumentListener(object : DocumentAdapter() {
+            override fun textChanged(e: DocumentEvent) = showSnapshot(service.getSnapshot())
+        })
+
+        add(ScrollPaneFactory.createScrollPane(table, true))
+        add(filter, BorderLayout.NORTH)
+
+        installToolbar()
+        installListeners()
+
+        // loggers are fetched only once the tab is opened, not on the tool window creation
+        UiNotifyConnector.doWhenFirstShown(this) {
+            val snapshot = service.getSnapshot()
+            if (snapshot == null) service.fetchLoggers()
+            else showSnapshot(snapshot)
+        }
+    }
+
+    private fun installToolbar() {
+        val toolbar = with(DefaultActionGroup()) {
+            add(RefreshAction())
+            add(UndoAction())
+            addSeparator()
+            LEVELS.forEach { (level, icon) -> add(SetLevelAction(level, icon)) }
+
+            ActionManager.getInstance().createActionToolbar(PLACE, this, false)
+        }
+        toolbar.targetComponent = this
+        setToolbar(toolbar.component)
+    }
+
+    private fun installListeners() {
+        project.messageBus.connect(this).subscribe(RemoteLoggersService.TOPIC_LOGGERS, object : RemoteLoggersListener {
+            override fun onFetchingStarted() {
+                fetching = true
+            }
+
+            override fun onLoggersUpdated(snapshot: RemoteLoggersSnapshot?) = invokeLater {
+                fetching = false
+                showSnapshot(snapshot)
+            }
+        })
+    }
+
+    private fun showSnapshot(snapshot: RemoteLoggersSnapshot?) {
+        val selectedNames = table.selectedObjects.map { it.name }.toSet()
+        val query = filter.text.trim()
+
+        model.items = snapshot?.levels
+            ?.filterKeys { query.isEmpty() || it.contains(query, true) }
+            ?.map { (name, level) -> LoggerRow(name, level) }
+            ?.sortedBy { it.name }
+            ?: emptyList()
+
+        table.selection = model.items.filter { it.name in selectedNames }
+        table.emptyText.text = if (snapshot == null) "Loggers are not fetched" else "No loggers"
+    }
+
+    private inner class RefreshAction : DumbAwareAction("Refresh", "Fetch all loggers of the active connection", AllIcons.Actions.Refresh) {
+        override fun getActionUpdateThread() = ActionUpdateThread.EDT
+        override fun actionPerformed(e: AnActionEvent) = service.fetchLoggers()
+        override fun update(e: AnActionEvent) {
+            e.presentation.isEnabled = !fetching
+        }
+    }
+
+    private inner class UndoAction : DumbAwareAction("Undo Last Change", "Revert levels changed by the last batch", AllIcons.Actions.Undo) {
+        override fun getActionUpdateThread() = ActionUpdateThread.EDT
+        override fun actionPerformed(e: AnActionEvent) = service.undoLastBatch()
+        override fun update(e: AnActionEvent) {
+            e.presentation.isEnabled = !fetching && service.canUndo()
+        }
+    }
+
+    private inner class SetLevelAction(private val level: String, icon: Icon) : DumbAwareAction(level, "Set $level level to the selected loggers", icon) {
+        override fun getActionUpdateThread() = ActionUpdateThread.EDT
+
+        override fun actionPerformed(e: AnActionEvent) {
+            val names = table.selectedObjects.map { it.name }
+                .ifEmpty { listOfNotNull(filter.text.trim().takeIf { it.isNotEmpty() }) }
+
+            service.updateLevels(names.associateWith { level })
+        }
+
+        override fun update(e: AnActionEvent) {
+            e.presentation.isEnabled = !fetching && (table.selectedObjects.isNotEmpty() || filter.text.isNotBlank())
+        }
+    }
+
+    data class LoggerRow(val name: String, val level: String)
+
+    companion object {
+        @Serial
+        private val serialVersionUID: Long = 3274652130472390843L
+        private const val PLACE = "SAP_CX_REMOTE_LOGGERS"
+
+        private val LEVELS = listOf(
+            "OFF" to HybrisIcons.Log.Level.OFF,
+            "ALL" to HybrisIcons.Log.Level.ALL,
+            "TRACE" to HybrisIcons.Log.Level.TRACE,
+            "DEBUG" to HybrisIcons.Log.Level.DEBUG,
+            "INFO" to HybrisIcons.Log.Level.INFO,
+            "WARN" to HybrisIcons.Log.Level.WARN,
+            "ERROR" to HybrisIcons.Log.Level.ERROR,
+            "FATAL" to HybrisIcons.Log.Level.FATAL,
+        )
+
+        private val NAME_COLUMN = object : ColumnInfo<LoggerRow, String>("Logger") {
+            override fun valueOf(item: LoggerRow) = item.name.ifEmpty { "<root>" }
+        }
+        private val LEVEL_COLUMN = object : ColumnInfo<LoggerRow, String>("Level") {
+            override fun valueOf(item: LoggerRow) = item.level
+            override fun getMaxStringValue() = "TRACE  "
+        }
+    }
+}
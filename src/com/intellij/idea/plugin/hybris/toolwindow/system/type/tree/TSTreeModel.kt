@@ -27,10 +27,18 @@ import com.intellij.util.concurrency.Invoker
 import com.intellij.util.concurrency.InvokerSupplier
 import javax.swing.tree.TreePath
 
+/**
+ * Children of the loaded parents are kept for the current Type System, so a rebuild is applied as a diff:
+ * only loaded parents are re-evaluated, removed and inserted children are reported per parent and retained
+ * children with changed presentation are reported as changed. Tree nodes of the removed subtrees are evicted.
+ *
+ * All state is accessed only on the [Invoker] thread.
+ */
 class TSTreeModel(private val rootTreeNode: TreeNode) : BaseTreeModel<TreeNode>(), Disposable, InvokerSupplier {
 
     private var globalMetaModel: TSGlobalMetaModel? = null
     private val nodes = mutableMapOf<TSNode, TreeNode>()
+    private val loadedChildren = mutableMapOf<TreeNode, List<TreeNode>>()
     private val myInvoker = if (ApplicationManager.getApplication().isUnitTestMode) {
         Invoker.forEventDispatchThread(this)
     } else {
@@ -39,32 +47,96 @@ class TSTreeModel(private val rootTreeNode: TreeNode) : BaseTreeModel<TreeNode>(
 
     override fun getRoot() = rootTreeNode
 
-    override fun getChildren(parent: Any?) = if (parent == rootTreeNode
+    override fun getChildren(parent: Any?): List<TreeNode> {
+        if (parent !is TreeNode) return emptyList()
+
+        return loadedChildren[parent]
+            ?: computeChildren(parent, null)
+                .also { loadedChildren[parent] = it }
+    }
+
+    fun reload(globalMetaModel: TSGlobalMetaModel) {
+        myInvoker.invoke {
+            this.globalMetaModel = globalMetaModel
+
+            if (loadedChildren.isEmpty()) treeStructureChanged(TreePath(root), null, null)
+            else reloadLoadedChildren()
+        }
+    }
+
+    override fun getInvoker() = myInvoker
+
+    override fun dispose() {
+        super.dispose()
+        nodes.clear()
+        loadedChildren.clear()
+    }
+
+    private fun computeChildren(parent: TreeNode, changedNodes: MutableSet<TSNode>?) = if (parent == rootTreeNode
         || (
             globalMetaModel != null
-                && parent is TreeNode
                 && parent.allowsChildren
                 && parent.userObject is TSNode
             )
     ) {
-        ((parent as TreeNode).userObject as TSNode).getChildren(globalMetaModel)
-            .onEach { it.update() }
+        (parent.userObject as TSNode).getChildren(globalMetaModel)
+            .onEach { if (it.update()) changedNodes?.add(it) }
             .map { nodes.computeIfAbsent(it) { tsNode -> TreeNode(tsNode) } }
     } else {
         emptyList()
     }
 
-    fun reload(globalMetaModel: TSGlobalMetaModel) {
-        this.globalMetaModel = globalMetaModel
+    /**
+     * Parents are processed top-down, so a parent always sees already updated state of its ancestors.
+     */
+    private fun reloadLoadedChildren() {
+        val queue = ArrayDeque<TreePath>()
+        queue.add(TreePath(rootTreeNode))
 
-        treeStructureChanged(TreePath(root), null, null)
-    }
+        while (queue.isNotEmpty()) {
+            val parentPath = queue.removeFirst()
+            val parent = parentPath.lastPathComponent as TreeNode
+            val previousChildren = loadedChildren[parent] ?: continue
+            val changedNodes = HashSet<TSNode>()
+            val children = computeChildren(parent, changedNodes)
 
-    override fun getInvoker() = myInvoker
+            loadedChildren[parent] = children
 
-    override fun dispose() {
-        super.dispose()
-        nodes.clear()
+            val retainedChildren = children.toHashSet()
+            val removedChildren = previousChildren.filterNot { it in retainedChildren }
+            if (removedChildren.isNotEmpty()) {
+                val removedIndices = previousChildren.indices
+                    .filter { previousChildren[it] !in retainedChildren }
+                    .toIntArray()
+                removedChildren.forEach { evict(it) }
+                treeNodesRemoved(parentPath, removedIndices, removedChildren.toTypedArray())
+            }
+
+            val previous = previousChildren.toHashSet()
+            val insertedIndices = children.indices
+                .filter { children[it] !in previous }
+                .toIntArray()
+            if (insertedIndices.isNotEmpty()) {
+                treeNodesInserted(parentPath, insertedIndices, insertedIndices.map { children[it] }.toTypedArray())
+            }
+
+            val changedIndices = children.indices
+                .filter { children[it] in previous && children[it].userObject in changedNodes }
+                .toIntArray()
+            if (changedIndices.isNotEmpty()) {
+                treeNodesChanged(parentPath, changedIndices, changedIndices.map { children[it] }.toTypedArray())
+            }
+
+            children
+                .filter { it in previous }
+                .forEach { queue.add(parentPath.pathByAddingChild(it)) }
+        }
+    }
+
+    private fun evict(treeNode: TreeNode) {
+        (treeNode.userObject as? TSNode)?.let { nodes.remove(it) }
+        loadedChildren.remove(treeNode)
+            ?.forEach { evict(it) }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris
+
+import com.intellij.idea.plugin.hybris.settings.components.ProjectSettingsComponent
+import com.intellij.openapi.project.Project
+import com.intellij.psi.PsiFile
+import com.intellij.testFramework.LightProjectDescriptor
+import com.intellij.testFramework.fixtures.CodeInsightTestFixture
+import com.intellij.testFramework.fixtures.IdeaTestFixtureFactory
+import com.intellij.testFramework.fixtures.impl.LightTempDirTestFixtureImpl
+import com.intellij.testFramework.runInEdtAndGet
+import com.intellij.testFramework.runInEdtAndWait
+
+/**
+ * Light project marked as SAP Commerce project, shared by tests and benchmarks.
+ *
+ * Fixture calls are performed on EDT, so it can be used from any test or benchmark thread.
+ */
+class HybrisLightFixture(private val name: String) {
+
+    private lateinit var fixture: CodeInsightTestFixture
+
+    val project: Project
+        get() = fixture.project
+
+    fun setUp() {
+        val factory = IdeaTestFixtureFactory.getFixtureFactory()
+        val projectFixture = factory.createLightFixtureBuilder(LightProjectDescriptor.EMPTY_PROJECT_DESCRIPTOR, name).fixture
+        fixture = factory.createCodeInsightFixture(projectFixture, LightTempDirTestFixtureImpl(true))
+
+        runInEdtAndWait {
+            fixture.setUp()
+            // items.xml and other SAP Commerce specific files are recognized only within the SAP Commerce project
+            ProjectSettingsComponent.getInstance(fixture.project).state.hybrisProject = true
+        }
+    }
+
+    fun tearDown() = runInEdtAndWait { fixture.tearDown() }
+
+    fun addFile(relativePath: String, text: String): PsiFile = runInEdtAndGet { fixture.addFileToProject(relativePath, text) }
+}
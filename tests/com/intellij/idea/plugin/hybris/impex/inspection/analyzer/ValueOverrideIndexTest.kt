@@ -0,0 +1,89 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.intellij.idea.plugin.hybris.impex.inspection.analyzer
+
+import kotlin.random.Random
+import kotlin.test.Test
+import kotlin.test.assertEquals
+
+class ValueOverrideIndexTest {
+
+    private data class Cell(val row: Int, val column: Int)
+
+    private class Table(val keys: List<String>, val values: List<Array<Cell?>>)
+
+    @Test
+    fun test_firstValueOverriddenBySubsequentValues() {
+        val index = ValueOverrideIndex<String, Cell>(2)
+        index.add("a", arrayOf(Cell(0, 0), null))
+        index.add("b", arrayOf(Cell(1, 0), Cell(1, 1)))
+        index.add("a", arrayOf(Cell(2, 0), Cell(2, 1)))
+        index.add("a", arrayOf(Cell(3, 0), null))
+
+        assertEquals(setOf(Cell(0, 0)), index.overridden)
+        assertEquals(setOf(Cell(2, 0), Cell(3, 0)), index.overriding)
+    }
+
+    @Test
+    fun test_sameResultAsPairwiseComparison() {
+        val table = generateTable(rows = 500, columns = 6, distinctKeys = 120, random = Random(42))
+
+        val index = ValueOverrideIndex<String, Cell>(6)
+        table.keys.zip(table.values).forEach { (key, values) -> index.add(key, values) }
+
+        val (errors, warnings) = pairwiseComparison(table)
+
+        assertEquals(errors, index.overridden)
+        assertEquals(warnings, index.overriding)
+    }
+
+    private fun generateTable(rows: Int, columns: Int, distinctKeys: Int, random: Random) = Table(
+        (0 until rows).map { "key_${random.nextInt(distinctKeys)}" },
+        (0 until rows).map { row -> Array(columns) { column -> if (random.nextInt(4) == 0) null else Cell(row, column) } }
+    )
+
+    // previous quadratic implementation, used as a reference
+    private fun pairwiseComparison(table: Table): Pair<Set<Cell>, Set<Cell>> {
+        val errorBag = mutableSetOf<Cell>()
+        val warningBag = mutableSetOf<Cell>()
+
+        table.values.indices
+            .groupBy { table.keys[it] }
+            .forEach { (_, rows) ->
+                rows.forEach { row1 ->
+                    rows.forEach { row2 ->
+                        if (row1 != row2) {
+                            table.values[row1].forEachIndexed { idx, row1Element ->
+                                val row2Element = table.values[row2][idx]
+                                if (row1Element != null && row2Element != null) {
+                                    if (!errorBag.contains(row2Element) && !warningBag.contains(row2Element))
+                                        warningBag.add(row2Element)
+
+                                    if (!errorBag.contains(row1Element) && !warningBag.contains(row1Element))
+                                        errorBag.add(row1Element)
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+
+        return errorBag to warningBag
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.project.indexing
+
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+class ExcludedFromIndexMatcherTest {
+
+    private class Dir(val name: String, vararg val children: Dir)
+
+    private val contentRoot = Dir(
+        "root",
+        Dir(
+            "a",
+            Dir("b", Dir("c")),
+            Dir("c"),
+            Dir("x", Dir("c"), Dir("d")),
+            Dir("y", Dir("c"))
+        ),
+        Dir("node_modules"),
+        Dir("web", Dir("node_modules"), Dir("src", Dir("node_modules"))),
+        Dir("acc", Dir("node_modules"))
+    )
+
+    private fun find(vararg patterns: String) = ExcludedFromIndexMatcher.compile(patterns.toList())
+        .findExcluded(contentRoot to "", { it.first.name }) { (dir, path) ->
+            dir.children.map { it to "$path/${it.name}" }
+        }
+        .map { it.second.removePrefix("/") }
+
+    @Test
+    fun test_plainPattern_matchesExactPath() {
+        assertEquals(listOf("a/b"), find("a/b"))
+        assertEquals(listOf("a/b/c"), find("a/b/c"))
+    }
+
+    @Test
+    fun test_wildcard_matchesSingleDirectory() {
+        assertEquals(listOf("web/node_modules", "acc/node_modules"), find("**/node_modules"))
+    }
+
+    @Test
+    fun test_wildcardInTheMiddle_matchesSingleDirectory() {
+        assertEquals(listOf("a/b/c", "a/x/c", "a/y/c"), find("a/**/c"))
+    }
+
+    @Test
+    fun test_consecutiveWildcards_matchOneDirectoryEach() {
+        assertEquals(listOf("web/src/node_modules"), find("**/**/node_modules"))
+    }
+
+    @Test
+    fun test_nestedPatterns_reportOnlyOuterDirectory() {
+        assertEquals(listOf("a"), find("a", "a/b", "a/**/c"))
+        assertEquals(listOf("a/b", "a/x/c", "a/y/c"), find("a/b", "a/**/c"))
+    }
+
+    @Test
+    fun test_overlappingPatterns_reportDirectoryOnce() {
+        assertEquals(listOf("a/x"), find("a/x", "**/x"))
+    }
+
+    @Test
+    fun test_blankSegmentsAndPatterns_ignored() {
+        assertEquals(listOf("a/b"), find("/a//b/", ""))
+        assertTrue(find().isEmpty())
+        assertEquals(0, ExcludedFromIndexMatcher.compile(listOf("", "/")).maxDepth)
+    }
+
+    @Test
+    fun test_maxDepth_isLongestPattern() {
+        assertEquals(3, ExcludedFromIndexMatcher.compile(listOf("a", "**/**/node_modules", "a/b")).maxDepth)
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.system.cockpitng.meta
+
+import com.intellij.idea.plugin.hybris.HybrisLightFixture
+import com.intellij.openapi.application.runReadAction
+import kotlin.test.*
+
+/**
+ * Incremental merge of the changed Cockpit NG files must produce the same global Meta Model as the full merge.
+ */
+class CngMetaModelMergerTest {
+
+    private val fixture = HybrisLightFixture(javaClass.simpleName)
+
+    @BeforeTest
+    fun setUp() = fixture.setUp()
+
+    @AfterTest
+    fun tearDown() = fixture.tearDown()
+
+    @Test
+    fun test_addFiles() {
+        val previous = process("core", CORE_CONFIG, CORE_WIDGETS, "create" to CORE_CREATE_ACTION)
+        val globalMetaModel = merge(previous)
+        val current = combine(previous, process("custom", CUSTOM_CONFIG, CUSTOM_WIDGETS, "create" to CUSTOM_CREATE_ACTION, "export" to EXPORT_ACTION))
+
+        mergeIncrementally(globalMetaModel, previous, current)
+
+        assertSameMetaModel(merge(current), globalMetaModel)
+        assertEquals(setOf("listview", "editor-area", "custom-view"), globalMetaModel.contextAttributes["component"])
+        assertEquals("Custom Create", globalMetaModel.actionDefinitions["com.hybris.cockpitng.action.create"]?.name)
+        assertNotNull(globalMetaModel.actionDefinitions["com.custom.action.export"])
+        assertNotNull(globalMetaModel.widgets["customPerspective"])
+        assertEquals("com.custom.explorertree", globalMetaModel.widgets["explorerTree"]?.widgetDefinitionId)
+    }
+
+    @Test
+    fun test_removeFiles() {
+        val core = process("core", CORE_CONFIG, CORE_WIDGETS, "create" to CORE_CREATE_ACTION)
+        val previous = combine(core, process("custom", CUSTOM_CONFIG, CUSTOM_WIDGETS, "create" to CUSTOM_CREATE_ACTION, "export" to EXPORT_ACTION))
+        val globalMetaModel = merge(previous)
+
+        mergeIncrementally(globalMetaModel, previous, core)
+
+        assertSameMetaModel(merge(core), globalMetaModel)
+        assertEquals(setOf("listview", "editor-area"), globalMetaModel.contextAttributes["component"])
+        assertEquals("Create", globalMetaModel.actionDefinitions["com.hybris.cockpitng.action.create"]?.name)
+        assertNull(globalMetaModel.actionDefinitions["com.custom.action.export"])
+        assertNull(globalMetaModel.widgets["customPerspective"])
+        assertEquals("com.hybris.cockpitng.widgets.common.explorertree", globalMetaModel.widgets["explorerTree"]?.widgetDefinitionId)
+    }
+
+    @Test
+    fun test_modifyFiles() {
+        val core = process("core", CORE_CONFIG, CORE_WIDGETS, "create" to CORE_CREATE_ACTION)
+        val previous = combine(core, process("custom", CUSTOM_CONFIG, CUSTOM_WIDGETS, "create" to CUSTOM_CREATE_ACTION))
+        val globalMetaModel = merge(previous)
+        val current = combine(core, process("custom", MODIFIED_CUSTOM_CONFIG, MODIFIED_CUSTOM_WIDGETS, "create" to CUSTOM_CREATE_ACTION))
+
+        mergeIncrementally(globalMetaModel, previous, current)
+
+        assertSameMetaModel(merge(current), globalMetaModel)
+        assertEquals(setOf("listview", "editor-area", "advanced-search"), globalMetaModel.contextAttributes["component"])
+        assertEquals(setOf("Product", "ApparelProduct"), globalMetaModel.contextAttributes["type"])
+        assertNull(globalMetaModel.widgets["customPerspective"])
+        assertNotNull(globalMetaModel.widgets["customToolbar"])
+        assertEquals("com.hybris.cockpitng.widgets.common.explorertree", globalMetaModel.widgets["explorerTree"]?.widgetDefinitionId)
+    }
+
+    private fun process(extensionName: String, config: String, widgets: String, vararg actions: Pair<String, String>): CngLocalMetaModels {
+        val processor = CngMetaModelProcessor.getInstance(fixture.project)
+        val configFile = fixture.addFile("$extensionName/resources/$extensionName-backoffice-config.xml", config)
+        val widgetsFile = fixture.addFile("$extensionName/resources/$extensionName-backoffice-widgets.xml", widgets)
+        val actionFiles = actions.map { (name, text) -> fixture.addFile("$extensionName/backoffice/resources/actions/$name/definition.xml", text) }
+
+        return runReadAction {
+            CngLocalMetaModels(
+                configs = listOfNotNull(processor.processConfig(configFile)),
+                actions = actionFiles.map { processor.processActionDefinition(it) ?: fail("${it.virtualFile.path} was not processed") },
+                widgets = listOfNotNull(processor.processWidgets(widgetsFile))
+            )
+        }
+            .also { assertEquals(1, it.configs.size) }
+            .also { assertEquals(1, it.widgets.size) }
+    }
+
+    private fun combine(vararg localMetaModels: CngLocalMetaModels) = CngLocalMetaModels(
+        configs = localMetaModels.flatMap { it.configs },
+        actions = localMetaModels.flatMap { it.actions },
+        widgetDefinitions = localMetaModels.flatMap { it.widgetDefinitions },
+        editors = localMetaModels.flatMap { it.editors },
+        widgets = localMetaModels.flatMap { it.widgets }
+    )
+
+    private fun merge(localMetaModels: CngLocalMetaModels) = CngGlobalMetaModel()
+        .also { CngMetaModelMerger.getInstance(fixture.project).merge(it, localMetaModels) }
+
+    private fun mergeIncrementally(globalMetaModel: CngGlobalMetaModel, previous: CngLocalMetaModels, current: CngLocalMetaModels) =
+        CngMetaModelMerger.getInstance(fixture.project).mergeIncrementally(globalMetaModel, previous, current)
+
+    // Meta instances are shared by both merges, so global values are compared by identity
+    private fun assertSameMetaModel(expected: CngGlobalMetaModel, actual: CngGlobalMetaModel) {
+        assertEquals(expected.contextAttributes.toMap(), actual.contextAttributes.toMap())
+        assertEquals(normalize(expected.actionDefinitions), normalize(actual.actionDefinitions))
+        assertEquals(normalize(expected.widgetDefinitions), normalize(actual.widgetDefinitions))
+        assertEquals(normalize(expected.editorDefinitions), normalize(actual.editorDefinitions))
+        assertEquals(normalize(expected.widgets), normalize(actual.widgets))
+    }
+
+    private fun <T> normalize(globalCache: Map<String, T>) = globalCache.mapKeys { it.key.lowercase() }
+
+    companion object {
+        private const val CORE_CONFIG = """<?xml version="1.0" encoding="UTF-8"?>
+<config xmlns="http://www.hybris.com/cockpit/config">
+    <context type="Product" component="listview"/>
+    <context type="Product" component="editor-area" principal="admin"/>
+</config>"""
+
+        private const val CUSTOM_CONFIG = """<?xml version="1.0" encoding="UTF-8"?>
+<config xmlns="http://www.hybris.com/cockpit/config">
+    <context type="ApparelProduct" component="listview"/>
+    <context type="Shoe" parent="ApparelProduct" component="custom-view"/>
+</config>"""
+
+        private const val MODIFIED_CUSTOM_CONFIG = """<?xml version="1.0" encoding="UTF-8"?>
+<config xmlns="http://www.hybris.com/cockpit/config">
+    <context type="ApparelProduct" component="advanced-search"/>
+</config>"""
+
+        private const val WIDGETS_HEADER = """<?xml version="1.0" encoding="UTF-8"?>
+<widgets xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance" xsi:noNamespaceSchemaLocation="http://www.hybris.com/schema/cockpitng/widgets.xsd">"""
+
+        private const val CORE_WIDGETS = """$WIDGETS_HEADER
+    <widget id="backofficeMainSlot" widgetDefinitionId="com.hybris.cockpitng.borderlayout">
+        <widget id="explorerTree" widgetDefinitionId="com.hybris.cockpitng.widgets.common.explorertree" slotId="leftSlot"/>
+    </widget>
+</widgets>"""
+
+        private const val CUSTOM_WIDGETS = """$WIDGETS_HEADER
+    <widget-extension widgetId="backofficeMainSlot">
+        <widget id="customPerspective" widgetDefinitionId="com.custom.perspective" slotId="perspectives"/>
+    </widget-extension>
+    <widget id="explorerTree" widgetDefinitionId="com.custom.explorertree" slotId="leftSlot"/>
+</widgets>"""
+
+        private const val MODIFIED_CUSTOM_WIDGETS = """$WIDGETS_HEADER
+    <widget-extension widgetId="backofficeMainSlot">
+        <widget id="customToolbar" widgetDefinitionId="com.custom.toolbar" slotId="toolbar"/>
+    </widget-extension>
+</widgets>"""
+
+        private const val CORE_CREATE_ACTION = """<?xml version="1.0" encoding="UTF-8"?>
+<action-definition id="com.hybris.cockpitng.action.create">
+    <name>Create</name>
+</action-definition>"""
+
+        private const val CUSTOM_CREATE_ACTION = """<?xml version="1.0" encoding="UTF-8"?>
+<action-definition id="com.hybris.cockpitng.action.create">
+    <name>Custom Create</name>
+</action-definition>"""
+
+        private const val EXPORT_ACTION = """<?xml version="1.0" encoding="UTF-8"?>
+<action-definition id="com.custom.action.export">
+    <name>Export</name>
+</action-definition>"""
+    }
+}
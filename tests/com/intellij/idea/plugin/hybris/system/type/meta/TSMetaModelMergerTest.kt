@@ -0,0 +1,230 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.system.type.meta
+
+import com.intellij.idea.plugin.hybris.HybrisLightFixture
+import com.intellij.idea.plugin.hybris.system.type.meta.model.TSGlobalMetaClassifier
+import com.intellij.idea.plugin.hybris.system.type.meta.model.TSGlobalMetaEnum
+import com.intellij.idea.plugin.hybris.system.type.meta.model.TSGlobalMetaItem
+import com.intellij.idea.plugin.hybris.system.type.meta.model.TSMetaType
+import kotlinx.coroutines.runBlocking
+import kotlin.test.*
+
+/**
+ * Incremental merge of a single changed items.xml must produce the same global Meta Model as the full merge.
+ */
+class TSMetaModelMergerTest {
+
+    private val fixture = HybrisLightFixture(javaClass.simpleName)
+
+    @BeforeTest
+    fun setUp() = fixture.setUp()
+
+    @AfterTest
+    fun tearDown() = fixture.tearDown()
+
+    @Test
+    fun test_addItemsXml() {
+        val previous = listOf(process("core", CORE_ITEMS))
+        val globalMetaModel = merge(previous)
+        val current = previous + process("custom", CUSTOM_ITEMS)
+
+        mergeIncrementally(globalMetaModel, previous, current)
+
+        assertEquals(describe(merge(current)), describe(globalMetaModel))
+        assertNotNull(globalMetaModel.getMetaItem("Product")?.allAttributes?.get("rating"))
+        assertNotNull(globalMetaModel.getMetaItem("ApparelProduct")?.allAttributes?.get("code"))
+    }
+
+    @Test
+    fun test_removeItemsXml() {
+        val previous = listOf(process("core", CORE_ITEMS), process("custom", CUSTOM_ITEMS))
+        val globalMetaModel = merge(previous)
+        val current = previous.take(1)
+
+        mergeIncrementally(globalMetaModel, previous, current)
+
+        assertEquals(describe(merge(current)), describe(globalMetaModel))
+        assertNull(globalMetaModel.getMetaItem("Product")?.allAttributes?.get("rating"))
+        assertNull(globalMetaModel.getMetaItem("ApparelProduct"))
+        assertEquals(setOf("ACTIVE"), globalMetaModel.getMetaEnum("Status")?.values?.keys?.map { it.uppercase() }?.toSet())
+    }
+
+    @Test
+    fun test_modifyItemsXml() {
+        val core = process("core", CORE_ITEMS)
+        val previous = listOf(core, process("custom", CUSTOM_ITEMS))
+        val globalMetaModel = merge(previous)
+        val current = listOf(core, process("custom", MODIFIED_CUSTOM_ITEMS))
+
+        mergeIncrementally(globalMetaModel, previous, current)
+
+        assertEquals(describe(merge(current)), describe(globalMetaModel))
+        assertNull(globalMetaModel.getMetaItem("Product")?.allAttributes?.get("rating"))
+        assertNotNull(globalMetaModel.getMetaItem("Shoe")?.allAttributes?.get("size"))
+        assertNotNull(globalMetaModel.getMetaItem("Shoe")?.allAttributes?.get("code"))
+    }
+
+    @Test
+    fun test_modifyItemsXml_itemOfRemovedRelationRestored() {
+        val core = process("core", CORE_ITEMS)
+        val previous = listOf(core, process("custom", RELATION_ITEMS))
+        val globalMetaModel = merge(previous)
+
+        assertNull(globalMetaModel.getMetaItem("ProductToTag"))
+
+        val current = listOf(core, process("custom", RELATION_REMOVED_ITEMS))
+
+        mergeIncrementally(globalMetaModel, previous, current)
+
+        assertEquals(describe(merge(current)), describe(globalMetaModel))
+        assertNotNull(globalMetaModel.getMetaItem("ProductToTag"))
+        assertNull(globalMetaModel.getMetaRelation("ProductToTag"))
+    }
+
+    private fun process(extensionName: String, itemsXml: String): TSMetaModel {
+        val psiFile = fixture.addFile("$extensionName/resources/$extensionName-items.xml", itemsXml)
+
+        return runBlocking { TSMetaModelProcessor.getInstance(fixture.project).process(this, psiFile) }
+            ?: fail("items.xml of the $extensionName was not processed")
+    }
+
+    private fun merge(localMetaModels: List<TSMetaModel>) = runBlocking {
+        TSGlobalMetaModel().also { TSMetaModelMerger.merge(it, localMetaModels) }
+    }
+
+    private fun mergeIncrementally(globalMetaModel: TSGlobalMetaModel, previous: List<TSMetaModel>, current: List<TSMetaModel>) = runBlocking {
+        TSMetaModelMerger.mergeIncrementally(globalMetaModel, previous, current)
+    }
+
+    private fun describe(globalMetaModel: TSGlobalMetaModel) = TSMetaType.values()
+        .flatMap { metaType ->
+            globalMetaModel.getMetaType<TSGlobalMetaClassifier<*>>(metaType).values
+                .map { classifier ->
+                    val details = when (classifier) {
+                        is TSGlobalMetaItem -> "extends=${classifier.extendedMetaItemName} " +
+                            "attributes=${classifier.allAttributes.keys.map { it.lowercase() }.sorted()} " +
+                            "relationEnds=${classifier.allRelationEnds.mapNotNull { it.qualifier }.sorted()}"
+
+                        is TSGlobalMetaEnum -> "values=${classifier.values.keys.map { it.lowercase() }.sorted()}"
+                        else -> ""
+                    }
+                    "$metaType ${classifier.name?.lowercase()} $details"
+                }
+        }
+        .sorted()
+
+    companion object {
+        private const val HEADER = """<?xml version="1.0" encoding="ISO-8859-1"?>
+<items xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance" xsi:noNamespaceSchemaLocation="items.xsd">"""
+
+        private const val CORE_ITEMS = """$HEADER
+    <enumtypes>
+        <enumtype code="Status" autocreate="true" generate="true">
+            <value code="ACTIVE"/>
+        </enumtype>
+    </enumtypes>
+    <itemtypes>
+        <itemtype code="Product" extends="GenericItem" autocreate="true" generate="true">
+            <deployment table="products" typecode="1"/>
+            <attributes>
+                <attribute qualifier="code" type="java.lang.String">
+                    <persistence type="property"/>
+                </attribute>
+            </attributes>
+        </itemtype>
+        <itemtype code="Tag" extends="GenericItem" autocreate="true" generate="true">
+            <deployment table="tags" typecode="2"/>
+        </itemtype>
+    </itemtypes>
+</items>"""
+
+        private const val CUSTOM_ITEMS = """$HEADER
+    <enumtypes>
+        <enumtype code="Status" autocreate="false" generate="true">
+            <value code="ARCHIVED"/>
+        </enumtype>
+    </enumtypes>
+    <itemtypes>
+        <itemtype code="Product" autocreate="false" generate="false">
+            <attributes>
+                <attribute qualifier="rating" type="java.lang.Integer">
+                    <persistence type="property"/>
+                </attribute>
+            </attributes>
+        </itemtype>
+        <itemtype code="ApparelProduct" extends="Product" autocreate="true" generate="true">
+            <attributes>
+                <attribute qualifier="style" type="Status">
+                    <persistence type="property"/>
+                </attribute>
+            </attributes>
+        </itemtype>
+    </itemtypes>
+</items>"""
+
+        private const val MODIFIED_CUSTOM_ITEMS = """$HEADER
+    <enumtypes>
+        <enumtype code="Status" autocreate="false" generate="true">
+            <value code="ARCHIVED"/>
+        </enumtype>
+    </enumtypes>
+    <itemtypes>
+        <itemtype code="ApparelProduct" extends="Product" autocreate="true" generate="true">
+            <attributes>
+                <attribute qualifier="size" type="java.lang.String">
+                    <persistence type="property"/>
+                </attribute>
+            </attributes>
+        </itemtype>
+        <itemtype code="Shoe" extends="ApparelProduct" autocreate="true" generate="true"/>
+    </itemtypes>
+</items>"""
+
+        private const val RELATION_ITEMS = """$HEADER
+    <relations>
+        <relation code="ProductToTag" localized="false">
+            <deployment table="product2tag" typecode="3"/>
+            <sourceElement type="Product" qualifier="products" cardinality="many"/>
+            <targetElement type="Tag" qualifier="tags" cardinality="many"/>
+        </relation>
+    </relations>
+    <itemtypes>
+        <itemtype code="ProductToTag" autocreate="false" generate="false">
+            <indexes>
+                <index name="productToTagIdx">
+                    <key attribute="source"/>
+                </index>
+            </indexes>
+        </itemtype>
+    </itemtypes>
+</items>"""
+
+        private const val RELATION_REMOVED_ITEMS = """$HEADER
+    <itemtypes>
+        <itemtype code="ProductToTag" autocreate="false" generate="false">
+            <indexes>
+                <index name="productToTagIdx">
+                    <key attribute="source"/>
+                </index>
+            </indexes>
+        </itemtype>
+    </itemtypes>
+</items>"""
+    }
+}
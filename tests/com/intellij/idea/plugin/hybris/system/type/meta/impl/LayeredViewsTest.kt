@@ -0,0 +1,122 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.intellij.idea.plugin.hybris.system.type.meta.impl
+
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+class LayeredViewsTest {
+
+    private class Type(val name: String, val parent: Type?) {
+        val attributes = CaseInsensitive.CaseInsensitiveConcurrentHashMap<String, String>()
+        val allExtends = LinkedHashSet<Type>()
+        val allAttributes = CaseInsensitiveLayeredMap(attributes, allExtends) { it.attributes }
+        val allAttributeNames = LayeredList({ attributes.keys }, allExtends) { it.attributes.keys }
+
+        fun postMerge() {
+            var current = parent
+            while (current != null) {
+                allExtends.add(current)
+                current = current.parent
+            }
+        }
+
+        // previous implementation, used as a reference
+        fun copyAllAttributes(): Map<String, String> {
+            val copy = CaseInsensitive.CaseInsensitiveConcurrentHashMap<String, String>()
+            copy.putAll(attributes)
+            allExtends.forEach { copy.putAll(it.attributes) }
+            return copy
+        }
+    }
+
+    @Test
+    fun test_layeredMap_caseInsensitiveLookup() {
+        val root = Type("Item", null).apply { attributes["PK"] = "Item.pk" }
+        val child = Type("Product", root).apply { attributes["code"] = "Product.code" }
+        root.postMerge()
+        child.postMerge()
+
+        assertEquals("Item.pk", child.allAttributes["pk"])
+        assertEquals("Product.code", child.allAttributes["CODE"])
+        assertNull(child.allAttributes["unknown"])
+        assertEquals(2, child.allAttributes.size)
+        assertEquals(listOf("code", "pk"), child.allAttributeNames)
+    }
+
+    @Test
+    fun test_layeredMap_nearestDeclarationWins() {
+        val root = Type("Item", null).apply {
+            attributes["pk"] = "Item.pk"
+            attributes["owner"] = "Item.owner"
+        }
+        val middle = Type("Product", root).apply {
+            attributes["code"] = "Product.code"
+            attributes["owner"] = "Product.owner"
+        }
+        val leaf = Type("ApparelProduct", middle).apply {
+            attributes["code"] = "ApparelProduct.code"
+            attributes["style"] = "ApparelProduct.style"
+        }
+        listOf(root, middle, leaf).forEach { it.postMerge() }
+
+        assertEquals(leaf.copyAllAttributes().keys, leaf.allAttributes.keys)
+        assertEquals(4, leaf.allAttributes.entries.size)
+        assertEquals(
+            mapOf(
+                "code" to "ApparelProduct.code",
+                "style" to "ApparelProduct.style",
+                "owner" to "Product.owner",
+                "pk" to "Item.pk"
+            ),
+            leaf.allAttributes.entries.associate { it.key to it.value }
+        )
+        assertEquals("Product.owner", leaf.allAttributes["OWNER"])
+    }
+
+    @Test
+    fun test_layeredList_indexAccess() {
+        val root = Type("Item", null).apply { attributes["pk"] = "Item.pk" }
+        val child = Type("Product", root).apply { attributes["code"] = "Product.code" }
+        root.postMerge()
+        child.postMerge()
+
+        assertEquals("code", child.allAttributeNames[0])
+        assertEquals("pk", child.allAttributeNames[1])
+    }
+
+    @Test
+    fun test_layeredViews_reflectChangesOfParents() {
+        val root = Type("Item", null).apply { attributes["pk"] = "Item.pk" }
+        val child = Type("Product", root).apply { attributes["code"] = "Product.code" }
+        root.postMerge()
+        child.postMerge()
+
+        assertEquals(2, child.allAttributes.size)
+        assertEquals(2, child.allAttributeNames.size)
+
+        root.attributes["owner"] = "Item.owner"
+
+        assertEquals("Item.owner", child.allAttributes["OWNER"])
+        assertTrue(child.allAttributes.containsKey("Owner"))
+        assertEquals(3, child.allAttributeNames.size)
+    }
+}
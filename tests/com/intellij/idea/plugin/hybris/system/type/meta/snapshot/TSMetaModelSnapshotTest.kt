@@ -0,0 +1,98 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.system.type.meta.snapshot
+
+import com.intellij.idea.plugin.hybris.system.type.meta.impl.CaseInsensitive
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNotNull
+import kotlin.test.assertTrue
+
+class TSMetaModelSnapshotTest {
+
+    private val fileHashes = mapOf(
+        "/core/resources/core-items.xml" to "a1",
+        "/custom/resources/custom-items.xml" to "b1"
+    )
+
+    @Test
+    fun test_isUpToDate_sameHashes() {
+        val snapshot = snapshot(fileHashes)
+
+        assertTrue(snapshot.isUpToDate(HashMap(fileHashes)))
+        assertTrue(snapshot.getChangedFiles(fileHashes).isEmpty())
+    }
+
+    @Test
+    fun test_isUpToDate_modifiedFile() {
+        val snapshot = snapshot(fileHashes)
+        val current = fileHashes + ("/custom/resources/custom-items.xml" to "b2")
+
+        assertFalse(snapshot.isUpToDate(current))
+        assertEquals(listOf("/custom/resources/custom-items.xml"), snapshot.getChangedFiles(current))
+    }
+
+    @Test
+    fun test_isUpToDate_addedFile() {
+        val snapshot = snapshot(fileHashes)
+        val current = fileHashes + ("/other/resources/other-items.xml" to "c1")
+
+        assertFalse(snapshot.isUpToDate(current))
+        assertEquals(listOf("/other/resources/other-items.xml"), snapshot.getChangedFiles(current))
+    }
+
+    @Test
+    fun test_isUpToDate_removedFile() {
+        val snapshot = snapshot(fileHashes)
+        val current = fileHashes - "/core/resources/core-items.xml"
+
+        assertFalse(snapshot.isUpToDate(current))
+        assertEquals(listOf("/core/resources/core-items.xml"), snapshot.getChangedFiles(current))
+    }
+
+    @Test
+    fun test_readWrite_preservesHashesAndLookups() {
+        val snapshot = snapshot(fileHashes)
+
+        val bytes = ByteArrayOutputStream()
+            .also { DataOutputStream(it).use { out -> TSMetaModelSnapshot.write(out, snapshot) } }
+            .toByteArray()
+        val restored = assertNotNull(TSMetaModelSnapshot.read(DataInputStream(ByteArrayInputStream(bytes))))
+
+        assertTrue(restored.isUpToDate(fileHashes))
+        assertTrue(restored.isDeclared("product"))
+        assertTrue(restored.isSubtype("Product", "GenericItem"))
+        assertTrue(restored.isSubtype("product", "genericitem"))
+        assertFalse(restored.isSubtype("GenericItem", "Product"))
+        assertFalse(restored.isSubtype("Product", "Product"))
+        assertEquals(setOf(10100), restored.getDeploymentTypeCodes())
+    }
+
+    private fun snapshot(fileHashes: Map<String, String>) = TSMetaModelSnapshot(
+        fileHashes = fileHashes,
+        itemExtends = CaseInsensitive.CaseInsensitiveConcurrentHashMap<String, List<String>>()
+            .apply { put("Product", listOf("GenericItem")) },
+        typeCodes = setOf(10100),
+        classifierNames = setOf("product", "genericitem"),
+    )
+}
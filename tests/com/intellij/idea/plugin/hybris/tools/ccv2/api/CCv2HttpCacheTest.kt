@@ -0,0 +1,157 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.tools.ccv2.api
+
+import com.sun.net.httpserver.HttpServer
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.RequestBody.Companion.toRequestBody
+import java.net.InetSocketAddress
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
+import kotlin.test.AfterTest
+import kotlin.test.BeforeTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+class CCv2HttpCacheTest {
+
+    private val requests = CopyOnWriteArrayList<String>()
+    private val ifNoneMatchHeaders = CopyOnWriteArrayList<String?>()
+    private lateinit var server: HttpServer
+
+    @BeforeTest
+    fun startServer() {
+        server = HttpServer.create(InetSocketAddress("127.0.0.1", 0), 0)
+        server.createContext("/") { exchange ->
+            requests.add("${exchange.requestMethod} ${exchange.requestURI.path}")
+
+            val ifNoneMatch = exchange.requestHeaders.getFirst("If-None-Match")
+            ifNoneMatchHeaders.add(ifNoneMatch)
+
+            exchange.responseHeaders.add("Cache-Control", "no-cache, no-store")
+            exchange.responseHeaders.add("ETag", "\"v1\"")
+
+            if (ifNoneMatch == "\"v1\"") {
+                exchange.sendResponseHeaders(304, -1)
+            } else {
+                val body = """{"value":[]}""".toByteArray()
+                exchange.sendResponseHeaders(200, body.size.toLong())
+                exchange.responseBody.use { it.write(body) }
+            }
+            exchange.close()
+        }
+        server.start()
+    }
+
+    @AfterTest
+    fun stopServer() = server.stop(0)
+
+    @Test
+    fun responseWithinTtlIsServedFromCache() {
+        val client = createClient(Duration.ofMinutes(1))
+
+        assertEquals("""{"value":[]}""", get(client, "/v2/subscriptions/s1/builds"))
+        assertEquals("""{"value":[]}""", get(client, "/v2/subscriptions/s1/builds"))
+
+        assertEquals(listOf("GET /v2/subscriptions/s1/builds"), requests)
+    }
+
+    @Test
+    fun expiredResponseIsRevalidatedWithETag() {
+        val client = createClient(Duration.ZERO)
+
+        get(client, "/v2/subscriptions/s1/builds")
+        assertEquals("""{"value":[]}""", get(client, "/v2/subscriptions/s1/builds"))
+
+        assertEquals(2, requests.size)
+        assertEquals(listOf(null, "\"v1\""), ifNoneMatchHeaders)
+    }
+
+    @Test
+    fun endpointWithoutTtlIsNotCached() {
+        val client = createClient(Duration.ofMinutes(1))
+
+        get(client, "/v2/subscriptions/s1/builds/b1/logs")
+        get(client, "/v2/subscriptions/s1/builds/b1/logs")
+
+        assertEquals(2, requests.size)
+    }
+
+    @Test
+    fun modifyingRequestEvictsSubscriptionResponses() {
+        val client = createClient(Duration.ofMinutes(1))
+
+        get(client, "/v2/subscriptions/s1/builds")
+        get(client, "/v2/subscriptions/s2/builds")
+        client.newCall(
+            request("/v2/subscriptions/s1/builds")
+                .post("{}".toRequestBody("application/json".toMediaType()))
+                .build()
+        ).execute().close()
+        get(client, "/v2/subscriptions/s1/builds")
+        get(client, "/v2/subscriptions/s2/builds")
+
+        assertEquals(
+            listOf(
+                "GET /v2/subscriptions/s1/builds",
+                "GET /v2/subscriptions/s2/builds",
+                "POST /v2/subscriptions/s1/builds",
+                "GET /v2/subscriptions/s1/builds",
+            ),
+            requests
+        )
+        assertTrue(ifNoneMatchHeaders.all { it == null })
+    }
+
+    @Test
+    fun responsesAreNotSharedBetweenTokens() {
+        val client = createClient(Duration.ofMinutes(1))
+
+        get(client, "/v2/subscriptions/s1/builds", "token1")
+        get(client, "/v2/subscriptions/s1/builds", "token2")
+        get(client, "/v2/subscriptions/s1/builds", "token1")
+
+        assertEquals(2, requests.size)
+        assertTrue(ifNoneMatchHeaders.all { it == null })
+    }
+
+    @Test
+    fun permissionsAreNotCachedByDefault() {
+        val client = CCv2HttpCache().configure(OkHttpClient.Builder()).build()
+
+        get(client, "/v1/permissions")
+        get(client, "/v1/permissions")
+
+        assertEquals(2, requests.size)
+    }
+
+    private fun createClient(ttl: Duration): OkHttpClient = CCv2HttpCache(listOf(Regex("/builds$") to ttl))
+        .configure(OkHttpClient.Builder())
+        .build()
+
+    private fun get(client: OkHttpClient, path: String, token: String = "token") = client.newCall(request(path, token).build())
+        .execute()
+        .use { it.body!!.string() }
+
+    private fun request(path: String, token: String = "token") = Request.Builder()
+        .url("http://127.0.0.1:${server.address.port}$path")
+        .header("Authorization", "Bearer $token")
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of "SAP Commerce Developers Toolset" plugin for IntelliJ IDEA.
+ * Copyright (C) 2019-2024 EPAM Systems <hybrisideaplugin@epam.com> and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.intellij.idea.plugin.hybris.tools.remote.http.flexibleSearch
+
+import com.intellij.openapi.util.Disposer
+import java.io.IOException
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertNull
+
+class FlexibleSearchResultReaderTest {
+
+    private fun read(rows: Int, exception: String = "null") = FlexibleSearchResultReader.read(
+        """
+        {
+          "exception": $exception,
+          "headers": ["PK", "code"],
+          "resultList": [${(1..rows).joinToString(",") { """["$it", ${if (it % 2 == 0) "null" else "\"product_$it\""}]""" }}],
+          "executionTime": 42
+        }
+        """.trimIndent().byteInputStream()
+    )
+
+    @Test
+    fun test_rows_areSplitToPages() {
+        val result = read(1200)
+        val table = result.table
+
+        assertNull(result.exceptionMessage)
+        assertEquals(1200, table.rowsCount)
+        assertEquals(3, table.pagesCount)
+        assertEquals(200, table.getRemainingRowsCount(2))
+
+        val firstPage = table.renderPage(0).lines()
+        assertEquals("PK  | code        | ", firstPage[0])
+        assertEquals("1   | product_1   | ", firstPage[1])
+        assertEquals("2   |             | ", firstPage[2])
+
+        val lastPage = table.renderPage(2).lines().filter { it.isNotEmpty() }
+        assertEquals(200, lastPage.size)
+        assertEquals("1001| product_1001| ", lastPage.first())
+        assertEquals("1200|             | ", lastPage.last())
+
+        Disposer.dispose(table)
+    }
+
+    @Test
+    fun test_emptyResult_rendersHeaders() {
+        val table = read(0).table
+
+        assertEquals(1, table.pagesCount)
+        assertEquals("PK| code| \n", table.renderPage(0))
+
+        Disposer.dispose(table)
+    }
+
+    @Test
+    fun test_exception_isRead() {
+        val result = read(0, """{"message": "unknown type: Foo"}""")
+
+        assertEquals("unknown type: Foo", result.exceptionMessage)
+
+        Disposer.dispose(result.table)
+    }
+
+    @Test
+    fun test_disposedTable_cannotRenderPages() {
+        val table = read(10).table
+
+        Disposer.dispose(table)
+
+        assertFailsWith<IOException> { table.renderPage(0) }
+    }
+}